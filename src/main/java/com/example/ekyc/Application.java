@@ -3,13 +3,19 @@ package com.example.ekyc;
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.service.ScheduledVerification;
 import com.example.ekyc.service.VerificationOrchestrator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Main application entry point demonstrating the eKYC verification service.
  * Configuration is loaded from environment variables with sensible defaults.
+ * With quota scheduling and a pending verification queue configured, verifications held for quota
+ * when the previous run stopped are replayed at startup.
  */
 public class Application {
     
@@ -43,10 +49,13 @@ public class Application {
                 .build();
         
         // Create orchestrator using configuration
-        VerificationOrchestrator orchestrator = new VerificationOrchestrator();
-        
-        logger.info("Processing full KYC verification for customer: {}", customer.getCustomerId());
-        KYCDecision decision = orchestrator.processFullVerification(customer);
+        KYCDecision decision;
+        try (VerificationOrchestrator orchestrator = new VerificationOrchestrator()) {
+            CompletableFuture<Void> replayed = replayPendingVerifications(orchestrator);
+            logger.info("Processing full KYC verification for customer: {}", customer.getCustomerId());
+            decision = orchestrator.processFullVerification(customer);
+            replayed.join();
+        }
         
         logger.info("=== KYC Decision ===");
         logger.info("Decision: {}", decision.getDecision());
@@ -61,4 +70,25 @@ public class Application {
         
         logger.info("eKYC Verification Service completed");
     }
+
+    /**
+     * Schedules the verifications left in the pending verification queue and logs each decision with its
+     * customer, before the verification leaves the queue.
+     * @return A future completing once every replayed verification has completed or failed
+     */
+    private static CompletableFuture<Void> replayPendingVerifications(VerificationOrchestrator orchestrator) {
+        List<ScheduledVerification> recovered = orchestrator.recoverPendingVerifications((customer, replayed) ->
+                logger.info("Replayed verification for customer {} decided: {} (correlation ID {})",
+                        customer.getCustomerId(), replayed.getDecision(), replayed.getCorrelationId()));
+        if (!recovered.isEmpty()) {
+            logger.info("Replaying {} verifications held for quota by the previous run", recovered.size());
+        }
+        CompletableFuture<?>[] decisions = recovered.stream()
+                .map(verification -> verification.getDecision().exceptionally(error -> {
+                    logger.warn("Replayed verification failed: {}", error.getMessage());
+                    return null;
+                }))
+                .toArray(CompletableFuture<?>[]::new);
+        return CompletableFuture.allOf(decisions);
+    }
 }
\ No newline at end of file
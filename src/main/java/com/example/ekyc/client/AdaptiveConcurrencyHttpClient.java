@@ -0,0 +1,194 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.ConcurrencyLimitException;
+import com.example.ekyc.exception.RateLimitException;
+import com.example.ekyc.exception.ServiceException;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.FutureUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP client wrapper that limits the calls in flight to each downstream service to an
+ * {@link AdaptiveLimit}: the limit grows while the service's latency stays stable and is cut when
+ * its latency rises or calls time out, fail with a 5xx or hit its rate limit. Calls beyond the limit
+ * are shed with a ConcurrencyLimitException instead of adding to the service's queue.
+ *
+ * Wraps the {@link SimpleHttpClient} directly, below the {@link RetryableHttpClient}, so every
+ * attempt is measured on its own and a retry after a timeout needs a slot like any other call.
+ * The current limits are exposed through {@link #getLimits()} for monitoring.
+ */
+public class AdaptiveConcurrencyHttpClient implements HttpClient, AsyncHttpClient, CapacityAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyHttpClient.class);
+
+    private final HttpClient delegate;
+    private final AsyncHttpClient asyncDelegate;
+    private final Map<String, AdaptiveLimit> limitsByUrl;
+
+    public AdaptiveConcurrencyHttpClient(HttpClient delegate, ServiceConfig config) {
+        this(delegate, limitsFor(config));
+    }
+
+    /**
+     * @param delegate The client to protect
+     * @param limitsByUrl Adaptive limit per service URL; calls to other URLs pass straight through
+     */
+    public AdaptiveConcurrencyHttpClient(HttpClient delegate, Map<String, AdaptiveLimit> limitsByUrl) {
+        this.delegate = delegate;
+        this.asyncDelegate = AsyncHttpClient.adapt(delegate, FutureUtils.DIRECT_EXECUTOR);
+        this.limitsByUrl = Map.copyOf(limitsByUrl);
+    }
+
+    private static Map<String, AdaptiveLimit> limitsFor(ServiceConfig config) {
+        Map<String, AdaptiveLimit> limits = new HashMap<>();
+        limits.put(config.getDocumentUrl(), limitFor("DocumentVerification", config));
+        limits.put(config.getBiometricUrl(), limitFor("BiometricService", config));
+        limits.put(config.getAddressUrl(), limitFor("AddressVerification", config));
+        limits.put(config.getSanctionsUrl(), limitFor("SanctionsScreening", config));
+        return limits;
+    }
+
+    private static AdaptiveLimit limitFor(String serviceName, ServiceConfig config) {
+        return new AdaptiveLimit(serviceName, config.getAdaptiveInitialLimit(),
+                config.getAdaptiveMinLimit(), config.getAdaptiveMaxLimit());
+    }
+
+    /**
+     * Gets the adaptive limit of a service URL.
+     * @param url The service URL
+     * @return The limit, or null if calls to the URL are not limited
+     */
+    public AdaptiveLimit getLimit(String url) {
+        return limitsByUrl.get(url);
+    }
+
+    /**
+     * @return The current concurrency limit of each limited service, by service name
+     */
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> limits = new HashMap<>();
+        for (AdaptiveLimit limit : limitsByUrl.values()) {
+            limits.put(limit.getServiceName(), limit.getLimit());
+        }
+        return limits;
+    }
+
+    /**
+     * Gets the calls the URL's limit still admits, further limited by the wrapped client's capacity.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        int delegateCapacity = CapacityAware.availableCapacity(delegate, url);
+        AdaptiveLimit limit = limitsByUrl.get(url);
+        if (limit == null) {
+            return delegateCapacity;
+        }
+        return Math.min(delegateCapacity, limit.getAvailableCount());
+    }
+
+    /**
+     * A limit that is used up frees a slot when one of its calls completes, which cannot be predicted.
+     */
+    @Override
+    public long millisUntilCapacity(String url) {
+        AdaptiveLimit limit = limitsByUrl.get(url);
+        if (limit != null && limit.getAvailableCount() == 0) {
+            return -1;
+        }
+        return CapacityAware.millisUntilCapacity(delegate, url);
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        return post(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds, Deadline deadline) {
+        AdaptiveLimit limit = limitsByUrl.get(url);
+        if (limit == null) {
+            return delegate.post(url, body, timeoutSeconds, deadline);
+        }
+        acquire(limit);
+        long startNanos = System.nanoTime();
+        ServiceResponse response = null;
+        Throwable error = null;
+        try {
+            response = delegate.post(url, body, timeoutSeconds, deadline);
+            return response;
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            complete(limit, startNanos, response, error);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        return postAsync(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds,
+                                                        Deadline deadline) {
+        AdaptiveLimit limit = limitsByUrl.get(url);
+        if (limit == null) {
+            return asyncDelegate.postAsync(url, body, timeoutSeconds, deadline);
+        }
+        try {
+            acquire(limit);
+        } catch (ConcurrencyLimitException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<ServiceResponse> call;
+        try {
+            call = asyncDelegate.postAsync(url, body, timeoutSeconds, deadline);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((response, error) ->
+                complete(limit, startNanos, response, error == null ? null : FutureUtils.unwrap(error)));
+        return call;
+    }
+
+    private void acquire(AdaptiveLimit limit) {
+        if (!limit.tryAcquire()) {
+            int current = limit.getLimit();
+            logger.warn("Concurrency limit of {} reached for {}. Shedding call", current, limit.getServiceName());
+            throw new ConcurrencyLimitException(limit.getServiceName() + " concurrency limit of "
+                    + current + " reached", limit.getServiceName(), current);
+        }
+    }
+
+    private static void complete(AdaptiveLimit limit, long startNanos, ServiceResponse response, Throwable error) {
+        if (isOverloadSignal(response, error)) {
+            limit.onDropped();
+        } else if (response != null) {
+            limit.onSuccess(System.nanoTime() - startNanos);
+        } else {
+            limit.onIgnored();
+        }
+    }
+
+    /**
+     * A timeout, a 5xx response or a rate limit rejection means the service is taking more than it handles.
+     * Cancellations and client errors say nothing about its load.
+     */
+    private static boolean isOverloadSignal(ServiceResponse response, Throwable error) {
+        if (response != null) {
+            return response.isRetryable();
+        }
+        if (!(error instanceof ServiceException)) {
+            return false;
+        }
+        return error instanceof RateLimitException || ((ServiceException) error).isRetryable();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.ekyc.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit for one downstream service that adjusts itself to the latency and failures
+ * the service shows, instead of being tuned by hand.
+ *
+ * The limit follows a gradient algorithm: the latency of each successful call is compared with
+ * the service's long-term average latency. While latency stays within {@code RTT_TOLERANCE} of that
+ * average, the limit grows by about its square root per call; when calls get slower than that,
+ * a queue is building up at the service and the limit shrinks in proportion. Timeouts, 5xx responses
+ * and rate limit rejections cut the limit multiplicatively (AIMD backoff).
+ *
+ * The limit is only raised while the calls in flight actually use at least half of it, so a quiet
+ * period does not let it grow without evidence that the service can take the load.
+ */
+public class AdaptiveLimit {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveLimit.class);
+
+    /** Latency may exceed the long-term average by this factor before the limit shrinks. */
+    static final double RTT_TOLERANCE = 1.5;
+    /** Factor the limit is multiplied by after a timeout, 5xx response or rate limit rejection. */
+    static final double BACKOFF_RATIO = 0.9;
+    /** Weight of each new limit estimate in the limit. */
+    private static final double SMOOTHING = 0.2;
+    /** The largest single cut the latency gradient can make. */
+    private static final double MIN_GRADIENT = 0.5;
+    /** Number of calls the long-term latency average roughly spans. */
+    private static final int LONG_RTT_WINDOW = 100;
+    private static final double LONG_RTT_WEIGHT = 2.0 / (LONG_RTT_WINDOW + 1);
+
+    private final String serviceName;
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limit;
+    private double longRttNanos;
+    private int inFlight;
+    private long dropped;
+
+    /**
+     * @param serviceName Name of the service, used in logs and rejections
+     * @param initialLimit The limit until calls have been observed
+     * @param minLimit The lowest the limit can be cut to; at least 1, so the service keeps being probed
+     * @param maxLimit The highest the limit can grow to
+     */
+    public AdaptiveLimit(String serviceName, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Adaptive limit for " + serviceName
+                    + " needs 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.serviceName = serviceName;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if the calls in flight are below the limit.
+     * A caller that got a slot must end it exactly once with {@link #onSuccess(long)},
+     * {@link #onDropped()} or {@link #onIgnored()}.
+     *
+     * @return true if the call may start
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends a call that got a response the service handled normally, and adjusts the limit to its latency.
+     * @param rttNanos How long the call took
+     */
+    public void onSuccess(long rttNanos) {
+        lock.lock();
+        try {
+            int usedSlots = inFlight--;
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+            } else {
+                longRttNanos += LONG_RTT_WEIGHT * (rttNanos - longRttNanos);
+            }
+            if (longRttNanos > 2 * rttNanos) {
+                // Much faster than the average: the service recovered, so let the average catch up sooner
+                longRttNanos *= 0.95;
+            }
+            if (usedSlots < limit / 2) {
+                return; // The limit was not what held calls back, so this call says nothing about it
+            }
+            double gradient = Math.max(MIN_GRADIENT,
+                    Math.min(1.0, RTT_TOLERANCE * longRttNanos / Math.max(1, rttNanos)));
+            double estimate = limit * gradient + Math.sqrt(limit);
+            update(limit * (1 - SMOOTHING) + estimate * SMOOTHING);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends a call that timed out or was refused because the service is overloaded, and cuts the limit.
+     */
+    public void onDropped() {
+        lock.lock();
+        try {
+            inFlight--;
+            dropped++;
+            update(limit * BACKOFF_RATIO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends a call without adjusting the limit, e.g. one cancelled by the caller or failed for reasons
+     * unrelated to load.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    /**
+     * @return The number of calls that may currently be in flight at once
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of calls that could start now without being shed
+     */
+    public int getAvailableCount() {
+        lock.lock();
+        try {
+            return Math.max(0, (int) limit - inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of calls that timed out or were refused by the overloaded service
+     */
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(double newLimit) {
+        int before = (int) limit;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if ((int) limit != before) {
+            logger.debug("Concurrency limit for {} changed from {} to {} ({} in flight)",
+                    serviceName, before, (int) limit, inFlight);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.TimeoutException;
+import com.example.ekyc.util.Deadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of {@link HttpClient}.
+ * Implementations return immediately and complete the future when the response arrives,
+ * so no thread is parked per in-flight request.
+ */
+public interface AsyncHttpClient {
+
+    /**
+     * Makes an asynchronous POST request to the specified URL.
+     *
+     * @param url The URL to send the request to
+     * @param body The request body: a {@link JsonPayload}, or an object serialized to JSON with Gson
+     * @param timeoutSeconds The timeout in seconds
+     * @return A future of the service response; completes exceptionally with a
+     *         ServiceException where the blocking variant would throw one
+     */
+    CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds);
+
+    /**
+     * Makes an asynchronous POST request that must complete before the given deadline.
+     * The timeout is clipped to the remaining budget; implementations that retry
+     * override this to stop retrying once the budget is spent.
+     *
+     * @param url The URL to send the request to
+     * @param body The request body: a {@link JsonPayload}, or an object serialized to JSON with Gson
+     * @param timeoutSeconds The timeout in seconds
+     * @param deadline The end-to-end deadline of the verification
+     * @return A future of the service response; completes exceptionally with a
+     *         TimeoutException if less than a second of the budget is left
+     */
+    default CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds,
+                                                         Deadline deadline) {
+        int clippedSeconds = deadline.clipTimeoutSeconds(timeoutSeconds);
+        if (clippedSeconds == 0) {
+            return CompletableFuture.failedFuture(
+                    new TimeoutException("Deadline exceeded before request was sent", url, 0));
+        }
+        return postAsync(url, body, clippedSeconds);
+    }
+
+    /**
+     * Adapts an HttpClient to the asynchronous contract.
+     * Clients that implement AsyncHttpClient natively are returned as is; for blocking
+     * clients the call is dispatched to the given executor, with its timeout clipped
+     * to the deadline by {@link #postAsync(String, Object, int, Deadline)}.
+     *
+     * @param client The client to adapt
+     * @param executor The executor used to run blocking calls
+     * @return An asynchronous view of the client
+     */
+    static AsyncHttpClient adapt(HttpClient client, Executor executor) {
+        if (client instanceof AsyncHttpClient) {
+            return (AsyncHttpClient) client;
+        }
+        return (url, body, timeoutSeconds) ->
+                CompletableFuture.supplyAsync(() -> client.post(url, body, timeoutSeconds), executor);
+    }
+}
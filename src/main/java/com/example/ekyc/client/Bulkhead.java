@@ -0,0 +1,216 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.BulkheadFullException;
+import com.example.ekyc.exception.ServiceException;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit with a bounded wait queue for one downstream service.
+ * At most {@code maxConcurrent} calls hold a slot at a time; up to {@code maxQueue}
+ * further callers wait for one, in arrival order. Beyond that, callers are rejected
+ * immediately with a {@link BulkheadFullException}, so a degraded service cannot
+ * accumulate an unbounded backlog of waiting calls.
+ *
+ * Waiters are futures, so asynchronous callers queue without holding a thread.
+ */
+public class Bulkhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(Bulkhead.class);
+
+    private static final String EXPIRY_THREAD_PREFIX = "ekyc-bulkhead-";
+
+    private final String serviceName;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Executor expiryExecutor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int active;
+
+    public Bulkhead(String serviceName, int maxConcurrent, int maxQueue) {
+        this(serviceName, maxConcurrent, maxQueue, SharedExpiryExecutor.EXECUTOR);
+    }
+
+    /**
+     * @param serviceName The downstream service, for logging
+     * @param maxConcurrent Maximum number of calls holding a slot at once
+     * @param maxQueue Maximum number of callers waiting for a slot
+     * @param expiryExecutor Executor failing waiters that ran out of time, and so running whatever the
+     *                       caller chained onto them; it must not run them on the timer thread
+     */
+    public Bulkhead(String serviceName, int maxConcurrent, int maxQueue, Executor expiryExecutor) {
+        if (maxConcurrent < 1 || maxQueue < 0) {
+            throw new IllegalArgumentException("Bulkhead for " + serviceName
+                    + " needs maxConcurrent >= 1 and maxQueue >= 0");
+        }
+        this.serviceName = serviceName;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.expiryExecutor = expiryExecutor;
+    }
+
+    /**
+     * Requests a slot without blocking.
+     * The returned future completes when the slot is granted; the caller must then
+     * {@link #release()} it exactly once. It completes exceptionally with a
+     * BulkheadFullException if the queue is full or no slot frees up within
+     * {@code maxWaitMillis}. Cancelling it while queued gives up the place in the queue.
+     *
+     * @param maxWaitMillis How long to wait in the queue; Long.MAX_VALUE waits indefinitely
+     * @return A future completing once the slot is held
+     */
+    public CompletableFuture<Void> acquireAsync(long maxWaitMillis) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (active < maxConcurrent) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() >= maxQueue) {
+                logger.warn("Bulkhead full for {}: {} in flight, {} queued. Rejecting call",
+                        serviceName, active, waiters.size());
+                return CompletableFuture.failedFuture(rejection("bulkhead full ("
+                        + maxConcurrent + " in flight, " + maxQueue + " queued)"));
+            }
+            waiters.addLast(waiter);
+        } finally {
+            lock.unlock();
+        }
+        waiter.whenComplete((granted, error) -> {
+            if (error != null) {
+                removeWaiter(waiter);
+            }
+        });
+        expireAfter(waiter, maxWaitMillis);
+        return waiter;
+    }
+
+    /**
+     * Blocking variant of {@link #acquireAsync(long)}.
+     * @param maxWaitMillis How long to wait in the queue; Long.MAX_VALUE waits indefinitely
+     * @throws BulkheadFullException if no slot could be obtained
+     * @throws ServiceException if the waiting thread is interrupted
+     */
+    public void acquire(long maxWaitMillis) {
+        CompletableFuture<Void> permit = acquireAsync(maxWaitMillis);
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!permit.cancel(false) && !permit.isCompletedExceptionally()) {
+                release(); // Granted just as we gave up
+            }
+            throw new ServiceException("Request interrupted while waiting for a bulkhead slot", serviceName, e);
+        } catch (ExecutionException e) {
+            throw (ServiceException) e.getCause();
+        }
+    }
+
+    /**
+     * Returns a slot, handing it straight to the longest-waiting caller if there is one.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            lock.lock();
+            try {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // A waiter that already timed out or was cancelled refuses the slot; offer it to the next one
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of calls that could start now without queueing
+     */
+    public int getAvailableCount() {
+        lock.lock();
+        try {
+            return Math.max(0, maxConcurrent - active);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expireAfter(CompletableFuture<Void> waiter, long maxWaitMillis) {
+        if (maxWaitMillis == Long.MAX_VALUE) {
+            return;
+        }
+        // Leave the queue before failing, so the caller never observes its own stale entry.
+        // A waiter no longer queued has been granted its slot and keeps it.
+        HashedWheelTimer.Timeout expiry = HashedWheelTimer.shared().newTimeout(() -> {
+            if (removeWaiter(waiter)) {
+                waiter.completeExceptionally(rejection("no bulkhead slot within " + maxWaitMillis + "ms"));
+            }
+        }, maxWaitMillis, TimeUnit.MILLISECONDS, expiryExecutor);
+        waiter.whenComplete((granted, error) -> expiry.cancel());
+    }
+
+    private boolean removeWaiter(CompletableFuture<Void> waiter) {
+        lock.lock();
+        try {
+            return waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BulkheadFullException rejection(String reason) {
+        return new BulkheadFullException(serviceName + " " + reason, serviceName, maxConcurrent, maxQueue);
+    }
+
+    private static final class SharedExpiryExecutor {
+        private static final Executor EXECUTOR = ExecutorFactory.newElasticExecutor(EXPIRY_THREAD_PREFIX);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.FutureUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP client wrapper that isolates downstream services from each other.
+ * Each service URL gets its own {@link Bulkhead}, so when one service slows down
+ * only its own calls queue up and, once its queue is full, fail fast with a
+ * BulkheadFullException - calls to the other services are unaffected.
+ *
+ * Is wrapped by the {@link RetryableHttpClient}: a slot is held for one attempt, and a retry
+ * takes another, so a call waiting out its backoff holds none while retry traffic still stays
+ * within the service's own limit. Time spent queued counts against the caller's {@link Deadline}.
+ */
+public class BulkheadHttpClient implements HttpClient, AsyncHttpClient, CapacityAware {
+
+    private final HttpClient delegate;
+    private final AsyncHttpClient asyncDelegate;
+    private final Map<String, Bulkhead> bulkheadsByUrl;
+
+    public BulkheadHttpClient(HttpClient delegate, ServiceConfig config) {
+        this(delegate, bulkheadsFor(config));
+    }
+
+    /**
+     * @param delegate The client to protect
+     * @param bulkheadsByUrl Bulkhead per service URL; calls to other URLs pass straight through
+     */
+    public BulkheadHttpClient(HttpClient delegate, Map<String, Bulkhead> bulkheadsByUrl) {
+        this.delegate = delegate;
+        this.asyncDelegate = AsyncHttpClient.adapt(delegate, FutureUtils.DIRECT_EXECUTOR);
+        this.bulkheadsByUrl = Map.copyOf(bulkheadsByUrl);
+    }
+
+    private static Map<String, Bulkhead> bulkheadsFor(ServiceConfig config) {
+        Map<String, Bulkhead> bulkheads = new HashMap<>();
+        bulkheads.put(config.getDocumentUrl(), new Bulkhead("DocumentVerification",
+                config.getDocumentMaxConcurrent(), config.getDocumentMaxQueue()));
+        bulkheads.put(config.getBiometricUrl(), new Bulkhead("BiometricService",
+                config.getBiometricMaxConcurrent(), config.getBiometricMaxQueue()));
+        bulkheads.put(config.getAddressUrl(), new Bulkhead("AddressVerification",
+                config.getAddressMaxConcurrent(), config.getAddressMaxQueue()));
+        bulkheads.put(config.getSanctionsUrl(), new Bulkhead("SanctionsScreening",
+                config.getSanctionsMaxConcurrent(), config.getSanctionsMaxQueue()));
+        return bulkheads;
+    }
+
+    /**
+     * Gets the bulkhead guarding a service URL.
+     * @param url The service URL
+     * @return The bulkhead, or null if calls to the URL are not limited
+     */
+    public Bulkhead getBulkhead(String url) {
+        return bulkheadsByUrl.get(url);
+    }
+
+    /**
+     * Gets the free slots of the URL's bulkhead, further limited by the wrapped client's capacity.
+     * Queue places are not counted: a call that would have to queue is not available capacity.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        int delegateCapacity = CapacityAware.availableCapacity(delegate, url);
+        Bulkhead bulkhead = bulkheadsByUrl.get(url);
+        if (bulkhead == null) {
+            return delegateCapacity;
+        }
+        return Math.min(delegateCapacity, bulkhead.getAvailableCount());
+    }
+
+    /**
+     * A full bulkhead frees a slot when one of its calls completes, which cannot be predicted.
+     */
+    @Override
+    public long millisUntilCapacity(String url) {
+        Bulkhead bulkhead = bulkheadsByUrl.get(url);
+        if (bulkhead != null && bulkhead.getAvailableCount() == 0) {
+            return -1;
+        }
+        return CapacityAware.millisUntilCapacity(delegate, url);
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        return post(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds, Deadline deadline) {
+        Bulkhead bulkhead = bulkheadsByUrl.get(url);
+        if (bulkhead == null) {
+            return delegate.post(url, body, timeoutSeconds, deadline);
+        }
+        bulkhead.acquire(deadline.remainingMillis());
+        try {
+            return delegate.post(url, body, timeoutSeconds, deadline);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        return postAsync(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds,
+                                                        Deadline deadline) {
+        Bulkhead bulkhead = bulkheadsByUrl.get(url);
+        if (bulkhead == null) {
+            return asyncDelegate.postAsync(url, body, timeoutSeconds, deadline);
+        }
+        CompletableFuture<Void> permit = bulkhead.acquireAsync(deadline.remainingMillis());
+        CompletableFuture<ServiceResponse> result = new CompletableFuture<>();
+        permit.whenComplete((granted, error) -> {
+            if (error != null) {
+                result.completeExceptionally(FutureUtils.unwrap(error));
+            } else if (result.isDone()) {
+                bulkhead.release(); // Cancelled just as the slot was granted
+            } else {
+                callWithPermit(bulkhead, url, body, timeoutSeconds, deadline, result);
+            }
+        });
+        // Cancelling while queued gives up the place in the queue
+        return FutureUtils.propagateCancellation(result, permit);
+    }
+
+    private void callWithPermit(Bulkhead bulkhead, String url, Object body, int timeoutSeconds,
+                                Deadline deadline, CompletableFuture<ServiceResponse> result) {
+        CompletableFuture<ServiceResponse> call;
+        try {
+            call = asyncDelegate.postAsync(url, body, timeoutSeconds, deadline);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((response, error) -> {
+            bulkhead.release();
+            if (error != null) {
+                result.completeExceptionally(FutureUtils.unwrap(error));
+            } else {
+                result.complete(response);
+            }
+        });
+        FutureUtils.propagateCancellation(result, call);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ekyc.client;
+
+/**
+ * HTTP client that can tell how many more calls a service accepts right now.
+ * Lets callers hold back work instead of having calls rejected by a rate limit or bulkhead.
+ * Wrapping clients combine their own limit with their delegate's.
+ */
+public interface CapacityAware {
+
+    /**
+     * Gets the number of calls to a service that could start now without being rejected or queued.
+     * The value is a snapshot: concurrent callers may use it up before the caller does.
+     *
+     * @param url The service URL
+     * @return The number of calls that can start now, or Integer.MAX_VALUE if calls are not limited
+     */
+    int availableCapacity(String url);
+
+    /**
+     * Gets how long until a call to a service could start without being rejected or queued.
+     * By default, capacity is assumed to free up at an unpredictable time, e.g. when a running call completes.
+     *
+     * @param url The service URL
+     * @return 0 if a call can start now, the milliseconds until capacity frees up,
+     *         or -1 if that cannot be predicted
+     */
+    default long millisUntilCapacity(String url) {
+        return availableCapacity(url) > 0 ? 0 : -1;
+    }
+
+    /**
+     * Gets the available capacity of any client, treating clients that are not CapacityAware as unlimited.
+     *
+     * @param client The client to ask
+     * @param url The service URL
+     * @return The number of calls that can start now, or Integer.MAX_VALUE if unknown
+     */
+    static int availableCapacity(HttpClient client, String url) {
+        if (client instanceof CapacityAware) {
+            return ((CapacityAware) client).availableCapacity(url);
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets how long until any client can take a call, treating clients that are not CapacityAware as unlimited.
+     *
+     * @param client The client to ask
+     * @param url The service URL
+     * @return 0 if a call can start now, the milliseconds until capacity frees up, or -1 if unknown
+     */
+    static long millisUntilCapacity(HttpClient client, String url) {
+        if (client instanceof CapacityAware) {
+            return ((CapacityAware) client).millisUntilCapacity(url);
+        }
+        return 0;
+    }
+}
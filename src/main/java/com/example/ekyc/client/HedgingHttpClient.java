@@ -0,0 +1,364 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.ServiceException;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HTTP client wrapper that hedges slow calls to cut tail latency.
+ * If no response has arrived once a call has taken as long as the observed latency percentile
+ * of its URL (p95 by default), an identical second request is sent. The first response wins and the
+ * other request is cancelled, including its retries.
+ *
+ * Hedges are limited so they cannot amplify an overload:
+ * - at most {@code budgetPercent} of calls are hedged
+ * - a hedge is only sent if the wrapped client reports capacity to spare (see {@link CapacityAware}),
+ *   and never takes the last rate limit permit or bulkhead slot
+ * - a URL is not hedged until {@code minSamples} latencies have been observed
+ *
+ * The hedge delay is kept on the shared {@link HashedWheelTimer} and cancelled once the call is answered;
+ * the hedge itself is sent from the client's own executor, never from the timer thread.
+ * A failed attempt does not fail the call while the other attempt is still running.
+ * The latency a winning hedge saved is estimated as the mean excess of the observed latencies beyond
+ * the point where the hedge won, since the cancelled request's own latency is never seen.
+ */
+public class HedgingHttpClient implements HttpClient, AsyncHttpClient, CapacityAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgingHttpClient.class);
+
+    /** Number of recent latencies per URL the hedge delay is computed from. */
+    public static final int LATENCY_WINDOW_SIZE = 256;
+
+    private static final String HEDGE_THREAD_PREFIX = "ekyc-hedge-";
+
+    private final HttpClient delegate;
+    private final AsyncHttpClient asyncDelegate;
+    private final int percentile;
+    private final int budgetPercent;
+    private final int minSamples;
+    private final Executor hedgeExecutor;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong latencySavedNanos = new AtomicLong();
+
+    public HedgingHttpClient(HttpClient delegate, ServiceConfig config) {
+        this(delegate, config.getBiometricHedgePercentile(), config.getBiometricHedgeBudgetPercent(),
+                config.getBiometricHedgeMinSamples());
+    }
+
+    /**
+     * @param delegate The client to send requests through
+     * @param percentile Latency percentile after which a call is hedged, 1-99
+     * @param budgetPercent Maximum share of calls that may be hedged, 0-100
+     * @param minSamples Latencies to observe for a URL before its calls are hedged
+     */
+    public HedgingHttpClient(HttpClient delegate, int percentile, int budgetPercent, int minSamples) {
+        this(delegate, percentile, budgetPercent, minSamples, SharedHedgeExecutor.EXECUTOR);
+    }
+
+    /**
+     * @param delegate The client to send requests through
+     * @param percentile Latency percentile after which a call is hedged, 1-99
+     * @param budgetPercent Maximum share of calls that may be hedged, 0-100
+     * @param minSamples Latencies to observe for a URL before its calls are hedged
+     * @param hedgeExecutor Executor sending the hedges; it must not run them on the submitting thread,
+     *                      which is the timer's
+     */
+    public HedgingHttpClient(HttpClient delegate, int percentile, int budgetPercent, int minSamples,
+                             Executor hedgeExecutor) {
+        if (percentile < 1 || percentile > 99 || budgetPercent < 0 || budgetPercent > 100 || minSamples < 1) {
+            throw new IllegalArgumentException("Hedging needs a percentile of 1-99, a budget of 0-100%"
+                    + " and at least one sample");
+        }
+        this.delegate = delegate;
+        this.asyncDelegate = AsyncHttpClient.adapt(delegate, FutureUtils.DIRECT_EXECUTOR);
+        this.percentile = percentile;
+        this.budgetPercent = budgetPercent;
+        this.minSamples = minSamples;
+        this.hedgeExecutor = hedgeExecutor;
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        return post(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds, Deadline deadline) {
+        CompletableFuture<ServiceResponse> call = postAsync(url, body, timeoutSeconds, deadline);
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.cancel(true);
+            throw new ServiceException("Request interrupted", serviceKey(url), e);
+        } catch (ExecutionException e) {
+            Throwable cause = FutureUtils.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ServiceException("Request failed: " + cause.getMessage(), serviceKey(url), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        return postAsync(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds,
+                                                        Deadline deadline) {
+        calls.incrementAndGet();
+        LatencyWindow window = latencies.computeIfAbsent(url, k -> new LatencyWindow(LATENCY_WINDOW_SIZE));
+        HedgedCall call = new HedgedCall(url, body, timeoutSeconds, deadline, window);
+        call.primary = call.attempt(false);
+
+        long hedgeDelayNanos = window.percentileNanos(percentile, minSamples);
+        if (hedgeDelayNanos >= 0 && !call.result.isDone()) {
+            HashedWheelTimer.Timeout hedgeTimer = HashedWheelTimer.shared().newTimeout(call::hedge,
+                    hedgeDelayNanos, TimeUnit.NANOSECONDS, CorrelationIdGenerator.withCurrentContext(hedgeExecutor));
+            call.result.whenComplete((response, error) -> hedgeTimer.cancel());
+        }
+        return call.result;
+    }
+
+    /**
+     * Reports the wrapped client's capacity; hedges draw on the same limits.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        return CapacityAware.availableCapacity(delegate, url);
+    }
+
+    @Override
+    public long millisUntilCapacity(String url) {
+        return CapacityAware.millisUntilCapacity(delegate, url);
+    }
+
+    /**
+     * Gets the current hedge delay for a URL.
+     * @param url The service URL
+     * @return The delay in milliseconds, or -1 if too few latencies have been observed to hedge
+     */
+    public long getHedgeDelayMillis(String url) {
+        LatencyWindow window = latencies.get(url);
+        long nanos = window == null ? -1 : window.percentileNanos(percentile, minSamples);
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    /**
+     * @return The number of hedge requests sent
+     */
+    public long getHedgeCount() {
+        return hedges.get();
+    }
+
+    /**
+     * @return The number of calls answered by their hedge rather than the original request
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * @return The estimated total latency saved by winning hedges, in milliseconds
+     */
+    public long getLatencySavedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencySavedNanos.get());
+    }
+
+    private boolean withinBudget() {
+        // Reserve the hedge before checking, so concurrent calls cannot overshoot the budget together
+        long sent = hedges.incrementAndGet();
+        if (sent * 100 <= calls.get() * budgetPercent) {
+            return true;
+        }
+        hedges.decrementAndGet();
+        return false;
+    }
+
+    private static String serviceKey(String url) {
+        int apiIndex = url.indexOf("/api/");
+        return apiIndex >= 0 ? url.substring(apiIndex) : url;
+    }
+
+    private static final class SharedHedgeExecutor {
+        private static final Executor EXECUTOR = ExecutorFactory.newElasticExecutor(HEDGE_THREAD_PREFIX);
+    }
+
+    /**
+     * One logical call: the original request and, possibly, its hedge.
+     */
+    private final class HedgedCall {
+        private final String url;
+        private final Object body;
+        private final int timeoutSeconds;
+        private final Deadline deadline;
+        private final LatencyWindow window;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger pendingAttempts = new AtomicInteger(1);
+        private final CompletableFuture<ServiceResponse> result = new CompletableFuture<>();
+        private volatile CompletableFuture<ServiceResponse> primary;
+        private volatile CompletableFuture<ServiceResponse> hedge;
+
+        HedgedCall(String url, Object body, int timeoutSeconds, Deadline deadline, LatencyWindow window) {
+            this.url = url;
+            this.body = body;
+            this.timeoutSeconds = timeoutSeconds;
+            this.deadline = deadline;
+            this.window = window;
+            result.whenComplete((response, error) -> {
+                if (error instanceof CancellationException) {
+                    cancelAttempts();
+                }
+            });
+        }
+
+        CompletableFuture<ServiceResponse> attempt(boolean isHedge) {
+            long sentNanos = System.nanoTime();
+            CompletableFuture<ServiceResponse> attempt;
+            try {
+                attempt = asyncDelegate.postAsync(url, body, timeoutSeconds, deadline);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempt.whenComplete((response, error) -> onAttemptDone(isHedge, sentNanos, response, error));
+            return attempt;
+        }
+
+        /**
+         * Sends the hedge if the call is still unanswered and the budget, deadline and capacity allow it.
+         */
+        void hedge() {
+            if (result.isDone() || deadline.isExpired() || availableCapacity(url) <= 1 || !withinBudget()) {
+                return;
+            }
+            logger.debug("No response from {} after {}ms. Sending hedge request",
+                    url, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            pendingAttempts.incrementAndGet();
+            hedge = attempt(true);
+            if (result.isDone()) {
+                hedge.cancel(true); // Answered while the hedge was being sent
+            }
+        }
+
+        private void onAttemptDone(boolean isHedge, long sentNanos, ServiceResponse response, Throwable error) {
+            if (error == null) {
+                window.record(System.nanoTime() - sentNanos);
+                if (result.complete(response)) {
+                    if (isHedge) {
+                        recordHedgeWin();
+                    }
+                    cancelAttempts();
+                }
+            } else if (pendingAttempts.decrementAndGet() == 0) {
+                result.completeExceptionally(FutureUtils.unwrap(error));
+            }
+        }
+
+        private void recordHedgeWin() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            hedgeWins.incrementAndGet();
+            latencySavedNanos.addAndGet(window.meanExcessNanos(elapsedNanos));
+        }
+
+        private void cancelAttempts() {
+            CompletableFuture<ServiceResponse> first = primary;
+            CompletableFuture<ServiceResponse> second = hedge;
+            if (first != null) {
+                first.cancel(true);
+            }
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Ring buffer of the most recent latencies of one URL.
+     */
+    private static final class LatencyWindow {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        void record(long latencyNanos) {
+            lock.lock();
+            try {
+                samples[next] = latencyNanos;
+                next = (next + 1) % samples.length;
+                count = Math.min(count + 1, samples.length);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return The given percentile of the window, or -1 if it holds fewer than {@code minSamples}
+         */
+        long percentileNanos(int percentile, int minSamples) {
+            long[] sorted = snapshot();
+            if (sorted.length < minSamples) {
+                return -1;
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        /**
+         * Estimates how much longer than {@code elapsedNanos} a request that has not answered by then
+         * takes, as the mean excess of the observed latencies beyond it; 0 if none exceeded it.
+         */
+        long meanExcessNanos(long elapsedNanos) {
+            long excess = 0;
+            int slower = 0;
+            for (long sample : snapshot()) {
+                if (sample > elapsedNanos) {
+                    excess += sample - elapsedNanos;
+                    slower++;
+                }
+            }
+            return slower == 0 ? 0 : excess / slower;
+        }
+
+        private long[] snapshot() {
+            lock.lock();
+            try {
+                return Arrays.copyOf(samples, count);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.ekyc.client;
 
+import com.example.ekyc.exception.TimeoutException;
+import com.example.ekyc.util.Deadline;
+
 /**
  * Interface for HTTP client operations.
  */
@@ -9,9 +12,29 @@ public interface HttpClient {
      * Makes a POST request to the specified URL.
      * 
      * @param url The URL to send the request to
-     * @param body The request body object (will be serialized to JSON)
+     * @param body The request body: a {@link JsonPayload}, or an object serialized to JSON with Gson
      * @param timeoutSeconds The timeout in seconds
      * @return The service response
      */
     ServiceResponse post(String url, Object body, int timeoutSeconds);
+
+    /**
+     * Makes a POST request that must complete before the given deadline.
+     * The timeout is clipped to the remaining budget; implementations that retry
+     * override this to stop retrying once the budget is spent.
+     *
+     * @param url The URL to send the request to
+     * @param body The request body: a {@link JsonPayload}, or an object serialized to JSON with Gson
+     * @param timeoutSeconds The timeout in seconds
+     * @param deadline The end-to-end deadline of the verification
+     * @return The service response
+     * @throws TimeoutException if less than a second of the budget is left
+     */
+    default ServiceResponse post(String url, Object body, int timeoutSeconds, Deadline deadline) {
+        int clippedSeconds = deadline.clipTimeoutSeconds(timeoutSeconds);
+        if (clippedSeconds == 0) {
+            throw new TimeoutException("Deadline exceeded before request was sent", url, 0);
+        }
+        return post(url, body, clippedSeconds);
+    }
 }
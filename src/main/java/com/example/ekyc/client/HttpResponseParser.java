@@ -0,0 +1,301 @@
+package com.example.ekyc.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental parser of HTTP/1.1 responses, fed with whatever bytes a non-blocking read returned.
+ *
+ * Bodies delimited by Content-Length, by chunked transfer encoding or by the end of the connection are
+ * supported, and interim 1xx responses are skipped. Only the headers that frame the message are looked at,
+ * without turning them into Strings. One parser serves every response on a connection: its line and body
+ * storage grow to the largest response seen and are then reused.
+ */
+final class HttpResponseParser {
+
+    private static final int MAX_LINE_BYTES = 8192;
+    private static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+    private static final int INITIAL_BODY_BYTES = 4096;
+
+    private enum State { STATUS_LINE, HEADERS, BODY, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, UNTIL_CLOSE, DONE }
+
+    private final byte[] line = new byte[MAX_LINE_BYTES];
+    private int lineLength;
+    private boolean lineComplete;
+    private byte[] body = new byte[INITIAL_BODY_BYTES];
+    private int bodyLength;
+    private State state = State.STATUS_LINE;
+    private int statusCode;
+    private long contentLength;
+    private long remaining;
+    private boolean chunked;
+    private boolean closeAfter;
+
+    /**
+     * Consumes bytes of the current response. Bytes of a following pipelined response are left in the buffer.
+     *
+     * @param in Bytes read from the connection, in read mode
+     * @return Whether the response is complete
+     * @throws IOException if the bytes are not a well-formed HTTP/1.x response
+     */
+    boolean parse(ByteBuffer in) throws IOException {
+        while (state != State.DONE && in.hasRemaining()) {
+            step(in);
+        }
+        return state == State.DONE;
+    }
+
+    /**
+     * Called when the server closed the connection.
+     * @return Whether that completed a response whose body runs until the end of the connection
+     */
+    boolean endOfStream() {
+        if (state == State.UNTIL_CLOSE) {
+            state = State.DONE;
+        }
+        return state == State.DONE;
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return A copy of the body bytes; the parser's own storage is reused for the next response
+     */
+    byte[] getBody() {
+        return Arrays.copyOf(body, bodyLength);
+    }
+
+    /**
+     * @return Whether the server will close the connection after this response
+     */
+    boolean isCloseAfter() {
+        return closeAfter;
+    }
+
+    /**
+     * Prepares for the next response on the connection.
+     */
+    void reset() {
+        state = State.STATUS_LINE;
+        lineLength = 0;
+        lineComplete = false;
+        bodyLength = 0;
+        statusCode = 0;
+        chunked = false;
+        closeAfter = false;
+    }
+
+    private void step(ByteBuffer in) throws IOException {
+        switch (state) {
+            case STATUS_LINE:
+                if (readLine(in)) {
+                    parseStatusLine();
+                }
+                break;
+            case HEADERS:
+                if (readLine(in)) {
+                    if (lineLength == 0) {
+                        endOfHeaders();
+                    } else {
+                        parseHeader();
+                    }
+                }
+                break;
+            case BODY:
+            case CHUNK_DATA:
+                readBody(in);
+                break;
+            case CHUNK_SIZE:
+                if (readLine(in)) {
+                    remaining = parseChunkSize();
+                    state = remaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+                }
+                break;
+            case CHUNK_END:
+                if (readLine(in)) {
+                    state = State.CHUNK_SIZE;
+                }
+                break;
+            case TRAILERS:
+                if (readLine(in) && lineLength == 0) {
+                    state = State.DONE;
+                }
+                break;
+            case UNTIL_CLOSE:
+                appendBody(in, in.remaining());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Collects bytes up to the end of the line, starting a new line if the last one was complete.
+     * @return Whether a whole line, without its CRLF, is in {@code line}
+     */
+    private boolean readLine(ByteBuffer in) throws IOException {
+        if (lineComplete) {
+            lineLength = 0;
+            lineComplete = false;
+        }
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\n') {
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                lineComplete = true;
+                return true;
+            }
+            if (lineLength == MAX_LINE_BYTES) {
+                throw new IOException("Response line longer than " + MAX_LINE_BYTES + " bytes");
+            }
+            line[lineLength++] = b;
+        }
+        return false;
+    }
+
+    private void parseStatusLine() throws IOException {
+        // HTTP/1.1 200 OK
+        if (lineLength < 12 || !startsWith("HTTP/1.") || line[8] != ' ') {
+            throw new IOException("Malformed status line");
+        }
+        statusCode = parseDecimal(9, 12);
+        closeAfter = line[7] == '0'; // HTTP/1.0 closes unless a Connection header says otherwise
+        contentLength = -1;
+        state = State.HEADERS;
+    }
+
+    private void parseHeader() throws IOException {
+        int colon = indexOf((byte) ':');
+        if (colon < 0) {
+            throw new IOException("Malformed header line");
+        }
+        int valueStart = colon + 1;
+        while (valueStart < lineLength && line[valueStart] == ' ') {
+            valueStart++;
+        }
+        int valueEnd = lineLength;
+        while (valueEnd > valueStart && line[valueEnd - 1] == ' ') {
+            valueEnd--;
+        }
+        if (nameEquals(colon, "content-length")) {
+            contentLength = parseDecimal(valueStart, valueEnd);
+        } else if (nameEquals(colon, "transfer-encoding")) {
+            chunked = endsWithIgnoreCase(valueStart, valueEnd, "chunked");
+        } else if (nameEquals(colon, "connection")) {
+            closeAfter = endsWithIgnoreCase(valueStart, valueEnd, "close");
+        }
+    }
+
+    private void endOfHeaders() {
+        if (statusCode >= 100 && statusCode < 200) {
+            state = State.STATUS_LINE; // Interim response; the real one follows
+        } else if (statusCode == 204 || statusCode == 304) {
+            state = State.DONE;
+        } else if (chunked) {
+            state = State.CHUNK_SIZE;
+        } else if (contentLength >= 0) {
+            remaining = contentLength;
+            state = remaining == 0 ? State.DONE : State.BODY;
+        } else {
+            closeAfter = true;
+            state = State.UNTIL_CLOSE;
+        }
+    }
+
+    private void readBody(ByteBuffer in) throws IOException {
+        int count = (int) Math.min(remaining, in.remaining());
+        appendBody(in, count);
+        remaining -= count;
+        if (remaining == 0) {
+            state = state == State.BODY ? State.DONE : State.CHUNK_END;
+        }
+    }
+
+    private void appendBody(ByteBuffer in, int count) throws IOException {
+        if (bodyLength + count > body.length) {
+            if (bodyLength + count > MAX_BODY_BYTES) {
+                throw new IOException("Response body larger than " + MAX_BODY_BYTES + " bytes");
+            }
+            byte[] larger = new byte[Math.min(MAX_BODY_BYTES, Math.max(body.length * 2, bodyLength + count))];
+            System.arraycopy(body, 0, larger, 0, bodyLength);
+            body = larger;
+        }
+        in.get(body, bodyLength, count);
+        bodyLength += count;
+    }
+
+    private long parseChunkSize() throws IOException {
+        long size = 0;
+        int digits = 0;
+        for (int i = 0; i < lineLength && line[i] != ';'; i++) {
+            int digit = Character.digit(line[i], 16);
+            if (digit < 0 || ++digits > 8) {
+                throw new IOException("Malformed chunk size");
+            }
+            size = size * 16 + digit;
+        }
+        if (digits == 0) {
+            throw new IOException("Malformed chunk size");
+        }
+        return size;
+    }
+
+    private int parseDecimal(int from, int to) throws IOException {
+        if (to <= from || to - from > 9) {
+            throw new IOException("Malformed number in response");
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            if (line[i] < '0' || line[i] > '9') {
+                throw new IOException("Malformed number in response");
+            }
+            value = value * 10 + (line[i] - '0');
+        }
+        return value;
+    }
+
+    private boolean startsWith(String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            if (line[i] != ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(byte b) {
+        for (int i = 0; i < lineLength; i++) {
+            if (line[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int nameLength, String lowerCaseName) {
+        return nameLength == lowerCaseName.length() && regionEqualsIgnoreCase(0, lowerCaseName);
+    }
+
+    private boolean endsWithIgnoreCase(int from, int to, String lowerCaseSuffix) {
+        int start = to - lowerCaseSuffix.length();
+        return start >= from && regionEqualsIgnoreCase(start, lowerCaseSuffix);
+    }
+
+    private boolean regionEqualsIgnoreCase(int offset, String lowerCaseAscii) {
+        for (int i = 0; i < lowerCaseAscii.length(); i++) {
+            byte b = line[offset + i];
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b != lowerCaseAscii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.RateLimitException;
+import com.example.ekyc.exception.ServiceException;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.Utf8JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HTTP transport that calls the real services, built on {@link java.net.http.HttpClient}.
+ *
+ * All calls share one JDK client and its connection pool, so connections are kept alive and reused
+ * across calls, and HTTP/2 is negotiated where the service supports it, multiplexing calls over a
+ * single connection. Per host, at most {@code maxConnectionsPerHost} calls are in flight; further calls
+ * wait for one of them to finish, which bounds the connections opened to an HTTP/1.1 service.
+ *
+ * The {@code timeoutSeconds} of a call covers waiting for a free connection as well as the exchange
+ * itself, and is kept on the shared {@link com.example.ekyc.util.HashedWheelTimer}. Responses follow
+ * the contract of {@link SimpleHttpClient}: a timeout is returned as {@link ServiceResponse#timeout()},
+ * HTTP 429 fails with a RateLimitException, and any other status is returned as is. Connection
+ * failures fail with an UncheckedIOException, which RetryableHttpClient retries.
+ */
+public class JdkHttpTransport implements HttpClient, AsyncHttpClient, CapacityAware, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdkHttpTransport.class);
+
+    private static final String THREAD_NAME_PREFIX = "ekyc-http-";
+    private static final int INITIAL_BODY_BYTES = 1024;
+    /** Reused per calling thread; the JDK client reads the body later, so each call gets an exact copy. */
+    private static final ThreadLocal<Utf8JsonWriter> BODY_WRITERS =
+            ThreadLocal.withInitial(() -> new Utf8JsonWriter(ByteBuffer.allocate(INITIAL_BODY_BYTES)));
+
+    private final java.net.http.HttpClient client;
+    private final ExecutorService executor;
+    private final int maxConnectionsPerHost;
+    private final Map<String, HostLimit> hostLimits = new ConcurrentHashMap<>();
+
+    public JdkHttpTransport(ServiceConfig config) {
+        this(ExecutorFactory.newBoundedExecutor(config.getHttpThreads(), THREAD_NAME_PREFIX),
+                config.getHttpMaxConnectionsPerHost(), config.getHttpConnectTimeoutMs());
+    }
+
+    /**
+     * @param executor The executor shared by every call for sending and receiving; shut down by {@link #close()}
+     * @param maxConnectionsPerHost Maximum number of calls in flight to one host
+     * @param connectTimeoutMillis Timeout for opening a connection
+     */
+    public JdkHttpTransport(ExecutorService executor, int maxConnectionsPerHost, int connectTimeoutMillis) {
+        if (maxConnectionsPerHost < 1 || connectTimeoutMillis < 1) {
+            throw new IllegalArgumentException("maxConnectionsPerHost and connectTimeoutMillis must be at least 1");
+        }
+        this.executor = executor;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.client = java.net.http.HttpClient.newBuilder()
+                .version(Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(Redirect.NEVER)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        CompletableFuture<ServiceResponse> call = postAsync(url, body, timeoutSeconds);
+        try {
+            return FutureUtils.joinInterruptibly(call,
+                    () -> ServiceResponse.error(new InterruptedException("Interrupted waiting for " + url)));
+        } catch (CompletionException e) {
+            Throwable cause = FutureUtils.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ServiceException("Request to " + url + " failed", serviceKey(url), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        URI uri = URI.create(url);
+        CompletableFuture<ServiceResponse> result = new CompletableFuture<>();
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        // Covers the wait for a connection; the exchange itself has the remaining time as its timeout
+        FutureUtils.completeOnTimeout(result, ServiceResponse.timeout(), timeoutSeconds, TimeUnit.SECONDS,
+                executor);
+        byte[] requestBody = encode(body);
+        hostLimit(uri).acquire(result, () -> send(uri, requestBody, deadlineNanos, result));
+        return result;
+    }
+
+    /**
+     * Gets the number of calls to the service's host that can start without waiting for a connection.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        HostLimit limit = hostLimits.get(hostKey(URI.create(url)));
+        return limit == null ? maxConnectionsPerHost : limit.available();
+    }
+
+    /**
+     * Shuts down the shared executor. The JDK client releases its connections once it is unreachable.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void send(URI uri, byte[] requestBody, long deadlineNanos, CompletableFuture<ServiceResponse> result) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            result.complete(ServiceResponse.timeout());
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofNanos(remainingNanos))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody))
+                .build();
+        CompletableFuture<HttpResponse<byte[]>> exchange;
+        try {
+            exchange = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            exchange = CompletableFuture.failedFuture(e);
+        }
+        // Timed out or cancelled by the caller: abort the exchange and free its connection
+        CompletableFuture<HttpResponse<byte[]>> pending = exchange;
+        result.whenComplete((response, error) -> pending.cancel(true));
+        exchange.whenComplete((response, error) -> complete(result, uri, response, error));
+    }
+
+    private void complete(CompletableFuture<ServiceResponse> result, URI uri, HttpResponse<byte[]> response,
+                          Throwable error) {
+        if (error == null) {
+            logger.debug("POST {} returned {} over {}", uri.getPath(), response.statusCode(), response.version());
+            if (response.statusCode() == 429) {
+                result.completeExceptionally(new RateLimitException(
+                        "Rate limit exceeded by " + uri.getHost(), serviceKey(uri.toString()), 0));
+            } else {
+                result.complete(toServiceResponse(response));
+            }
+            return;
+        }
+        Throwable cause = FutureUtils.unwrap(error);
+        if (cause instanceof HttpTimeoutException) {
+            result.complete(ServiceResponse.timeout());
+        } else if (cause instanceof IOException) {
+            result.completeExceptionally(new UncheckedIOException(
+                    "POST " + uri.getPath() + " failed", (IOException) cause));
+        } else {
+            result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Encodes the body as UTF-8 JSON in this thread's reusable buffer, then copies out the bytes.
+     */
+    private static byte[] encode(Object body) {
+        Utf8JsonWriter writer = BODY_WRITERS.get();
+        JsonPayload.write(body, writer.reset(writer.getBuffer().clear()));
+        ByteBuffer buffer = writer.getBuffer();
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static ServiceResponse toServiceResponse(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return ServiceResponse.success(status, response.body());
+        }
+        return ServiceResponse.error(status, response.body());
+    }
+
+    private HostLimit hostLimit(URI uri) {
+        return hostLimits.computeIfAbsent(hostKey(uri), host -> new HostLimit(maxConnectionsPerHost));
+    }
+
+    private static String hostKey(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static String serviceKey(String url) {
+        int apiIndex = url.indexOf("/api/");
+        return apiIndex >= 0 ? url.substring(apiIndex) : url;
+    }
+
+    /**
+     * Calls in flight to one host. A call beyond the limit waits in arrival order for a call to finish;
+     * a call that timed out or was cancelled while waiting gives up its turn.
+     */
+    private static final class HostLimit {
+        private final int maxInFlight;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Waiter> waiting = new ArrayDeque<>();
+        private int inFlight;
+
+        HostLimit(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        void acquire(CompletableFuture<ServiceResponse> result, Runnable send) {
+            Waiter waiter = new Waiter(result, send);
+            lock.lock();
+            try {
+                if (inFlight >= maxInFlight) {
+                    waiting.addLast(waiter);
+                    return;
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+            start(waiter);
+        }
+
+        int available() {
+            lock.lock();
+            try {
+                return Math.max(0, maxInFlight - inFlight);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void start(Waiter waiter) {
+            waiter.result.whenComplete((response, error) -> release());
+            if (!waiter.result.isDone()) {
+                waiter.send.run();
+            }
+        }
+
+        /**
+         * Hands the permit of a finished call to the first waiting call still wanting it.
+         */
+        private void release() {
+            Waiter next;
+            lock.lock();
+            try {
+                do {
+                    next = waiting.pollFirst();
+                } while (next != null && next.result.isDone());
+                if (next == null) {
+                    inFlight--;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (next != null) {
+                start(next);
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<ServiceResponse> result;
+        private final Runnable send;
+
+        Waiter(CompletableFuture<ServiceResponse> result, Runnable send) {
+            this.result = result;
+            this.send = send;
+        }
+    }
+}
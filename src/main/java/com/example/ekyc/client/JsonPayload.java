@@ -0,0 +1,32 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.util.JsonUtils;
+import com.example.ekyc.util.Utf8JsonWriter;
+
+/**
+ * A request body that writes itself as JSON. Transports encode it straight into their outgoing buffer,
+ * with no map built and no String serialized on the way. Other request bodies are serialized with Gson.
+ */
+@FunctionalInterface
+public interface JsonPayload {
+
+    /**
+     * Writes this payload as one JSON document.
+     * @param out The writer to write to
+     */
+    void writeTo(Utf8JsonWriter out);
+
+    /**
+     * Writes a request body as JSON: a JsonPayload writes itself, any other object goes through Gson.
+     *
+     * @param body The request body passed to {@link HttpClient#post(String, Object, int)}
+     * @param out The writer to write to
+     */
+    static void write(Object body, Utf8JsonWriter out) {
+        if (body instanceof JsonPayload) {
+            ((JsonPayload) body).writeTo(out);
+        } else {
+            out.raw(JsonUtils.toJson(body));
+        }
+    }
+}
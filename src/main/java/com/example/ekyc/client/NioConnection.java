@@ -0,0 +1,185 @@
+package com.example.ekyc.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * One keep-alive HTTP/1.1 connection of a {@link NioSelectorLoop}, carrying pipelined calls: requests are
+ * written back to back without waiting for responses, which the server returns in the same order.
+ * Only the loop's thread touches a connection.
+ */
+final class NioConnection {
+
+    private final NioSelectorLoop loop;
+    private final NioSelectorLoop.Host host;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer readBuffer;
+    private final HttpResponseParser parser = new HttpResponseParser();
+    private final Deque<NioExchange> unwritten = new ArrayDeque<>();
+    private final Deque<NioExchange> awaiting = new ArrayDeque<>();
+    private boolean connected;
+    private boolean closed;
+
+    NioConnection(NioSelectorLoop loop, NioSelectorLoop.Host host, SocketChannel channel, Selector selector,
+                  ByteBuffer readBuffer, boolean connected) throws IOException {
+        this.loop = loop;
+        this.host = host;
+        this.channel = channel;
+        this.readBuffer = readBuffer;
+        this.connected = connected;
+        this.key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+    }
+
+    NioSelectorLoop.Host getHost() {
+        return host;
+    }
+
+    /**
+     * @return The number of calls queued on or sent over this connection and not yet answered
+     */
+    int getOutstanding() {
+        return unwritten.size() + awaiting.size();
+    }
+
+    /**
+     * @return Whether a call sent over this connection has completed without its response
+     */
+    boolean hasAbandonedCall() {
+        for (NioExchange exchange : awaiting) {
+            if (exchange.result.isDone()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void enqueue(NioExchange exchange) {
+        exchange.connection = this;
+        unwritten.addLast(exchange);
+        if (connected) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Handles readiness reported by the selector.
+     * @throws IOException if the connection failed and must be closed
+     */
+    void onSelected() throws IOException {
+        if (key.isConnectable()) {
+            channel.finishConnect();
+            connected = true;
+            key.interestOps(unwritten.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        if (key.isValid() && key.isWritable()) {
+            write();
+        }
+        if (key.isValid() && key.isReadable()) {
+            read();
+        }
+    }
+
+    /**
+     * Closes the connection. Calls whose request had not started to go out are handed back to the loop
+     * to be sent elsewhere; calls the server may have seen fail, since a POST is not safely repeatable here.
+     */
+    void close(IOException cause, Deque<NioExchange> notSent) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Closing anyway; nothing left to release
+        }
+        loop.releaseBuffer(readBuffer);
+        for (NioExchange exchange : unwritten) {
+            if (exchange.isSent()) {
+                loop.fail(exchange, cause);
+            } else {
+                notSent.addLast(exchange);
+            }
+        }
+        awaiting.forEach(exchange -> loop.fail(exchange, cause));
+        unwritten.clear();
+        awaiting.clear();
+    }
+
+    private void write() throws IOException {
+        while (!unwritten.isEmpty()) {
+            NioExchange exchange = unwritten.peekFirst();
+            if (!exchange.isSent() && exchange.result.isDone()) {
+                unwritten.pollFirst(); // Timed out or cancelled before it went out
+                loop.releaseRequest(exchange);
+                continue;
+            }
+            if (exchange.request == null) {
+                exchange.request = loop.encode(exchange);
+            }
+            exchange.writeStarted = true;
+            channel.write(exchange.request);
+            if (exchange.request.hasRemaining()) {
+                return; // Socket buffer full; wait until it is writable again
+            }
+            unwritten.pollFirst();
+            loop.releaseRequest(exchange);
+            awaiting.addLast(exchange);
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void read() throws IOException {
+        int read = channel.read(readBuffer);
+        if (read < 0) {
+            endOfStream();
+            return;
+        }
+        readBuffer.flip();
+        try {
+            while (!closed && readBuffer.hasRemaining()) {
+                if (awaiting.isEmpty()) {
+                    throw new IOException("Server sent bytes no request is waiting for");
+                }
+                if (parser.parse(readBuffer)) {
+                    responseComplete();
+                }
+            }
+        } finally {
+            if (!closed) {
+                readBuffer.clear(); // Once closed, the buffer is back in the pool
+            }
+        }
+    }
+
+    private void endOfStream() throws IOException {
+        if (!awaiting.isEmpty() && parser.endOfStream()) {
+            responseComplete();
+        }
+        if (!closed) {
+            throw new IOException("Connection closed by server");
+        }
+    }
+
+    private void responseComplete() {
+        NioExchange exchange = awaiting.pollFirst();
+        exchange.answered = true;
+        loop.answer(exchange, parser.getStatusCode(), parser.getBody());
+        boolean closeAfter = parser.isCloseAfter();
+        parser.reset();
+        if (closeAfter) {
+            loop.close(this, new IOException("Server closed the connection after a response"));
+        }
+    }
+}
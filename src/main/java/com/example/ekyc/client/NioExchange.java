@@ -0,0 +1,33 @@
+package com.example.ekyc.client;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One call made through the {@link NioHttpTransport}: its body, the request buffer it is encoded into
+ * once its turn to be written comes, and the future of its response.
+ * Apart from {@link #answered}, the fields are only touched by the selector loop the call was handed to.
+ */
+final class NioExchange {
+    final NioHttpTransport.Endpoint endpoint;
+    final JsonPayload body;
+    final CompletableFuture<ServiceResponse> result;
+    ByteBuffer request;
+    boolean writeStarted;
+    NioConnection connection;
+    /** Set once the response has been read, so a timeout racing with it does not abort the connection. */
+    volatile boolean answered;
+
+    NioExchange(NioHttpTransport.Endpoint endpoint, JsonPayload body, CompletableFuture<ServiceResponse> result) {
+        this.endpoint = endpoint;
+        this.body = body;
+        this.result = result;
+    }
+
+    /**
+     * @return Whether bytes of the request have gone out, so the server may be processing it
+     */
+    boolean isSent() {
+        return writeStarted;
+    }
+}
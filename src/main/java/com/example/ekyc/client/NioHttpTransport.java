@@ -0,0 +1,301 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.RateLimitException;
+import com.example.ekyc.exception.ServiceException;
+import com.example.ekyc.util.ByteBufferPool;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.JsonUtils;
+import com.example.ekyc.util.Utf8JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lean non-blocking HTTP/1.1 transport for high call volumes, such as sanctions re-screens.
+ *
+ * A fixed set of selector loops, one per core by default, drive every connection, so the number of calls
+ * in flight is not bound to a number of threads. Connections are kept alive and requests pipelined on them
+ * (see {@link NioSelectorLoop}). A request is encoded straight into a pooled direct buffer when its turn
+ * to be written comes, so calls waiting for a connection hold no buffer; a {@link JsonPayload} body is
+ * written there as UTF-8 without passing through a String. Responses are parsed from a pooled read buffer
+ * per connection, and the response body is handed to the caller as the bytes received. Apart from that
+ * copy of the body and a few small objects tracking the call, a call allocates nothing.
+ *
+ * Only plain {@code http} URLs are supported: TLS would have to be terminated in front of the service.
+ * Responses follow the contract of {@link JdkHttpTransport}. A call that times out or is cancelled after
+ * its request went out closes its connection, since a pipelined connection cannot skip a response; the
+ * other calls sent over it fail with an UncheckedIOException, which RetryableHttpClient retries.
+ */
+public class NioHttpTransport implements HttpClient, AsyncHttpClient, CapacityAware, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioHttpTransport.class);
+
+    private static final String LOOP_THREAD_PREFIX = "ekyc-nio-";
+    private static final String COMPLETION_THREAD_PREFIX = "ekyc-nio-completion-";
+    private static final byte[] END_OF_HEAD = {'\r', '\n', '\r', '\n'};
+    private static final int MAX_LENGTH_DIGITS = 10;
+
+    private final NioSelectorLoop[] loops;
+    private final ByteBufferPool pool;
+    private final ExecutorService completionExecutor;
+    private final int capacityPerHost;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlightByHost = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private volatile boolean closed;
+
+    public NioHttpTransport(ServiceConfig config) {
+        this(config.getNioSelectorThreads() > 0
+                        ? config.getNioSelectorThreads() : Runtime.getRuntime().availableProcessors(),
+                config.getHttpMaxConnectionsPerHost(), config.getNioPipelineDepth(),
+                new ByteBufferPool(config.getNioBufferBytes(), config.getNioMaxPooledBuffers()),
+                ExecutorFactory.newElasticExecutor(COMPLETION_THREAD_PREFIX));
+    }
+
+    /**
+     * @param selectorThreads Number of selector loops
+     * @param maxConnectionsPerHost Connections to one host across all loops, at least one per loop
+     * @param pipelineDepth Calls sent over one connection before their responses arrive
+     * @param pool Pool of the request and read buffers; requests larger than its buffers use a heap buffer
+     * @param completionExecutor Executor completing the callers' futures, so their callbacks never run on
+     *                           a selector loop; it must not run tasks on the submitting thread, and is
+     *                           shut down by {@link #close()}
+     */
+    public NioHttpTransport(int selectorThreads, int maxConnectionsPerHost, int pipelineDepth, ByteBufferPool pool,
+                            ExecutorService completionExecutor) {
+        if (selectorThreads < 1 || maxConnectionsPerHost < 1 || pipelineDepth < 1) {
+            throw new IllegalArgumentException("Selector threads, connections per host and pipeline depth"
+                    + " must be at least 1");
+        }
+        this.pool = pool;
+        this.completionExecutor = completionExecutor;
+        int connectionsPerLoop = Math.max(1, maxConnectionsPerHost / selectorThreads);
+        this.capacityPerHost = selectorThreads * connectionsPerLoop * pipelineDepth;
+        this.loops = new NioSelectorLoop[selectorThreads];
+        try {
+            for (int i = 0; i < selectorThreads; i++) {
+                loops[i] = new NioSelectorLoop(this, pool, connectionsPerLoop, pipelineDepth,
+                        LOOP_THREAD_PREFIX + (i + 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open selector", e);
+        }
+        for (NioSelectorLoop loop : loops) {
+            loop.start();
+        }
+        logger.info("NIO transport started: {} selector loops, {} connections per loop and host, pipeline depth {}",
+                selectorThreads, connectionsPerLoop, pipelineDepth);
+    }
+
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        CompletableFuture<ServiceResponse> call = postAsync(url, body, timeoutSeconds);
+        try {
+            return FutureUtils.joinInterruptibly(call,
+                    () -> ServiceResponse.error(new InterruptedException("Interrupted waiting for " + url)));
+        } catch (CompletionException e) {
+            Throwable cause = FutureUtils.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ServiceException("Request to " + url + " failed", serviceKey(url), cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("NIO transport is closed"));
+        }
+        Endpoint endpoint;
+        try {
+            endpoint = endpoints.computeIfAbsent(url, this::endpointFor);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<ServiceResponse> result = new CompletableFuture<>();
+        NioExchange exchange = new NioExchange(endpoint, payloadOf(body), result);
+        NioSelectorLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+        endpoint.inFlight.incrementAndGet();
+        FutureUtils.completeOnTimeout(result, ServiceResponse.timeout(), timeoutSeconds, TimeUnit.SECONDS,
+                completionExecutor);
+        result.whenComplete((response, error) -> {
+            endpoint.inFlight.decrementAndGet();
+            if (!exchange.answered) {
+                loop.abort(exchange);
+            }
+        });
+        loop.submit(exchange);
+        return result;
+    }
+
+    /**
+     * Gets the number of calls to the service's host that can start without waiting for room on a connection.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        Endpoint endpoint = endpoints.get(url);
+        return endpoint == null ? capacityPerHost : Math.max(0, capacityPerHost - endpoint.inFlight.get());
+    }
+
+    /**
+     * @return The pool of request and read buffers
+     */
+    public ByteBufferPool getBufferPool() {
+        return pool;
+    }
+
+    /**
+     * Stops the selector loops, failing the calls still in flight, and shuts down the completion executor.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (NioSelectorLoop loop : loops) {
+            loop.close();
+        }
+        completionExecutor.shutdown();
+    }
+
+    void answer(NioExchange exchange, int statusCode, byte[] body) {
+        complete(exchange, () -> {
+            if (statusCode == 429) {
+                exchange.result.completeExceptionally(new RateLimitException(
+                        "Rate limit exceeded by " + exchange.endpoint.host, exchange.endpoint.serviceKey, 0));
+            } else if (statusCode >= 200 && statusCode < 300) {
+                exchange.result.complete(ServiceResponse.success(statusCode, body));
+            } else {
+                exchange.result.complete(ServiceResponse.error(statusCode, body));
+            }
+        });
+    }
+
+    void fail(NioExchange exchange, IOException cause) {
+        complete(exchange, () -> exchange.result.completeExceptionally(new UncheckedIOException(
+                "POST " + exchange.endpoint.serviceKey + " failed", cause)));
+    }
+
+    /**
+     * Hands the completion of a call to the completion executor. Once that is shut down the call fails
+     * right away instead, so that no caller is left waiting.
+     */
+    private void complete(NioExchange exchange, Runnable completion) {
+        try {
+            completionExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            exchange.result.completeExceptionally(new IllegalStateException("NIO transport is closed", e));
+        }
+    }
+
+    private Endpoint endpointFor(String url) {
+        URI uri = URI.create(url);
+        if (!"http".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null) {
+            throw new IllegalArgumentException("NIO transport supports plain http URLs only: " + url);
+        }
+        int port = uri.getPort() < 0 ? 80 : uri.getPort();
+        return new Endpoint(uri, inFlightByHost.computeIfAbsent(
+                uri.getHost() + ":" + port, host -> new AtomicInteger()), serviceKey(url));
+    }
+
+    /**
+     * Writes the request into a pooled buffer. The body is written first, after room for the longest
+     * head, and the head with the body's length then goes in front of it.
+     */
+    ByteBuffer encode(NioExchange exchange, Utf8JsonWriter writer) {
+        Endpoint endpoint = exchange.endpoint;
+        int bodyStart = endpoint.requestHead.length + MAX_LENGTH_DIGITS + END_OF_HEAD.length;
+        ByteBuffer pooled = bodyStart < pool.getBufferSize() ? pool.acquire() : ByteBuffer.allocate(bodyStart * 2);
+        pooled.position(bodyStart);
+        exchange.body.writeTo(writer.reset(pooled));
+        ByteBuffer buffer = writer.getBuffer();
+        if (buffer != pooled) {
+            pool.release(pooled); // The body outgrew it and went on in a heap buffer
+        }
+        int bodyEnd = buffer.position();
+        int bodyBytes = bodyEnd - bodyStart;
+        int headStart = bodyStart - END_OF_HEAD.length - decimalDigits(bodyBytes) - endpoint.requestHead.length;
+        buffer.position(headStart);
+        buffer.put(endpoint.requestHead);
+        putDecimal(buffer, bodyBytes);
+        buffer.put(END_OF_HEAD);
+        return buffer.limit(bodyEnd).position(headStart);
+    }
+
+    /**
+     * Bodies other than a JsonPayload are serialized here, on the caller's thread rather than a selector loop.
+     */
+    private static JsonPayload payloadOf(Object body) {
+        if (body instanceof JsonPayload) {
+            return (JsonPayload) body;
+        }
+        String json = JsonUtils.toJson(body);
+        return out -> out.raw(json);
+    }
+
+    private static int decimalDigits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void putDecimal(ByteBuffer buffer, int value) {
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static String serviceKey(String url) {
+        int apiIndex = url.indexOf("/api/");
+        return apiIndex >= 0 ? url.substring(apiIndex) : url;
+    }
+
+    /**
+     * A service URL, with the request head prepared once for every call to it.
+     */
+    static final class Endpoint {
+        final String host;
+        final int port;
+        final String hostKey;
+        final String serviceKey;
+        final byte[] requestHead;
+        final AtomicInteger inFlight;
+
+        Endpoint(URI uri, AtomicInteger inFlight, String serviceKey) {
+            this.host = uri.getHost();
+            this.port = uri.getPort() < 0 ? 80 : uri.getPort();
+            this.hostKey = host + ":" + port;
+            this.serviceKey = serviceKey;
+            this.inFlight = inFlight;
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            String target = uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+            String hostHeader = uri.getPort() < 0 ? host : host + ":" + port;
+            this.requestHead = ("POST " + target + " HTTP/1.1\r\n"
+                    + "Host: " + hostHeader + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Accept: application/json\r\n"
+                    + "Content-Length: ").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+}
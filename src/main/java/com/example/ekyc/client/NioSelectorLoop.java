@@ -0,0 +1,298 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.util.ByteBufferPool;
+import com.example.ekyc.util.Utf8JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A thread running one Selector over the connections it opened, for the {@link NioHttpTransport}.
+ *
+ * Other threads hand work to the loop as tasks and wake the selector only if it is not already awake.
+ * Per host, the loop opens up to {@code maxConnections} connections. A call goes to an idle connection,
+ * or a new one while under the limit, and otherwise is pipelined behind up to {@code pipelineDepth - 1}
+ * calls on the least loaded connection. Calls finding every connection at that depth wait in arrival order.
+ */
+final class NioSelectorLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioSelectorLoop.class);
+
+    private static final long SHUTDOWN_WAIT_MILLIS = 1000;
+
+    private final NioHttpTransport transport;
+    private final ByteBufferPool pool;
+    private final int maxConnections;
+    private final int pipelineDepth;
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Map<String, Host> hosts = new HashMap<>();
+    private final Deque<NioExchange> notSent = new ArrayDeque<>();
+    private final Utf8JsonWriter writer = new Utf8JsonWriter();
+    private volatile boolean closed;
+
+    NioSelectorLoop(NioHttpTransport transport, ByteBufferPool pool, int maxConnections, int pipelineDepth,
+                    String threadName) throws IOException {
+        this.transport = transport;
+        this.pool = pool;
+        this.maxConnections = maxConnections;
+        this.pipelineDepth = pipelineDepth;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, threadName);
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Hands a call to the loop. Callable from any thread.
+     */
+    void submit(NioExchange exchange) {
+        execute(() -> dispatch(exchange));
+    }
+
+    /**
+     * Closes the connection of a call that was sent but will not be answered in time, so the calls
+     * pipelined behind it are not held up waiting for its response. Callable from any thread.
+     */
+    void abort(NioExchange exchange) {
+        execute(() -> {
+            NioConnection connection = exchange.connection;
+            if (!exchange.answered && exchange.isSent() && connection != null && !connection.isClosed()) {
+                close(connection, new IOException("Call timed out or was cancelled while its response was pending"));
+            }
+        });
+    }
+
+    /**
+     * Stops the loop, failing the calls it still holds, and waits briefly for its thread to finish.
+     */
+    void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            thread.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!closed) {
+            try {
+                selector.select(this::onSelected);
+                wakeUpPending.set(false);
+                runTasks();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Selector loop {} failed: {}", thread.getName(), e.getMessage());
+            }
+        }
+        shutDown();
+    }
+
+    void answer(NioExchange exchange, int statusCode, byte[] body) {
+        transport.answer(exchange, statusCode, body);
+    }
+
+    void fail(NioExchange exchange, IOException cause) {
+        releaseRequest(exchange);
+        transport.fail(exchange, cause);
+    }
+
+    ByteBuffer encode(NioExchange exchange) {
+        return transport.encode(exchange, writer);
+    }
+
+    void releaseRequest(NioExchange exchange) {
+        if (exchange.request != null) {
+            pool.release(exchange.request);
+            exchange.request = null;
+        }
+    }
+
+    void releaseBuffer(ByteBuffer buffer) {
+        pool.release(buffer);
+    }
+
+    /**
+     * Closes a connection and sends the calls that had not gone out yet over another one.
+     */
+    void close(NioConnection connection, IOException cause) {
+        logger.debug("Closing connection: {}", cause.getMessage());
+        connection.close(cause, notSent);
+        Host host = connection.getHost();
+        host.connections.remove(connection);
+        int waiting = host.waiting.size();
+        for (int i = 0; i < waiting; i++) {
+            notSent.addLast(host.waiting.pollFirst());
+        }
+        while (!notSent.isEmpty()) {
+            dispatch(notSent.pollFirst());
+        }
+    }
+
+    private void execute(Runnable task) {
+        tasks.add(task);
+        if (wakeUpPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void onSelected(SelectionKey key) {
+        NioConnection connection = (NioConnection) key.attachment();
+        try {
+            connection.onSelected();
+        } catch (IOException e) {
+            close(connection, e);
+            return;
+        }
+        fill(connection);
+    }
+
+    private void dispatch(NioExchange exchange) {
+        if (exchange.result.isDone()) {
+            releaseRequest(exchange);
+            return;
+        }
+        if (closed) {
+            fail(exchange, new IOException("NIO transport closed"));
+            return;
+        }
+        Host host = hosts.computeIfAbsent(exchange.endpoint.hostKey, key -> new Host(exchange.endpoint));
+        closeAbandoned(host);
+        NioConnection connection = host.leastLoaded();
+        if ((connection == null || connection.getOutstanding() > 0) && host.connections.size() < maxConnections) {
+            try {
+                connection = connect(host);
+            } catch (IOException e) {
+                fail(exchange, e);
+                return;
+            }
+        }
+        if (connection != null && connection.getOutstanding() < pipelineDepth) {
+            connection.enqueue(exchange);
+        } else {
+            host.waiting.addLast(exchange);
+        }
+    }
+
+    /**
+     * Moves waiting calls onto a connection that has room in its pipeline.
+     */
+    private void fill(NioConnection connection) {
+        Host host = connection.getHost();
+        while (!connection.isClosed() && connection.getOutstanding() < pipelineDepth && !host.waiting.isEmpty()) {
+            NioExchange exchange = host.waiting.pollFirst();
+            if (exchange.result.isDone()) {
+                releaseRequest(exchange);
+            } else {
+                connection.enqueue(exchange);
+            }
+        }
+    }
+
+    /**
+     * Closes the connections still waiting for the response of a call that already timed out. Its abort
+     * may not have reached the loop yet, and a call pipelined behind it would wait for nothing.
+     */
+    private void closeAbandoned(Host host) {
+        for (NioConnection connection : new ArrayList<>(host.connections)) {
+            if (connection.hasAbandonedCall()) {
+                close(connection, new IOException("Call timed out or was cancelled while its response was pending"));
+            }
+        }
+    }
+
+    private NioConnection connect(Host host) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(host.name, host.port);
+        if (address.isUnresolved()) {
+            throw new UnknownHostException(host.name);
+        }
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            boolean connected = channel.connect(address);
+            NioConnection connection = new NioConnection(this, host, channel, selector, pool.acquire(), connected);
+            host.connections.add(connection);
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void shutDown() {
+        IOException cause = new IOException("NIO transport closed");
+        runTasks(); // Calls submitted while closing fail in dispatch
+        for (Host host : hosts.values()) {
+            for (NioConnection connection : new ArrayList<>(host.connections)) {
+                connection.close(cause, notSent);
+            }
+            notSent.addAll(host.waiting);
+            host.waiting.clear();
+        }
+        notSent.forEach(exchange -> fail(exchange, cause));
+        notSent.clear();
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close selector of {}: {}", thread.getName(), e.getMessage());
+        }
+        logger.debug("Selector loop {} stopped", thread.getName());
+    }
+
+    /**
+     * The connections of this loop to one host, and the calls waiting for room on them.
+     */
+    static final class Host {
+        private final String name;
+        private final int port;
+        private final List<NioConnection> connections = new ArrayList<>();
+        private final Deque<NioExchange> waiting = new ArrayDeque<>();
+
+        Host(NioHttpTransport.Endpoint endpoint) {
+            this.name = endpoint.host;
+            this.port = endpoint.port;
+        }
+
+        NioConnection leastLoaded() {
+            NioConnection least = null;
+            for (NioConnection connection : connections) {
+                if (least == null || connection.getOutstanding() < least.getOutstanding()) {
+                    least = connection;
+                }
+            }
+            return least;
+        }
+    }
+}
@@ -3,107 +3,291 @@ package com.example.ekyc.client;
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.exception.ServiceException;
 import com.example.ekyc.exception.TimeoutException;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.HashedWheelTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
 /**
  * HTTP client wrapper that implements retry logic with exponential backoff.
  * Retries on timeouts and 5xx errors, but NOT on 4xx errors.
+ *
+ * Each retry is scheduled on the shared {@link HashedWheelTimer} after its backoff delay instead of
+ * sleeping, so waiting for a retry does not hold a thread; the synchronous variant waits for the
+ * asynchronous one. An attempt answered later is handled on the retry executor, never on the thread
+ * that completed it. Attempts of a blocking delegate, and retries of any delegate, run on the retry
+ * executor: one supplied to the constructor, or else a pool shared by all instances; only the first
+ * attempt of an asynchronous delegate is started on the calling thread. Cancelling the returned
+ * future, or interrupting a synchronous caller, aborts the attempt in flight (interrupting a blocking
+ * delegate) and stops any further ones.
+ *
+ * When called with a {@link Deadline}, each attempt's timeout is clipped to the remaining
+ * budget and no retry is started once the budget would be spent waiting for it.
  */
-public class RetryableHttpClient implements HttpClient {
+public class RetryableHttpClient implements HttpClient, AsyncHttpClient, CapacityAware {
     
     private static final Logger logger = LoggerFactory.getLogger(RetryableHttpClient.class);
     
+    private static final String RETRY_THREAD_PREFIX = "ekyc-retry-";
+
     private final HttpClient delegate;
     private final int maxRetryAttempts;
     private final int[] backoffDelaysMs;
+    private final Executor retryExecutor;
 
     public RetryableHttpClient(HttpClient delegate) {
-        this.delegate = delegate;
-        ServiceConfig config = ServiceConfig.getInstance();
-        this.maxRetryAttempts = config.getMaxRetryAttempts();
-        this.backoffDelaysMs = config.getRetryBackoffMs();
+        this(delegate, ServiceConfig.getInstance().getMaxRetryAttempts(),
+                ServiceConfig.getInstance().getRetryBackoffMs());
     }
 
     public RetryableHttpClient(HttpClient delegate, int maxRetryAttempts, int[] backoffDelaysMs) {
+        this(delegate, maxRetryAttempts, backoffDelaysMs, SharedRetryExecutor.EXECUTOR);
+    }
+
+    /**
+     * @param delegate The client making each attempt
+     * @param maxRetryAttempts Attempts in all, including the first
+     * @param backoffDelaysMs Delay before each retry; the last one repeats
+     * @param retryExecutor Executor running the retries and the attempts of a blocking delegate; it must
+     *                      not run them on the submitting thread, which is the timer's or the caller's
+     */
+    public RetryableHttpClient(HttpClient delegate, int maxRetryAttempts, int[] backoffDelaysMs,
+                               Executor retryExecutor) {
         this.delegate = delegate;
         this.maxRetryAttempts = maxRetryAttempts;
         this.backoffDelaysMs = backoffDelaysMs;
+        this.retryExecutor = retryExecutor;
+    }
+
+    /**
+     * Reports the wrapped client's capacity; retries draw on the same limits.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        return CapacityAware.availableCapacity(delegate, url);
+    }
+
+    @Override
+    public long millisUntilCapacity(String url) {
+        return CapacityAware.millisUntilCapacity(delegate, url);
     }
 
     @Override
     public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        return post(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    /**
+     * Waits for {@link #postAsync(String, Object, int, Deadline)}, so the backoff between attempts passes on
+     * the timer wheel rather than in a sleep; later attempts run on the retry executor, and are interrupted
+     * if this thread is.
+     */
+    @Override
+    public ServiceResponse post(String url, Object body, int timeoutSeconds, Deadline deadline) {
         String serviceName = extractServiceName(url);
-        ServiceResponse response = null;
-        int attempts = 0;
-        
-        while (attempts < maxRetryAttempts) {
-            attempts++;
-            
+        CompletableFuture<ServiceResponse> call = postAsync(url, body, timeoutSeconds, deadline);
+        try {
+            return FutureUtils.joinInterruptibly(call, () -> {
+                // The caller gave up (e.g. the check was cancelled): the call was cancelled, stopping retries
+                logger.warn("Interrupted waiting for {}. Abandoning request", serviceName);
+                throw new ServiceException("Request interrupted", serviceName,
+                        new InterruptedException("Interrupted waiting for " + serviceName));
+            });
+        } catch (CompletionException e) {
+            Throwable cause = FutureUtils.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ServiceException("Request failed: " + cause.getMessage(), serviceName, cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        return postAsync(url, body, timeoutSeconds, Deadline.none());
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds,
+                                                        Deadline deadline) {
+        CompletableFuture<ServiceResponse> result = new CompletableFuture<>();
+        // Retries run on a pool thread, so carry the caller's correlation ID along
+        Executor contextExecutor = CorrelationIdGenerator.withCurrentContext(retryExecutor);
+        attemptAsync(new AsyncCall(url, body, timeoutSeconds, deadline, result, contextExecutor), 1);
+        return result;
+    }
+
+    private void attemptAsync(AsyncCall call, int attempt) {
+        if (call.result.isDone()) {
+            // Cancelled (or otherwise completed) by the caller - do not start another attempt
+            return;
+        }
+        int clippedSeconds = call.deadline.clipTimeoutSeconds(call.timeoutSeconds);
+        if (clippedSeconds == 0) {
+            // Less than a second is left, too little for another attempt to finish in time
+            call.result.completeExceptionally(
+                    deadlineExceeded(extractServiceName(call.url), attempt - 1, call.timeoutSeconds));
+            return;
+        }
+        CompletableFuture<ServiceResponse> inFlight = send(call, clippedSeconds);
+        // A caller giving up (e.g. early termination after a FAIL) aborts the exchange in flight as well
+        call.result.whenComplete((result, error) -> inFlight.cancel(true));
+        BiConsumer<ServiceResponse, Throwable> onAttempt = (value, error) -> {
+            if (call.result.isDone()) {
+                return; // Cancelled by the caller while the attempt was running
+            }
+            if (error != null) {
+                handleAsyncError(call, attempt, FutureUtils.unwrap(error));
+            } else {
+                handleAsyncResponse(call, attempt, value);
+            }
+        };
+        if (inFlight.isDone()) {
+            inFlight.whenComplete(onAttempt);
+        } else {
+            // Leave the thread completing the attempt (the timer's or a transport's) before acting on it
+            inFlight.whenCompleteAsync(onAttempt, call.retryExecutor);
+        }
+    }
+
+    /**
+     * Sends one attempt. A blocking delegate is called on the retry executor through a FutureTask, so that
+     * the caller is never blocked and giving up interrupts the call.
+     */
+    private CompletableFuture<ServiceResponse> send(AsyncCall call, int timeoutSeconds) {
+        if (delegate instanceof AsyncHttpClient) {
             try {
-                response = delegate.post(url, body, timeoutSeconds);
-                
-                // Check if response is successful
-                if (response.isSuccess()) {
-                    if (attempts > 1) {
-                        logger.info("Request succeeded on attempt {} for {}", attempts, serviceName);
-                    }
-                    return response;
-                }
-                
-                // Check if error is retryable (timeout or 5xx)
-                if (response.isRetryable()) {
-                    if (attempts < maxRetryAttempts) {
-                        int delayMs = getBackoffDelay(attempts - 1);
-                        if (response.isTimedOut()) {
-                            logger.warn("Request timed out for {} (attempt {}/{}). Retrying in {}ms",
-                                    serviceName, attempts, maxRetryAttempts, delayMs);
-                        } else {
-                            logger.warn("Server error {} for {} (attempt {}/{}). Retrying in {}ms",
-                                    response.getStatusCode(), serviceName, attempts, maxRetryAttempts, delayMs);
-                        }
-                        sleep(delayMs);
-                    }
-                } else {
-                    // 4xx errors are not retryable
-                    logger.error("Non-retryable error {} for {}. Failing immediately.",
-                            response.getStatusCode(), serviceName);
-                    throw new ServiceException(
-                            "Service returned error: " + response.getStatusCode(),
-                            serviceName,
-                            response.getStatusCode()
-                    );
-                }
-                
-            } catch (ServiceException e) {
-                // Re-throw ServiceExceptions (including RateLimitException)
-                throw e;
-            } catch (Exception e) {
-                logger.error("Unexpected error during request to {}: {}", serviceName, e.getMessage());
-                if (attempts >= maxRetryAttempts) {
-                    throw new ServiceException("Request failed after " + maxRetryAttempts + " attempts", 
-                            serviceName, e);
-                }
-                int delayMs = getBackoffDelay(attempts - 1);
-                logger.warn("Retrying after unexpected error (attempt {}/{}). Waiting {}ms",
-                        attempts, maxRetryAttempts, delayMs);
-                sleep(delayMs);
+                return ((AsyncHttpClient) delegate).postAsync(call.url, call.body, timeoutSeconds);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        CompletableFuture<ServiceResponse> sent = new CompletableFuture<>();
+        FutureTask<ServiceResponse> attempt =
+                new FutureTask<>(() -> delegate.post(call.url, call.body, timeoutSeconds));
+        call.result.whenComplete((result, error) -> attempt.cancel(true));
+        try {
+            call.retryExecutor.execute(() -> runAttempt(attempt, sent));
+        } catch (RejectedExecutionException e) {
+            sent.completeExceptionally(e);
+        }
+        return sent;
+    }
+
+    private static void runAttempt(FutureTask<ServiceResponse> attempt, CompletableFuture<ServiceResponse> sent) {
+        attempt.run();
+        if (attempt.isCancelled()) {
+            // Clear the interrupt of our own cancel(true), so that it does not leak into the executor's next task
+            Thread.interrupted();
+            sent.completeExceptionally(new CancellationException("Attempt cancelled"));
+            return;
+        }
+        try {
+            sent.complete(attempt.get());
+        } catch (ExecutionException e) {
+            sent.completeExceptionally(e.getCause());
+        } catch (InterruptedException e) {
+            // Not reached: the attempt has completed, so get() does not wait
+            Thread.currentThread().interrupt();
+            sent.completeExceptionally(e);
+        }
+    }
+
+    private void handleAsyncResponse(AsyncCall call, int attempt, ServiceResponse response) {
+        String serviceName = extractServiceName(call.url);
+        if (response.isSuccess()) {
+            if (attempt > 1) {
+                logger.info("Request succeeded on attempt {} for {}", attempt, serviceName);
+            }
+            call.result.complete(response);
+        } else if (!response.isRetryable()) {
+            // 4xx errors are not retryable
+            logger.error("Non-retryable error {} for {}. Failing immediately.",
+                    response.getStatusCode(), serviceName);
+            call.result.completeExceptionally(new ServiceException(
+                    "Service returned error: " + response.getStatusCode(),
+                    serviceName,
+                    response.getStatusCode()));
+        } else if (attempt < maxRetryAttempts) {
+            int delayMs = getBackoffDelay(attempt - 1);
+            if (response.isTimedOut()) {
+                logger.warn("Request timed out for {} (attempt {}/{}). Retrying in {}ms",
+                        serviceName, attempt, maxRetryAttempts, delayMs);
+            } else {
+                logger.warn("Server error {} for {} (attempt {}/{}). Retrying in {}ms",
+                        response.getStatusCode(), serviceName, attempt, maxRetryAttempts, delayMs);
             }
+            scheduleRetry(call, attempt, delayMs);
+        } else {
+            call.result.completeExceptionally(exhaustedException(response, serviceName, call.timeoutSeconds));
+        }
+    }
+
+    private void handleAsyncError(AsyncCall call, int attempt, Throwable error) {
+        if (error instanceof ServiceException) {
+            // ServiceExceptions (including RateLimitException) are not retried
+            call.result.completeExceptionally(error);
+            return;
         }
-        
-        // All retries exhausted
-        if (response != null && response.isTimedOut()) {
-            throw new TimeoutException(
+        String serviceName = extractServiceName(call.url);
+        logger.error("Unexpected error during request to {}: {}", serviceName, error.getMessage());
+        if (attempt >= maxRetryAttempts) {
+            call.result.completeExceptionally(new ServiceException(
+                    "Request failed after " + maxRetryAttempts + " attempts", serviceName, error));
+            return;
+        }
+        int delayMs = getBackoffDelay(attempt - 1);
+        logger.warn("Retrying after unexpected error (attempt {}/{}). Waiting {}ms",
+                attempt, maxRetryAttempts, delayMs);
+        scheduleRetry(call, attempt, delayMs);
+    }
+
+    private void scheduleRetry(AsyncCall call, int attempt, int delayMs) {
+        if (call.deadline.remainingMillis() <= delayMs) {
+            String serviceName = extractServiceName(call.url);
+            logger.warn("Not retrying {}: remaining budget {}ms does not cover the {}ms backoff",
+                    serviceName, call.deadline.remainingMillis(), delayMs);
+            call.result.completeExceptionally(deadlineExceeded(serviceName, attempt, call.timeoutSeconds));
+            return;
+        }
+        HashedWheelTimer.Timeout wakeUp = HashedWheelTimer.shared()
+                .newTimeout(() -> attemptAsync(call, attempt + 1), delayMs, TimeUnit.MILLISECONDS, call.retryExecutor);
+        call.result.whenComplete((response, error) -> wakeUp.cancel());
+    }
+
+    private ServiceException exhaustedException(ServiceResponse response, String serviceName, int timeoutSeconds) {
+        if (response.isTimedOut()) {
+            return new TimeoutException(
                     "Request timed out after " + maxRetryAttempts + " attempts",
                     serviceName,
                     timeoutSeconds
             );
         }
-        
-        throw new ServiceException(
+        return new ServiceException(
                 "Request failed after " + maxRetryAttempts + " attempts",
                 serviceName,
-                response != null ? response.getStatusCode() : 0
+                response.getStatusCode()
+        );
+    }
+
+    private TimeoutException deadlineExceeded(String serviceName, int attempts, int timeoutSeconds) {
+        return new TimeoutException(
+                "Deadline exceeded after " + attempts + " attempt(s)",
+                serviceName,
+                timeoutSeconds
         );
     }
 
@@ -128,12 +312,29 @@ public class RetryableHttpClient implements HttpClient {
         return "UnknownService";
     }
 
-    private void sleep(int millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("Retry sleep interrupted");
+    private static final class SharedRetryExecutor {
+        private static final Executor EXECUTOR = ExecutorFactory.newElasticExecutor(RETRY_THREAD_PREFIX);
+    }
+
+    /**
+     * State shared by all attempts of one asynchronous request.
+     */
+    private static final class AsyncCall {
+        private final String url;
+        private final Object body;
+        private final int timeoutSeconds;
+        private final Deadline deadline;
+        private final CompletableFuture<ServiceResponse> result;
+        private final Executor retryExecutor;
+
+        private AsyncCall(String url, Object body, int timeoutSeconds, Deadline deadline,
+                          CompletableFuture<ServiceResponse> result, Executor retryExecutor) {
+            this.url = url;
+            this.body = body;
+            this.timeoutSeconds = timeoutSeconds;
+            this.deadline = deadline;
+            this.result = result;
+            this.retryExecutor = retryExecutor;
         }
     }
 }
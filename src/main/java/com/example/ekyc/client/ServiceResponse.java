@@ -1,45 +1,113 @@
 package com.example.ekyc.client;
 
+import com.example.ekyc.util.Utf8Reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
  * Encapsulates the response from an external service call.
+ * Transports hand over the body as the UTF-8 bytes they received; callers read it through
+ * {@link #openBodyReader()} without a String being made of it. Bodies given as a String, as the mock
+ * client does, are read the same way.
  */
 public class ServiceResponse {
+    private static final byte[] NO_BYTES = new byte[0];
+
     private final int statusCode;
     private final String body;
+    private final byte[] bodyBytes;
     private final boolean timedOut;
     private final Exception exception;
 
-    private ServiceResponse(int statusCode, String body, boolean timedOut, Exception exception) {
+    private ServiceResponse(int statusCode, String body, byte[] bodyBytes, boolean timedOut, Exception exception) {
         this.statusCode = statusCode;
         this.body = body;
+        this.bodyBytes = bodyBytes;
         this.timedOut = timedOut;
         this.exception = exception;
     }
 
     public static ServiceResponse success(int statusCode, String body) {
-        return new ServiceResponse(statusCode, body, false, null);
+        return new ServiceResponse(statusCode, body, null, false, null);
+    }
+
+    /**
+     * @param body The UTF-8 body as received; not copied, so it must not be changed afterwards
+     */
+    public static ServiceResponse success(int statusCode, byte[] body) {
+        return new ServiceResponse(statusCode, null, body, false, null);
     }
 
     public static ServiceResponse timeout() {
-        return new ServiceResponse(0, null, true, null);
+        return new ServiceResponse(0, null, null, true, null);
     }
 
     public static ServiceResponse error(int statusCode, String body) {
-        return new ServiceResponse(statusCode, body, false, null);
+        return new ServiceResponse(statusCode, body, null, false, null);
+    }
+
+    /**
+     * @param body The UTF-8 body as received; not copied, so it must not be changed afterwards
+     */
+    public static ServiceResponse error(int statusCode, byte[] body) {
+        return new ServiceResponse(statusCode, null, body, false, null);
     }
 
     public static ServiceResponse error(Exception exception) {
-        return new ServiceResponse(0, null, false, exception);
+        return new ServiceResponse(0, null, null, false, exception);
     }
 
     public int getStatusCode() {
         return statusCode;
     }
 
+    /**
+     * @return The body as text, decoded on every call if it was received as bytes; null if there is none
+     */
     public String getBody() {
-        return body;
+        return bodyBytes != null ? new String(bodyBytes, StandardCharsets.UTF_8) : body;
+    }
+
+    public boolean hasBody() {
+        return body != null || bodyBytes != null;
+    }
+
+    /**
+     * @return A read-only view of the UTF-8 body, empty if there is none
+     */
+    public ByteBuffer getBodyBuffer() {
+        return ByteBuffer.wrap(bodyBytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return A stream of the UTF-8 body, empty if there is none
+     */
+    public InputStream openBody() {
+        return new ByteArrayInputStream(bodyBytes());
+    }
+
+    /**
+     * Opens the body as text for a streaming reader, decoding the bytes as they are read.
+     * @return A reader of the body, empty if there is none
+     */
+    public Reader openBodyReader() {
+        if (bodyBytes != null) {
+            return new Utf8Reader(ByteBuffer.wrap(bodyBytes));
+        }
+        return new StringReader(body == null ? "" : body);
+    }
+
+    private byte[] bodyBytes() {
+        if (bodyBytes != null) {
+            return bodyBytes;
+        }
+        return body == null ? NO_BYTES : body.getBytes(StandardCharsets.UTF_8);
     }
 
     public boolean isTimedOut() {
@@ -73,12 +141,12 @@ public class ServiceResponse {
         ServiceResponse that = (ServiceResponse) o;
         return statusCode == that.statusCode &&
                 timedOut == that.timedOut &&
-                Objects.equals(body, that.body);
+                Objects.equals(getBody(), that.getBody());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(statusCode, body, timedOut);
+        return Objects.hash(statusCode, getBody(), timedOut);
     }
 
     @Override
@@ -86,7 +154,7 @@ public class ServiceResponse {
         return "ServiceResponse{" +
                 "statusCode=" + statusCode +
                 ", timedOut=" + timedOut +
-                ", hasBody=" + (body != null) +
+                ", hasBody=" + hasBody() +
                 ", hasException=" + (exception != null) +
                 '}';
     }
@@ -2,24 +2,61 @@ package com.example.ekyc.client;
 
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.exception.RateLimitException;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.HashedWheelTimer;
 import com.example.ekyc.util.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * Mock HTTP client implementation for testing.
  * Simulates HTTP responses without making actual network calls.
+ * Default responses are produced immediately, so the asynchronous variant completes its future in place.
+ * A registered handler runs off the caller thread, and a simulated latency delays the answer through the
+ * shared {@link HashedWheelTimer}; either way a wheel timeout answers with a timeout once the call's
+ * timeout passes, without waiting for a slow handler to return.
  */
-public class SimpleHttpClient implements HttpClient {
+public class SimpleHttpClient implements HttpClient, AsyncHttpClient, CapacityAware {
     
     private static final Logger logger = LoggerFactory.getLogger(SimpleHttpClient.class);
+
+    private static final String HANDLER_THREAD_PREFIX = "ekyc-mock-";
+
+    // Default mock responses, serialized once
+    private static final String DOCUMENT_RESPONSE = JsonUtils.toJson(Map.of(
+            "status", "PASS",
+            "confidence", 92,
+            "reasons", new String[]{}
+    ));
+    private static final String FACE_MATCH_RESPONSE = JsonUtils.toJson(Map.of(
+            "status", "PASS",
+            "confidence", 88,
+            "similarity_score", 91
+    ));
+    private static final String ADDRESS_RESPONSE = JsonUtils.toJson(Map.of(
+            "status", "PASS",
+            "confidence", 85,
+            "reasons", new String[]{}
+    ));
+    private static final String SANCTIONS_RESPONSE = JsonUtils.toJson(Map.of(
+            "status", "CLEAR",
+            "match_count", 0,
+            "matches", new String[]{}
+    ));
     
     // Rate limit settings (configurable)
     private final int rateLimitRequests;
@@ -38,6 +75,7 @@ public class SimpleHttpClient implements HttpClient {
     private int serverErrorCode = 0;
     private int serverErrorsBeforeSuccess = 0;
     private int serverErrorCounter = 0;
+    private volatile long latencyMillis = 0;
 
     public SimpleHttpClient() {
         ServiceConfig config = ServiceConfig.getInstance();
@@ -52,6 +90,51 @@ public class SimpleHttpClient implements HttpClient {
 
     @Override
     public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+        if (latencyMillis <= 0 && !responseHandlers.containsKey(url)) {
+            ServiceResponse simulated = simulatedResponse(url, timeoutSeconds);
+            return simulated != null ? simulated : generateDefaultResponse(url);
+        }
+        try {
+            return FutureUtils.joinInterruptibly(postAsync(url, body, timeoutSeconds),
+                    () -> ServiceResponse.error(new InterruptedException("Interrupted waiting for " + url)));
+        } catch (CompletionException e) {
+            throw (RuntimeException) FutureUtils.unwrap(e); // A rate limit or a failing handler
+        }
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+        ServiceResponse simulated;
+        try {
+            simulated = simulatedResponse(url, timeoutSeconds);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Function<Object, ServiceResponse> handler = simulated == null ? responseHandlers.get(url) : null;
+        long latency = latencyMillis;
+        if (handler == null && latency <= 0) {
+            return CompletableFuture.completedFuture(simulated != null ? simulated : generateDefaultResponse(url));
+        }
+        CompletableFuture<ServiceResponse> result = new CompletableFuture<>();
+        Executor executor = CorrelationIdGenerator.withCurrentContext(SharedHandlerExecutor.EXECUTOR);
+        Runnable answer = () -> answer(result, url, body, simulated, handler);
+        if (latency > 0) {
+            HashedWheelTimer.Timeout delivery = HashedWheelTimer.shared().newTimeout(
+                    answer, latency, TimeUnit.MILLISECONDS, executor);
+            result.whenComplete((delivered, error) -> delivery.cancel());
+        } else {
+            executor.execute(answer);
+        }
+        return FutureUtils.completeOnTimeout(result, ServiceResponse.timeout(), timeoutSeconds, TimeUnit.SECONDS,
+                executor);
+    }
+
+    /**
+     * Checks the rate limit and plays the simulated timeouts and server errors.
+     * @return The simulated response, or null if the call is to be answered normally
+     * @throws RateLimitException if the service's rate limit is exceeded
+     */
+    private ServiceResponse simulatedResponse(String url, int timeoutSeconds) {
         logger.debug("Making POST request to {} with timeout {}s", url, timeoutSeconds);
         
         // Check rate limit
@@ -79,15 +162,26 @@ public class SimpleHttpClient implements HttpClient {
                     serverErrorCode, serverErrorCounter, serverErrorsBeforeSuccess);
             return ServiceResponse.error(serverErrorCode, "{\"error\": \"Internal Server Error\"}");
         }
-        
-        // Check for configured response handler
-        Function<Object, ServiceResponse> handler = responseHandlers.get(url);
-        if (handler != null) {
-            return handler.apply(body);
+        return null;
+    }
+
+    /**
+     * Completes a call with its simulated response, its handler's response or the default response.
+     * The handler runs even if the call already timed out, as a remote service would go on working.
+     */
+    private void answer(CompletableFuture<ServiceResponse> result, String url, Object body,
+                        ServiceResponse simulated, Function<Object, ServiceResponse> handler) {
+        try {
+            if (simulated != null) {
+                result.complete(simulated);
+            } else if (handler != null) {
+                result.complete(handler.apply(body));
+            } else {
+                result.complete(generateDefaultResponse(url));
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
         }
-        
-        // Default mock responses based on endpoint
-        return generateDefaultResponse(url, body);
     }
 
     /**
@@ -125,6 +219,15 @@ public class SimpleHttpClient implements HttpClient {
         this.serverErrorCounter = 0;
     }
 
+    /**
+     * Configures the client to answer each call only after a delay, as a remote service would.
+     * A call whose timeout is not longer than the delay returns a timeout once its timeout passes.
+     * @param millis The delay; 0 answers immediately
+     */
+    public void simulateLatency(long millis) {
+        this.latencyMillis = millis;
+    }
+
     /**
      * Resets all simulation configurations.
      */
@@ -135,6 +238,7 @@ public class SimpleHttpClient implements HttpClient {
         this.serverErrorCode = 0;
         this.serverErrorsBeforeSuccess = 0;
         this.serverErrorCounter = 0;
+        this.latencyMillis = 0;
     }
 
     /**
@@ -144,26 +248,64 @@ public class SimpleHttpClient implements HttpClient {
         requestTimestamps.clear();
     }
 
+    /**
+     * Gets the number of requests to the URL's service still allowed in the current rate limit window.
+     */
+    @Override
+    public int availableCapacity(String url) {
+        Deque<Instant> timestamps = requestTimestamps.computeIfAbsent(
+                extractServiceKey(url), k -> new ConcurrentLinkedDeque<>());
+        synchronized (timestamps) {
+            evictExpired(timestamps, Instant.now());
+            return Math.max(0, rateLimitRequests - timestamps.size());
+        }
+    }
+
+    /**
+     * Gets how long until the oldest request of a full rate limit window leaves it.
+     */
+    @Override
+    public long millisUntilCapacity(String url) {
+        Deque<Instant> timestamps = requestTimestamps.computeIfAbsent(
+                extractServiceKey(url), k -> new ConcurrentLinkedDeque<>());
+        synchronized (timestamps) {
+            Instant now = Instant.now();
+            evictExpired(timestamps, now);
+            if (timestamps.size() < rateLimitRequests) {
+                return 0;
+            }
+            Instant freed = timestamps.peekFirst().plusSeconds(rateLimitWindowSeconds);
+            // A request leaves the window only once it is strictly older than the window
+            return Math.max(0, Duration.between(now, freed).toMillis()) + 1;
+        }
+    }
+
     private boolean checkAndUpdateRateLimit(String serviceKey) {
         Deque<Instant> timestamps = requestTimestamps.computeIfAbsent(
                 serviceKey, k -> new ConcurrentLinkedDeque<>());
         
-        Instant now = Instant.now();
-        Instant windowStart = now.minusSeconds(rateLimitWindowSeconds);
-        
+        // Check-then-add must be atomic per service once checks run concurrently
+        synchronized (timestamps) {
+            Instant now = Instant.now();
+            evictExpired(timestamps, now);
+            
+            // Check if we're at the limit
+            if (timestamps.size() >= rateLimitRequests) {
+                return false;
+            }
+            
+            // Add current timestamp
+            timestamps.addLast(now);
+            return true;
+        }
+    }
+
+    private void evictExpired(Deque<Instant> timestamps, Instant now) {
         // Remove timestamps outside the window
+        Instant windowStart = now.minusSeconds(rateLimitWindowSeconds);
         while (!timestamps.isEmpty() && timestamps.peekFirst().isBefore(windowStart)) {
             timestamps.pollFirst();
         }
-        
-        // Check if we're at the limit
-        if (timestamps.size() >= rateLimitRequests) {
-            return false;
-        }
-        
-        // Add current timestamp
-        timestamps.addLast(now);
-        return true;
     }
 
     private String extractServiceKey(String url) {
@@ -175,56 +317,21 @@ public class SimpleHttpClient implements HttpClient {
         return url;
     }
 
-    private ServiceResponse generateDefaultResponse(String url, Object body) {
-        String requestJson = JsonUtils.toJson(body);
-        logger.debug("Request body: {}", requestJson);
-        
+    private ServiceResponse generateDefaultResponse(String url) {
         if (url.contains("verify-document")) {
-            return generateDocumentResponse();
+            return ServiceResponse.success(200, DOCUMENT_RESPONSE);
         } else if (url.contains("face-match")) {
-            return generateFaceMatchResponse();
+            return ServiceResponse.success(200, FACE_MATCH_RESPONSE);
         } else if (url.contains("verify-address")) {
-            return generateAddressResponse();
+            return ServiceResponse.success(200, ADDRESS_RESPONSE);
         } else if (url.contains("check-sanctions")) {
-            return generateSanctionsResponse();
+            return ServiceResponse.success(200, SANCTIONS_RESPONSE);
         }
         
         return ServiceResponse.error(404, "{\"error\": \"Unknown endpoint\"}");
     }
 
-    private ServiceResponse generateDocumentResponse() {
-        String response = JsonUtils.toJson(Map.of(
-                "status", "PASS",
-                "confidence", 92,
-                "reasons", new String[]{}
-        ));
-        return ServiceResponse.success(200, response);
-    }
-
-    private ServiceResponse generateFaceMatchResponse() {
-        String response = JsonUtils.toJson(Map.of(
-                "status", "PASS",
-                "confidence", 88,
-                "similarity_score", 91
-        ));
-        return ServiceResponse.success(200, response);
-    }
-
-    private ServiceResponse generateAddressResponse() {
-        String response = JsonUtils.toJson(Map.of(
-                "status", "PASS",
-                "confidence", 85,
-                "reasons", new String[]{}
-        ));
-        return ServiceResponse.success(200, response);
-    }
-
-    private ServiceResponse generateSanctionsResponse() {
-        String response = JsonUtils.toJson(Map.of(
-                "status", "CLEAR",
-                "match_count", 0,
-                "matches", new String[]{}
-        ));
-        return ServiceResponse.success(200, response);
+    private static final class SharedHandlerExecutor {
+        private static final Executor EXECUTOR = ExecutorFactory.newElasticExecutor(HANDLER_THREAD_PREFIX);
     }
 }
@@ -0,0 +1,11 @@
+package com.example.ekyc.config;
+
+/**
+ * How the orchestrator dispatches the verification checks of a single request.
+ */
+public enum ExecutionMode {
+    /** Checks run one after another on the calling thread (latency = sum of checks). */
+    SEQUENTIAL,
+    /** Checks are dispatched at once on a bounded executor (latency = slowest check). */
+    CONCURRENT
+}
@@ -0,0 +1,13 @@
+package com.example.ekyc.config;
+
+/**
+ * Which HTTP client carries the calls to the downstream services.
+ */
+public enum HttpTransport {
+    /** Canned responses produced in process, with a simulated rate limit (SimpleHttpClient). */
+    MOCK,
+    /** Real HTTP calls over pooled keep-alive connections, HTTP/2 where available (JdkHttpTransport). */
+    JDK,
+    /** Real HTTP/1.1 calls on selector loops, pipelined over keep-alive connections (NioHttpTransport). */
+    NIO
+}
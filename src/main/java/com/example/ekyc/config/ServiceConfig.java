@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Central configuration class for the eKYC service.
@@ -14,8 +15,10 @@ public class ServiceConfig {
     
     private static final Logger logger = LoggerFactory.getLogger(ServiceConfig.class);
     
-    // Singleton instance
-    private static ServiceConfig instance;
+    // Singleton instance. Guarded by a ReentrantLock rather than synchronized so that
+    // virtual threads waiting on first initialization do not pin their carrier thread.
+    private static volatile ServiceConfig instance;
+    private static final ReentrantLock instanceLock = new ReentrantLock();
     
     // Service URLs
     private final String baseUrl;
@@ -29,6 +32,8 @@ public class ServiceConfig {
     private final int biometricTimeout;
     private final int addressTimeout;
     private final int sanctionsTimeout;
+    private final long verificationBudgetMs;
+    private final long decisionDeadlineMs;
     
     // Confidence thresholds (percentage)
     private final int documentConfidenceThreshold;
@@ -46,6 +51,76 @@ public class ServiceConfig {
     // Rate limiting
     private final int rateLimitRequests;
     private final int rateLimitWindowSeconds;
+    
+    // HTTP transport
+    private final HttpTransport httpTransport;
+    private final int httpMaxConnectionsPerHost;
+    private final int httpConnectTimeoutMs;
+    private final int httpThreads;
+    private final int nioSelectorThreads;
+    private final int nioPipelineDepth;
+    private final int nioBufferBytes;
+    private final int nioMaxPooledBuffers;
+    private final int timerTickMillis;
+    private final int timerWheelSize;
+    
+    // Orchestration
+    private final ExecutionMode executionMode;
+    private final int orchestratorThreads;
+    private final boolean virtualThreads;
+    private final boolean earlyTermination;
+    private final boolean coalesceInFlight;
+    private final CheckOrdering checkOrdering;
+    private final boolean preValidation;
+    private final int resultReuseMaxAgeMinutes;
+    private final int streamMaxInFlight;
+    private final boolean admissionControl;
+    private final int admissionMaxConcurrent;
+    private final int admissionMaxQueue;
+    private final int admissionQueueTimeoutMs;
+    private final int streamCapacityPollMs;
+    private final boolean quotaScheduling;
+    private final int quotaMaxHeld;
+    private final int quotaPollMs;
+    private final String pendingQueueDir;
+    private final int pendingQueueSegmentMb;
+    private final int pendingQueueSyncIntervalMs;
+    private final int pendingQueueSyncBatch;
+    
+    // Batch verification
+    private final int batchParallelism;
+    private final int batchDocumentParallelism;
+    private final int batchBiometricParallelism;
+    private final int batchAddressParallelism;
+    private final int batchSanctionsParallelism;
+    private final int pipelinePrecheckThreads;
+    private final int pipelineDispatchThreads;
+    private final int pipelineParseThreads;
+    private final int pipelineDecisionThreads;
+    private final int pipelineQueueCapacity;
+    
+    // Bulkheads
+    private final boolean bulkheads;
+    private final int documentMaxConcurrent;
+    private final int documentMaxQueue;
+    private final int biometricMaxConcurrent;
+    private final int biometricMaxQueue;
+    private final int addressMaxConcurrent;
+    private final int addressMaxQueue;
+    private final int sanctionsMaxConcurrent;
+    private final int sanctionsMaxQueue;
+
+    // Hedging
+    private final boolean biometricHedging;
+    private final int biometricHedgePercentile;
+    private final int biometricHedgeBudgetPercent;
+    private final int biometricHedgeMinSamples;
+
+    // Adaptive concurrency
+    private final boolean adaptiveConcurrency;
+    private final int adaptiveInitialLimit;
+    private final int adaptiveMinLimit;
+    private final int adaptiveMaxLimit;
 
     private ServiceConfig() {
         logger.info("Loading eKYC service configuration from environment variables");
@@ -62,6 +137,8 @@ public class ServiceConfig {
         this.biometricTimeout = getEnvInt("EKYC_BIOMETRIC_TIMEOUT", 8);
         this.addressTimeout = getEnvInt("EKYC_ADDRESS_TIMEOUT", 5);
         this.sanctionsTimeout = getEnvInt("EKYC_SANCTIONS_TIMEOUT", 3);
+        this.verificationBudgetMs = getEnvInt("EKYC_VERIFICATION_BUDGET_MS", 30000);
+        this.decisionDeadlineMs = getEnvInt("EKYC_DECISION_DEADLINE_MS", 0);
         
         // Confidence thresholds
         this.documentConfidenceThreshold = getEnvInt("EKYC_DOCUMENT_CONFIDENCE_THRESHOLD", 85);
@@ -80,25 +157,109 @@ public class ServiceConfig {
         this.rateLimitRequests = getEnvInt("EKYC_RATE_LIMIT_REQUESTS", 10);
         this.rateLimitWindowSeconds = getEnvInt("EKYC_RATE_LIMIT_WINDOW_SECONDS", 60);
         
+        // HTTP transport
+        this.httpTransport = getEnvEnum("EKYC_HTTP_TRANSPORT", HttpTransport.class, HttpTransport.MOCK);
+        this.httpMaxConnectionsPerHost = getEnvInt("EKYC_HTTP_MAX_CONNECTIONS_PER_HOST", 16);
+        this.httpConnectTimeoutMs = getEnvInt("EKYC_HTTP_CONNECT_TIMEOUT_MS", 2000);
+        this.httpThreads = getEnvInt("EKYC_HTTP_THREADS", 4);
+        this.nioSelectorThreads = getEnvInt("EKYC_NIO_SELECTOR_THREADS", 0);
+        this.nioPipelineDepth = getEnvInt("EKYC_NIO_PIPELINE_DEPTH", 8);
+        this.nioBufferBytes = getEnvInt("EKYC_NIO_BUFFER_BYTES", 16384);
+        this.nioMaxPooledBuffers = getEnvInt("EKYC_NIO_MAX_POOLED_BUFFERS", 1024);
+        this.timerTickMillis = getEnvInt("EKYC_TIMER_TICK_MS", 10);
+        this.timerWheelSize = getEnvInt("EKYC_TIMER_WHEEL_SIZE", 512);
+        
+        // Orchestration
+        this.executionMode = getEnvEnum("EKYC_EXECUTION_MODE", ExecutionMode.class, ExecutionMode.SEQUENTIAL);
+        this.orchestratorThreads = getEnvInt("EKYC_ORCHESTRATOR_THREADS", 8);
+        this.virtualThreads = getEnvBoolean("EKYC_VIRTUAL_THREADS", false);
+        this.earlyTermination = getEnvBoolean("EKYC_EARLY_TERMINATION", false);
+        this.coalesceInFlight = getEnvBoolean("EKYC_COALESCE_IN_FLIGHT", false);
+        this.checkOrdering = getEnvEnum("EKYC_CHECK_ORDERING", CheckOrdering.class, CheckOrdering.FIXED);
+        this.preValidation = getEnvBoolean("EKYC_PRE_VALIDATION", false);
+        this.resultReuseMaxAgeMinutes = getEnvInt("EKYC_RESULT_REUSE_MAX_AGE_MINUTES", 1440);
+        this.streamMaxInFlight = getEnvInt("EKYC_STREAM_MAX_IN_FLIGHT", 16);
+        this.admissionControl = getEnvBoolean("EKYC_ADMISSION_CONTROL", false);
+        this.admissionMaxConcurrent = getEnvInt("EKYC_ADMISSION_MAX_CONCURRENT", 64);
+        this.admissionMaxQueue = getEnvInt("EKYC_ADMISSION_MAX_QUEUE", 128);
+        this.admissionQueueTimeoutMs = getEnvInt("EKYC_ADMISSION_QUEUE_TIMEOUT_MS", 2000);
+        this.streamCapacityPollMs = getEnvInt("EKYC_STREAM_CAPACITY_POLL_MS", 100);
+        this.quotaScheduling = getEnvBoolean("EKYC_QUOTA_SCHEDULING", false);
+        this.quotaMaxHeld = getEnvInt("EKYC_QUOTA_MAX_HELD", 256);
+        this.quotaPollMs = getEnvInt("EKYC_QUOTA_POLL_MS", 100);
+        this.pendingQueueDir = getEnv("EKYC_PENDING_QUEUE_DIR", "");
+        this.pendingQueueSegmentMb = getEnvInt("EKYC_PENDING_QUEUE_SEGMENT_MB", 64);
+        this.pendingQueueSyncIntervalMs = getEnvInt("EKYC_PENDING_QUEUE_SYNC_INTERVAL_MS", 50);
+        this.pendingQueueSyncBatch = getEnvInt("EKYC_PENDING_QUEUE_SYNC_BATCH", 1000);
+        
+        // Batch verification
+        this.batchParallelism = getEnvInt("EKYC_BATCH_PARALLELISM", 8);
+        this.batchDocumentParallelism = getEnvInt("EKYC_BATCH_DOCUMENT_PARALLELISM", 4);
+        this.batchBiometricParallelism = getEnvInt("EKYC_BATCH_BIOMETRIC_PARALLELISM", 4);
+        this.batchAddressParallelism = getEnvInt("EKYC_BATCH_ADDRESS_PARALLELISM", 4);
+        this.batchSanctionsParallelism = getEnvInt("EKYC_BATCH_SANCTIONS_PARALLELISM", 4);
+        this.pipelinePrecheckThreads = getEnvInt("EKYC_PIPELINE_PRECHECK_THREADS", 2);
+        this.pipelineDispatchThreads = getEnvInt("EKYC_PIPELINE_DISPATCH_THREADS", 4);
+        this.pipelineParseThreads = getEnvInt("EKYC_PIPELINE_PARSE_THREADS", 2);
+        this.pipelineDecisionThreads = getEnvInt("EKYC_PIPELINE_DECISION_THREADS", 1);
+        this.pipelineQueueCapacity = getEnvInt("EKYC_PIPELINE_QUEUE_CAPACITY", 256);
+        
+        // Bulkheads
+        this.bulkheads = getEnvBoolean("EKYC_BULKHEADS", false);
+        this.documentMaxConcurrent = getEnvInt("EKYC_DOCUMENT_MAX_CONCURRENT", 4);
+        this.documentMaxQueue = getEnvInt("EKYC_DOCUMENT_MAX_QUEUE", 2);
+        this.biometricMaxConcurrent = getEnvInt("EKYC_BIOMETRIC_MAX_CONCURRENT", 4);
+        this.biometricMaxQueue = getEnvInt("EKYC_BIOMETRIC_MAX_QUEUE", 2);
+        this.addressMaxConcurrent = getEnvInt("EKYC_ADDRESS_MAX_CONCURRENT", 4);
+        this.addressMaxQueue = getEnvInt("EKYC_ADDRESS_MAX_QUEUE", 2);
+        this.sanctionsMaxConcurrent = getEnvInt("EKYC_SANCTIONS_MAX_CONCURRENT", 4);
+        this.sanctionsMaxQueue = getEnvInt("EKYC_SANCTIONS_MAX_QUEUE", 2);
+        
+        // Hedging
+        this.biometricHedging = getEnvBoolean("EKYC_BIOMETRIC_HEDGING", false);
+        this.biometricHedgePercentile = getEnvInt("EKYC_BIOMETRIC_HEDGE_PERCENTILE", 95);
+        this.biometricHedgeBudgetPercent = getEnvInt("EKYC_BIOMETRIC_HEDGE_BUDGET_PERCENT", 10);
+        this.biometricHedgeMinSamples = getEnvInt("EKYC_BIOMETRIC_HEDGE_MIN_SAMPLES", 20);
+        
+        // Adaptive concurrency
+        this.adaptiveConcurrency = getEnvBoolean("EKYC_ADAPTIVE_CONCURRENCY", false);
+        this.adaptiveInitialLimit = getEnvInt("EKYC_ADAPTIVE_INITIAL_LIMIT", 4);
+        this.adaptiveMinLimit = getEnvInt("EKYC_ADAPTIVE_MIN_LIMIT", 1);
+        this.adaptiveMaxLimit = getEnvInt("EKYC_ADAPTIVE_MAX_LIMIT", 32);
+        
         logConfiguration();
     }
 
     /**
      * Gets the singleton instance of ServiceConfig.
-     * Thread-safe initialization.
+     * Thread-safe initialization (double-checked locking).
      */
-    public static synchronized ServiceConfig getInstance() {
-        if (instance == null) {
-            instance = new ServiceConfig();
+    public static ServiceConfig getInstance() {
+        ServiceConfig current = instance;
+        if (current != null) {
+            return current;
+        }
+        instanceLock.lock();
+        try {
+            if (instance == null) {
+                instance = new ServiceConfig();
+            }
+            return instance;
+        } finally {
+            instanceLock.unlock();
         }
-        return instance;
     }
 
     /**
      * Resets the singleton instance. Useful for testing.
      */
-    public static synchronized void reset() {
-        instance = null;
+    public static void reset() {
+        instanceLock.lock();
+        try {
+            instance = null;
+        } finally {
+            instanceLock.unlock();
+        }
     }
 
     // Getters for Service URLs
@@ -157,6 +318,22 @@ public class ServiceConfig {
         return sanctionsTimeout;
     }
 
+    /**
+     * End-to-end time budget for one verification, covering all attempts of all checks.
+     * @return The budget in milliseconds; 0 or less disables the deadline
+     */
+    public long getVerificationBudgetMs() {
+        return verificationBudgetMs;
+    }
+
+    /**
+     * Time after which the orchestrator decides on the results it has, treating unfinished checks as MANUAL_REVIEW.
+     * @return The deadline in milliseconds; 0 or less waits for every check
+     */
+    public long getDecisionDeadlineMs() {
+        return decisionDeadlineMs;
+    }
+
     // Getters for Confidence Thresholds
     
     public int getDocumentConfidenceThreshold() {
@@ -201,6 +378,261 @@ public class ServiceConfig {
         return rateLimitWindowSeconds;
     }
 
+    // Getters for HTTP transport
+    
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+
+    public int getHttpMaxConnectionsPerHost() {
+        return httpMaxConnectionsPerHost;
+    }
+
+    public int getHttpConnectTimeoutMs() {
+        return httpConnectTimeoutMs;
+    }
+
+    public int getHttpThreads() {
+        return httpThreads;
+    }
+
+    /**
+     * @return Number of NIO selector loops; 0 for one per available processor
+     */
+    public int getNioSelectorThreads() {
+        return nioSelectorThreads;
+    }
+
+    public int getNioPipelineDepth() {
+        return nioPipelineDepth;
+    }
+
+    public int getNioBufferBytes() {
+        return nioBufferBytes;
+    }
+
+    public int getNioMaxPooledBuffers() {
+        return nioMaxPooledBuffers;
+    }
+
+    /**
+     * @return Tick of the shared timer wheel: the precision of call timeouts, retry backoffs and deadlines
+     */
+    public int getTimerTickMillis() {
+        return timerTickMillis;
+    }
+
+    public int getTimerWheelSize() {
+        return timerWheelSize;
+    }
+
+    // Getters for Orchestration
+    
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getOrchestratorThreads() {
+        return orchestratorThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public boolean isEarlyTermination() {
+        return earlyTermination;
+    }
+
+    public boolean isCoalesceInFlight() {
+        return coalesceInFlight;
+    }
+
+    public CheckOrdering getCheckOrdering() {
+        return checkOrdering;
+    }
+
+    public boolean isPreValidation() {
+        return preValidation;
+    }
+
+    public int getResultReuseMaxAgeMinutes() {
+        return resultReuseMaxAgeMinutes;
+    }
+
+    public boolean isAdmissionControl() {
+        return admissionControl;
+    }
+
+    public int getAdmissionMaxConcurrent() {
+        return admissionMaxConcurrent;
+    }
+
+    public int getAdmissionMaxQueue() {
+        return admissionMaxQueue;
+    }
+
+    public int getAdmissionQueueTimeoutMs() {
+        return admissionQueueTimeoutMs;
+    }
+
+    public int getStreamMaxInFlight() {
+        return streamMaxInFlight;
+    }
+
+    public int getStreamCapacityPollMs() {
+        return streamCapacityPollMs;
+    }
+
+    public boolean isQuotaScheduling() {
+        return quotaScheduling;
+    }
+
+    public int getQuotaMaxHeld() {
+        return quotaMaxHeld;
+    }
+
+    public int getQuotaPollMs() {
+        return quotaPollMs;
+    }
+
+    /**
+     * @return Directory of the pending verification queue; empty if held verifications are kept in memory only
+     */
+    public String getPendingQueueDir() {
+        return pendingQueueDir;
+    }
+
+    public int getPendingQueueSegmentMb() {
+        return pendingQueueSegmentMb;
+    }
+
+    public int getPendingQueueSyncIntervalMs() {
+        return pendingQueueSyncIntervalMs;
+    }
+
+    public int getPendingQueueSyncBatch() {
+        return pendingQueueSyncBatch;
+    }
+
+    // Getters for Batch verification
+    
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public int getBatchDocumentParallelism() {
+        return batchDocumentParallelism;
+    }
+
+    public int getBatchBiometricParallelism() {
+        return batchBiometricParallelism;
+    }
+
+    public int getBatchAddressParallelism() {
+        return batchAddressParallelism;
+    }
+
+    public int getBatchSanctionsParallelism() {
+        return batchSanctionsParallelism;
+    }
+
+    public int getPipelinePrecheckThreads() {
+        return pipelinePrecheckThreads;
+    }
+
+    /**
+     * @return The worker threads of each service's dispatch stage in the staged pipeline
+     */
+    public int getPipelineDispatchThreads() {
+        return pipelineDispatchThreads;
+    }
+
+    public int getPipelineParseThreads() {
+        return pipelineParseThreads;
+    }
+
+    public int getPipelineDecisionThreads() {
+        return pipelineDecisionThreads;
+    }
+
+    /**
+     * @return The maximum number of tasks waiting in each stage of the staged pipeline
+     */
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    // Getters for Bulkheads
+    
+    public boolean isBulkheads() {
+        return bulkheads;
+    }
+
+    public int getDocumentMaxConcurrent() {
+        return documentMaxConcurrent;
+    }
+
+    public int getDocumentMaxQueue() {
+        return documentMaxQueue;
+    }
+
+    public int getBiometricMaxConcurrent() {
+        return biometricMaxConcurrent;
+    }
+
+    public int getBiometricMaxQueue() {
+        return biometricMaxQueue;
+    }
+
+    public int getAddressMaxConcurrent() {
+        return addressMaxConcurrent;
+    }
+
+    public int getAddressMaxQueue() {
+        return addressMaxQueue;
+    }
+
+    public int getSanctionsMaxConcurrent() {
+        return sanctionsMaxConcurrent;
+    }
+
+    public int getSanctionsMaxQueue() {
+        return sanctionsMaxQueue;
+    }
+
+    public boolean isBiometricHedging() {
+        return biometricHedging;
+    }
+
+    public int getBiometricHedgePercentile() {
+        return biometricHedgePercentile;
+    }
+
+    public int getBiometricHedgeBudgetPercent() {
+        return biometricHedgeBudgetPercent;
+    }
+
+    public int getBiometricHedgeMinSamples() {
+        return biometricHedgeMinSamples;
+    }
+
+    public boolean isAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public int getAdaptiveInitialLimit() {
+        return adaptiveInitialLimit;
+    }
+
+    public int getAdaptiveMinLimit() {
+        return adaptiveMinLimit;
+    }
+
+    public int getAdaptiveMaxLimit() {
+        return adaptiveMaxLimit;
+    }
+
     // Helper methods for reading environment variables
     
     private String getEnv(String key, String defaultValue) {
@@ -250,16 +682,78 @@ public class ServiceConfig {
         }
     }
 
+    private boolean getEnvBoolean(String key, boolean defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.trim().isEmpty()) {
+            logger.debug("Using default value for {}: {}", key, defaultValue);
+            return defaultValue;
+        }
+        String normalized = value.trim().toLowerCase();
+        if (!normalized.equals("true") && !normalized.equals("false")) {
+            logger.warn("Invalid boolean value for {}: '{}'. Using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+        logger.debug("Loaded {} from environment: {}", key, normalized);
+        return Boolean.parseBoolean(normalized);
+    }
+
+    private <E extends Enum<E>> E getEnvEnum(String key, Class<E> type, E defaultValue) {
+        String value = System.getenv(key);
+        if (value == null || value.trim().isEmpty()) {
+            logger.debug("Using default value for {}: {}", key, defaultValue);
+            return defaultValue;
+        }
+        try {
+            E parsed = Enum.valueOf(type, value.trim().toUpperCase());
+            logger.debug("Loaded {} from environment: {}", key, parsed);
+            return parsed;
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid value for {}: '{}'. Using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     private void logConfiguration() {
         logger.info("=== eKYC Service Configuration ===");
         logger.info("Base URL: {}", baseUrl);
         logger.info("Timeouts - Document: {}s, Biometric: {}s, Address: {}s, Sanctions: {}s",
                 documentTimeout, biometricTimeout, addressTimeout, sanctionsTimeout);
+        logger.info("Verification budget: {}ms, decision deadline: {}ms", verificationBudgetMs, decisionDeadlineMs);
         logger.info("Thresholds - Document: {}%, Biometric: {}%/{}%, Address: {}%",
                 documentConfidenceThreshold, biometricConfidenceThreshold, 
                 biometricSimilarityThreshold, addressConfidenceThreshold);
         logger.info("Address proof validity: {} days", addressProofValidityDays);
         logger.info("Retry: {} attempts, backoff: {}ms", maxRetryAttempts, Arrays.toString(retryBackoffMs));
         logger.info("Rate limit: {} requests per {} seconds", rateLimitRequests, rateLimitWindowSeconds);
+        logger.info("HTTP transport: {} (max {} connections per host, connect timeout {}ms, {} threads)",
+                httpTransport, httpMaxConnectionsPerHost, httpConnectTimeoutMs, httpThreads);
+        logger.info("NIO transport: {} selector loops, pipeline depth {}, {} byte buffers (up to {} pooled)",
+                nioSelectorThreads > 0 ? nioSelectorThreads : "one per core", nioPipelineDepth,
+                nioBufferBytes, nioMaxPooledBuffers);
+        logger.info("Timer wheel: {}ms ticks, {} buckets", timerTickMillis, timerWheelSize);
+        logger.info("Execution mode: {}, orchestrator threads: {}, virtual threads: {}, early termination: {}, "
+                + "coalesce in flight: {}, check ordering: {}, pre-validation: {}", executionMode, orchestratorThreads,
+                virtualThreads, earlyTermination, coalesceInFlight, checkOrdering, preValidation);
+        logger.info("Result reuse on re-verification: up to {} minutes old", resultReuseMaxAgeMinutes);
+        logger.info("Admission control: {} (max concurrent={}, max queue={}, queue timeout={}ms)",
+                admissionControl, admissionMaxConcurrent, admissionMaxQueue, admissionQueueTimeoutMs);
+        logger.info("Streaming: max in flight={}, capacity poll={}ms", streamMaxInFlight, streamCapacityPollMs);
+        logger.info("Quota scheduling: {} (max held={}, poll={}ms)", quotaScheduling, quotaMaxHeld, quotaPollMs);
+        logger.info("Pending verification queue: {} (segment {}MB, sync every {}ms or {} records)",
+                pendingQueueDir.isEmpty() ? "in memory" : pendingQueueDir, pendingQueueSegmentMb,
+                pendingQueueSyncIntervalMs, pendingQueueSyncBatch);
+        logger.info("Batch parallelism: {} customers, per service - Document: {}, Biometric: {}, Address: {}, Sanctions: {}",
+                batchParallelism, batchDocumentParallelism, batchBiometricParallelism,
+                batchAddressParallelism, batchSanctionsParallelism);
+        logger.info("Staged pipeline threads - Pre-check: {}, Dispatch: {} per service, Parse: {}, Decision: {}; queue capacity: {}",
+                pipelinePrecheckThreads, pipelineDispatchThreads, pipelineParseThreads, pipelineDecisionThreads,
+                pipelineQueueCapacity);
+        logger.info("Bulkheads: {} (concurrent/queue) - Document: {}/{}, Biometric: {}/{}, Address: {}/{}, Sanctions: {}/{}",
+                bulkheads, documentMaxConcurrent, documentMaxQueue, biometricMaxConcurrent, biometricMaxQueue,
+                addressMaxConcurrent, addressMaxQueue, sanctionsMaxConcurrent, sanctionsMaxQueue);
+        logger.info("Biometric hedging: {} (p{}, budget {}%, after {} samples)", biometricHedging,
+                biometricHedgePercentile, biometricHedgeBudgetPercent, biometricHedgeMinSamples);
+        logger.info("Adaptive concurrency: {} (initial limit {}, range {}-{})", adaptiveConcurrency,
+                adaptiveInitialLimit, adaptiveMinLimit, adaptiveMaxLimit);
     }
 }
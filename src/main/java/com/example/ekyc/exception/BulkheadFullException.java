@@ -0,0 +1,30 @@
+package com.example.ekyc.exception;
+
+/**
+ * Exception thrown when a downstream service's bulkhead has no free slot:
+ * its concurrency limit is reached and its wait queue is full, or the caller's
+ * deadline passed while queued.
+ */
+public class BulkheadFullException extends ServiceException {
+    private final int maxConcurrent;
+    private final int maxQueue;
+
+    public BulkheadFullException(String message, String serviceName, int maxConcurrent, int maxQueue) {
+        super(message, serviceName);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return false; // The service is saturated - fail fast rather than add to the pile-up
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ekyc.exception;
+
+/**
+ * Exception thrown when a call to a downstream service is shed because the service's
+ * adaptive concurrency limit is reached: the service has shown, through rising latency or
+ * failures, that it cannot take more calls at once right now.
+ */
+public class ConcurrencyLimitException extends ServiceException {
+    private final int limit;
+
+    public ConcurrencyLimitException(String message, String serviceName, int limit) {
+        super(message, serviceName);
+        this.limit = limit;
+    }
+
+    /**
+     * @return The concurrency limit at the time the call was shed
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return false; // The service is already at the most it handles well - retrying adds to the queue
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ekyc.exception;
+
+import com.example.ekyc.model.RequestClass;
+
+/**
+ * Exception thrown when the orchestrator sheds a verification request instead of running it:
+ * its admission queue is full, the request waited longer than the queue time budget, or it was
+ * displaced from the queue by a higher-priority request. No service was called, so the request
+ * can safely be submitted again later.
+ */
+public class OverloadException extends ServiceException {
+    private final RequestClass requestClass;
+
+    public OverloadException(String message, RequestClass requestClass) {
+        super(message, "VerificationOrchestrator", 503);
+        this.requestClass = requestClass;
+    }
+
+    public RequestClass getRequestClass() {
+        return requestClass;
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return false; // Retrying at once would only add to the overload - back off and resubmit
+    }
+}
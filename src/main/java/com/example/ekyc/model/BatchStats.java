@@ -0,0 +1,157 @@
+package com.example.ekyc.model;
+
+/**
+ * Summary of a batch verification run: decision counts, throughput and per-customer latency.
+ */
+public class BatchStats {
+    private final long total;
+    private final long approved;
+    private final long rejected;
+    private final long manualReview;
+    private final long errors;
+    private final long elapsedMillis;
+    private final long minLatencyMillis;
+    private final long maxLatencyMillis;
+    private final double averageLatencyMillis;
+
+    public BatchStats(long total, long approved, long rejected, long manualReview, long errors,
+                      long elapsedMillis, long minLatencyMillis, long maxLatencyMillis,
+                      double averageLatencyMillis) {
+        this.total = total;
+        this.approved = approved;
+        this.rejected = rejected;
+        this.manualReview = manualReview;
+        this.errors = errors;
+        this.elapsedMillis = elapsedMillis;
+        this.minLatencyMillis = minLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.averageLatencyMillis = averageLatencyMillis;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getApproved() {
+        return approved;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getManualReview() {
+        return manualReview;
+    }
+
+    /**
+     * @return Number of customers whose verification failed unexpectedly (reported as MANUAL_REVIEW)
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getMinLatencyMillis() {
+        return minLatencyMillis;
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    public double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    /**
+     * @return Customers verified per second over the whole batch
+     */
+    public double getThroughputPerSecond() {
+        return elapsedMillis > 0 ? total * 1000.0 / elapsedMillis : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStats{" +
+                "total=" + total +
+                ", approved=" + approved +
+                ", rejected=" + rejected +
+                ", manualReview=" + manualReview +
+                ", errors=" + errors +
+                ", elapsedMillis=" + elapsedMillis +
+                ", throughputPerSecond=" + String.format("%.2f", getThroughputPerSecond()) +
+                ", latencyMillis(min/avg/max)=" + minLatencyMillis + "/" +
+                String.format("%.1f", averageLatencyMillis) + "/" + maxLatencyMillis +
+                '}';
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long total;
+        private long approved;
+        private long rejected;
+        private long manualReview;
+        private long errors;
+        private long elapsedMillis;
+        private long minLatencyMillis;
+        private long maxLatencyMillis;
+        private double averageLatencyMillis;
+
+        public Builder total(long total) {
+            this.total = total;
+            return this;
+        }
+
+        public Builder approved(long approved) {
+            this.approved = approved;
+            return this;
+        }
+
+        public Builder rejected(long rejected) {
+            this.rejected = rejected;
+            return this;
+        }
+
+        public Builder manualReview(long manualReview) {
+            this.manualReview = manualReview;
+            return this;
+        }
+
+        public Builder errors(long errors) {
+            this.errors = errors;
+            return this;
+        }
+
+        public Builder elapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+            return this;
+        }
+
+        public Builder minLatencyMillis(long minLatencyMillis) {
+            this.minLatencyMillis = minLatencyMillis;
+            return this;
+        }
+
+        public Builder maxLatencyMillis(long maxLatencyMillis) {
+            this.maxLatencyMillis = maxLatencyMillis;
+            return this;
+        }
+
+        public Builder averageLatencyMillis(double averageLatencyMillis) {
+            this.averageLatencyMillis = averageLatencyMillis;
+            return this;
+        }
+
+        public BatchStats build() {
+            return new BatchStats(total, approved, rejected, manualReview, errors,
+                    elapsedMillis, minLatencyMillis, maxLatencyMillis, averageLatencyMillis);
+        }
+    }
+}
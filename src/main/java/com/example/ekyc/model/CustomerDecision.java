@@ -0,0 +1,47 @@
+package com.example.ekyc.model;
+
+import java.util.Objects;
+
+/**
+ * A KYC decision together with the ID of the customer it was made for, for consumers that receive
+ * decisions in completion order rather than alongside their request.
+ */
+public class CustomerDecision {
+    private final String customerId;
+    private final KYCDecision decision;
+
+    public CustomerDecision(String customerId, KYCDecision decision) {
+        this.customerId = customerId;
+        this.decision = decision;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public KYCDecision getDecision() {
+        return decision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CustomerDecision that = (CustomerDecision) o;
+        return Objects.equals(customerId, that.customerId) &&
+                Objects.equals(decision, that.decision);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, decision);
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerDecision{" +
+                "customerId='" + customerId + '\'' +
+                ", decision=" + decision +
+                '}';
+    }
+}
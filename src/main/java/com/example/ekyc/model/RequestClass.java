@@ -0,0 +1,33 @@
+package com.example.ekyc.model;
+
+import java.util.List;
+
+/**
+ * Priority class of a verification request, used to decide what to shed under overload.
+ * Declared from highest to lowest priority.
+ */
+public enum RequestClass {
+    /** A new onboarding session, with a customer waiting for the outcome. */
+    ONBOARDING,
+    /** A sanctions-only re-screen of an existing customer, which can be repeated later. */
+    RESCREEN;
+
+    /**
+     * Classifies a request by its verification types: sanctions-only requests are re-screens.
+     * @param verificationTypes The requested verification types
+     * @return RESCREEN for a sanctions-only request, otherwise ONBOARDING
+     */
+    public static RequestClass of(List<VerificationType> verificationTypes) {
+        boolean sanctionsOnly = !verificationTypes.isEmpty()
+                && verificationTypes.stream().allMatch(type -> type == VerificationType.SANCTIONS);
+        return sanctionsOnly ? RESCREEN : ONBOARDING;
+    }
+
+    /**
+     * @param other Another request class
+     * @return Whether this class has strictly higher priority than {@code other}
+     */
+    public boolean outranks(RequestClass other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ekyc.model;
+
+/**
+ * Point-in-time view of one stage of the staged verification pipeline: its pool, its queue, and
+ * how long tasks wait for and spend in the stage. A stage whose queue keeps growing while its
+ * threads are all busy is the bottleneck.
+ */
+public class StageStats {
+    private final String name;
+    private final int threads;
+    private final int activeThreads;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long completedTasks;
+    private final double serviceTimeMillis;
+    private final double queueWaitMillis;
+
+    public StageStats(String name, int threads, int activeThreads, int queueDepth, int queueCapacity,
+                      long completedTasks, double serviceTimeMillis, double queueWaitMillis) {
+        this.name = name;
+        this.threads = threads;
+        this.activeThreads = activeThreads;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.completedTasks = completedTasks;
+        this.serviceTimeMillis = serviceTimeMillis;
+        this.queueWaitMillis = queueWaitMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The configured number of worker threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return The number of worker threads running a task right now
+     */
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    /**
+     * @return The number of tasks waiting for a worker thread
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * @return The smoothed time a task runs in the stage, in milliseconds; 0 before the first task
+     */
+    public double getServiceTimeMillis() {
+        return serviceTimeMillis;
+    }
+
+    /**
+     * @return The smoothed time a task waits in the stage's queue, in milliseconds; 0 before the first task
+     */
+    public double getQueueWaitMillis() {
+        return queueWaitMillis;
+    }
+
+    /**
+     * @return The share of the stage's threads that are busy, between 0 and 1
+     */
+    public double getUtilization() {
+        return threads > 0 ? Math.min(1.0, activeThreads / (double) threads) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StageStats{" +
+                "name=" + name +
+                ", threads=" + activeThreads + "/" + threads +
+                ", queue=" + queueDepth + "/" + queueCapacity +
+                ", completed=" + completedTasks +
+                ", serviceTimeMillis=" + String.format("%.1f", serviceTimeMillis) +
+                ", queueWaitMillis=" + String.format("%.1f", queueWaitMillis) +
+                '}';
+    }
+}
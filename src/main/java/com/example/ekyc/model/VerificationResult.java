@@ -7,6 +7,8 @@ import java.util.Objects;
 
 /**
  * Result of a single verification check.
+ * The orchestrator records a fingerprint of the customer fields the check was based on,
+ * so that a later re-verification can tell whether the result still applies.
  */
 public class VerificationResult {
     private final VerificationType verificationType;
@@ -14,9 +16,16 @@ public class VerificationResult {
     private final int confidence; // 0-100
     private final List<String> reasons;
     private final LocalDateTime timestamp;
+    private final String inputFingerprint;
 
     public VerificationResult(VerificationType verificationType, VerificationStatus status,
                               int confidence, List<String> reasons, LocalDateTime timestamp) {
+        this(verificationType, status, confidence, reasons, timestamp, null);
+    }
+
+    public VerificationResult(VerificationType verificationType, VerificationStatus status,
+                              int confidence, List<String> reasons, LocalDateTime timestamp,
+                              String inputFingerprint) {
         this.verificationType = verificationType;
         this.status = status;
         this.confidence = confidence;
@@ -24,6 +33,7 @@ public class VerificationResult {
                 ? Collections.unmodifiableList(reasons) 
                 : Collections.emptyList();
         this.timestamp = timestamp;
+        this.inputFingerprint = inputFingerprint;
     }
 
     public VerificationType getVerificationType() {
@@ -46,6 +56,23 @@ public class VerificationResult {
         return timestamp;
     }
 
+    /**
+     * Gets the fingerprint of the customer fields this result was based on.
+     * @return A SHA-256 hex digest, or null if none was recorded
+     */
+    public String getInputFingerprint() {
+        return inputFingerprint;
+    }
+
+    /**
+     * Returns a copy of this result with the given input fingerprint; the timestamp is kept.
+     * @param inputFingerprint The fingerprint of the customer fields the check was based on
+     * @return The fingerprinted copy
+     */
+    public VerificationResult withInputFingerprint(String inputFingerprint) {
+        return new VerificationResult(verificationType, status, confidence, reasons, timestamp, inputFingerprint);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -82,6 +109,7 @@ public class VerificationResult {
         private int confidence;
         private List<String> reasons;
         private LocalDateTime timestamp;
+        private String inputFingerprint;
 
         public Builder verificationType(VerificationType verificationType) {
             this.verificationType = verificationType;
@@ -108,9 +136,14 @@ public class VerificationResult {
             return this;
         }
 
+        public Builder inputFingerprint(String inputFingerprint) {
+            this.inputFingerprint = inputFingerprint;
+            return this;
+        }
+
         public VerificationResult build() {
             return new VerificationResult(verificationType, status, confidence, reasons, 
-                    timestamp != null ? timestamp : LocalDateTime.now());
+                    timestamp != null ? timestamp : LocalDateTime.now(), inputFingerprint);
         }
     }
 }
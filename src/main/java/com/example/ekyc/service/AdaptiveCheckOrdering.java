@@ -0,0 +1,113 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationStatus;
+import com.example.ekyc.model.VerificationType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Orders checks by how cheaply they are likely to decide a rejection, learned from live outcomes.
+ *
+ * For each check type it keeps an exponentially weighted moving average (EWMA) of latency and of
+ * FAIL rate, and runs checks in descending order of {@code failRate / latency}. A check that fails
+ * often and answers quickly - sanctions screening, or the document check rejecting an expired
+ * document locally without a service call - therefore moves to the front. Checks without
+ * observations yet run first so that every type gets measured; ties keep the requested order.
+ */
+public class AdaptiveCheckOrdering implements CheckOrderingStrategy {
+
+    /** Weight of the newest observation; 0.2 averages over roughly the last ten outcomes. */
+    public static final double DEFAULT_SMOOTHING = 0.2;
+
+    private final double smoothing;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<VerificationType, double[]> averages = new EnumMap<>(VerificationType.class);
+
+    public AdaptiveCheckOrdering() {
+        this(DEFAULT_SMOOTHING);
+    }
+
+    /**
+     * @param smoothing Weight of each new observation in the moving averages, in (0, 1]
+     */
+    public AdaptiveCheckOrdering(double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]: " + smoothing);
+        }
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public List<VerificationType> order(List<VerificationType> requested) {
+        Map<VerificationType, Double> scores = new EnumMap<>(VerificationType.class);
+        for (VerificationType type : requested) {
+            scores.put(type, score(type));
+        }
+        List<VerificationType> ordered = new ArrayList<>(requested);
+        // List.sort is stable, so equal scores keep the requested order
+        ordered.sort(Comparator.comparingDouble((VerificationType type) -> scores.get(type)).reversed());
+        return ordered;
+    }
+
+    @Override
+    public void record(VerificationType type, VerificationResult result, long latencyNanos) {
+        double latencyMillis = latencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        double failed = result.getStatus() == VerificationStatus.FAIL ? 1.0 : 0.0;
+        lock.lock();
+        try {
+            double[] average = averages.get(type);
+            if (average == null) {
+                averages.put(type, new double[]{latencyMillis, failed});
+            } else {
+                average[0] += smoothing * (latencyMillis - average[0]);
+                average[1] += smoothing * (failed - average[1]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the smoothed latency of a check type.
+     * @param type The check type
+     * @return The EWMA latency in milliseconds, or NaN if the type has not been observed
+     */
+    public double getAverageLatencyMillis(VerificationType type) {
+        return average(type, 0);
+    }
+
+    /**
+     * Gets the smoothed FAIL rate of a check type.
+     * @param type The check type
+     * @return The EWMA FAIL rate between 0 and 1, or NaN if the type has not been observed
+     */
+    public double getFailRate(VerificationType type) {
+        return average(type, 1);
+    }
+
+    private double score(VerificationType type) {
+        double latencyMillis = getAverageLatencyMillis(type);
+        if (Double.isNaN(latencyMillis)) {
+            return Double.POSITIVE_INFINITY; // Not measured yet: run it first to learn about it
+        }
+        // Floor the latency at 1ms so that instant local checks do not divide by zero
+        return getFailRate(type) / Math.max(latencyMillis, 1.0);
+    }
+
+    private double average(VerificationType type, int index) {
+        lock.lock();
+        try {
+            double[] average = averages.get(type);
+            return average == null ? Double.NaN : average[index];
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,25 +1,26 @@
 package com.example.ekyc.service;
 
+import com.example.ekyc.client.AsyncHttpClient;
+import com.example.ekyc.client.CapacityAware;
 import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.JsonPayload;
 import com.example.ekyc.client.ServiceResponse;
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.VerificationResult;
 import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
-import com.example.ekyc.util.JsonUtils;
-import com.google.gson.JsonObject;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.FutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for the Address Verification Service.
@@ -47,52 +48,123 @@ public class AddressVerificationClient {
     }
 
     public VerificationResult verifyAddress(Customer customer) {
+        return verifyAddress(customer, Deadline.none());
+    }
+
+    /**
+     * Variant of {@link #verifyAddress(Customer)} bounded by the verification's deadline.
+     * @param customer The customer to verify
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return The verification result
+     */
+    public VerificationResult verifyAddress(Customer customer, Deadline deadline) {
+        return FutureUtils.joinInterruptibly(verifyAddressAsync(customer, FutureUtils.DIRECT_EXECUTOR, deadline),
+                () -> serviceErrorResult(customer, new CancellationException("Verification interrupted")));
+    }
+
+    /**
+     * Asynchronous variant of {@link #verifyAddress(Customer)}, without a deadline.
+     * @see #verifyAddressAsync(Customer, Executor, Deadline)
+     */
+    public CompletableFuture<VerificationResult> verifyAddressAsync(Customer customer, Executor executor) {
+        return verifyAddressAsync(customer, executor, Deadline.none());
+    }
+
+    /**
+     * Asynchronous variant of {@link #verifyAddress(Customer, Deadline)}.
+     * The service call and response processing run on the given executor.
+     * The returned future always completes normally: service errors map to MANUAL_REVIEW.
+     * Cancelling it cancels the underlying service call, including any pending retries.
+     *
+     * @param customer The customer to verify
+     * @param executor The executor to run the service call on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> verifyAddressAsync(Customer customer, Executor executor,
+                                                                    Deadline deadline) {
+        return verifyAddressAsync(customer, executor, executor, deadline);
+    }
+
+    /**
+     * Variant of {@link #verifyAddressAsync(Customer, Executor, Deadline)} that runs a blocking service call
+     * and the response processing on separate executors, so that parsing never queues behind waiting I/O.
+     *
+     * @param customer The customer to verify
+     * @param ioExecutor The executor to run a blocking service call on
+     * @param parseExecutor The executor to process the response on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> verifyAddressAsync(Customer customer, Executor ioExecutor,
+                                                                    Executor parseExecutor, Deadline deadline) {
         logger.info("Starting address verification for customer: {}", customer.getCustomerId());
         
         try {
             int proofValidityDays = config.getAddressProofValidityDays();
             
             // Check proof date first (business rule)
-            if (isProofTooOld(customer.getProofDate(), proofValidityDays)) {
+            if (PreValidator.isProofTooOld(customer.getProofDate(), proofValidityDays)) {
                 logger.warn("Address proof is older than {} days for customer: {}", 
                         proofValidityDays, customer.getCustomerId());
-                return VerificationResult.builder()
+                return CompletableFuture.completedFuture(VerificationResult.builder()
                         .verificationType(VerificationType.ADDRESS)
                         .status(VerificationStatus.FAIL)
                         .confidence(0)
                         .reasons(List.of("Proof of address is older than " + proofValidityDays + " days"))
                         .timestamp(LocalDateTime.now())
-                        .build();
+                        .build());
             }
             
             // Build request payload
-            Map<String, Object> request = new HashMap<>();
-            request.put("customer_id", customer.getCustomerId());
-            request.put("address", customer.getAddress());
-            request.put("proof_type", customer.getProofType());
-            request.put("proof_date", customer.getProofDate());
-            request.put("proof_url", customer.getProofUrl());
+            JsonPayload request = requestPayload(customer);
             
-            // Call service
+            // Call service and process the response on the caller-supplied executors.
+            // Natively asynchronous HTTP clients hold no thread while waiting for the response.
             String url = config.getAddressUrl();
-            ServiceResponse response = httpClient.post(url, request, config.getAddressTimeout());
-            
-            // Parse and process response
-            return processResponse(response, customer.getCustomerId());
+            int timeoutSeconds = config.getAddressTimeout();
+            Executor ioContext = CorrelationIdGenerator.withCurrentContext(ioExecutor);
+            Executor parseContext = CorrelationIdGenerator.withCurrentContext(parseExecutor);
+            CompletableFuture<ServiceResponse> call = AsyncHttpClient.adapt(httpClient, ioContext)
+                    .postAsync(url, request, timeoutSeconds, deadline);
+            return FutureUtils.propagateCancellation(call
+                    .thenApplyAsync(response -> processResponse(response, customer.getCustomerId()),
+                            parseContext)
+                    .exceptionally(e -> serviceErrorResult(customer, FutureUtils.unwrap(e))), call);
             
         } catch (Exception e) {
-            logger.error("Address verification failed for customer {}: {}", 
-                    customer.getCustomerId(), e.getMessage());
-            return VerificationResult.builder()
-                    .verificationType(VerificationType.ADDRESS)
-                    .status(VerificationStatus.MANUAL_REVIEW)
-                    .confidence(0)
-                    .reasons(List.of("Service error: " + e.getMessage()))
-                    .timestamp(LocalDateTime.now())
-                    .build();
+            return CompletableFuture.completedFuture(serviceErrorResult(customer, e));
         }
     }
 
+    /**
+     * Gets the number of calls the service accepts right now without being rate limited or queued.
+     * @return The available capacity, or Integer.MAX_VALUE if the HTTP client does not report it
+     */
+    public int availableCapacity() {
+        return CapacityAware.availableCapacity(httpClient, config.getAddressUrl());
+    }
+
+    /**
+     * Gets how long until the service accepts a call again, e.g. when its rate limit window moves on.
+     * @return 0 if a call can start now, the milliseconds until one can, or -1 if that cannot be predicted
+     */
+    public long millisUntilCapacity() {
+        return CapacityAware.millisUntilCapacity(httpClient, config.getAddressUrl());
+    }
+
+    private VerificationResult serviceErrorResult(Customer customer, Throwable e) {
+        logger.error("Address verification failed for customer {}: {}", 
+                customer.getCustomerId(), e.getMessage());
+        return VerificationResult.builder()
+                .verificationType(VerificationType.ADDRESS)
+                .status(VerificationStatus.MANUAL_REVIEW)
+                .confidence(0)
+                .reasons(List.of("Service error: " + e.getMessage()))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     private VerificationResult processResponse(ServiceResponse response, String customerId) {
         if (!response.isSuccess()) {
             logger.warn("Address service returned non-success for customer {}: {}",
@@ -106,14 +178,10 @@ public class AddressVerificationClient {
                     .build();
         }
         
-        JsonObject json = JsonUtils.fromJson(response.getBody(), JsonObject.class);
-        String status = json.has("status") ? json.get("status").getAsString() : "FAIL";
-        int confidence = json.has("confidence") ? json.get("confidence").getAsInt() : 0;
-        
-        List<String> reasons = new ArrayList<>();
-        if (json.has("reasons") && json.get("reasons").isJsonArray()) {
-            json.getAsJsonArray("reasons").forEach(e -> reasons.add(e.getAsString()));
-        }
+        ServiceResponseFields fields = ServiceResponseFields.read(response);
+        String status = fields.getStatus() != null ? fields.getStatus() : "FAIL";
+        int confidence = fields.getConfidence();
+        List<String> reasons = fields.getReasons();
         
         // Apply business rule: confidence > 80% for PASS
         VerificationStatus finalStatus = determineStatus(status, confidence, reasons);
@@ -147,18 +215,16 @@ public class AddressVerificationClient {
         return VerificationStatus.MANUAL_REVIEW;
     }
 
-    private boolean isProofTooOld(String proofDate, int validityDays) {
-        if (proofDate == null || proofDate.isEmpty()) {
-            return true;
-        }
-        
-        try {
-            LocalDate date = LocalDate.parse(proofDate);
-            long daysSinceProof = ChronoUnit.DAYS.between(date, LocalDate.now());
-            return daysSinceProof > validityDays;
-        } catch (DateTimeParseException e) {
-            logger.warn("Invalid proof date format: {}", proofDate);
-            return true;
-        }
+    /**
+     * The address verification request, written straight into the transport's buffer.
+     */
+    private static JsonPayload requestPayload(Customer customer) {
+        return out -> out.beginObject()
+                .field("customer_id", customer.getCustomerId())
+                .field("address", customer.getAddress())
+                .field("proof_type", customer.getProofType())
+                .field("proof_date", customer.getProofDate())
+                .field("proof_url", customer.getProofUrl())
+                .endObject();
     }
 }
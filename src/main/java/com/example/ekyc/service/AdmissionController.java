@@ -0,0 +1,270 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.exception.OverloadException;
+import com.example.ekyc.exception.ServiceException;
+import com.example.ekyc.model.RequestClass;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control at the orchestrator entry: bounds how many verifications run at once and how
+ * many wait, so that a traffic spike is shed up front instead of piling up behind the rate limiter
+ * and retries until every request times out together.
+ *
+ * At most {@code maxConcurrent} verifications are admitted at a time. Up to {@code maxQueue}
+ * further requests wait, highest {@link RequestClass} first and in arrival order within a class,
+ * for at most {@code maxQueueTimeMillis}. A request is rejected with an {@link OverloadException}
+ * when:
+ * - the queue is full and holds nothing of lower priority (rejected immediately)
+ * - it is the oldest waiter of a lower class than a request arriving at a full queue (displaced)
+ * - it waited longer than the queue time budget
+ *
+ * So under overload, re-screens are shed before onboarding sessions are.
+ * Waiters are futures, so asynchronous callers queue without holding a thread.
+ */
+public class AdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+
+    private static final String EXPIRY_THREAD_PREFIX = "ekyc-admission-";
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxQueueTimeMillis;
+    private final Executor expiryExecutor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<RequestClass, Deque<CompletableFuture<Void>>> waiters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, AtomicLong> rejections = new EnumMap<>(RequestClass.class);
+    private int active;
+    private int queued;
+
+    /**
+     * @param maxConcurrent Maximum number of verifications running at once
+     * @param maxQueue Maximum number of requests waiting for admission
+     * @param maxQueueTimeMillis How long a request may wait for admission
+     */
+    public AdmissionController(int maxConcurrent, int maxQueue, long maxQueueTimeMillis) {
+        this(maxConcurrent, maxQueue, maxQueueTimeMillis, SharedExpiryExecutor.EXECUTOR);
+    }
+
+    /**
+     * @param maxConcurrent Maximum number of verifications running at once
+     * @param maxQueue Maximum number of requests waiting for admission
+     * @param maxQueueTimeMillis How long a request may wait for admission
+     * @param expiryExecutor Executor shedding requests that waited too long, and so running whatever the
+     *                       caller chained onto them; it must not run them on the timer thread
+     */
+    public AdmissionController(int maxConcurrent, int maxQueue, long maxQueueTimeMillis,
+                               Executor expiryExecutor) {
+        if (maxConcurrent < 1 || maxQueue < 0 || maxQueueTimeMillis < 0) {
+            throw new IllegalArgumentException("Admission control needs maxConcurrent >= 1, maxQueue >= 0"
+                    + " and maxQueueTimeMillis >= 0");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxQueueTimeMillis = maxQueueTimeMillis;
+        this.expiryExecutor = expiryExecutor;
+        for (RequestClass requestClass : RequestClass.values()) {
+            waiters.put(requestClass, new ArrayDeque<>());
+            rejections.put(requestClass, new AtomicLong());
+        }
+    }
+
+    /**
+     * Requests admission without blocking.
+     * The returned future completes when the request is admitted; the caller must then
+     * {@link #release()} exactly once. It completes exceptionally with an OverloadException if the
+     * request is shed. Cancelling it while queued gives up the place in the queue.
+     *
+     * @param requestClass The priority class of the request
+     * @return A future completing once the request is admitted
+     */
+    public CompletableFuture<Void> admitAsync(RequestClass requestClass) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        CompletableFuture<Void> displaced = null;
+        RequestClass displacedClass = null;
+        lock.lock();
+        try {
+            if (active < maxConcurrent) {
+                active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queued >= maxQueue) {
+                displacedClass = lowestClassBelow(requestClass);
+                if (displacedClass == null) {
+                    return CompletableFuture.failedFuture(reject(requestClass, "admission queue full ("
+                            + maxConcurrent + " running, " + maxQueue + " queued)"));
+                }
+                displaced = waiters.get(displacedClass).pollFirst();
+                queued--;
+            }
+            waiters.get(requestClass).addLast(waiter);
+            queued++;
+        } finally {
+            lock.unlock();
+        }
+        if (displaced != null) {
+            displaced.completeExceptionally(reject(displacedClass, "shed for a " + requestClass + " request"));
+        }
+        waiter.whenComplete((granted, error) -> {
+            if (error != null) {
+                removeWaiter(requestClass, waiter);
+            }
+        });
+        expireAfter(requestClass, waiter);
+        return waiter;
+    }
+
+    /**
+     * Blocking variant of {@link #admitAsync(RequestClass)}.
+     * @param requestClass The priority class of the request
+     * @throws OverloadException if the request is shed
+     * @throws ServiceException if the waiting thread is interrupted
+     */
+    public void admit(RequestClass requestClass) {
+        CompletableFuture<Void> admission = admitAsync(requestClass);
+        try {
+            admission.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!admission.cancel(false) && !admission.isCompletedExceptionally()) {
+                release(); // Admitted just as we gave up
+            }
+            throw new ServiceException("Request interrupted while waiting for admission", "VerificationOrchestrator", e);
+        } catch (ExecutionException e) {
+            throw (ServiceException) e.getCause();
+        }
+    }
+
+    /**
+     * Ends an admitted verification, handing its place straight to the highest-priority waiter.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            lock.lock();
+            try {
+                next = pollHighestPriority();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // A waiter that already timed out or was cancelled refuses the place; offer it to the next one
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param requestClass A request class
+     * @return The number of requests of that class shed so far
+     */
+    public long getRejectedCount(RequestClass requestClass) {
+        return rejections.get(requestClass).get();
+    }
+
+    /**
+     * Finds the lowest class below {@code requestClass} that has a waiter. Called with the lock held.
+     */
+    private RequestClass lowestClassBelow(RequestClass requestClass) {
+        RequestClass[] classes = RequestClass.values();
+        for (int i = classes.length - 1; i >= 0 && requestClass.outranks(classes[i]); i--) {
+            if (!waiters.get(classes[i]).isEmpty()) {
+                return classes[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes the oldest waiter of the highest class. Called with the lock held.
+     */
+    private CompletableFuture<Void> pollHighestPriority() {
+        for (RequestClass requestClass : RequestClass.values()) {
+            CompletableFuture<Void> next = waiters.get(requestClass).pollFirst();
+            if (next != null) {
+                queued--;
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private void expireAfter(RequestClass requestClass, CompletableFuture<Void> waiter) {
+        // Leave the queue before failing, so the caller never observes its own stale entry.
+        // A waiter no longer queued has been admitted or shed already.
+        HashedWheelTimer.Timeout expiry = HashedWheelTimer.shared().newTimeout(() -> {
+            if (removeWaiter(requestClass, waiter)) {
+                waiter.completeExceptionally(reject(requestClass,
+                        "not admitted within the " + maxQueueTimeMillis + "ms queue time budget"));
+            }
+        }, maxQueueTimeMillis, TimeUnit.MILLISECONDS, expiryExecutor);
+        waiter.whenComplete((admitted, error) -> expiry.cancel());
+    }
+
+    private boolean removeWaiter(RequestClass requestClass, CompletableFuture<Void> waiter) {
+        lock.lock();
+        try {
+            boolean removed = waiters.get(requestClass).remove(waiter);
+            if (removed) {
+                queued--;
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private OverloadException reject(RequestClass requestClass, String reason) {
+        rejections.get(requestClass).incrementAndGet();
+        logger.warn("Shedding {} verification request: {}", requestClass, reason);
+        return new OverloadException("Verification request rejected: " + reason, requestClass);
+    }
+
+    private static final class SharedExpiryExecutor {
+        private static final Executor EXECUTOR = ExecutorFactory.newElasticExecutor(EXPIRY_THREAD_PREFIX);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.BatchStats;
+import com.example.ekyc.model.Decision;
+import com.example.ekyc.model.KYCDecision;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe accumulator for batch statistics.
+ * Keeps only counters, so memory use does not grow with the batch size.
+ */
+final class BatchStatsRecorder {
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Decision, LongAdder> decisionCounts = new EnumMap<>(Decision.class);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator minLatencyNanos = new LongAccumulator(Long::min, Long.MAX_VALUE);
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+
+    BatchStatsRecorder() {
+        for (Decision decision : Decision.values()) {
+            decisionCounts.put(decision, new LongAdder());
+        }
+    }
+
+    void record(KYCDecision decision, long latencyNanos, boolean error) {
+        decisionCounts.get(decision.getDecision()).increment();
+        if (error) {
+            errors.increment();
+        }
+        totalLatencyNanos.add(latencyNanos);
+        minLatencyNanos.accumulate(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    BatchStats snapshot() {
+        long approved = decisionCounts.get(Decision.APPROVED).sum();
+        long rejected = decisionCounts.get(Decision.REJECTED).sum();
+        long manualReview = decisionCounts.get(Decision.MANUAL_REVIEW).sum();
+        long total = approved + rejected + manualReview;
+
+        return BatchStats.builder()
+                .total(total)
+                .approved(approved)
+                .rejected(rejected)
+                .manualReview(manualReview)
+                .errors(errors.sum())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .minLatencyMillis(total > 0 ? TimeUnit.NANOSECONDS.toMillis(minLatencyNanos.get()) : 0)
+                .maxLatencyMillis(TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()))
+                .averageLatencyMillis(total > 0 ? totalLatencyNanos.sum() / 1_000_000.0 / total : 0)
+                .build();
+    }
+}
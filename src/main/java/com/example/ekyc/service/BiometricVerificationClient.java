@@ -1,22 +1,27 @@
 package com.example.ekyc.service;
 
+import com.example.ekyc.client.AsyncHttpClient;
+import com.example.ekyc.client.CapacityAware;
 import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.JsonPayload;
 import com.example.ekyc.client.ServiceResponse;
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.VerificationResult;
 import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
-import com.example.ekyc.util.JsonUtils;
-import com.google.gson.JsonObject;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.FutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for the Biometric (Face Match) Service.
@@ -45,35 +50,108 @@ public class BiometricVerificationClient {
     }
 
     public VerificationResult verifyFaceMatch(Customer customer) {
+        return verifyFaceMatch(customer, Deadline.none());
+    }
+
+    /**
+     * Variant of {@link #verifyFaceMatch(Customer)} bounded by the verification's deadline.
+     * @param customer The customer to verify
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return The verification result
+     */
+    public VerificationResult verifyFaceMatch(Customer customer, Deadline deadline) {
+        return FutureUtils.joinInterruptibly(verifyFaceMatchAsync(customer, FutureUtils.DIRECT_EXECUTOR, deadline),
+                () -> serviceErrorResult(customer, new CancellationException("Verification interrupted")));
+    }
+
+    /**
+     * Asynchronous variant of {@link #verifyFaceMatch(Customer)}, without a deadline.
+     * @see #verifyFaceMatchAsync(Customer, Executor, Deadline)
+     */
+    public CompletableFuture<VerificationResult> verifyFaceMatchAsync(Customer customer, Executor executor) {
+        return verifyFaceMatchAsync(customer, executor, Deadline.none());
+    }
+
+    /**
+     * Asynchronous variant of {@link #verifyFaceMatch(Customer, Deadline)}.
+     * The service call and response processing run on the given executor.
+     * The returned future always completes normally: service errors map to MANUAL_REVIEW.
+     * Cancelling it cancels the underlying service call, including any pending retries.
+     *
+     * @param customer The customer to verify
+     * @param executor The executor to run the service call on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> verifyFaceMatchAsync(Customer customer, Executor executor,
+                                                                      Deadline deadline) {
+        return verifyFaceMatchAsync(customer, executor, executor, deadline);
+    }
+
+    /**
+     * Variant of {@link #verifyFaceMatchAsync(Customer, Executor, Deadline)} that runs a blocking service call
+     * and the response processing on separate executors, so that parsing never queues behind waiting I/O.
+     *
+     * @param customer The customer to verify
+     * @param ioExecutor The executor to run a blocking service call on
+     * @param parseExecutor The executor to process the response on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> verifyFaceMatchAsync(Customer customer, Executor ioExecutor,
+                                                                      Executor parseExecutor, Deadline deadline) {
         logger.info("Starting biometric verification for customer: {}", customer.getCustomerId());
         
         try {
             // Build request payload
-            Map<String, Object> request = new HashMap<>();
-            request.put("customer_id", customer.getCustomerId());
-            request.put("selfie_url", customer.getSelfieUrl());
-            request.put("id_photo_url", customer.getIdPhotoUrl());
+            JsonPayload request = requestPayload(customer);
             
-            // Call service
+            // Call service and process the response on the caller-supplied executors.
+            // Natively asynchronous HTTP clients hold no thread while waiting for the response.
             String url = config.getBiometricUrl();
-            ServiceResponse response = httpClient.post(url, request, config.getBiometricTimeout());
-            
-            // Parse and process response
-            return processResponse(response, customer.getCustomerId());
+            int timeoutSeconds = config.getBiometricTimeout();
+            Executor ioContext = CorrelationIdGenerator.withCurrentContext(ioExecutor);
+            Executor parseContext = CorrelationIdGenerator.withCurrentContext(parseExecutor);
+            CompletableFuture<ServiceResponse> call = AsyncHttpClient.adapt(httpClient, ioContext)
+                    .postAsync(url, request, timeoutSeconds, deadline);
+            return FutureUtils.propagateCancellation(call
+                    .thenApplyAsync(response -> processResponse(response, customer.getCustomerId()),
+                            parseContext)
+                    .exceptionally(e -> serviceErrorResult(customer, FutureUtils.unwrap(e))), call);
             
         } catch (Exception e) {
-            logger.error("Biometric verification failed for customer {}: {}", 
-                    customer.getCustomerId(), e.getMessage());
-            return VerificationResult.builder()
-                    .verificationType(VerificationType.FACE_MATCH)
-                    .status(VerificationStatus.MANUAL_REVIEW)
-                    .confidence(0)
-                    .reasons(List.of("Service error: " + e.getMessage()))
-                    .timestamp(LocalDateTime.now())
-                    .build();
+            return CompletableFuture.completedFuture(serviceErrorResult(customer, e));
         }
     }
 
+    /**
+     * Gets the number of calls the service accepts right now without being rate limited or queued.
+     * @return The available capacity, or Integer.MAX_VALUE if the HTTP client does not report it
+     */
+    public int availableCapacity() {
+        return CapacityAware.availableCapacity(httpClient, config.getBiometricUrl());
+    }
+
+    /**
+     * Gets how long until the service accepts a call again, e.g. when its rate limit window moves on.
+     * @return 0 if a call can start now, the milliseconds until one can, or -1 if that cannot be predicted
+     */
+    public long millisUntilCapacity() {
+        return CapacityAware.millisUntilCapacity(httpClient, config.getBiometricUrl());
+    }
+
+    private VerificationResult serviceErrorResult(Customer customer, Throwable e) {
+        logger.error("Biometric verification failed for customer {}: {}", 
+                customer.getCustomerId(), e.getMessage());
+        return VerificationResult.builder()
+                .verificationType(VerificationType.FACE_MATCH)
+                .status(VerificationStatus.MANUAL_REVIEW)
+                .confidence(0)
+                .reasons(List.of("Service error: " + e.getMessage()))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     private VerificationResult processResponse(ServiceResponse response, String customerId) {
         if (!response.isSuccess()) {
             logger.warn("Biometric service returned non-success for customer {}: {}",
@@ -87,10 +165,10 @@ public class BiometricVerificationClient {
                     .build();
         }
         
-        JsonObject json = JsonUtils.fromJson(response.getBody(), JsonObject.class);
-        String status = json.has("status") ? json.get("status").getAsString() : "FAIL";
-        int confidence = json.has("confidence") ? json.get("confidence").getAsInt() : 0;
-        int similarityScore = json.has("similarity_score") ? json.get("similarity_score").getAsInt() : 0;
+        ServiceResponseFields fields = ServiceResponseFields.read(response);
+        String status = fields.getStatus() != null ? fields.getStatus() : "FAIL";
+        int confidence = fields.getConfidence();
+        int similarityScore = fields.getSimilarityScore();
         
         List<String> reasons = new ArrayList<>();
         
@@ -134,4 +212,15 @@ public class BiometricVerificationClient {
         
         return VerificationStatus.MANUAL_REVIEW;
     }
+
+    /**
+     * The face match request, written straight into the transport's buffer.
+     */
+    private static JsonPayload requestPayload(Customer customer) {
+        return out -> out.beginObject()
+                .field("customer_id", customer.getCustomerId())
+                .field("selfie_url", customer.getSelfieUrl())
+                .field("id_photo_url", customer.getIdPhotoUrl())
+                .endObject();
+    }
 }
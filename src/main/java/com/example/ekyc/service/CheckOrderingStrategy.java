@@ -0,0 +1,51 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.CheckOrdering;
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationType;
+
+import java.util.List;
+
+/**
+ * Decides the order in which sequentially executed checks run.
+ * Combined with early termination, running the check most likely to FAIL first lets the
+ * orchestrator skip the remaining checks as soon as the rejection is certain.
+ *
+ * Implementations must be thread-safe: one strategy serves every verification of an orchestrator.
+ */
+public interface CheckOrderingStrategy {
+
+    /**
+     * Orders the requested checks for execution.
+     * @param requested The checks in the order the caller requested them
+     * @return The same checks in the order to run them
+     */
+    List<VerificationType> order(List<VerificationType> requested);
+
+    /**
+     * Observes the outcome of a check that was executed (skipped checks are not reported).
+     * @param type The check that ran
+     * @param result Its result
+     * @param latencyNanos How long it took
+     */
+    default void record(VerificationType type, VerificationResult result, long latencyNanos) {
+        // Static orderings do not learn from outcomes
+    }
+
+    /**
+     * Creates the strategy for a configured ordering.
+     * @param ordering The configured ordering
+     * @return A new strategy instance
+     */
+    static CheckOrderingStrategy of(CheckOrdering ordering) {
+        switch (ordering) {
+            case SANCTIONS_FIRST:
+                return new SanctionsFirstCheckOrdering();
+            case ADAPTIVE:
+                return new AdaptiveCheckOrdering();
+            case FIXED:
+            default:
+                return new FixedCheckOrdering();
+        }
+    }
+}
@@ -1,24 +1,27 @@
 package com.example.ekyc.service;
 
+import com.example.ekyc.client.AsyncHttpClient;
+import com.example.ekyc.client.CapacityAware;
 import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.JsonPayload;
 import com.example.ekyc.client.ServiceResponse;
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.VerificationResult;
 import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
-import com.example.ekyc.util.JsonUtils;
-import com.google.gson.JsonObject;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.Utf8JsonWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for the Document Verification Service.
@@ -47,49 +50,120 @@ public class DocumentVerificationClient {
     }
 
     public VerificationResult verifyDocument(Customer customer) {
+        return verifyDocument(customer, Deadline.none());
+    }
+
+    /**
+     * Variant of {@link #verifyDocument(Customer)} bounded by the verification's deadline.
+     * @param customer The customer to verify
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return The verification result
+     */
+    public VerificationResult verifyDocument(Customer customer, Deadline deadline) {
+        return FutureUtils.joinInterruptibly(verifyDocumentAsync(customer, FutureUtils.DIRECT_EXECUTOR, deadline),
+                () -> serviceErrorResult(customer, new CancellationException("Verification interrupted")));
+    }
+
+    /**
+     * Asynchronous variant of {@link #verifyDocument(Customer)}, without a deadline.
+     * @see #verifyDocumentAsync(Customer, Executor, Deadline)
+     */
+    public CompletableFuture<VerificationResult> verifyDocumentAsync(Customer customer, Executor executor) {
+        return verifyDocumentAsync(customer, executor, Deadline.none());
+    }
+
+    /**
+     * Asynchronous variant of {@link #verifyDocument(Customer, Deadline)}.
+     * The service call and response processing run on the given executor.
+     * The returned future always completes normally: service errors map to MANUAL_REVIEW.
+     * Cancelling it cancels the underlying service call, including any pending retries.
+     *
+     * @param customer The customer to verify
+     * @param executor The executor to run the service call on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> verifyDocumentAsync(Customer customer, Executor executor,
+                                                                     Deadline deadline) {
+        return verifyDocumentAsync(customer, executor, executor, deadline);
+    }
+
+    /**
+     * Variant of {@link #verifyDocumentAsync(Customer, Executor, Deadline)} that runs a blocking service call
+     * and the response processing on separate executors, so that parsing never queues behind waiting I/O.
+     *
+     * @param customer The customer to verify
+     * @param ioExecutor The executor to run a blocking service call on
+     * @param parseExecutor The executor to process the response on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> verifyDocumentAsync(Customer customer, Executor ioExecutor,
+                                                                     Executor parseExecutor, Deadline deadline) {
         logger.info("Starting document verification for customer: {}", customer.getCustomerId());
         
         try {
             // Check expiry date first (business rule)
-            if (isDocumentExpired(customer.getDocumentExpiryDate())) {
+            if (PreValidator.isDocumentExpired(customer.getDocumentExpiryDate())) {
                 logger.warn("Document is expired for customer: {}", customer.getCustomerId());
-                return VerificationResult.builder()
+                return CompletableFuture.completedFuture(VerificationResult.builder()
                         .verificationType(VerificationType.ID_DOCUMENT)
                         .status(VerificationStatus.FAIL)
                         .confidence(0)
                         .reasons(List.of("Document has expired"))
                         .timestamp(LocalDateTime.now())
-                        .build();
+                        .build());
             }
             
             // Build request payload
-            Map<String, Object> request = new HashMap<>();
-            request.put("customer_id", customer.getCustomerId());
-            request.put("document_type", customer.getDocumentType());
-            request.put("document_number", maskDocumentNumber(customer.getDocumentNumber()));
-            request.put("expiry_date", customer.getDocumentExpiryDate());
-            request.put("document_image_url", customer.getDocumentImageUrl());
+            JsonPayload request = requestPayload(customer);
             
-            // Call service
+            // Call service and process the response on the caller-supplied executors.
+            // Natively asynchronous HTTP clients hold no thread while waiting for the response.
             String url = config.getDocumentUrl();
-            ServiceResponse response = httpClient.post(url, request, config.getDocumentTimeout());
-            
-            // Parse and process response
-            return processResponse(response, customer.getCustomerId());
+            int timeoutSeconds = config.getDocumentTimeout();
+            Executor ioContext = CorrelationIdGenerator.withCurrentContext(ioExecutor);
+            Executor parseContext = CorrelationIdGenerator.withCurrentContext(parseExecutor);
+            CompletableFuture<ServiceResponse> call = AsyncHttpClient.adapt(httpClient, ioContext)
+                    .postAsync(url, request, timeoutSeconds, deadline);
+            return FutureUtils.propagateCancellation(call
+                    .thenApplyAsync(response -> processResponse(response, customer.getCustomerId()),
+                            parseContext)
+                    .exceptionally(e -> serviceErrorResult(customer, FutureUtils.unwrap(e))), call);
             
         } catch (Exception e) {
-            logger.error("Document verification failed for customer {}: {}", 
-                    customer.getCustomerId(), e.getMessage());
-            return VerificationResult.builder()
-                    .verificationType(VerificationType.ID_DOCUMENT)
-                    .status(VerificationStatus.MANUAL_REVIEW)
-                    .confidence(0)
-                    .reasons(List.of("Service error: " + e.getMessage()))
-                    .timestamp(LocalDateTime.now())
-                    .build();
+            return CompletableFuture.completedFuture(serviceErrorResult(customer, e));
         }
     }
 
+    /**
+     * Gets the number of calls the service accepts right now without being rate limited or queued.
+     * @return The available capacity, or Integer.MAX_VALUE if the HTTP client does not report it
+     */
+    public int availableCapacity() {
+        return CapacityAware.availableCapacity(httpClient, config.getDocumentUrl());
+    }
+
+    /**
+     * Gets how long until the service accepts a call again, e.g. when its rate limit window moves on.
+     * @return 0 if a call can start now, the milliseconds until one can, or -1 if that cannot be predicted
+     */
+    public long millisUntilCapacity() {
+        return CapacityAware.millisUntilCapacity(httpClient, config.getDocumentUrl());
+    }
+
+    private VerificationResult serviceErrorResult(Customer customer, Throwable e) {
+        logger.error("Document verification failed for customer {}: {}", 
+                customer.getCustomerId(), e.getMessage());
+        return VerificationResult.builder()
+                .verificationType(VerificationType.ID_DOCUMENT)
+                .status(VerificationStatus.MANUAL_REVIEW)
+                .confidence(0)
+                .reasons(List.of("Service error: " + e.getMessage()))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     private VerificationResult processResponse(ServiceResponse response, String customerId) {
         if (!response.isSuccess()) {
             logger.warn("Document service returned non-success for customer {}: {}",
@@ -103,14 +177,10 @@ public class DocumentVerificationClient {
                     .build();
         }
         
-        JsonObject json = JsonUtils.fromJson(response.getBody(), JsonObject.class);
-        String status = json.has("status") ? json.get("status").getAsString() : "FAIL";
-        int confidence = json.has("confidence") ? json.get("confidence").getAsInt() : 0;
-        
-        List<String> reasons = new ArrayList<>();
-        if (json.has("reasons") && json.get("reasons").isJsonArray()) {
-            json.getAsJsonArray("reasons").forEach(e -> reasons.add(e.getAsString()));
-        }
+        ServiceResponseFields fields = ServiceResponseFields.read(response);
+        String status = fields.getStatus() != null ? fields.getStatus() : "FAIL";
+        int confidence = fields.getConfidence();
+        List<String> reasons = fields.getReasons();
         
         // Apply business rule: confidence > 85% for PASS
         VerificationStatus finalStatus = determineStatus(status, confidence, reasons);
@@ -144,24 +214,29 @@ public class DocumentVerificationClient {
         return VerificationStatus.MANUAL_REVIEW;
     }
 
-    private boolean isDocumentExpired(String expiryDate) {
-        if (expiryDate == null || expiryDate.isEmpty()) {
-            return true;
-        }
-        
-        try {
-            LocalDate expiry = LocalDate.parse(expiryDate);
-            return expiry.isBefore(LocalDate.now());
-        } catch (DateTimeParseException e) {
-            logger.warn("Invalid expiry date format: {}", expiryDate);
-            return true;
-        }
+    /**
+     * The document verification request, written straight into the transport's buffer.
+     */
+    private static JsonPayload requestPayload(Customer customer) {
+        return out -> {
+            out.beginObject()
+                    .field("customer_id", customer.getCustomerId())
+                    .field("document_type", customer.getDocumentType());
+            writeMaskedDocumentNumber(out, customer.getDocumentNumber());
+            out.field("expiry_date", customer.getDocumentExpiryDate())
+                    .field("document_image_url", customer.getDocumentImageUrl())
+                    .endObject();
+        };
     }
 
-    private String maskDocumentNumber(String documentNumber) {
-        if (documentNumber == null || documentNumber.length() <= 4) {
-            return "****";
+    /**
+     * Writes the document number with all but its last 4 characters masked.
+     */
+    private static void writeMaskedDocumentNumber(Utf8JsonWriter out, String documentNumber) {
+        out.name("document_number").beginString().chars("****", 0, 4);
+        if (documentNumber != null && documentNumber.length() > 4) {
+            out.chars(documentNumber, documentNumber.length() - 4, documentNumber.length());
         }
-        return "****" + documentNumber.substring(documentNumber.length() - 4);
+        out.endString();
     }
 }
@@ -0,0 +1,16 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.VerificationType;
+
+import java.util.List;
+
+/**
+ * Runs checks in the order the caller requested them.
+ */
+public class FixedCheckOrdering implements CheckOrderingStrategy {
+
+    @Override
+    public List<VerificationType> order(List<VerificationType> requested) {
+        return requested;
+    }
+}
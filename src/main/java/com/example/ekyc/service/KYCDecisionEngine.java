@@ -87,6 +87,18 @@ public class KYCDecisionEngine {
                 .build();
     }
 
+    /**
+     * Checks whether a single result already settles the final decision,
+     * so that checks still in flight cannot change it.
+     * Any FAIL leads to REJECTED regardless of the other results.
+     *
+     * @param result A verification result
+     * @return true if the decision will be REJECTED whatever the remaining checks return
+     */
+    public boolean isDecisive(VerificationResult result) {
+        return result != null && result.getStatus() == VerificationStatus.FAIL;
+    }
+
     /**
      * Checks if there's a sanctions hit in the results.
      * A sanctions FAIL is the most critical rejection reason.
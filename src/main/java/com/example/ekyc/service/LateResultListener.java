@@ -0,0 +1,20 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.VerificationResult;
+
+/**
+ * Receives the results of checks that completed after the orchestrator's decision deadline.
+ * By then the decision has been made with the check as MANUAL_REVIEW, so these results are for audit,
+ * or to be kept for a later {@link VerificationOrchestrator#reverify} instead of calling the service again.
+ */
+@FunctionalInterface
+public interface LateResultListener {
+
+    /**
+     * Called on the thread that completed the check; implementations should return quickly.
+     *
+     * @param correlationId The correlation ID of the decision the result missed
+     * @param result The late result, with its input fingerprint recorded
+     */
+    void onLateResult(String correlationId, VerificationResult result);
+}
@@ -0,0 +1,44 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.RequestClass;
+import com.example.ekyc.model.VerificationType;
+
+import java.util.List;
+
+/**
+ * A verification recorded in the {@link PendingVerificationQueue} while it waits for downstream quota.
+ */
+public final class PendingVerification {
+    private final long offset;
+    private final Customer customer;
+    private final List<VerificationType> verificationTypes;
+    private final RequestClass requestClass;
+
+    PendingVerification(long offset, Customer customer, List<VerificationType> verificationTypes,
+                        RequestClass requestClass) {
+        this.offset = offset;
+        this.customer = customer;
+        this.verificationTypes = List.copyOf(verificationTypes);
+        this.requestClass = requestClass;
+    }
+
+    /**
+     * @return The position of the verification in the queue, passed to {@link PendingVerificationQueue#complete}
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+
+    public List<VerificationType> getVerificationTypes() {
+        return verificationTypes;
+    }
+
+    public RequestClass getRequestClass() {
+        return requestClass;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.RequestClass;
+import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.DurableQueue;
+import com.example.ekyc.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * On-disk record of the verifications waiting for downstream quota, so that they survive a restart.
+ *
+ * Each verification is appended to a {@link DurableQueue} as JSON when it is deferred and completed once
+ * it has run. Verifications complete out of order, so the queue is acknowledged up to the oldest one still
+ * pending. After a restart, {@link #recover()} returns every verification not completed before, which may
+ * include a few that did complete but whose acknowledgement had not been synced yet.
+ *
+ * The files hold customer data and must be protected like any other store of it.
+ */
+public class PendingVerificationQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingVerificationQueue.class);
+
+    private static final int RECOVERY_BATCH = 1000;
+
+    private final DurableQueue queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Long> pending = new TreeSet<>();
+
+    public PendingVerificationQueue(DurableQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Opens the queue configured by {@code EKYC_PENDING_QUEUE_DIR}.
+     *
+     * @param config The service configuration
+     * @return The queue, or null if no directory is configured
+     * @throws IOException if the queue cannot be opened
+     */
+    public static PendingVerificationQueue open(ServiceConfig config) throws IOException {
+        if (config.getPendingQueueDir().isEmpty()) {
+            return null;
+        }
+        return new PendingVerificationQueue(DurableQueue.open(Path.of(config.getPendingQueueDir()),
+                config.getPendingQueueSegmentMb() * 1024L * 1024L, config.getPendingQueueSyncIntervalMs(),
+                config.getPendingQueueSyncBatch()));
+    }
+
+    /**
+     * Records a deferred verification. It reaches the disk with the queue's next group sync.
+     *
+     * @return The offset to pass to {@link #complete(long)} once the verification has run
+     */
+    public long enqueue(Customer customer, List<VerificationType> verificationTypes, RequestClass requestClass) {
+        byte[] payload = JsonUtils.toJson(new Entry(customer, verificationTypes, requestClass))
+                .getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            long offset = queue.append(payload);
+            pending.add(offset);
+            return offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a verification as done, so it is not recovered after a restart.
+     * @param offset The offset returned by {@link #enqueue} or carried by a recovered verification
+     */
+    public void complete(long offset) {
+        lock.lock();
+        try {
+            if (pending.remove(offset)) {
+                queue.acknowledge((pending.isEmpty() ? queue.getNextOffset() : pending.first()) - 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the verifications left pending by a previous run. Call once, before enqueueing.
+     * @return The pending verifications, oldest first
+     */
+    public List<PendingVerification> recover() {
+        List<PendingVerification> recovered = new ArrayList<>();
+        List<DurableQueue.Record> records = queue.poll(RECOVERY_BATCH);
+        while (!records.isEmpty()) {
+            for (DurableQueue.Record record : records) {
+                Entry entry = JsonUtils.fromJson(new String(record.getPayload(), StandardCharsets.UTF_8), Entry.class);
+                recovered.add(new PendingVerification(record.getOffset(), entry.customer,
+                        entry.verificationTypes, entry.requestClass));
+            }
+            records = queue.poll(RECOVERY_BATCH);
+        }
+        lock.lock();
+        try {
+            recovered.forEach(verification -> pending.add(verification.getOffset()));
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Recovered {} pending verifications", recovered.size());
+        return recovered;
+    }
+
+    /**
+     * @return The number of verifications enqueued or recovered and not yet completed
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Persists the enqueued and completed verifications now, rather than with the next group sync.
+     * @throws java.io.UncheckedIOException if the sync fails
+     */
+    public void sync() {
+        queue.sync();
+    }
+
+    /**
+     * Syncs and closes the underlying queue. Verifications not completed are recovered on the next open.
+     */
+    @Override
+    public void close() {
+        queue.close();
+    }
+
+    /**
+     * JSON form of a queued verification.
+     */
+    private static final class Entry {
+        private final Customer customer;
+        private final List<VerificationType> verificationTypes;
+        private final RequestClass requestClass;
+
+        Entry(Customer customer, List<VerificationType> verificationTypes, RequestClass requestClass) {
+            this.customer = customer;
+            this.verificationTypes = verificationTypes;
+            this.requestClass = requestClass;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.ValidationException;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationStatus;
+import com.example.ekyc.model.VerificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap local rules run before any downstream call.
+ *
+ * Each check type is validated on the fields its service receives:
+ * - A rule that guarantees the check would FAIL (expired document, stale proof of address, a
+ *   passport number whose ICAO check digit does not match) yields a local FAIL result
+ * - Missing or malformed input the service could not process, including a document number in no
+ *   known format for its type, yields a local MANUAL_REVIEW result
+ * - Otherwise the check goes to its service
+ *
+ * Request-wide input (customer ID, email, phone) is checked by {@link #validateRequest}.
+ * Error messages name the offending field but never include its value.
+ */
+public class PreValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreValidator.class);
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE = Pattern.compile("^\\+?[0-9][0-9 ()\\-]{5,22}$");
+    private static final Pattern COUNTRY_CODE = Pattern.compile("^[A-Z]{2}$");
+    private static final int MIN_PHONE_DIGITS = 7;
+    private static final int MAX_PHONE_DIGITS = 15; // E.164
+
+    /** Document number formats by document type; other types get {@link #GENERIC_DOCUMENT_NUMBER}. */
+    private static final Map<String, DocumentNumberRule> DOCUMENT_NUMBER_RULES = Map.of(
+            // ICAO 9303: up to 9 characters, optionally followed by the MRZ check digit
+            "PASSPORT", new DocumentNumberRule(Pattern.compile("^[A-Z0-9]{6,9}$|^[A-Z0-9]{9}[0-9]$"), true),
+            "NATIONAL_ID", new DocumentNumberRule(Pattern.compile("^[A-Z0-9]{5,18}$"), false),
+            "DRIVERS_LICENSE", new DocumentNumberRule(Pattern.compile("^[A-Z0-9-]{4,20}$"), false)
+    );
+    private static final DocumentNumberRule GENERIC_DOCUMENT_NUMBER =
+            new DocumentNumberRule(Pattern.compile("^[A-Z0-9-]{4,20}$"), false);
+
+    private final int addressProofValidityDays;
+
+    public PreValidator() {
+        this(ServiceConfig.getInstance());
+    }
+
+    public PreValidator(ServiceConfig config) {
+        this.addressProofValidityDays = config.getAddressProofValidityDays();
+    }
+
+    /**
+     * Validates the input every check depends on.
+     * @param customer The customer to verify
+     * @throws ValidationException listing every violation if the request is malformed
+     */
+    public void validateRequest(Customer customer) {
+        List<String> errors = new ArrayList<>();
+        if (isBlank(customer.getCustomerId())) {
+            errors.add("Customer ID is required");
+        }
+        if (customer.getEmail() != null && !EMAIL.matcher(customer.getEmail()).matches()) {
+            errors.add("Email address is malformed");
+        }
+        if (customer.getPhone() != null && !isValidPhone(customer.getPhone())) {
+            errors.add("Phone number is malformed");
+        }
+        if (!errors.isEmpty()) {
+            logger.warn("Rejecting malformed verification request for customer {}: {}",
+                    customer.getCustomerId(), errors);
+            throw new ValidationException("Invalid verification request", errors);
+        }
+    }
+
+    /**
+     * Runs the local rules of one check.
+     * @param customer The customer to verify
+     * @param type The check to pre-validate
+     * @return The check's result if the local rules already decide it, or empty if it needs its service
+     */
+    public Optional<VerificationResult> precheck(Customer customer, VerificationType type) {
+        List<String> failures = new ArrayList<>();
+        List<String> invalidInput = new ArrayList<>();
+        switch (type) {
+            case ID_DOCUMENT:
+                checkDocument(customer, failures, invalidInput);
+                break;
+            case FACE_MATCH:
+                requireUrl(customer.getSelfieUrl(), "Selfie URL", invalidInput);
+                requireUrl(customer.getIdPhotoUrl(), "ID photo URL", invalidInput);
+                break;
+            case ADDRESS:
+                checkAddress(customer, failures, invalidInput);
+                break;
+            case SANCTIONS:
+                checkSanctionsInput(customer, invalidInput);
+                break;
+            default:
+                break;
+        }
+        return localResult(customer, type, failures, invalidInput);
+    }
+
+    /**
+     * Checks whether a document has expired. A missing or unparseable date counts as expired.
+     * @param expiryDate ISO 8601 expiry date
+     * @return true if the document cannot be accepted
+     */
+    static boolean isDocumentExpired(String expiryDate) {
+        LocalDate expiry = parseDate(expiryDate);
+        return expiry == null || expiry.isBefore(LocalDate.now());
+    }
+
+    /**
+     * Checks whether a proof of address is too old. A missing or unparseable date counts as too old.
+     * @param proofDate ISO 8601 date of the proof
+     * @param validityDays Maximum accepted age in days
+     * @return true if the proof cannot be accepted
+     */
+    static boolean isProofTooOld(String proofDate, int validityDays) {
+        LocalDate date = parseDate(proofDate);
+        return date == null || ChronoUnit.DAYS.between(date, LocalDate.now()) > validityDays;
+    }
+
+    /**
+     * Checks a document number against the format of its document type. A number in no known format
+     * may still be genuine, so it is only invalid input, never a failure.
+     * @param documentType The document type, e.g. PASSPORT
+     * @param documentNumber The document number
+     * @return true if the number is present and matches the format of the type
+     */
+    static boolean isWellFormedDocumentNumber(String documentType, String documentNumber) {
+        return !isBlank(documentNumber)
+                && ruleFor(documentType).format.matcher(normalize(documentNumber)).matches();
+    }
+
+    /**
+     * Checks the ICAO 9303 check digit of a well-formed document number whose type carries one.
+     * @param documentType The document type, e.g. PASSPORT
+     * @param documentNumber The document number
+     * @return true only if the number carries a check digit and that digit is wrong
+     */
+    static boolean hasCheckDigitMismatch(String documentType, String documentNumber) {
+        if (!isWellFormedDocumentNumber(documentType, documentNumber) || !ruleFor(documentType).icaoCheckDigit) {
+            return false;
+        }
+        String number = normalize(documentNumber);
+        return number.length() == 10 && icaoCheckDigit(number.substring(0, 9)) != number.charAt(9) - '0';
+    }
+
+    /**
+     * Computes an ICAO 9303 check digit: character values weighted 7, 3, 1 repeating, modulo 10.
+     * Digits count as their value, letters A-Z as 10-35 and the filler '<' as 0.
+     */
+    static int icaoCheckDigit(String value) {
+        int[] weights = {7, 3, 1};
+        int sum = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            int charValue = Character.isDigit(c) ? c - '0' : Character.isLetter(c) ? c - 'A' + 10 : 0;
+            sum += charValue * weights[i % 3];
+        }
+        return sum % 10;
+    }
+
+    private void checkDocument(Customer customer, List<String> failures, List<String> invalidInput) {
+        if (isDocumentExpired(customer.getDocumentExpiryDate())) {
+            failures.add("Document has expired");
+        }
+        if (!isWellFormedDocumentNumber(customer.getDocumentType(), customer.getDocumentNumber())) {
+            invalidInput.add("Document number is missing or not in a known format for document type "
+                    + customer.getDocumentType());
+        } else if (hasCheckDigitMismatch(customer.getDocumentType(), customer.getDocumentNumber())) {
+            failures.add("Document number check digit does not match");
+        }
+        requireUrl(customer.getDocumentImageUrl(), "Document image URL", invalidInput);
+    }
+
+    private void checkAddress(Customer customer, List<String> failures, List<String> invalidInput) {
+        if (isProofTooOld(customer.getProofDate(), addressProofValidityDays)) {
+            failures.add("Proof of address is older than " + addressProofValidityDays + " days");
+        }
+        if (isBlank(customer.getAddress())) {
+            invalidInput.add("Address is required");
+        }
+        requireUrl(customer.getProofUrl(), "Proof of address URL", invalidInput);
+    }
+
+    private void checkSanctionsInput(Customer customer, List<String> invalidInput) {
+        if (isBlank(customer.getFullName())) {
+            invalidInput.add("Full name is required");
+        }
+        if (customer.getDateOfBirth() != null) {
+            LocalDate dateOfBirth = parseDate(customer.getDateOfBirth());
+            if (dateOfBirth == null || !dateOfBirth.isBefore(LocalDate.now())) {
+                invalidInput.add("Date of birth is not a valid past date");
+            }
+        }
+        if (customer.getNationality() != null && !COUNTRY_CODE.matcher(customer.getNationality()).matches()) {
+            invalidInput.add("Nationality must be an ISO 3166 alpha-2 country code");
+        }
+    }
+
+    private Optional<VerificationResult> localResult(Customer customer, VerificationType type,
+                                                     List<String> failures, List<String> invalidInput) {
+        if (failures.isEmpty() && invalidInput.isEmpty()) {
+            return Optional.empty();
+        }
+        VerificationStatus status = failures.isEmpty() ? VerificationStatus.MANUAL_REVIEW : VerificationStatus.FAIL;
+        List<String> reasons = new ArrayList<>(failures);
+        invalidInput.forEach(error -> reasons.add("Invalid input: " + error));
+        logger.info("Pre-validation decided {} for customer {} locally: status={}, reasons={}",
+                type, customer.getCustomerId(), status, reasons);
+        return Optional.of(VerificationResult.builder()
+                .verificationType(type)
+                .status(status)
+                .confidence(0)
+                .reasons(reasons)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private static void requireUrl(String url, String field, List<String> invalidInput) {
+        if (isBlank(url)) {
+            invalidInput.add(field + " is required");
+            return;
+        }
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("https".equalsIgnoreCase(scheme) || "http".equalsIgnoreCase(scheme))) {
+                invalidInput.add(field + " must be an absolute http(s) URL");
+            }
+        } catch (URISyntaxException e) {
+            invalidInput.add(field + " is malformed");
+        }
+    }
+
+    private static boolean isValidPhone(String phone) {
+        if (!PHONE.matcher(phone).matches()) {
+            return false;
+        }
+        long digits = phone.chars().filter(Character::isDigit).count();
+        return digits >= MIN_PHONE_DIGITS && digits <= MAX_PHONE_DIGITS;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null; // The value itself is not logged: it may be a date of birth
+        }
+    }
+
+    private static DocumentNumberRule ruleFor(String documentType) {
+        return documentType == null
+                ? GENERIC_DOCUMENT_NUMBER
+                : DOCUMENT_NUMBER_RULES.getOrDefault(documentType.toUpperCase(Locale.ROOT), GENERIC_DOCUMENT_NUMBER);
+    }
+
+    private static String normalize(String documentNumber) {
+        return documentNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Format of a document number, and whether it may carry a trailing ICAO check digit.
+     */
+    private static final class DocumentNumberRule {
+        private final Pattern format;
+        private final boolean icaoCheckDigit;
+
+        private DocumentNumberRule(Pattern format, boolean icaoCheckDigit) {
+            this.format = format;
+            this.icaoCheckDigit = icaoCheckDigit;
+        }
+    }
+}
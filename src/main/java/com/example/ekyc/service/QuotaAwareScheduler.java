@@ -0,0 +1,494 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.client.CapacityAware;
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.OverloadException;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.RequestClass;
+import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Holds verifications whose downstream services are out of quota and releases them as soon as
+ * permits free up, so that an exhausted rate limit window delays verifications instead of turning
+ * their checks into MANUAL_REVIEW.
+ *
+ * Held verifications are released highest {@link RequestClass} first, and in arrival order within
+ * a class. A verification may overtake one held ahead of it only if they share no service, so a
+ * lower-priority request never takes the permits a higher-priority one is waiting for. A release pass
+ * runs whenever a verification completes, and otherwise when the services expect their quota to free up
+ * (see {@link CapacityAware#millisUntilCapacity}) or, if they cannot tell, every {@code pollMillis}.
+ *
+ * Permits of verifications still running are counted as taken, so the scheduler errs on the side of
+ * holding a verification back. Capacity is a snapshot: other users of the same services can still cause
+ * the occasional rejection, which ends up as MANUAL_REVIEW like any service error.
+ *
+ * Each verification gets an estimated completion time: when the permits it needs should be free,
+ * given the requests held ahead of it and the quota per window, plus the smoothed duration of recent
+ * verifications.
+ *
+ * With a {@link PendingVerificationQueue}, every verification held for quota is also written to disk until
+ * it has run, and {@link #recover(BiConsumer)} schedules the ones a previous run left behind.
+ */
+public class QuotaAwareScheduler implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotaAwareScheduler.class);
+
+    /** Weight of the newest verification in the smoothed verification duration. */
+    private static final double SMOOTHING = 0.2;
+
+    private static final long NOT_JOURNALED = -1;
+    private static final long JOURNALING = -2;
+    private static final long FORGOTTEN = -3;
+
+    private final VerificationOrchestrator orchestrator;
+    private final Executor executor;
+    private final int quotaPerWindow;
+    private final long windowMillis;
+    private final long pollMillis;
+    private final int maxHeld;
+    private final PendingVerificationQueue journal;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<RequestClass, Deque<HeldVerification>> held = new EnumMap<>(RequestClass.class);
+    private final Map<VerificationType, Integer> running = new EnumMap<>(VerificationType.class);
+    private int heldCount;
+    private boolean wakeUpScheduled;
+    private boolean closed;
+    private double durationMillis;
+
+    public QuotaAwareScheduler(VerificationOrchestrator orchestrator, Executor executor, ServiceConfig config) {
+        this(orchestrator, executor, config, null);
+    }
+
+    public QuotaAwareScheduler(VerificationOrchestrator orchestrator, Executor executor, ServiceConfig config,
+                               PendingVerificationQueue journal) {
+        this(orchestrator, executor, config.getRateLimitRequests(),
+                TimeUnit.SECONDS.toMillis(config.getRateLimitWindowSeconds()),
+                config.getQuotaPollMs(), config.getQuotaMaxHeld(), journal);
+    }
+
+    public QuotaAwareScheduler(VerificationOrchestrator orchestrator, Executor executor, int quotaPerWindow,
+                               long windowMillis, long pollMillis, int maxHeld) {
+        this(orchestrator, executor, quotaPerWindow, windowMillis, pollMillis, maxHeld, null);
+    }
+
+    /**
+     * @param orchestrator The orchestrator that runs each verification
+     * @param executor The executor for verifications and release passes
+     * @param quotaPerWindow Calls each service accepts per rate limit window, used for estimates
+     * @param windowMillis Length of the rate limit window, used for estimates
+     * @param pollMillis Interval of release passes while the services cannot tell when quota frees up
+     * @param maxHeld Maximum number of verifications held at once
+     * @param journal Queue recording held verifications on disk, or null to keep them in memory only
+     */
+    public QuotaAwareScheduler(VerificationOrchestrator orchestrator, Executor executor, int quotaPerWindow,
+                               long windowMillis, long pollMillis, int maxHeld, PendingVerificationQueue journal) {
+        if (quotaPerWindow < 1 || windowMillis < 1 || pollMillis < 1 || maxHeld < 0) {
+            throw new IllegalArgumentException("Quota scheduling needs a quota and window of at least 1,"
+                    + " a poll interval of at least 1ms and maxHeld >= 0");
+        }
+        this.orchestrator = orchestrator;
+        this.executor = executor;
+        this.quotaPerWindow = quotaPerWindow;
+        this.windowMillis = windowMillis;
+        this.pollMillis = pollMillis;
+        this.maxHeld = maxHeld;
+        this.journal = journal;
+        for (RequestClass requestClass : RequestClass.values()) {
+            held.put(requestClass, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Schedules a verification, classified by its verification types (see {@link RequestClass#of}).
+     */
+    public ScheduledVerification schedule(Customer customer, List<VerificationType> verificationTypes) {
+        return schedule(customer, verificationTypes, RequestClass.of(verificationTypes));
+    }
+
+    /**
+     * Runs a verification as soon as its services have quota, or holds it until they do.
+     *
+     * @param customer The customer to verify
+     * @param verificationTypes The verification types to perform
+     * @param requestClass The priority class of the request
+     * @return The scheduled verification, with its decision future and estimated completion time
+     * @throws OverloadException if {@code maxHeld} verifications are held already
+     * @throws IllegalStateException if the scheduler is closed
+     */
+    public ScheduledVerification schedule(Customer customer, List<VerificationType> verificationTypes,
+                                          RequestClass requestClass) {
+        HeldVerification verification = new HeldVerification(customer, verificationTypes, requestClass);
+        int ahead;
+        long free;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Quota scheduler is closed");
+            }
+            if (heldCount >= maxHeld) {
+                throw new OverloadException("Quota scheduler full (" + maxHeld + " held)", requestClass);
+            }
+            ahead = countAhead(verification);
+            free = freePermits(verification.types);
+            if (journal != null && ahead >= free) {
+                verification.journalOffset.set(JOURNALING);
+            }
+            held.get(requestClass).addLast(verification);
+            heldCount++;
+        } finally {
+            lock.unlock();
+        }
+        // Unless it was released and has finished already
+        if (verification.journalOffset.get() == JOURNALING) {
+            journal(verification);
+        }
+        Instant estimate = estimateCompletion(verification.types, ahead, free);
+        if (ahead >= free) {
+            logger.info("Holding {} verification for customer {} until quota frees up, estimated completion {}",
+                    requestClass, customer.getCustomerId(), estimate);
+        }
+        releaseReady();
+        return new ScheduledVerification(requestClass, estimate, verification.result);
+    }
+
+    /**
+     * Schedules the verifications left in the journal by a previous run, whether or not that exceeds
+     * {@code maxHeld}. Call once at startup, before scheduling anything else.
+     *
+     * Each decision is passed to the callback together with its customer before the verification is removed
+     * from the journal, so a decision is never lost: if the callback throws, the verification stays in the
+     * journal and is replayed again after the next restart.
+     *
+     * @param callback Receives each customer and its decision, on the thread completing the verification
+     * @return The recovered verifications, oldest first; empty without a journal
+     * @throws IllegalStateException if the scheduler is closed
+     */
+    public List<ScheduledVerification> recover(BiConsumer<Customer, KYCDecision> callback) {
+        if (journal == null) {
+            return List.of();
+        }
+        List<ScheduledVerification> scheduled = new ArrayList<>();
+        for (PendingVerification pending : journal.recover()) {
+            HeldVerification verification = new HeldVerification(pending.getCustomer(),
+                    pending.getVerificationTypes(), pending.getRequestClass());
+            verification.journalOffset.set(pending.getOffset());
+            verification.callback = callback;
+            scheduled.add(hold(verification));
+        }
+        releaseReady();
+        return scheduled;
+    }
+
+    /**
+     * Writes a held verification to the journal, outside the lock so that a slow disk does not stall
+     * scheduling. The verification may already have been released and even finished meanwhile; in that
+     * case its entry is completed straight away.
+     */
+    private void journal(HeldVerification verification) {
+        long offset;
+        try {
+            offset = journal.enqueue(verification.customer, verification.types, verification.requestClass);
+        } catch (RuntimeException e) {
+            // Withdraw it, as if it had never been scheduled
+            verification.journalOffset.set(NOT_JOURNALED);
+            verification.result.cancel(true);
+            throw e;
+        }
+        if (!verification.journalOffset.compareAndSet(JOURNALING, offset)) {
+            journal.complete(offset);
+        }
+    }
+
+    private ScheduledVerification hold(HeldVerification verification) {
+        int ahead;
+        long free;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Quota scheduler is closed");
+            }
+            ahead = countAhead(verification);
+            free = freePermits(verification.types);
+            held.get(verification.requestClass).addLast(verification);
+            heldCount++;
+        } finally {
+            lock.unlock();
+        }
+        Instant estimate = estimateCompletion(verification.types, ahead, free);
+        return new ScheduledVerification(verification.requestClass, estimate, verification.result);
+    }
+
+    /**
+     * @return The number of verifications waiting for quota
+     */
+    public int getHeldCount() {
+        lock.lock();
+        try {
+            return heldCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting verifications. Held verifications fail with an OverloadException, so they can be
+     * submitted again elsewhere; those already running complete normally. Held verifications stay in the
+     * journal for {@link #recover(BiConsumer)} after a restart; the journal itself is closed by its owner.
+     */
+    @Override
+    public void close() {
+        List<HeldVerification> dropped = new ArrayList<>();
+        lock.lock();
+        try {
+            closed = true;
+            held.values().forEach(dropped::addAll);
+            held.values().forEach(Deque::clear);
+            heldCount = 0;
+        } finally {
+            lock.unlock();
+        }
+        for (HeldVerification verification : dropped) {
+            verification.result.completeExceptionally(new OverloadException(
+                    "Quota scheduler closed before the verification ran", verification.requestClass));
+        }
+    }
+
+    /**
+     * Counts the held verifications of the same or a higher class that need one of the same services.
+     */
+    private int countAhead(HeldVerification verification) {
+        int ahead = 0;
+        for (RequestClass requestClass : RequestClass.values()) {
+            if (verification.requestClass.outranks(requestClass)) {
+                break;
+            }
+            for (HeldVerification other : held.get(requestClass)) {
+                if (!Collections.disjoint(other.types, verification.types)) {
+                    ahead++;
+                }
+            }
+        }
+        return ahead;
+    }
+
+    private long freePermits(List<VerificationType> types) {
+        long free = Long.MAX_VALUE;
+        for (VerificationType type : types) {
+            free = Math.min(free, freePermits(type));
+        }
+        return Math.max(0, free);
+    }
+
+    private long freePermits(VerificationType type) {
+        return orchestrator.availableCapacity(List.of(type)) - (long) running.getOrDefault(type, 0);
+    }
+
+    private Instant estimateCompletion(List<VerificationType> types, int ahead, long free) {
+        long startMillis = 0;
+        if (ahead >= free) {
+            // Beyond the permits freeing up next, each further window admits another quota's worth
+            startMillis = millisUntilNextPermit(types) + (ahead - free) / quotaPerWindow * windowMillis;
+        }
+        lock.lock();
+        try {
+            return Instant.now().plusMillis(startMillis + Math.round(durationMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long millisUntilNextPermit(List<VerificationType> types) {
+        long refillMillis = orchestrator.millisUntilCapacity(types);
+        if (refillMillis == 0) {
+            // The services have permits left, but running verifications are about to use them
+            return windowMillis;
+        }
+        return refillMillis > 0 ? refillMillis : pollMillis;
+    }
+
+    /**
+     * Starts every held verification whose services have permits left, in priority order.
+     */
+    private void releaseReady() {
+        List<HeldVerification> ready = new ArrayList<>();
+        List<HeldVerification> cancelled = new ArrayList<>();
+        Set<VerificationType> blocked = EnumSet.noneOf(VerificationType.class);
+        boolean wakeUp;
+        lock.lock();
+        try {
+            Map<VerificationType, Long> free = new EnumMap<>(VerificationType.class);
+            for (RequestClass requestClass : RequestClass.values()) {
+                collectReady(held.get(requestClass), free, blocked, ready, cancelled);
+            }
+            wakeUp = heldCount > 0 && !wakeUpScheduled;
+            wakeUpScheduled |= wakeUp;
+        } finally {
+            lock.unlock();
+        }
+        cancelled.forEach(this::forget);
+        ready.forEach(this::start);
+        if (wakeUp) {
+            scheduleWakeUp(blocked);
+        }
+    }
+
+    private void collectReady(Deque<HeldVerification> queue, Map<VerificationType, Long> free,
+                              Set<VerificationType> blocked, List<HeldVerification> ready,
+                              List<HeldVerification> cancelled) {
+        Iterator<HeldVerification> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            HeldVerification verification = iterator.next();
+            if (verification.result.isDone()) {
+                iterator.remove(); // Cancelled while held
+                heldCount--;
+                cancelled.add(verification);
+            } else if (!Collections.disjoint(verification.types, blocked) || !hasPermits(verification.types, free)) {
+                // Keep its services' permits for it, so nothing behind it can take them
+                blocked.addAll(verification.types);
+            } else {
+                for (VerificationType type : verification.types) {
+                    free.merge(type, -1L, Long::sum);
+                    running.merge(type, 1, Integer::sum);
+                }
+                iterator.remove();
+                heldCount--;
+                ready.add(verification);
+            }
+        }
+    }
+
+    private boolean hasPermits(List<VerificationType> types, Map<VerificationType, Long> free) {
+        for (VerificationType type : types) {
+            if (free.computeIfAbsent(type, this::freePermits) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Schedules the next release pass for when the first blocked service expects quota to free up.
+     * A service that cannot tell, or whose permits are held by running verifications, is polled.
+     */
+    private void scheduleWakeUp(Set<VerificationType> blocked) {
+        long delayMillis = blocked.isEmpty() ? pollMillis : Long.MAX_VALUE;
+        for (VerificationType type : blocked) {
+            long waitMillis = orchestrator.millisUntilCapacity(List.of(type));
+            delayMillis = Math.min(delayMillis, waitMillis > 0 ? waitMillis : pollMillis);
+        }
+        HashedWheelTimer.shared().newTimeout(this::wakeUp, delayMillis, TimeUnit.MILLISECONDS, executor);
+    }
+
+    private void wakeUp() {
+        lock.lock();
+        try {
+            wakeUpScheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        releaseReady();
+    }
+
+    private void start(HeldVerification verification) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<KYCDecision> call;
+        try {
+            call = orchestrator.verifyNowAsync(verification.customer, verification.types,
+                    verification.requestClass, executor);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        FutureUtils.propagateCancellation(verification.result, call);
+        call.whenComplete((decision, error) -> finished(verification, startNanos, decision, error));
+    }
+
+    private void finished(HeldVerification verification, long startNanos, KYCDecision decision, Throwable error) {
+        double elapsedMillis = (System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        lock.lock();
+        try {
+            verification.types.forEach(type -> running.merge(type, -1, Integer::sum));
+            durationMillis += SMOOTHING * (elapsedMillis - durationMillis);
+        } finally {
+            lock.unlock();
+        }
+        if (error != null || delivered(verification, decision)) {
+            forget(verification);
+        }
+        if (error != null) {
+            verification.result.completeExceptionally(FutureUtils.unwrap(error));
+        } else {
+            verification.result.complete(decision);
+        }
+        releaseReady();
+    }
+
+    /**
+     * Passes the decision of a recovered verification to its callback.
+     * @return false if the callback failed, so the verification must stay in the journal
+     */
+    private boolean delivered(HeldVerification verification, KYCDecision decision) {
+        if (verification.callback == null) {
+            return true;
+        }
+        try {
+            verification.callback.accept(verification.customer, decision);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Callback failed for the recovered verification of customer {}; keeping it in the journal",
+                    verification.customer.getCustomerId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes a verification from the journal. Called without the lock held. One still being written is
+     * marked instead, and removed by {@link #journal} once written.
+     */
+    private void forget(HeldVerification verification) {
+        long offset = verification.journalOffset.getAndSet(FORGOTTEN);
+        if (offset >= 0) {
+            journal.complete(offset);
+        }
+    }
+
+    /**
+     * A verification waiting for, or running on, its services' quota.
+     */
+    private static final class HeldVerification {
+        private final Customer customer;
+        private final List<VerificationType> types;
+        private final RequestClass requestClass;
+        private final CompletableFuture<KYCDecision> result = new CompletableFuture<>();
+        private final AtomicLong journalOffset = new AtomicLong(NOT_JOURNALED);
+        private BiConsumer<Customer, KYCDecision> callback;
+
+        HeldVerification(Customer customer, List<VerificationType> types, RequestClass requestClass) {
+            this.customer = customer;
+            this.types = List.copyOf(types);
+            this.requestClass = requestClass;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.VerificationType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gates every verification on sanctions screening: it has the shortest timeout and any match
+ * rejects outright, so a HIT decides the request before the slower checks are called.
+ * The remaining checks keep their requested order.
+ */
+public class SanctionsFirstCheckOrdering implements CheckOrderingStrategy {
+
+    @Override
+    public List<VerificationType> order(List<VerificationType> requested) {
+        List<VerificationType> ordered = new ArrayList<>(requested.size());
+        for (VerificationType type : requested) {
+            if (type == VerificationType.SANCTIONS) {
+                ordered.add(type);
+            }
+        }
+        for (VerificationType type : requested) {
+            if (type != VerificationType.SANCTIONS) {
+                ordered.add(type);
+            }
+        }
+        return ordered;
+    }
+}
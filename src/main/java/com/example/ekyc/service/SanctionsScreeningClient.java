@@ -1,22 +1,26 @@
 package com.example.ekyc.service;
 
+import com.example.ekyc.client.AsyncHttpClient;
+import com.example.ekyc.client.CapacityAware;
 import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.JsonPayload;
 import com.example.ekyc.client.ServiceResponse;
 import com.example.ekyc.config.ServiceConfig;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.VerificationResult;
 import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
-import com.example.ekyc.util.JsonUtils;
-import com.google.gson.JsonObject;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.FutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Client for the Sanctions Screening Service.
@@ -45,40 +49,112 @@ public class SanctionsScreeningClient {
     }
 
     public VerificationResult checkSanctions(Customer customer) {
+        return checkSanctions(customer, Deadline.none());
+    }
+
+    /**
+     * Variant of {@link #checkSanctions(Customer)} bounded by the verification's deadline.
+     * @param customer The customer to verify
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return The verification result
+     */
+    public VerificationResult checkSanctions(Customer customer, Deadline deadline) {
+        return FutureUtils.joinInterruptibly(checkSanctionsAsync(customer, FutureUtils.DIRECT_EXECUTOR, deadline),
+                () -> serviceErrorResult(customer, new CancellationException("Verification interrupted")));
+    }
+
+    /**
+     * Asynchronous variant of {@link #checkSanctions(Customer)}, without a deadline.
+     * @see #checkSanctionsAsync(Customer, Executor, Deadline)
+     */
+    public CompletableFuture<VerificationResult> checkSanctionsAsync(Customer customer, Executor executor) {
+        return checkSanctionsAsync(customer, executor, Deadline.none());
+    }
+
+    /**
+     * Asynchronous variant of {@link #checkSanctions(Customer, Deadline)}.
+     * The service call and response processing run on the given executor.
+     * The returned future always completes normally: service errors map to MANUAL_REVIEW.
+     * Cancelling it cancels the underlying service call, including any pending retries.
+     *
+     * @param customer The customer to screen
+     * @param executor The executor to run the service call on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> checkSanctionsAsync(Customer customer, Executor executor,
+                                                                     Deadline deadline) {
+        return checkSanctionsAsync(customer, executor, executor, deadline);
+    }
+
+    /**
+     * Variant of {@link #checkSanctionsAsync(Customer, Executor, Deadline)} that runs a blocking service call
+     * and the response processing on separate executors, so that parsing never queues behind waiting I/O.
+     *
+     * @param customer The customer to verify
+     * @param ioExecutor The executor to run a blocking service call on
+     * @param parseExecutor The executor to process the response on
+     * @param deadline The end-to-end deadline; the service call's timeout is clipped to it
+     * @return A future of the verification result
+     */
+    public CompletableFuture<VerificationResult> checkSanctionsAsync(Customer customer, Executor ioExecutor,
+                                                                     Executor parseExecutor, Deadline deadline) {
         logger.info("Starting sanctions screening for customer: {}", customer.getCustomerId());
         
         try {
             // Build request payload
-            Map<String, Object> request = new HashMap<>();
-            request.put("customer_id", customer.getCustomerId());
-            request.put("full_name", customer.getFullName());
-            request.put("date_of_birth", customer.getDateOfBirth());
-            request.put("nationality", customer.getNationality());
+            JsonPayload request = requestPayload(customer);
             
-            // Call service
+            // Call service and process the response on the caller-supplied executors.
+            // Natively asynchronous HTTP clients hold no thread while waiting for the response.
             String url = config.getSanctionsUrl();
-            ServiceResponse response = httpClient.post(url, request, config.getSanctionsTimeout());
-            
-            // Parse and process response
-            return processResponse(response, customer.getCustomerId());
+            int timeoutSeconds = config.getSanctionsTimeout();
+            Executor ioContext = CorrelationIdGenerator.withCurrentContext(ioExecutor);
+            Executor parseContext = CorrelationIdGenerator.withCurrentContext(parseExecutor);
+            CompletableFuture<ServiceResponse> call = AsyncHttpClient.adapt(httpClient, ioContext)
+                    .postAsync(url, request, timeoutSeconds, deadline);
+            return FutureUtils.propagateCancellation(call
+                    .thenApplyAsync(response -> processResponse(response, customer.getCustomerId()),
+                            parseContext)
+                    .exceptionally(e -> serviceErrorResult(customer, FutureUtils.unwrap(e))), call);
             
         } catch (Exception e) {
-            // CRITICAL: Sanctions check failure must be treated seriously
-            logger.error("CRITICAL: Sanctions screening failed for customer {}: {}", 
-                    customer.getCustomerId(), e.getMessage());
-            
-            // For sanctions, service failure should result in MANUAL_REVIEW 
-            // as we cannot approve without a successful sanctions check
-            return VerificationResult.builder()
-                    .verificationType(VerificationType.SANCTIONS)
-                    .status(VerificationStatus.MANUAL_REVIEW)
-                    .confidence(0)
-                    .reasons(List.of("CRITICAL: Sanctions service unavailable - " + e.getMessage()))
-                    .timestamp(LocalDateTime.now())
-                    .build();
+            return CompletableFuture.completedFuture(serviceErrorResult(customer, e));
         }
     }
 
+    /**
+     * Gets the number of calls the service accepts right now without being rate limited or queued.
+     * @return The available capacity, or Integer.MAX_VALUE if the HTTP client does not report it
+     */
+    public int availableCapacity() {
+        return CapacityAware.availableCapacity(httpClient, config.getSanctionsUrl());
+    }
+
+    /**
+     * Gets how long until the service accepts a call again, e.g. when its rate limit window moves on.
+     * @return 0 if a call can start now, the milliseconds until one can, or -1 if that cannot be predicted
+     */
+    public long millisUntilCapacity() {
+        return CapacityAware.millisUntilCapacity(httpClient, config.getSanctionsUrl());
+    }
+
+    private VerificationResult serviceErrorResult(Customer customer, Throwable e) {
+        // CRITICAL: Sanctions check failure must be treated seriously
+        logger.error("CRITICAL: Sanctions screening failed for customer {}: {}", 
+                customer.getCustomerId(), e.getMessage());
+        
+        // For sanctions, service failure should result in MANUAL_REVIEW 
+        // as we cannot approve without a successful sanctions check
+        return VerificationResult.builder()
+                .verificationType(VerificationType.SANCTIONS)
+                .status(VerificationStatus.MANUAL_REVIEW)
+                .confidence(0)
+                .reasons(List.of("CRITICAL: Sanctions service unavailable - " + e.getMessage()))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     private VerificationResult processResponse(ServiceResponse response, String customerId) {
         if (!response.isSuccess()) {
             logger.error("CRITICAL: Sanctions service returned non-success for customer {}: {}",
@@ -92,25 +168,12 @@ public class SanctionsScreeningClient {
                     .build();
         }
         
-        JsonObject json = JsonUtils.fromJson(response.getBody(), JsonObject.class);
-        String status = json.has("status") ? json.get("status").getAsString() : "UNKNOWN";
-        int matchCount = json.has("match_count") ? json.get("match_count").getAsInt() : 0;
+        ServiceResponseFields fields = ServiceResponseFields.read(response);
+        String status = fields.getStatus() != null ? fields.getStatus() : "UNKNOWN";
+        int matchCount = fields.getMatchCount();
         
-        List<String> reasons = new ArrayList<>();
-        
-        // Extract matches if present (for logging/audit purposes)
-        if (json.has("matches") && json.get("matches").isJsonArray()) {
-            json.getAsJsonArray("matches").forEach(e -> {
-                if (e.isJsonObject()) {
-                    JsonObject match = e.getAsJsonObject();
-                    String matchName = match.has("name") ? match.get("name").getAsString() : "Unknown";
-                    String matchList = match.has("list") ? match.get("list").getAsString() : "Unknown List";
-                    reasons.add("Match found: " + matchName + " on " + matchList);
-                } else {
-                    reasons.add("Match: " + e.getAsString());
-                }
-            });
-        }
+        // Matches if present (for logging/audit purposes), listing up to the first MAX_LISTED_MATCHES
+        List<String> reasons = fields.getMatchReasons();
         
         // Determine status: HIT = FAIL (REJECTED), CLEAR = PASS
         VerificationStatus finalStatus;
@@ -138,4 +201,16 @@ public class SanctionsScreeningClient {
                 .timestamp(LocalDateTime.now())
                 .build();
     }
+
+    /**
+     * The sanctions screening request, written straight into the transport's buffer.
+     */
+    private static JsonPayload requestPayload(Customer customer) {
+        return out -> out.beginObject()
+                .field("customer_id", customer.getCustomerId())
+                .field("full_name", customer.getFullName())
+                .field("date_of_birth", customer.getDateOfBirth())
+                .field("nationality", customer.getNationality())
+                .endObject();
+    }
 }
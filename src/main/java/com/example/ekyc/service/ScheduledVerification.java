@@ -0,0 +1,43 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.RequestClass;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A verification handed to the {@link QuotaAwareScheduler}: the future of its decision, and when
+ * the scheduler expects it to complete given the downstream quota left and the requests ahead of it.
+ */
+public final class ScheduledVerification {
+    private final RequestClass requestClass;
+    private final Instant estimatedCompletion;
+    private final CompletableFuture<KYCDecision> decision;
+
+    ScheduledVerification(RequestClass requestClass, Instant estimatedCompletion,
+                          CompletableFuture<KYCDecision> decision) {
+        this.requestClass = requestClass;
+        this.estimatedCompletion = estimatedCompletion;
+        this.decision = decision;
+    }
+
+    public RequestClass getRequestClass() {
+        return requestClass;
+    }
+
+    /**
+     * @return The estimated completion time at scheduling; an estimate, not a deadline
+     */
+    public Instant getEstimatedCompletion() {
+        return estimatedCompletion;
+    }
+
+    /**
+     * Cancelling the future while the verification is held gives up its place.
+     * @return The decision, completing once the verification has run
+     */
+    public CompletableFuture<KYCDecision> getDecision() {
+        return decision;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.client.ServiceResponse;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The fields of a verification service response that the clients act on, read from the body with a
+ * streaming JSON reader: no String of the body and no JSON tree is built, and other fields are skipped
+ * unread. Of a sanctions match list, only the first {@link #MAX_LISTED_MATCHES} matches become reasons;
+ * the rest are counted and skipped.
+ */
+final class ServiceResponseFields {
+
+    static final int MAX_LISTED_MATCHES = 20;
+
+    private String status;
+    private int confidence;
+    private int similarityScore;
+    private int matchCount;
+    private final List<String> reasons = new ArrayList<>();
+    private final List<String> matchReasons = new ArrayList<>();
+    private int unlistedMatches;
+
+    private ServiceResponseFields() {
+    }
+
+    /**
+     * @param response A successful response whose body is a JSON object
+     * @return The fields read; absent or null fields read as null or 0
+     * @throws JsonSyntaxException if the body is not a well-formed JSON object
+     */
+    static ServiceResponseFields read(ServiceResponse response) {
+        ServiceResponseFields fields = new ServiceResponseFields();
+        try (JsonReader reader = new JsonReader(response.openBodyReader())) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                fields.readField(reader, reader.nextName());
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException("Malformed service response: " + e.getMessage(), e);
+        }
+        if (fields.unlistedMatches > 0) {
+            fields.matchReasons.add("And " + fields.unlistedMatches + " more match(es)");
+        }
+        return fields;
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    int getConfidence() {
+        return confidence;
+    }
+
+    int getSimilarityScore() {
+        return similarityScore;
+    }
+
+    int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * @return The "reasons" strings, in a list the caller may add to
+     */
+    List<String> getReasons() {
+        return reasons;
+    }
+
+    /**
+     * @return A reason per listed sanctions match, in a list the caller may add to
+     */
+    List<String> getMatchReasons() {
+        return matchReasons;
+    }
+
+    private void readField(JsonReader reader, String name) throws IOException {
+        switch (name) {
+            case "status":
+                status = readString(reader);
+                break;
+            case "confidence":
+                confidence = readInt(reader);
+                break;
+            case "similarity_score":
+                similarityScore = readInt(reader);
+                break;
+            case "match_count":
+                matchCount = readInt(reader);
+                break;
+            case "reasons":
+                readReasons(reader);
+                break;
+            case "matches":
+                readMatches(reader);
+                break;
+            default:
+                reader.skipValue();
+                break;
+        }
+    }
+
+    private void readReasons(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String reason = readString(reader);
+            if (reason != null) {
+                reasons.add(reason);
+            }
+        }
+        reader.endArray();
+    }
+
+    private void readMatches(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (matchReasons.size() == MAX_LISTED_MATCHES) {
+                reader.skipValue();
+                unlistedMatches++;
+            } else if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                matchReasons.add(readMatch(reader));
+            } else {
+                String match = readString(reader);
+                if (match != null) {
+                    matchReasons.add("Match: " + match);
+                }
+            }
+        }
+        reader.endArray();
+    }
+
+    private static String readMatch(JsonReader reader) throws IOException {
+        String matchName = null;
+        String matchList = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("name".equals(name)) {
+                matchName = readString(reader);
+            } else if ("list".equals(name)) {
+                matchList = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return "Match found: " + (matchName != null ? matchName : "Unknown")
+                + " on " + (matchList != null ? matchList : "Unknown List");
+    }
+
+    /**
+     * Reads a string, number or boolean as text, or null; other values are skipped and read as null.
+     */
+    private static String readString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * Reads a number, or a string holding one, as an int; fractions are truncated and null reads as 0.
+     */
+    private static int readInt(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+        return (int) reader.nextDouble();
+    }
+}
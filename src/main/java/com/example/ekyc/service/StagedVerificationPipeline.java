@@ -0,0 +1,466 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.ValidationException;
+import com.example.ekyc.model.BatchStats;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.Decision;
+import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.StageStats;
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.StageExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Staged, event-driven execution of the verification flow for high-volume batch work.
+ *
+ * The flow is split into stages, each with its own bounded queue and worker pool (see {@link StageExecutor}):
+ * - PRECHECK: pre-validation of the request and the local rules of each check, then dispatch
+ * - one DISPATCH stage per service: the blocking service call, including its retries
+ * - PARSE: turning service responses into verification results
+ * - DECISION: the {@link KYCDecisionEngine}
+ *
+ * So CPU-bound parsing and decisioning never queue behind threads waiting on a service, and a slow
+ * service only backs up its own dispatch stage. A full stage queue blocks the stage feeding it, back to
+ * {@link #submit}, so the pipeline holds a bounded amount of work however fast customers arrive.
+ * {@link #getStageStats} reports each stage's queue depth and service time to locate the bottleneck,
+ * and {@link #resizeStage} changes a stage's pool while running.
+ *
+ * Natively asynchronous HTTP clients (such as HedgingHttpClient) hold no dispatch thread while they wait.
+ * Their responses arrive on transport, timer or retry threads, which must never block; a handoff thread
+ * carries such a response to the parse stage and waits there for room in its place.
+ */
+public class StagedVerificationPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StagedVerificationPipeline.class);
+
+    private static final String PARSE_HANDOFF_THREAD_PREFIX = "ekyc-parse-handoff-";
+
+    /**
+     * The stages of the pipeline, in flow order.
+     */
+    public enum Stage {
+        PRECHECK,
+        DOCUMENT_DISPATCH,
+        BIOMETRIC_DISPATCH,
+        ADDRESS_DISPATCH,
+        SANCTIONS_DISPATCH,
+        PARSE,
+        DECISION;
+
+        /**
+         * @param type A verification type
+         * @return The stage that calls the type's service
+         */
+        public static Stage dispatchOf(VerificationType type) {
+            switch (type) {
+                case ID_DOCUMENT:
+                    return DOCUMENT_DISPATCH;
+                case FACE_MATCH:
+                    return BIOMETRIC_DISPATCH;
+                case ADDRESS:
+                    return ADDRESS_DISPATCH;
+                case SANCTIONS:
+                    return SANCTIONS_DISPATCH;
+                default:
+                    throw new IllegalArgumentException("Unknown verification type: " + type);
+            }
+        }
+    }
+
+    private final DocumentVerificationClient documentClient;
+    private final BiometricVerificationClient biometricClient;
+    private final AddressVerificationClient addressClient;
+    private final SanctionsScreeningClient sanctionsClient;
+    private final KYCDecisionEngine decisionEngine;
+    private final PreValidator preValidator;
+    private final long verificationBudgetMillis;
+    private final Map<Stage, StageExecutor> stages = new EnumMap<>(Stage.class);
+    private final ExecutorService parseHandoff = ExecutorFactory.newElasticExecutor(PARSE_HANDOFF_THREAD_PREFIX);
+
+    private StagedVerificationPipeline(Builder builder) {
+        this.documentClient = builder.documentClient;
+        this.biometricClient = builder.biometricClient;
+        this.addressClient = builder.addressClient;
+        this.sanctionsClient = builder.sanctionsClient;
+        this.decisionEngine = builder.decisionEngine;
+        this.preValidator = builder.preValidator;
+        this.verificationBudgetMillis = builder.verificationBudgetMillis;
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new StageExecutor(stage.name(), builder.stageThreads.get(stage),
+                    builder.queueCapacity));
+        }
+    }
+
+    /**
+     * Submits a customer to the pipeline. Blocks while the pre-check stage's queue is full.
+     *
+     * @param customer The customer to verify
+     * @param verificationTypes The verification types to perform
+     * @return A future of the final KYC decision with results in request order; completes
+     *         exceptionally with a ValidationException if pre-validation finds the request malformed
+     */
+    public CompletableFuture<KYCDecision> submit(Customer customer, List<VerificationType> verificationTypes) {
+        CompletableFuture<KYCDecision> decision = new CompletableFuture<>();
+        Deadline deadline = verificationBudgetMillis > 0 ? Deadline.after(verificationBudgetMillis) : Deadline.none();
+        stages.get(Stage.PRECHECK).execute(() -> precheck(customer, verificationTypes, deadline, decision));
+        return decision;
+    }
+
+    /**
+     * Verifies a batch of customers through the pipeline, streaming each decision to {@code callback}.
+     *
+     * Customers are read from {@code customers} lazily, as fast as the pre-check stage accepts them.
+     * The callback is invoked for every customer, one call at a time, from the pipeline's stage threads;
+     * a customer whose verification fails gets a MANUAL_REVIEW decision. Blocks until the whole batch is processed.
+     *
+     * @param customers The customers to verify
+     * @param verificationTypes The verification types to perform for each customer
+     * @param callback Receives each customer with its decision
+     * @return Decision counts, throughput and latency statistics for the batch
+     */
+    public BatchStats processBatch(Iterable<Customer> customers, List<VerificationType> verificationTypes,
+                                   BiConsumer<Customer, KYCDecision> callback) {
+        BatchStatsRecorder stats = new BatchStatsRecorder();
+        ReentrantLock callbackLock = new ReentrantLock();
+        Semaphore completed = new Semaphore(0);
+        int submitted = 0;
+        logger.info("Starting staged batch verification with types: {}", verificationTypes);
+
+        for (Customer customer : customers) {
+            long startNanos = System.nanoTime();
+            submit(customer, verificationTypes).whenComplete((decision, error) -> {
+                KYCDecision result = error == null ? decision : failedDecision(customer, error);
+                stats.record(result, System.nanoTime() - startNanos, error != null);
+                deliver(callback, callbackLock, customer, result);
+                completed.release();
+            });
+            submitted++;
+        }
+        awaitBatch(completed, submitted);
+
+        BatchStats batchStats = stats.snapshot();
+        logger.info("Staged batch verification completed: {}", batchStats);
+        return batchStats;
+    }
+
+    /**
+     * Changes the number of worker threads of a stage while the pipeline runs.
+     * @param stage The stage to resize
+     * @param threads The new number of worker threads
+     */
+    public void resizeStage(Stage stage, int threads) {
+        stages.get(stage).resize(threads);
+    }
+
+    /**
+     * @return The current pool size, queue depth and smoothed timings of every stage, in flow order
+     */
+    public Map<Stage, StageStats> getStageStats() {
+        Map<Stage, StageStats> stats = new EnumMap<>(Stage.class);
+        stages.forEach((stage, executor) -> stats.put(stage, executor.stats()));
+        return stats;
+    }
+
+    /**
+     * Shuts the stages down in flow order, letting each finish its queued work before the next stops
+     * accepting tasks. Call it once the submitted verifications have completed.
+     */
+    @Override
+    public void close() {
+        for (StageExecutor stage : stages.values()) {
+            stage.close();
+            try {
+                stage.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        parseHandoff.shutdown();
+        getStageStats().values().forEach(stats -> logger.info("Pipeline stage closed: {}", stats));
+    }
+
+    /**
+     * Pre-check stage: runs the local rules, dispatches the remaining checks and hands their results
+     * to the decision stage.
+     */
+    private void precheck(Customer customer, List<VerificationType> types, Deadline deadline,
+                          CompletableFuture<KYCDecision> decision) {
+        String correlationId = CorrelationIdGenerator.generate();
+        CorrelationIdGenerator.setCorrelationId(correlationId);
+        try {
+            Map<VerificationType, VerificationResult> local = localResults(customer, types);
+            List<CompletableFuture<VerificationResult>> checks = new ArrayList<>(types.size());
+            for (VerificationType type : types) {
+                VerificationResult localResult = local.get(type);
+                checks.add(localResult != null
+                        ? CompletableFuture.completedFuture(localResult)
+                        : dispatch(customer, type, deadline));
+            }
+            FutureUtils.allAsList(checks)
+                    .thenApplyAsync(results -> decide(customer, results, correlationId), stages.get(Stage.DECISION))
+                    .whenComplete((result, error) -> complete(decision, result, error));
+        } catch (RuntimeException e) {
+            decision.completeExceptionally(e);
+        } finally {
+            CorrelationIdGenerator.clear();
+        }
+    }
+
+    /**
+     * Applies the pre-validator's rules. If a check already FAILs locally the request is certain to be
+     * REJECTED, so every other check is skipped too.
+     *
+     * @throws ValidationException if the request itself is malformed
+     */
+    private Map<VerificationType, VerificationResult> localResults(Customer customer, List<VerificationType> types) {
+        Map<VerificationType, VerificationResult> local = new EnumMap<>(VerificationType.class);
+        if (preValidator == null) {
+            return local;
+        }
+        preValidator.validateRequest(customer);
+        VerificationResult decisive = null;
+        for (VerificationType type : types) {
+            VerificationResult result = preValidator.precheck(customer, type).orElse(null);
+            if (result != null) {
+                local.put(type, result);
+                decisive = decisive == null && decisionEngine.isDecisive(result) ? result : decisive;
+            }
+        }
+        if (decisive != null) {
+            VerificationResult failed = decisive;
+            types.forEach(type -> local.putIfAbsent(type, VerificationOrchestrator.skippedResult(type, failed)));
+        }
+        return local;
+    }
+
+    /**
+     * Sends one check to its service on the service's dispatch stage, parsing the response on the parse stage.
+     * The call is started on the dispatch stage and a blocking HTTP client runs on that same thread,
+     * so it occupies the stage's threads and no others. (Handing it to the stage again could leave every
+     * thread of a stage waiting for room in its own queue.)
+     */
+    private CompletableFuture<VerificationResult> dispatch(Customer customer, VerificationType type,
+                                                           Deadline deadline) {
+        Executor dispatchStage = stages.get(Stage.dispatchOf(type));
+        return CompletableFuture.supplyAsync(() -> call(customer, type, deadline), dispatchStage)
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<VerificationResult> call(Customer customer, VerificationType type, Deadline deadline) {
+        Executor io = FutureUtils.DIRECT_EXECUTOR;
+        Executor parse = this::toParseStage;
+        switch (type) {
+            case ID_DOCUMENT:
+                return documentClient.verifyDocumentAsync(customer, io, parse, deadline);
+            case FACE_MATCH:
+                return biometricClient.verifyFaceMatchAsync(customer, io, parse, deadline);
+            case ADDRESS:
+                return addressClient.verifyAddressAsync(customer, io, parse, deadline);
+            case SANCTIONS:
+                return sanctionsClient.checkSanctionsAsync(customer, io, parse, deadline);
+            default:
+                return CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Unknown verification type: " + type));
+        }
+    }
+
+    /**
+     * Hands a response to the parse stage. A blocking client answers on its dispatch thread, which waits for
+     * room in the parse queue and so pushes back on the dispatch stage; any other thread hands the response
+     * over without blocking.
+     */
+    private void toParseStage(Runnable task) {
+        Executor parse = stages.get(Stage.PARSE);
+        if (StageExecutor.isStageThread()) {
+            parse.execute(task);
+        } else {
+            CorrelationIdGenerator.withCurrentContext(parseHandoff).execute(() -> handOff(parse, task));
+        }
+    }
+
+    private static void handOff(Executor parse, Runnable task) {
+        try {
+            parse.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The pipeline is closing: parse here, so the check still completes
+            logger.debug("Parse stage rejected a response ({}); parsing it on the handoff thread", e.getMessage());
+            task.run();
+        }
+    }
+
+    private KYCDecision decide(Customer customer, List<VerificationResult> results, String correlationId) {
+        KYCDecision decision = decisionEngine.makeDecision(VerificationFingerprint.stamp(customer, results),
+                correlationId);
+        logger.info("KYC verification completed for customer {}: decision={}",
+                customer.getCustomerId(), decision.getDecision());
+        return decision;
+    }
+
+    private static void complete(CompletableFuture<KYCDecision> decision, KYCDecision result, Throwable error) {
+        if (error != null) {
+            decision.completeExceptionally(FutureUtils.unwrap(error));
+        } else {
+            decision.complete(result);
+        }
+    }
+
+    /**
+     * Stands in for the decision of a verification that failed. It is only handed to the batch callback,
+     * alongside its customer; its new correlation ID is logged with the customer ID to tie the two together.
+     */
+    private static KYCDecision failedDecision(Customer customer, Throwable error) {
+        String correlationId = CorrelationIdGenerator.generate();
+        logger.error("Batch verification failed for customer {} (correlation ID {}): {}",
+                customer.getCustomerId(), correlationId, error.getMessage());
+        return KYCDecision.builder()
+                .decision(Decision.MANUAL_REVIEW)
+                .correlationId(correlationId)
+                .build();
+    }
+
+    private static void deliver(BiConsumer<Customer, KYCDecision> callback, ReentrantLock callbackLock,
+                                Customer customer, KYCDecision decision) {
+        callbackLock.lock();
+        try {
+            callback.accept(customer, decision);
+        } catch (RuntimeException e) {
+            logger.error("Batch callback failed for customer {}: {}", customer.getCustomerId(), e.getMessage());
+        } finally {
+            callbackLock.unlock();
+        }
+    }
+
+    private static void awaitBatch(Semaphore completed, int submitted) {
+        try {
+            completed.acquire(submitted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Staged batch verification interrupted. Verifications in flight continue in the background");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for staged pipelines.
+     * Every stage defaults to {@code DEFAULT_STAGE_THREADS} threads and a queue of
+     * {@code DEFAULT_QUEUE_CAPACITY} tasks; {@link #stageSizes(ServiceConfig)} applies the configured sizes.
+     * Pre-validation and the verification budget are off unless set explicitly.
+     */
+    public static class Builder {
+        public static final int DEFAULT_STAGE_THREADS = 2;
+        public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+        private DocumentVerificationClient documentClient;
+        private BiometricVerificationClient biometricClient;
+        private AddressVerificationClient addressClient;
+        private SanctionsScreeningClient sanctionsClient;
+        private KYCDecisionEngine decisionEngine = new KYCDecisionEngine();
+        private PreValidator preValidator;
+        private long verificationBudgetMillis;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private final Map<Stage, Integer> stageThreads = new EnumMap<>(Stage.class);
+
+        Builder() {
+            for (Stage stage : Stage.values()) {
+                stageThreads.put(stage, DEFAULT_STAGE_THREADS);
+            }
+        }
+
+        public Builder documentClient(DocumentVerificationClient documentClient) {
+            this.documentClient = documentClient;
+            return this;
+        }
+
+        public Builder biometricClient(BiometricVerificationClient biometricClient) {
+            this.biometricClient = biometricClient;
+            return this;
+        }
+
+        public Builder addressClient(AddressVerificationClient addressClient) {
+            this.addressClient = addressClient;
+            return this;
+        }
+
+        public Builder sanctionsClient(SanctionsScreeningClient sanctionsClient) {
+            this.sanctionsClient = sanctionsClient;
+            return this;
+        }
+
+        public Builder decisionEngine(KYCDecisionEngine decisionEngine) {
+            this.decisionEngine = decisionEngine;
+            return this;
+        }
+
+        /**
+         * @param preValidator Local rules run in the pre-check stage; null disables pre-validation
+         */
+        public Builder preValidator(PreValidator preValidator) {
+            this.preValidator = preValidator;
+            return this;
+        }
+
+        /**
+         * @param verificationBudgetMillis End-to-end budget per verification, including time spent queued;
+         *                                 0 or less disables it
+         */
+        public Builder verificationBudgetMillis(long verificationBudgetMillis) {
+            this.verificationBudgetMillis = verificationBudgetMillis;
+            return this;
+        }
+
+        public Builder stageThreads(Stage stage, int threads) {
+            this.stageThreads.put(stage, threads);
+            return this;
+        }
+
+        /**
+         * @param queueCapacity Maximum number of tasks waiting in each stage's queue
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Applies the configured stage pool sizes and queue capacity.
+         * @param config The service configuration
+         */
+        public Builder stageSizes(ServiceConfig config) {
+            stageThreads(Stage.PRECHECK, config.getPipelinePrecheckThreads());
+            for (VerificationType type : VerificationType.values()) {
+                stageThreads(Stage.dispatchOf(type), config.getPipelineDispatchThreads());
+            }
+            stageThreads(Stage.PARSE, config.getPipelineParseThreads());
+            stageThreads(Stage.DECISION, config.getPipelineDecisionThreads());
+            return queueCapacity(config.getPipelineQueueCapacity());
+        }
+
+        public StagedVerificationPipeline build() {
+            return new StagedVerificationPipeline(this);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 fingerprints of verification inputs.
+ *
+ * {@link #of} covers every Customer field plus the requested verification types, in order: two
+ * requests with the same fingerprint would make the same downstream calls and reach the same decision.
+ * {@link #forCheck} covers only the fields one check depends on, so a check's result can be reused
+ * for as long as those fields are unchanged.
+ *
+ * The fingerprints are one-way hashes, so they can be held without keeping raw PII around.
+ */
+final class VerificationFingerprint {
+
+    private VerificationFingerprint() {
+        // Utility class, no instantiation
+    }
+
+    static String of(Customer customer, List<VerificationType> verificationTypes) {
+        MessageDigest digest = sha256();
+        update(digest, customer.getCustomerId(), customer.getFullName(), customer.getDateOfBirth(),
+                customer.getEmail(), customer.getPhone(), customer.getAddress(), customer.getNationality());
+        update(digest, customer.getDocumentType(), customer.getDocumentNumber(),
+                customer.getDocumentExpiryDate(), customer.getDocumentImageUrl());
+        update(digest, customer.getSelfieUrl(), customer.getIdPhotoUrl());
+        update(digest, customer.getProofType(), customer.getProofDate(), customer.getProofUrl());
+        for (VerificationType type : verificationTypes) {
+            update(digest, type.name());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Fingerprints the customer ID and the fields sent to one check's service.
+     * @param customer The customer
+     * @param type The check
+     * @return A SHA-256 hex digest that changes whenever the check's input changes
+     */
+    static String forCheck(Customer customer, VerificationType type) {
+        MessageDigest digest = sha256();
+        update(digest, type.name(), customer.getCustomerId());
+        switch (type) {
+            case ID_DOCUMENT:
+                update(digest, customer.getDocumentType(), customer.getDocumentNumber(),
+                        customer.getDocumentExpiryDate(), customer.getDocumentImageUrl());
+                break;
+            case FACE_MATCH:
+                update(digest, customer.getSelfieUrl(), customer.getIdPhotoUrl());
+                break;
+            case ADDRESS:
+                update(digest, customer.getAddress(), customer.getProofType(),
+                        customer.getProofDate(), customer.getProofUrl());
+                break;
+            case SANCTIONS:
+                update(digest, customer.getFullName(), customer.getDateOfBirth(), customer.getNationality());
+                break;
+            default:
+                break;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Records on each result the fingerprint of the input it was based on, so that a re-verification
+     * can reuse it. Results that already carry one keep it.
+     * @param customer The customer the results are for
+     * @param results The results, which may contain nulls
+     * @return The fingerprinted results, in the same order
+     */
+    static List<VerificationResult> stamp(Customer customer, List<VerificationResult> results) {
+        List<VerificationResult> fingerprinted = new ArrayList<>(results.size());
+        for (VerificationResult result : results) {
+            fingerprinted.add(result == null || result.getInputFingerprint() != null
+                    ? result
+                    : result.withInputFingerprint(forCheck(customer, result.getVerificationType())));
+        }
+        return fingerprinted;
+    }
+
+    /**
+     * Feeds each value length-prefixed, so that ("ab", "c") and ("a", "bc") hash differently
+     * and null stays distinct from the empty string.
+     */
+    private static void update(MessageDigest digest, String... values) {
+        for (String value : values) {
+            if (value == null) {
+                digest.update(intBytes(-1));
+                continue;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            digest.update(intBytes(bytes.length));
+            digest.update(bytes);
+        }
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,47 +1,117 @@
 package com.example.ekyc.service;
 
+import com.example.ekyc.client.AdaptiveConcurrencyHttpClient;
 import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.BulkheadHttpClient;
+import com.example.ekyc.client.HedgingHttpClient;
+import com.example.ekyc.client.JdkHttpTransport;
+import com.example.ekyc.client.NioHttpTransport;
 import com.example.ekyc.client.RetryableHttpClient;
 import com.example.ekyc.client.SimpleHttpClient;
+import com.example.ekyc.config.ExecutionMode;
 import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.OverloadException;
+import com.example.ekyc.exception.ValidationException;
+import com.example.ekyc.model.BatchStats;
 import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.Decision;
 import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.RequestClass;
 import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
 import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.Deadline;
+import com.example.ekyc.util.ExecutorFactory;
+import com.example.ekyc.util.FutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Orchestrates the KYC verification process.
  * Coordinates calls to all verification services and aggregates results.
+ *
+ * Execution Modes:
+ * - SEQUENTIAL: checks run one after another on the calling thread
+ * - CONCURRENT: all requested checks are dispatched at once on a bounded executor
+ *   and joined before the decision, so latency is the slowest check rather than the sum
+ *
+ * In both modes results are returned in the order the verification types were requested,
+ * whatever order the checks ran in. The asynchronous entry points ({@link #processVerificationAsync})
+ * never block, {@link #processBatch} verifies many customers with bounded parallelism, and
+ * {@link #reverify} re-runs only the checks whose inputs changed since a previous decision.
+ *
+ * Pre-validation, admission control, early termination, deadlines, in-flight coalescing and quota
+ * scheduling are opt-in; see {@link Builder}.
  */
-public class VerificationOrchestrator {
-    
+public class VerificationOrchestrator implements AutoCloseable {
+
     private static final Logger logger = LoggerFactory.getLogger(VerificationOrchestrator.class);
-    
+
+    private static final String WORKER_THREAD_PREFIX = "ekyc-verification-";
+    private static final String BATCH_THREAD_PREFIX = "ekyc-batch-";
+    private static final String QUOTA_THREAD_PREFIX = "ekyc-quota-";
+
     private final DocumentVerificationClient documentClient;
     private final BiometricVerificationClient biometricClient;
     private final AddressVerificationClient addressClient;
     private final SanctionsScreeningClient sanctionsClient;
     private final KYCDecisionEngine decisionEngine;
+    private final ExecutionMode executionMode;
+    private final boolean earlyTermination;
+    private final boolean virtualThreads;
+    private final boolean coalesceInFlight;
+    private final CheckOrderingStrategy checkOrdering;
+    private final PreValidator preValidator;
+    private final AdmissionController admissionController;
+    private final long resultReuseMaxAgeMillis;
+    private final long verificationBudgetMillis;
+    private final long decisionDeadlineMillis;
+    private final LateResultListener lateResultListener;
+    private final int batchParallelism;
+    private final Map<VerificationType, Integer> batchServiceParallelism;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final ExecutorService quotaExecutor;
+    private final QuotaAwareScheduler quotaScheduler;
+    private final PendingVerificationQueue pendingQueue;
+    private final Map<String, CompletableFuture<KYCDecision>> inFlight = new ConcurrentHashMap<>();
 
     /**
      * Creates an orchestrator with default configuration from ServiceConfig.
      * Uses environment variables or defaults for all settings.
      */
     public VerificationOrchestrator() {
-        SimpleHttpClient simpleClient = new SimpleHttpClient();
-        HttpClient retryableClient = new RetryableHttpClient(simpleClient);
-        
-        this.documentClient = new DocumentVerificationClient(retryableClient);
-        this.biometricClient = new BiometricVerificationClient(retryableClient);
-        this.addressClient = new AddressVerificationClient(retryableClient);
-        this.sanctionsClient = new SanctionsScreeningClient(retryableClient);
-        this.decisionEngine = new KYCDecisionEngine();
+        this(ServiceConfig.getInstance());
     }
 
     /**
@@ -49,19 +119,7 @@ public class VerificationOrchestrator {
      * @param config The service configuration to use
      */
     public VerificationOrchestrator(ServiceConfig config) {
-        SimpleHttpClient simpleClient = new SimpleHttpClient(
-                config.getRateLimitRequests(), 
-                config.getRateLimitWindowSeconds());
-        HttpClient retryableClient = new RetryableHttpClient(
-                simpleClient,
-                config.getMaxRetryAttempts(),
-                config.getRetryBackoffMs());
-        
-        this.documentClient = new DocumentVerificationClient(retryableClient, config);
-        this.biometricClient = new BiometricVerificationClient(retryableClient, config);
-        this.addressClient = new AddressVerificationClient(retryableClient, config);
-        this.sanctionsClient = new SanctionsScreeningClient(retryableClient, config);
-        this.decisionEngine = new KYCDecisionEngine();
+        this(builderFor(config));
     }
 
     /**
@@ -73,48 +131,278 @@ public class VerificationOrchestrator {
                                      AddressVerificationClient addressClient,
                                      SanctionsScreeningClient sanctionsClient,
                                      KYCDecisionEngine decisionEngine) {
-        this.documentClient = documentClient;
-        this.biometricClient = biometricClient;
-        this.addressClient = addressClient;
-        this.sanctionsClient = sanctionsClient;
-        this.decisionEngine = decisionEngine;
+        this(builder()
+                .documentClient(documentClient)
+                .biometricClient(biometricClient)
+                .addressClient(addressClient)
+                .sanctionsClient(sanctionsClient)
+                .decisionEngine(decisionEngine));
+    }
+
+    private VerificationOrchestrator(Builder builder) {
+        this.documentClient = builder.documentClient;
+        this.biometricClient = builder.biometricClient;
+        this.addressClient = builder.addressClient;
+        this.sanctionsClient = builder.sanctionsClient;
+        this.decisionEngine = builder.decisionEngine;
+        this.executionMode = builder.executionMode;
+        this.earlyTermination = builder.earlyTermination;
+        this.virtualThreads = builder.virtualThreads;
+        this.coalesceInFlight = builder.coalesceInFlight;
+        this.checkOrdering = builder.checkOrdering;
+        this.preValidator = builder.preValidator;
+        this.admissionController = builder.admissionController;
+        this.resultReuseMaxAgeMillis = builder.resultReuseMaxAgeMillis;
+        this.verificationBudgetMillis = builder.verificationBudgetMillis;
+        this.decisionDeadlineMillis = builder.decisionDeadlineMillis;
+        this.lateResultListener = builder.lateResultListener;
+        this.batchParallelism = builder.batchParallelism;
+        this.batchServiceParallelism = new EnumMap<>(builder.batchServiceParallelism);
+
+        if (executionMode == ExecutionMode.CONCURRENT && builder.executor == null) {
+            this.executor = ExecutorFactory.newFanOutExecutor(
+                    builder.virtualThreads, builder.threadPoolSize, WORKER_THREAD_PREFIX);
+            this.ownsExecutor = true;
+        } else {
+            this.executor = builder.executor;
+            this.ownsExecutor = false;
+        }
+        this.quotaExecutor = builder.quotaScheduling ? ExecutorFactory.newVerificationExecutor(
+                builder.virtualThreads, builder.threadPoolSize, QUOTA_THREAD_PREFIX) : null;
+        this.quotaScheduler = builder.quotaScheduling ? new QuotaAwareScheduler(this, quotaExecutor,
+                builder.quotaPerWindow, builder.quotaWindowMillis, builder.quotaPollMillis,
+                builder.quotaMaxHeld, builder.pendingQueue) : null;
+        this.pendingQueue = builder.pendingQueue;
+    }
+
+    private static Builder builderFor(ServiceConfig config) {
+        HttpClient transport = transportFor(config);
+        // Per-service in-flight limit that follows each service's latency and failures
+        HttpClient limitedClient = config.isAdaptiveConcurrency()
+                ? new AdaptiveConcurrencyHttpClient(transport, config)
+                : transport;
+        // Separate concurrency limit per service, so one slow service cannot starve the others.
+        // It sits below the retries, so a slot is held for one attempt and not through the backoff.
+        HttpClient isolatedClient = config.isBulkheads()
+                ? new BulkheadHttpClient(limitedClient, config)
+                : limitedClient;
+        HttpClient retryableClient = new RetryableHttpClient(
+                isolatedClient,
+                config.getMaxRetryAttempts(),
+                config.getRetryBackoffMs());
+        // Face match has the widest latency spread, so its slowest calls are hedged
+        HttpClient biometricHttpClient = config.isBiometricHedging()
+                ? new HedgingHttpClient(retryableClient, config)
+                : retryableClient;
+
+        return withQuotaScheduling(builder()
+                .documentClient(new DocumentVerificationClient(retryableClient, config))
+                .biometricClient(new BiometricVerificationClient(biometricHttpClient, config))
+                .addressClient(new AddressVerificationClient(retryableClient, config))
+                .sanctionsClient(new SanctionsScreeningClient(retryableClient, config))
+                .decisionEngine(new KYCDecisionEngine())
+                .executionMode(config.getExecutionMode())
+                .threadPoolSize(config.getOrchestratorThreads())
+                .virtualThreads(config.isVirtualThreads())
+                .earlyTermination(config.isEarlyTermination())
+                .coalesceInFlight(config.isCoalesceInFlight())
+                .checkOrdering(CheckOrderingStrategy.of(config.getCheckOrdering()))
+                .preValidator(config.isPreValidation() ? new PreValidator(config) : null)
+                .admissionController(config.isAdmissionControl() ? new AdmissionController(
+                        config.getAdmissionMaxConcurrent(), config.getAdmissionMaxQueue(),
+                        config.getAdmissionQueueTimeoutMs()) : null)
+                .resultReuseMaxAgeMillis(TimeUnit.MINUTES.toMillis(config.getResultReuseMaxAgeMinutes()))
+                .verificationBudgetMillis(config.getVerificationBudgetMs())
+                .decisionDeadlineMillis(config.getDecisionDeadlineMs())
+                .batchParallelism(config.getBatchParallelism())
+                .batchServiceParallelism(VerificationType.ID_DOCUMENT, config.getBatchDocumentParallelism())
+                .batchServiceParallelism(VerificationType.FACE_MATCH, config.getBatchBiometricParallelism())
+                .batchServiceParallelism(VerificationType.ADDRESS, config.getBatchAddressParallelism())
+                .batchServiceParallelism(VerificationType.SANCTIONS, config.getBatchSanctionsParallelism()), config);
+    }
+
+    private static Builder withQuotaScheduling(Builder builder, ServiceConfig config) {
+        if (!config.isQuotaScheduling()) {
+            return builder;
+        }
+        return builder.quotaScheduling(config.getRateLimitRequests(),
+                TimeUnit.SECONDS.toMillis(config.getRateLimitWindowSeconds()), config.getQuotaPollMs(),
+                config.getQuotaMaxHeld())
+                .pendingQueue(openPendingQueue(config));
+    }
+
+    /**
+     * Opens the pending verification queue of {@code EKYC_PENDING_QUEUE_DIR}, or returns null if none is set.
+     */
+    private static PendingVerificationQueue openPendingQueue(ServiceConfig config) {
+        try {
+            return PendingVerificationQueue.open(config);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the pending verification queue", e);
+        }
+    }
+
+    private static HttpClient transportFor(ServiceConfig config) {
+        switch (config.getHttpTransport()) {
+            case JDK:
+                return new JdkHttpTransport(config);
+            case NIO:
+                return new NioHttpTransport(config);
+            default:
+                return new SimpleHttpClient(config.getRateLimitRequests(), config.getRateLimitWindowSeconds());
+        }
     }
 
     /**
      * Processes a full verification request for a customer.
      * Executes all verification types and returns the final decision.
-     * 
+     *
      * @param customer The customer to verify
      * @param verificationTypes List of verification types to perform
      * @return The final KYC decision with all results
+     * @throws ValidationException if pre-validation finds the request malformed
+     * @throws OverloadException if admission control sheds the request, or the quota scheduler is full
      */
     public KYCDecision processVerification(Customer customer, List<VerificationType> verificationTypes) {
+        return processVerification(customer, verificationTypes, RequestClass.of(verificationTypes));
+    }
+
+    /**
+     * Variant of {@link #processVerification(Customer, List)} with an explicit priority class for
+     * admission control, for callers that know better than the default classification by types.
+     *
+     * @param customer The customer to verify
+     * @param verificationTypes List of verification types to perform
+     * @param requestClass The priority class of the request
+     * @return The final KYC decision with all results
+     * @throws ValidationException if pre-validation finds the request malformed
+     * @throws OverloadException if admission control sheds the request, or the quota scheduler is full
+     */
+    public KYCDecision processVerification(Customer customer, List<VerificationType> verificationTypes,
+                                           RequestClass requestClass) {
+        if (quotaScheduler != null) {
+            return awaitDecision(quotaScheduler.schedule(customer, verificationTypes, requestClass).getDecision());
+        }
+        if (!coalesceInFlight) {
+            return admitted(requestClass, () -> verify(customer, verificationTypes));
+        }
+        CompletableFuture<KYCDecision> decision = coalesce(customer, verificationTypes, () ->
+                CompletableFuture.completedFuture(admitted(requestClass, () -> verify(customer, verificationTypes))));
+        return awaitDecision(decision);
+    }
+
+    /**
+     * Runs a verification once admission control lets it in, holding its place until it completes.
+     */
+    private KYCDecision admitted(RequestClass requestClass, Supplier<KYCDecision> verification) {
+        if (admissionController == null) {
+            return verification.get();
+        }
+        admissionController.admit(requestClass);
+        try {
+            return verification.get();
+        } finally {
+            admissionController.release();
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #admitted}: queued requests hold no thread.
+     */
+    private CompletableFuture<KYCDecision> admittedAsync(RequestClass requestClass,
+                                                         Supplier<CompletableFuture<KYCDecision>> verification) {
+        if (admissionController == null) {
+            return verification.get();
+        }
+        CompletableFuture<Void> admission = admissionController.admitAsync(requestClass);
+        CompletableFuture<KYCDecision> decision = admission.thenCompose(granted -> {
+            CompletableFuture<KYCDecision> work;
+            try {
+                work = verification.get();
+            } catch (RuntimeException e) {
+                work = CompletableFuture.failedFuture(e);
+            }
+            return work.whenComplete((result, error) -> admissionController.release());
+        });
+        // Cancelling while queued gives up the place in the queue
+        return FutureUtils.propagateCancellation(decision, admission);
+    }
+
+    private KYCDecision verify(Customer customer, List<VerificationType> verificationTypes) {
         String correlationId = CorrelationIdGenerator.generate();
         CorrelationIdGenerator.setCorrelationId(correlationId);
-        
+
         try {
-            logger.info("Starting KYC verification for customer: {} with types: {}",
-                    customer.getCustomerId(), verificationTypes);
-            
-            List<VerificationResult> results = new ArrayList<>();
-            
-            // Execute each verification type
-            for (VerificationType type : verificationTypes) {
-                VerificationResult result = executeVerification(customer, type);
-                results.add(result);
-                
-                logger.info("Verification {} completed: status={}, confidence={}",
-                        type, result.getStatus(), result.getConfidence());
-            }
-            
-            // Make final decision
-            KYCDecision decision = decisionEngine.makeDecision(results, correlationId);
-            
-            logger.info("KYC verification completed for customer {}: decision={}",
-                    customer.getCustomerId(), decision.getDecision());
-            
-            return decision;
-            
+            logger.info("Starting KYC verification for customer: {} with types: {} ({} mode)",
+                    customer.getCustomerId(), verificationTypes, executionMode);
+
+            Map<VerificationType, VerificationResult> local = preValidate(customer, verificationTypes);
+            return runChecks(customer, verificationTypes, local, correlationId);
+
+        } finally {
+            CorrelationIdGenerator.clear();
+        }
+    }
+
+    /**
+     * Runs every check without a local result in the configured execution mode and decides.
+     */
+    private KYCDecision runChecks(Customer customer, List<VerificationType> verificationTypes,
+                                  Map<VerificationType, VerificationResult> local, String correlationId) {
+        List<VerificationType> remote = remoteTypes(verificationTypes, local);
+        Deadline deadline = newDeadline();
+        Deadline decisionDeadline = newDecisionDeadline();
+        List<VerificationResult> results = executionMode == ExecutionMode.CONCURRENT
+                ? executeConcurrently(customer, remote, deadline, decisionDeadline)
+                : executeSequentially(remote, type -> executeVerification(customer, type, deadline), decisionDeadline);
+
+        return decide(customer, mergeResults(verificationTypes, local, results), correlationId);
+    }
+
+    /**
+     * Re-verifies a customer who resubmitted part of their data, calling only the affected services.
+     *
+     * A result of {@code previous} is reused if it was PASS or FAIL, the customer fields its check
+     * depends on are unchanged (compared through the input fingerprint recorded with it), and it is
+     * no older than the result reuse age. All other checks run again. Reused results keep their
+     * original timestamp, so they still expire on schedule. Pre-validation runs first and takes
+     * precedence over reuse, so time-based rules such as document expiry are re-applied. A reused FAIL
+     * still decides the outcome, so the other checks are skipped just as after a pre-validation FAIL.
+     *
+     * Re-verification goes through admission control like any request, but bypasses the quota scheduler
+     * and in-flight coalescing: both key a request by customer and types only, so they would run, or
+     * share, a full verification and discard the reused results.
+     *
+     * @param previous The customer's previous decision, as returned by this orchestrator
+     * @param updated The customer's current data
+     * @return The new decision, over the same verification types as {@code previous}
+     * @throws ValidationException if pre-validation finds the request malformed
+     * @throws OverloadException if admission control sheds the request
+     */
+    public KYCDecision reverify(KYCDecision previous, Customer updated) {
+        List<VerificationType> verificationTypes = new ArrayList<>();
+        previous.getVerificationResults().forEach(result -> verificationTypes.add(result.getVerificationType()));
+        return admitted(RequestClass.of(verificationTypes), () -> reverify(previous, updated, verificationTypes));
+    }
+
+    private KYCDecision reverify(KYCDecision previous, Customer updated, List<VerificationType> verificationTypes) {
+        String correlationId = CorrelationIdGenerator.generate();
+        CorrelationIdGenerator.setCorrelationId(correlationId);
+
+        try {
+            Map<VerificationType, VerificationResult> local = preValidate(updated, verificationTypes);
+            List<VerificationType> reused = reuseValidResults(previous, updated, local);
+            VerificationResult decisive = skipIfDecided(verificationTypes, local);
+            if (decisive != null && reused.contains(decisive.getVerificationType())) {
+                logger.info("Previous {} FAIL still applies to customer {}. Skipping all service calls",
+                        decisive.getVerificationType(), updated.getCustomerId());
+            }
+            logger.info("Re-verifying customer {} (previous correlation ID {}): reusing {}, re-running {}",
+                    updated.getCustomerId(), previous.getCorrelationId(), reused,
+                    remoteTypes(verificationTypes, local));
+
+            return runChecks(updated, verificationTypes, local, correlationId);
+
         } finally {
             CorrelationIdGenerator.clear();
         }
@@ -122,7 +410,7 @@ public class VerificationOrchestrator {
 
     /**
      * Processes a full verification request with all verification types.
-     * 
+     *
      * @param customer The customer to verify
      * @return The final KYC decision with all results
      */
@@ -135,20 +423,1134 @@ public class VerificationOrchestrator {
         ));
     }
 
-    private VerificationResult executeVerification(Customer customer, VerificationType type) {
-        logger.debug("Executing verification: {}", type);
-        
+    /**
+     * Asynchronously processes a verification request for a customer.
+     * All requested checks are started at once on the given executor and the decision is made
+     * once the last one completes; no thread is blocked while waiting for the services.
+     *
+     * @param customer The customer to verify
+     * @param verificationTypes List of verification types to perform
+     * @param executor The executor for service calls and decisioning; with quota scheduling, the
+     *                 scheduler's own executor is used instead
+     * @return A future of the final KYC decision with results in request order; completes
+     *         exceptionally with a ValidationException if pre-validation finds the request malformed,
+     *         or with an OverloadException if admission control sheds the request or the quota scheduler is full
+     */
+    public CompletableFuture<KYCDecision> processVerificationAsync(Customer customer,
+                                                                   List<VerificationType> verificationTypes,
+                                                                   Executor executor) {
+        RequestClass requestClass = RequestClass.of(verificationTypes);
+        if (quotaScheduler == null) {
+            return verifyNowAsync(customer, verificationTypes, requestClass, executor);
+        }
+        try {
+            return quotaScheduler.schedule(customer, verificationTypes, requestClass).getDecision();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Hands a verification to the quota scheduler, which runs it as soon as its services have quota.
+     *
+     * @param customer The customer to verify
+     * @param verificationTypes List of verification types to perform
+     * @param requestClass The priority class of the request
+     * @return The scheduled verification, with its decision future and estimated completion time
+     * @throws OverloadException if the quota scheduler is full
+     * @throws IllegalStateException if quota scheduling is disabled or the orchestrator is closed
+     */
+    public ScheduledVerification scheduleVerification(Customer customer, List<VerificationType> verificationTypes,
+                                                      RequestClass requestClass) {
+        if (quotaScheduler == null) {
+            throw new IllegalStateException("Quota scheduling is disabled");
+        }
+        return quotaScheduler.schedule(customer, verificationTypes, requestClass);
+    }
+
+    /**
+     * Schedules the verifications that were held for quota when a previous run stopped, as recorded in the
+     * pending verification queue. Call once at startup, before submitting anything else.
+     * A verification leaves the queue only once its decision has been passed to the callback.
+     *
+     * @param callback Receives each recovered customer and its decision
+     * @return The recovered verifications, oldest first; empty without quota scheduling or a pending queue
+     */
+    public List<ScheduledVerification> recoverPendingVerifications(BiConsumer<Customer, KYCDecision> callback) {
+        return quotaScheduler == null ? List.of() : quotaScheduler.recover(callback);
+    }
+
+    /**
+     * Runs a verification right away, bypassing quota scheduling. {@link QuotaAwareScheduler} calls this
+     * once the services have quota.
+     */
+    CompletableFuture<KYCDecision> verifyNowAsync(Customer customer, List<VerificationType> verificationTypes,
+                                                  RequestClass requestClass, Executor executor) {
+        if (!coalesceInFlight) {
+            return admittedAsync(requestClass, () -> verifyAsync(customer, verificationTypes, executor));
+        }
+        return coalesce(customer, verificationTypes,
+                () -> admittedAsync(requestClass, () -> verifyAsync(customer, verificationTypes, executor)));
+    }
+
+    private CompletableFuture<KYCDecision> verifyAsync(Customer customer, List<VerificationType> verificationTypes,
+                                                       Executor executor) {
+        String correlationId = CorrelationIdGenerator.generate();
+        CorrelationIdGenerator.setCorrelationId(correlationId);
+
+        try {
+            logger.info("Starting asynchronous KYC verification for customer: {} with types: {}",
+                    customer.getCustomerId(), verificationTypes);
+
+            Map<VerificationType, VerificationResult> local = preValidate(customer, verificationTypes);
+            Executor contextExecutor = CorrelationIdGenerator.withCurrentContext(executor);
+            return dispatchAsync(customer, remoteTypes(verificationTypes, local), contextExecutor, newDeadline(),
+                    newDecisionDeadline())
+                    .thenApplyAsync(results -> decide(customer, mergeResults(verificationTypes, local, results),
+                            correlationId), contextExecutor);
+
+        } catch (ValidationException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            CorrelationIdGenerator.clear();
+        }
+    }
+
+    /**
+     * Asynchronously processes a full verification request with all verification types.
+     *
+     * @param customer The customer to verify
+     * @param executor The executor for service calls and decisioning
+     * @return A future of the final KYC decision with all results
+     */
+    public CompletableFuture<KYCDecision> processFullVerificationAsync(Customer customer, Executor executor) {
+        return processVerificationAsync(customer, List.of(
+                VerificationType.ID_DOCUMENT,
+                VerificationType.FACE_MATCH,
+                VerificationType.ADDRESS,
+                VerificationType.SANCTIONS
+        ), executor);
+    }
+
+    /**
+     * Verifies a batch of customers, streaming each decision to {@code callback} as soon as it is made.
+     *
+     * Customers are read from {@code customers} lazily and at most {@code batchParallelism} are in
+     * flight at once, so the batch never has to be held in memory. Each customer's checks run one
+     * after another (honouring early termination); across customers, calls to each downstream service
+     * are capped by its configured batch parallelism. The callback is invoked for every customer,
+     * one call at a time, from the batch worker threads. Blocks until the whole batch is processed.
+     *
+     * @param customers The customers to verify
+     * @param verificationTypes The verification types to perform for each customer
+     * @param callback Receives each customer with its decision
+     * @return Decision counts, throughput and latency statistics for the batch
+     */
+    public BatchStats processBatch(Iterable<Customer> customers, List<VerificationType> verificationTypes,
+                                   BiConsumer<Customer, KYCDecision> callback) {
+        BatchRun batch = new BatchRun(verificationTypes, callback);
+        logger.info("Starting batch verification with types: {} (parallelism: {})",
+                verificationTypes, batchParallelism);
+
+        ExecutorService batchExecutor = ExecutorFactory.newVerificationExecutor(
+                virtualThreads, batchParallelism, BATCH_THREAD_PREFIX);
+        try {
+            dispatchBatch(customers, batch, batchExecutor);
+        } finally {
+            batchExecutor.shutdown();
+        }
+
+        BatchStats stats = batch.stats.snapshot();
+        logger.info("Batch verification completed: {}", stats);
+        return stats;
+    }
+
+    /**
+     * Verifies a batch of customers with all verification types.
+     *
+     * @param customers The customers to verify
+     * @param callback Receives each customer with its decision
+     * @return Decision counts, throughput and latency statistics for the batch
+     */
+    public BatchStats processFullBatch(Iterable<Customer> customers, BiConsumer<Customer, KYCDecision> callback) {
+        return processBatch(customers, List.of(
+                VerificationType.ID_DOCUMENT,
+                VerificationType.FACE_MATCH,
+                VerificationType.ADDRESS,
+                VerificationType.SANCTIONS
+        ), callback);
+    }
+
+    /**
+     * Estimates how many more verifications of the given types the downstream services accept
+     * right now, as the smallest remaining rate limit allowance or free bulkhead slot count among
+     * the services involved. Used by {@link VerificationProcessor} to pace its upstream.
+     *
+     * @param verificationTypes The verification types each verification performs
+     * @return The number of verifications that can start now, or Integer.MAX_VALUE if no client reports a limit
+     */
+    public int availableCapacity(List<VerificationType> verificationTypes) {
+        int capacity = Integer.MAX_VALUE;
+        for (VerificationType type : verificationTypes) {
+            capacity = Math.min(capacity, serviceCapacity(type));
+        }
+        return capacity;
+    }
+
+    /**
+     * Estimates how long until every service involved in verifications of the given types accepts a call.
+     *
+     * @param verificationTypes The verification types each verification performs
+     * @return 0 if a verification can start now, the longest wait among the services in milliseconds,
+     *         or -1 if any of them cannot predict when it frees up
+     */
+    public long millisUntilCapacity(List<VerificationType> verificationTypes) {
+        long wait = 0;
+        for (VerificationType type : verificationTypes) {
+            long serviceWait = serviceMillisUntilCapacity(type);
+            if (serviceWait < 0) {
+                return -1;
+            }
+            wait = Math.max(wait, serviceWait);
+        }
+        return wait;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public boolean isEarlyTermination() {
+        return earlyTermination;
+    }
+
+    public CheckOrderingStrategy getCheckOrdering() {
+        return checkOrdering;
+    }
+
+    /**
+     * Gets the number of distinct verifications currently running with in-flight coalescing enabled.
+     * @return The number of in-flight verifications that duplicates can attach to
+     */
+    public int getInFlightVerificationCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Shuts down the worker pool if it was created by this orchestrator.
+     * Executors supplied through the builder are left to their owner.
+     * Verifications still held by the quota scheduler fail with an OverloadException, and stay in the
+     * pending verification queue, which is closed too, to be recovered on the next start.
+     */
+    @Override
+    public void close() {
+        if (quotaScheduler != null) {
+            quotaScheduler.close();
+            quotaExecutor.shutdown();
+        }
+        if (pendingQueue != null) {
+            pendingQueue.close();
+        }
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Starts every check at once and combines their results, in request order.
+     * At the decision deadline, the results so far are taken and the remaining checks time out.
+     */
+    private CompletableFuture<List<VerificationResult>> dispatchAsync(Customer customer, List<VerificationType> types,
+                                                                      Executor contextExecutor, Deadline deadline,
+                                                                      Deadline decisionDeadline) {
+        List<CompletableFuture<VerificationResult>> futures = new ArrayList<>(types.size());
+        for (VerificationType type : types) {
+            CompletableFuture<VerificationResult> check =
+                    executeVerificationAsync(customer, type, contextExecutor, deadline);
+            futures.add(FutureUtils.propagateCancellation(
+                    check.whenComplete((result, error) -> logResult(type, result)), check));
+        }
+        CompletableFuture<List<VerificationResult>> all = earlyTermination
+                ? allUntilDecisive(futures, types)
+                : FutureUtils.allAsList(futures);
+        if (decisionDeadline.isUnbounded()) {
+            return all;
+        }
+        String correlationId = CorrelationIdGenerator.getCorrelationId();
+        return FutureUtils.completeOnTimeout(all, null, decisionDeadline.remainingMillis(), TimeUnit.MILLISECONDS,
+                        contextExecutor)
+                .thenApply(results -> results != null
+                        ? results
+                        : partialResults(customer, futures, types, correlationId));
+    }
+
+    /**
+     * Pre-validation stage: runs the local rules of every requested check before anything is dispatched.
+     * If any check already FAILs locally the request is certain to be REJECTED, so every other check is
+     * skipped too and no remote quota is used.
+     *
+     * @return The locally decided results by type; empty when pre-validation is off
+     * @throws ValidationException if the request itself is malformed
+     */
+    private Map<VerificationType, VerificationResult> preValidate(Customer customer, List<VerificationType> types) {
+        Map<VerificationType, VerificationResult> local = new EnumMap<>(VerificationType.class);
+        if (preValidator == null) {
+            return local;
+        }
+        preValidator.validateRequest(customer);
+        for (VerificationType type : types) {
+            preValidator.precheck(customer, type).ifPresent(result -> local.put(type, result));
+        }
+        if (skipIfDecided(types, local) != null) {
+            logger.info("Pre-validation rejected customer {}. Skipping all service calls", customer.getCustomerId());
+        }
+        return local;
+    }
+
+    /**
+     * Marks every check without a local result as skipped if a local result already decides the outcome.
+     * @return The deciding result, or null if the remaining checks must run
+     */
+    private VerificationResult skipIfDecided(List<VerificationType> types,
+                                             Map<VerificationType, VerificationResult> local) {
+        VerificationResult decisive = local.values().stream()
+                .filter(decisionEngine::isDecisive)
+                .findFirst()
+                .orElse(null);
+        if (decisive != null) {
+            types.forEach(type -> local.putIfAbsent(type, skippedResult(type, decisive)));
+        }
+        return decisive;
+    }
+
+    /**
+     * Adds the previous results that still apply to {@code local}, unless a check was already decided locally.
+     * @return The types whose previous result is reused
+     */
+    private List<VerificationType> reuseValidResults(KYCDecision previous, Customer updated,
+                                                     Map<VerificationType, VerificationResult> local) {
+        List<VerificationType> reused = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (VerificationResult prior : previous.getVerificationResults()) {
+            VerificationType type = prior.getVerificationType();
+            if (!local.containsKey(type) && isReusable(prior, updated, now)) {
+                local.put(type, prior);
+                reused.add(type);
+            }
+        }
+        return reused;
+    }
+
+    private boolean isReusable(VerificationResult prior, Customer updated, LocalDateTime now) {
+        if (prior.getStatus() == VerificationStatus.MANUAL_REVIEW || prior.getInputFingerprint() == null) {
+            // Manual review covers service errors and skipped checks, which are worth retrying
+            return false;
+        }
+        if (Duration.between(prior.getTimestamp(), now).toMillis() > resultReuseMaxAgeMillis) {
+            return false;
+        }
+        return prior.getInputFingerprint().equals(
+                VerificationFingerprint.forCheck(updated, prior.getVerificationType()));
+    }
+
+    private static List<VerificationType> remoteTypes(List<VerificationType> types,
+                                                      Map<VerificationType, VerificationResult> local) {
+        List<VerificationType> remote = new ArrayList<>(types.size());
+        for (VerificationType type : types) {
+            if (!local.containsKey(type)) {
+                remote.add(type);
+            }
+        }
+        return remote;
+    }
+
+    /**
+     * Interleaves locally decided and remote results back into request order.
+     */
+    private static List<VerificationResult> mergeResults(List<VerificationType> types,
+                                                         Map<VerificationType, VerificationResult> local,
+                                                         List<VerificationResult> remoteResults) {
+        if (local.isEmpty()) {
+            return remoteResults;
+        }
+        List<VerificationResult> merged = new ArrayList<>(types.size());
+        int remoteIndex = 0;
+        for (VerificationType type : types) {
+            merged.add(local.containsKey(type) ? local.get(type) : remoteResults.get(remoteIndex++));
+        }
+        return merged;
+    }
+
+    /**
+     * Runs {@code verification} unless a verification with the same inputs is already in flight,
+     * in which case its decision is shared. Each caller gets its own view of the shared future,
+     * so one caller cancelling does not affect the others.
+     */
+    private CompletableFuture<KYCDecision> coalesce(Customer customer, List<VerificationType> verificationTypes,
+                                                    Supplier<CompletableFuture<KYCDecision>> verification) {
+        String fingerprint = VerificationFingerprint.of(customer, verificationTypes);
+        CompletableFuture<KYCDecision> shared = new CompletableFuture<>();
+        CompletableFuture<KYCDecision> existing = inFlight.putIfAbsent(fingerprint, shared);
+        if (existing != null) {
+            logger.info("Verification for customer {} with types {} already in flight. Attaching to it",
+                    customer.getCustomerId(), verificationTypes);
+            return existing.copy();
+        }
+
+        CompletableFuture<KYCDecision> work;
+        try {
+            work = verification.get();
+        } catch (RuntimeException e) {
+            work = CompletableFuture.failedFuture(e);
+        }
+        work.whenComplete((decision, error) -> {
+            inFlight.remove(fingerprint, shared);
+            if (error != null) {
+                shared.completeExceptionally(FutureUtils.unwrap(error));
+            } else {
+                shared.complete(decision);
+            }
+        });
+        return shared.copy();
+    }
+
+    /**
+     * Waits for a coalesced decision, rethrowing a failure of the shared verification as is.
+     */
+    private KYCDecision awaitDecision(CompletableFuture<KYCDecision> decision) {
+        try {
+            return FutureUtils.joinInterruptibly(decision, () -> KYCDecision.builder()
+                    .decision(Decision.MANUAL_REVIEW)
+                    .correlationId(CorrelationIdGenerator.generate())
+                    .build());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the checks one by one in the order chosen by the ordering strategy, feeding it each outcome.
+     * Results are returned in request order.
+     */
+    private List<VerificationResult> executeSequentially(List<VerificationType> types,
+                                                         Function<VerificationType, VerificationResult> check,
+                                                         Deadline decisionDeadline) {
+        VerificationResult[] results = new VerificationResult[types.size()];
+        VerificationResult decisive = null;
+
+        for (int index : executionOrder(types)) {
+            VerificationType type = types.get(index);
+            VerificationResult result;
+            if (decisive != null) {
+                result = skippedResult(type, decisive);
+            } else if (decisionDeadline.isExpired()) {
+                result = timedOutResult(type);
+            } else {
+                long startNanos = System.nanoTime();
+                result = check.apply(type);
+                checkOrdering.record(type, result, System.nanoTime() - startNanos);
+            }
+            results[index] = result;
+            logResult(type, result);
+            if (decisive == null && earlyTermination && decisionEngine.isDecisive(result)) {
+                decisive = result;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Maps the strategy's ordering back to positions in the requested list, so that results can be
+     * returned in request order even if a type was requested more than once.
+     */
+    private int[] executionOrder(List<VerificationType> types) {
+        List<VerificationType> ordered = checkOrdering.order(types);
+        boolean[] taken = new boolean[types.size()];
+        int[] order = new int[types.size()];
+        for (int i = 0; i < order.length; i++) {
+            int index = 0;
+            while (taken[index] || types.get(index) != ordered.get(i)) {
+                index++;
+            }
+            taken[index] = true;
+            order[i] = index;
+        }
+        return order;
+    }
+
+    /**
+     * Submits one task per customer, blocking while {@code batchParallelism} customers are in flight,
+     * then waits for the remaining tasks to finish.
+     */
+    private void dispatchBatch(Iterable<Customer> customers, BatchRun batch, ExecutorService batchExecutor) {
+        Semaphore batchPermits = new Semaphore(batchParallelism);
+        try {
+            for (Customer customer : customers) {
+                batchPermits.acquire();
+                batchExecutor.execute(() -> {
+                    try {
+                        processBatchItem(customer, batch);
+                    } finally {
+                        batchPermits.release();
+                    }
+                });
+            }
+            batchPermits.acquire(batchParallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Batch verification interrupted. Cancelling customers in flight");
+            batchExecutor.shutdownNow();
+        }
+    }
+
+    private void processBatchItem(Customer customer, BatchRun batch) {
+        long startNanos = System.nanoTime();
+        String correlationId = CorrelationIdGenerator.generate();
+        CorrelationIdGenerator.setCorrelationId(correlationId);
+        KYCDecision decision;
+        boolean error = false;
+
+        try {
+            decision = verifyBatchItem(customer, batch, correlationId);
+        } catch (RuntimeException e) {
+            logger.error("Batch verification failed for customer {}: {}", customer.getCustomerId(), e.getMessage());
+            decision = KYCDecision.builder()
+                    .decision(Decision.MANUAL_REVIEW)
+                    .correlationId(correlationId)
+                    .build();
+            error = true;
+        } finally {
+            CorrelationIdGenerator.clear();
+        }
+
+        batch.stats.record(decision, System.nanoTime() - startNanos, error);
+        batch.deliver(customer, decision);
+    }
+
+    /**
+     * Runs one customer's checks one by one under the batch's per-service limits, or, with quota
+     * scheduling, waits for the quota scheduler to run them.
+     */
+    private KYCDecision verifyBatchItem(Customer customer, BatchRun batch, String correlationId) {
+        if (quotaScheduler != null) {
+            return awaitDecision(quotaScheduler.schedule(customer, batch.verificationTypes).getDecision());
+        }
+        Map<VerificationType, VerificationResult> local = preValidate(customer, batch.verificationTypes);
+        Deadline deadline = newDeadline();
+        List<VerificationResult> results = executeSequentially(remoteTypes(batch.verificationTypes, local),
+                type -> executeWithPermit(batch.servicePermits.get(type), customer, type, deadline),
+                newDecisionDeadline());
+        return decide(customer, mergeResults(batch.verificationTypes, local, results), correlationId);
+    }
+
+    private VerificationResult executeWithPermit(Semaphore permits, Customer customer, VerificationType type,
+                                                 Deadline deadline) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return manualReviewResult(type, "Verification interrupted");
+        }
+        try {
+            return executeVerification(customer, type, deadline);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Dispatches every requested check at once and joins them in request order.
+     * Each worker runs with the caller's MDC so the correlation ID appears in every log line.
+     * Each check also completes an outcome future, through which a check that misses the decision
+     * deadline delivers its result later.
+     * A check the executor rejects goes to MANUAL_REVIEW at once; it is never run on the calling thread,
+     * which must stay free to enforce the decision deadline.
+     */
+    private List<VerificationResult> executeConcurrently(Customer customer, List<VerificationType> types,
+                                                         Deadline deadline, Deadline decisionDeadline) {
+        BlockingQueue<Future<VerificationResult>> completed = new LinkedBlockingQueue<>();
+        CompletionService<VerificationResult> completionService = new ExecutorCompletionService<>(executor, completed);
+        List<Future<VerificationResult>> futures = new ArrayList<>(types.size());
+        List<CompletableFuture<VerificationResult>> outcomes = new ArrayList<>(types.size());
+        for (VerificationType type : types) {
+            CompletableFuture<VerificationResult> outcome = new CompletableFuture<>();
+            outcomes.add(outcome);
+            try {
+                futures.add(completionService.submit(CorrelationIdGenerator.propagate(() -> {
+                    VerificationResult result = executeVerification(customer, type, deadline);
+                    outcome.complete(result);
+                    return result;
+                })));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Verification pool saturated. Sending {} check for customer {} to manual review",
+                        type, customer.getCustomerId());
+                outcome.complete(manualReviewResult(type, "Verification pool saturated"));
+                futures.add(outcome);
+                completed.add(outcome);
+            }
+        }
+
+        List<VerificationResult> results = earlyTermination
+                ? collectUntilDecisive(completionService, futures, types, decisionDeadline)
+                : collectInOrder(futures, types, decisionDeadline);
+        return timeOutStragglers(customer, types, results, outcomes, CorrelationIdGenerator.getCorrelationId());
+    }
+
+    private List<VerificationResult> collectInOrder(List<Future<VerificationResult>> futures,
+                                                    List<VerificationType> types, Deadline decisionDeadline) {
+        List<VerificationResult> results = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            VerificationResult result = awaitResult(futures.get(i), types.get(i), decisionDeadline);
+            results.add(result);
+            logResult(types.get(i), result);
+        }
+        return results;
+    }
+
+    /**
+     * Collects results in completion order until one is decisive, then cancels the rest.
+     * A cancelled check's worker is interrupted, which also stops its pending retries.
+     * Checks still running at the decision deadline are left running and their results left empty.
+     */
+    private List<VerificationResult> collectUntilDecisive(CompletionService<VerificationResult> completionService,
+                                                          List<Future<VerificationResult>> futures,
+                                                          List<VerificationType> types, Deadline decisionDeadline) {
+        VerificationResult[] results = new VerificationResult[types.size()];
+        VerificationResult decisive = null;
+        boolean timedOut = false;
+
+        for (int remaining = types.size(); remaining > 0 && decisive == null; remaining--) {
+            Future<VerificationResult> completed = takeCompleted(completionService, decisionDeadline);
+            if (completed == null) {
+                timedOut = !Thread.currentThread().isInterrupted();
+                break;
+            }
+            int index = futures.indexOf(completed);
+            results[index] = awaitResult(completed, types.get(index));
+            logResult(types.get(index), results[index]);
+            if (decisionEngine.isDecisive(results[index])) {
+                decisive = results[index];
+            }
+        }
+
+        for (int i = 0; i < results.length && !timedOut; i++) {
+            if (results[i] == null) {
+                results[i] = cancelOrCollect(futures.get(i), types.get(i), decisive);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return The next completed check, or null if interrupted or none completed by the decision deadline
+     */
+    private Future<VerificationResult> takeCompleted(CompletionService<VerificationResult> completionService,
+                                                     Deadline decisionDeadline) {
+        try {
+            return decisionDeadline.isUnbounded()
+                    ? completionService.take()
+                    : completionService.poll(decisionDeadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for verifications");
+            return null;
+        }
+    }
+
+    /**
+     * Cancels a check that is no longer needed. A check that completed in the meantime keeps its result.
+     */
+    private VerificationResult cancelOrCollect(Future<VerificationResult> future, VerificationType type,
+                                               VerificationResult decisive) {
+        if (!future.cancel(true)) {
+            return awaitResult(future, type);
+        }
+        if (decisive == null) {
+            return manualReviewResult(type, "Verification interrupted");
+        }
+        VerificationResult skipped = skippedResult(type, decisive);
+        logResult(type, skipped);
+        return skipped;
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #collectUntilDecisive}: completes as soon as one result is
+     * decisive (or all have completed) and cancels the checks still in flight.
+     */
+    private CompletableFuture<List<VerificationResult>> allUntilDecisive(
+            List<CompletableFuture<VerificationResult>> futures, List<VerificationType> types) {
+        CompletableFuture<VerificationResult> decided = new CompletableFuture<>();
+        futures.forEach(future -> future.thenAccept(result -> {
+            if (decisionEngine.isDecisive(result)) {
+                decided.complete(result);
+            }
+        }));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> decided.complete(null));
+
+        return decided.thenApply(decisive -> {
+            List<VerificationResult> results = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(cancelOrCollect(futures.get(i), types.get(i), decisive));
+            }
+            return results;
+        });
+    }
+
+    private VerificationResult awaitResult(Future<VerificationResult> future, VerificationType type) {
+        return awaitResult(future, type, Deadline.none());
+    }
+
+    /**
+     * @return The check's result, or null if it is still running at the decision deadline
+     */
+    private VerificationResult awaitResult(Future<VerificationResult> future, VerificationType type,
+                                           Deadline decisionDeadline) {
+        try {
+            return decisionDeadline.isUnbounded()
+                    ? future.get()
+                    : future.get(decisionDeadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            logger.warn("Interrupted while waiting for verification {}", type);
+            return manualReviewResult(type, "Verification interrupted");
+        } catch (ExecutionException e) {
+            logger.error("Verification {} failed unexpectedly: {}", type, e.getCause().getMessage());
+            return manualReviewResult(type, "Unexpected error: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Takes the results of the asynchronous checks that completed by the decision deadline.
+     */
+    private List<VerificationResult> partialResults(Customer customer,
+                                                    List<CompletableFuture<VerificationResult>> futures,
+                                                    List<VerificationType> types, String correlationId) {
+        List<VerificationResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(futures.get(i).isDone() ? awaitResult(futures.get(i), types.get(i)) : null);
+        }
+        return timeOutStragglers(customer, types, results, futures, correlationId);
+    }
+
+    /**
+     * Replaces the missing results of checks still running at the decision deadline with MANUAL_REVIEW
+     * results, and records each check's real result once its outcome arrives.
+     */
+    private List<VerificationResult> timeOutStragglers(Customer customer, List<VerificationType> types,
+                                                       List<VerificationResult> results,
+                                                       List<CompletableFuture<VerificationResult>> outcomes,
+                                                       String correlationId) {
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                VerificationResult timedOut = timedOutResult(types.get(i));
+                logResult(types.get(i), timedOut);
+                results.set(i, timedOut);
+                outcomes.get(i).thenAccept(late -> recordLateResult(customer, late, correlationId));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Logs a result that arrived after its decision and passes it to the late result listener.
+     * The result is fingerprinted like a decided one, so it can be reused by a re-verification.
+     */
+    private void recordLateResult(Customer customer, VerificationResult late, String correlationId) {
+        VerificationType type = late.getVerificationType();
+        VerificationResult result = late.withInputFingerprint(VerificationFingerprint.forCheck(customer, type));
+        logger.info("Late verification {} for customer {} arrived after decision {}: status={}, confidence={}",
+                type, customer.getCustomerId(), correlationId, result.getStatus(), result.getConfidence());
+        if (lateResultListener == null) {
+            return;
+        }
+        try {
+            lateResultListener.onLateResult(correlationId, result);
+        } catch (RuntimeException e) {
+            logger.error("Late result listener failed for verification {}: {}", type, e.getMessage());
+        }
+    }
+
+    private Deadline newDeadline() {
+        return verificationBudgetMillis > 0 ? Deadline.after(verificationBudgetMillis) : Deadline.none();
+    }
+
+    private Deadline newDecisionDeadline() {
+        return decisionDeadlineMillis > 0 ? Deadline.after(decisionDeadlineMillis) : Deadline.none();
+    }
+
+    private VerificationResult executeVerification(Customer customer, VerificationType type, Deadline deadline) {
+        logger.debug("Executing verification: {} ({})", type, deadline);
+
         switch (type) {
             case ID_DOCUMENT:
-                return documentClient.verifyDocument(customer);
+                return documentClient.verifyDocument(customer, deadline);
             case FACE_MATCH:
-                return biometricClient.verifyFaceMatch(customer);
+                return biometricClient.verifyFaceMatch(customer, deadline);
             case ADDRESS:
-                return addressClient.verifyAddress(customer);
+                return addressClient.verifyAddress(customer, deadline);
             case SANCTIONS:
-                return sanctionsClient.checkSanctions(customer);
+                return sanctionsClient.checkSanctions(customer, deadline);
             default:
                 throw new IllegalArgumentException("Unknown verification type: " + type);
         }
     }
+
+    private CompletableFuture<VerificationResult> executeVerificationAsync(Customer customer,
+                                                                           VerificationType type,
+                                                                           Executor executor,
+                                                                           Deadline deadline) {
+        logger.debug("Dispatching asynchronous verification: {} ({})", type, deadline);
+
+        switch (type) {
+            case ID_DOCUMENT:
+                return documentClient.verifyDocumentAsync(customer, executor, deadline);
+            case FACE_MATCH:
+                return biometricClient.verifyFaceMatchAsync(customer, executor, deadline);
+            case ADDRESS:
+                return addressClient.verifyAddressAsync(customer, executor, deadline);
+            case SANCTIONS:
+                return sanctionsClient.checkSanctionsAsync(customer, executor, deadline);
+            default:
+                return CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Unknown verification type: " + type));
+        }
+    }
+
+    private int serviceCapacity(VerificationType type) {
+        switch (type) {
+            case ID_DOCUMENT:
+                return documentClient.availableCapacity();
+            case FACE_MATCH:
+                return biometricClient.availableCapacity();
+            case ADDRESS:
+                return addressClient.availableCapacity();
+            case SANCTIONS:
+                return sanctionsClient.availableCapacity();
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
+    private long serviceMillisUntilCapacity(VerificationType type) {
+        switch (type) {
+            case ID_DOCUMENT:
+                return documentClient.millisUntilCapacity();
+            case FACE_MATCH:
+                return biometricClient.millisUntilCapacity();
+            case ADDRESS:
+                return addressClient.millisUntilCapacity();
+            case SANCTIONS:
+                return sanctionsClient.millisUntilCapacity();
+            default:
+                return 0;
+        }
+    }
+
+    private KYCDecision decide(Customer customer, List<VerificationResult> results, String correlationId) {
+        // Record what each result was based on, so that a re-verification can reuse it
+        List<VerificationResult> fingerprinted = VerificationFingerprint.stamp(customer, results);
+
+        // Make final decision
+        KYCDecision decision = decisionEngine.makeDecision(fingerprinted, correlationId);
+
+        logger.info("KYC verification completed for customer {}: decision={}",
+                customer.getCustomerId(), decision.getDecision());
+
+        return decision;
+    }
+
+    private void logResult(VerificationType type, VerificationResult result) {
+        if (result == null) {
+            return;
+        }
+        logger.info("Verification {} completed: status={}, confidence={}",
+                type, result.getStatus(), result.getConfidence());
+    }
+
+    private static VerificationResult manualReviewResult(VerificationType type, String reason) {
+        return VerificationResult.builder()
+                .verificationType(type)
+                .status(VerificationStatus.MANUAL_REVIEW)
+                .confidence(0)
+                .reasons(List.of(reason))
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private static VerificationResult timedOutResult(VerificationType type) {
+        return manualReviewResult(type, "Timed out at orchestrator deadline");
+    }
+
+    static VerificationResult skippedResult(VerificationType type, VerificationResult decisive) {
+        return manualReviewResult(type, "Skipped: outcome already decided by "
+                + decisive.getVerificationType() + " " + decisive.getStatus());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * State shared by the tasks of one {@link #processBatch} call.
+     */
+    private final class BatchRun {
+        private final List<VerificationType> verificationTypes;
+        private final BiConsumer<Customer, KYCDecision> callback;
+        private final Map<VerificationType, Semaphore> servicePermits = new EnumMap<>(VerificationType.class);
+        private final ReentrantLock callbackLock = new ReentrantLock();
+        private final BatchStatsRecorder stats = new BatchStatsRecorder();
+
+        private BatchRun(List<VerificationType> verificationTypes, BiConsumer<Customer, KYCDecision> callback) {
+            this.verificationTypes = verificationTypes;
+            this.callback = callback;
+            for (VerificationType type : VerificationType.values()) {
+                servicePermits.put(type, new Semaphore(
+                        batchServiceParallelism.getOrDefault(type, batchParallelism), true));
+            }
+        }
+
+        /**
+         * Hands a decision to the callback. Calls are serialized so callbacks need not be thread-safe,
+         * and a failing callback does not stop the batch.
+         */
+        private void deliver(Customer customer, KYCDecision decision) {
+            callbackLock.lock();
+            try {
+                callback.accept(customer, decision);
+            } catch (RuntimeException e) {
+                logger.error("Batch callback failed for customer {}: {}", customer.getCustomerId(), e.getMessage());
+            } finally {
+                callbackLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Builder for orchestrators that need a non-default execution setup.
+     * Defaults to SEQUENTIAL execution; in CONCURRENT mode without an explicit executor
+     * the orchestrator creates (and closes) its own bounded pool of {@code threadPoolSize} threads,
+     * or a virtual thread per task executor when {@code virtualThreads} is set and the JVM supports it.
+     * Checks the bounded pool has no room for go to MANUAL_REVIEW rather than run on the caller.
+     * Sequential checks run in the requested order unless a check ordering strategy is set.
+     * Pre-validation, admission control, quota scheduling, early termination, in-flight coalescing,
+     * result reuse, the verification budget and the decision deadline are off unless set explicitly.
+     * Batches run {@code batchParallelism} customers at once; per-service batch limits default to that
+     * value unless set.
+     */
+    public static class Builder {
+        private DocumentVerificationClient documentClient;
+        private BiometricVerificationClient biometricClient;
+        private AddressVerificationClient addressClient;
+        private SanctionsScreeningClient sanctionsClient;
+        private KYCDecisionEngine decisionEngine = new KYCDecisionEngine();
+        private ExecutionMode executionMode = ExecutionMode.SEQUENTIAL;
+        private ExecutorService executor;
+        private int threadPoolSize = VerificationType.values().length;
+        private boolean virtualThreads;
+        private boolean earlyTermination;
+        private boolean coalesceInFlight;
+        private CheckOrderingStrategy checkOrdering = new FixedCheckOrdering();
+        private PreValidator preValidator;
+        private AdmissionController admissionController;
+        private boolean quotaScheduling;
+        private int quotaPerWindow;
+        private long quotaWindowMillis;
+        private long quotaPollMillis;
+        private int quotaMaxHeld;
+        private PendingVerificationQueue pendingQueue;
+        private long resultReuseMaxAgeMillis;
+        private long verificationBudgetMillis;
+        private long decisionDeadlineMillis;
+        private LateResultListener lateResultListener;
+        private int batchParallelism = VerificationType.values().length;
+        private final Map<VerificationType, Integer> batchServiceParallelism = new EnumMap<>(VerificationType.class);
+
+        public Builder documentClient(DocumentVerificationClient documentClient) {
+            this.documentClient = documentClient;
+            return this;
+        }
+
+        public Builder biometricClient(BiometricVerificationClient biometricClient) {
+            this.biometricClient = biometricClient;
+            return this;
+        }
+
+        public Builder addressClient(AddressVerificationClient addressClient) {
+            this.addressClient = addressClient;
+            return this;
+        }
+
+        public Builder sanctionsClient(SanctionsScreeningClient sanctionsClient) {
+            this.sanctionsClient = sanctionsClient;
+            return this;
+        }
+
+        public Builder decisionEngine(KYCDecisionEngine decisionEngine) {
+            this.decisionEngine = decisionEngine;
+            return this;
+        }
+
+        public Builder executionMode(ExecutionMode executionMode) {
+            this.executionMode = executionMode;
+            return this;
+        }
+
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder threadPoolSize(int threadPoolSize) {
+            this.threadPoolSize = threadPoolSize;
+            return this;
+        }
+
+        /**
+         * @param virtualThreads Whether CONCURRENT mode runs every check, including its blocking downstream
+         *                       call and retry back-off, on its own virtual thread (JDK 21+)
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * @param earlyTermination Whether the first decisive result (a FAIL, see
+         *                         {@link KYCDecisionEngine#isDecisive}) stops the remaining checks: in-flight
+         *                         calls and their retries are cancelled, unstarted checks are skipped, and both
+         *                         are reported as MANUAL_REVIEW with a "Skipped" reason
+         */
+        public Builder earlyTermination(boolean earlyTermination) {
+            this.earlyTermination = earlyTermination;
+            return this;
+        }
+
+        /**
+         * @param coalesceInFlight Whether a request whose inputs (every Customer field and the requested
+         *                         types) match a verification still running attaches to it and receives the
+         *                         same decision instead of calling the services again
+         */
+        public Builder coalesceInFlight(boolean coalesceInFlight) {
+            this.coalesceInFlight = coalesceInFlight;
+            return this;
+        }
+
+        /**
+         * @param checkOrdering Order of sequentially executed checks: the requested order, sanctions first,
+         *                      or one learned from each check's latency and FAIL rate. With early termination,
+         *                      the check most likely to reject cheaply then runs first
+         */
+        public Builder checkOrdering(CheckOrderingStrategy checkOrdering) {
+            this.checkOrdering = checkOrdering;
+            return this;
+        }
+
+        /**
+         * @param preValidator Local rules run before any service call; null disables pre-validation.
+         *                     Checks it decides are not sent, and a local FAIL rejects the request without
+         *                     using any remote quota
+         */
+        public Builder preValidator(PreValidator preValidator) {
+            this.preValidator = preValidator;
+            return this;
+        }
+
+        /**
+         * @param admissionController Bounds verifications running and queued at the entry points, shedding
+         *                            the rest with an OverloadException, re-screens before onboarding
+         *                            sessions; null admits every request
+         */
+        public Builder admissionController(AdmissionController admissionController) {
+            this.admissionController = admissionController;
+            return this;
+        }
+
+        /**
+         * Routes every entry point through a {@link QuotaAwareScheduler} running on a pool of its own,
+         * which holds verifications while their services are out of rate limit quota instead of letting
+         * their checks end up as MANUAL_REVIEW.
+         *
+         * @param quotaPerWindow Calls each service accepts per rate limit window, used for estimates
+         * @param windowMillis Length of the rate limit window, used for estimates
+         * @param pollMillis Interval of release passes while the services cannot tell when quota frees up
+         * @param maxHeld Maximum number of verifications held at once
+         */
+        public Builder quotaScheduling(int quotaPerWindow, long windowMillis, long pollMillis, int maxHeld) {
+            this.quotaScheduling = true;
+            this.quotaPerWindow = quotaPerWindow;
+            this.quotaWindowMillis = windowMillis;
+            this.quotaPollMillis = pollMillis;
+            this.quotaMaxHeld = maxHeld;
+            return this;
+        }
+
+        /**
+         * @param pendingQueue Journal of the verifications held by quota scheduling, closed with the
+         *                     orchestrator; null keeps them in memory only
+         */
+        public Builder pendingQueue(PendingVerificationQueue pendingQueue) {
+            this.pendingQueue = pendingQueue;
+            return this;
+        }
+
+        /**
+         * @param resultReuseMaxAgeMillis Maximum age of a previous result that {@link #reverify} may reuse;
+         *                                0 or less re-runs every check
+         */
+        public Builder resultReuseMaxAgeMillis(long resultReuseMaxAgeMillis) {
+            this.resultReuseMaxAgeMillis = resultReuseMaxAgeMillis;
+            return this;
+        }
+
+        /**
+         * @param verificationBudgetMillis End-to-end budget per verification, passed to every service call so
+         *                                 that the timeouts and retries of all checks stay within it;
+         *                                 0 or less disables it
+         */
+        public Builder verificationBudgetMillis(long verificationBudgetMillis) {
+            this.verificationBudgetMillis = verificationBudgetMillis;
+            return this;
+        }
+
+        /**
+         * @param decisionDeadlineMillis Time after which a verification is decided on the results it has;
+         *                               0 or less waits for every check. Checks still running count as
+         *                               MANUAL_REVIEW but are not cancelled; their results go to the
+         *                               {@link LateResultListener}. Sequential checks cannot be abandoned
+         *                               while running, so there the deadline only stops further checks
+         */
+        public Builder decisionDeadlineMillis(long decisionDeadlineMillis) {
+            this.decisionDeadlineMillis = decisionDeadlineMillis;
+            return this;
+        }
+
+        /**
+         * @param lateResultListener Receives results that arrive after the decision deadline; null only logs them
+         */
+        public Builder lateResultListener(LateResultListener lateResultListener) {
+            this.lateResultListener = lateResultListener;
+            return this;
+        }
+
+        public Builder batchParallelism(int batchParallelism) {
+            this.batchParallelism = batchParallelism;
+            return this;
+        }
+
+        public Builder batchServiceParallelism(VerificationType type, int parallelism) {
+            this.batchServiceParallelism.put(type, parallelism);
+            return this;
+        }
+
+        public VerificationOrchestrator build() {
+            return new VerificationOrchestrator(this);
+        }
+    }
 }
@@ -0,0 +1,292 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.CustomerDecision;
+import com.example.ekyc.model.Decision;
+import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.FutureUtils;
+import com.example.ekyc.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reactive verification pipeline: subscribes to a stream of customers and publishes one
+ * KYCDecision per customer, in completion order, paired with the customer's ID as a {@link CustomerDecision}.
+ *
+ * Demand towards the upstream publisher follows downstream capacity. Customers are requested
+ * only while all of the following allow it:
+ * - fewer than {@code maxInFlight} verifications are running
+ * - every service involved has rate limit allowance and free bulkhead slots left
+ *   ({@link VerificationOrchestrator#availableCapacity})
+ * - subscribers have room in their buffers
+ *
+ * Demand is recomputed whenever a verification completes. When nothing is running and no
+ * capacity is left (e.g. a rate limit window is exhausted), it is re-checked every
+ * {@code capacityPollMillis}, so producers slow down instead of their requests failing with
+ * RateLimitException. Capacity is a snapshot, so other users of the same services can still
+ * cause the occasional rejection, which ends up as MANUAL_REVIEW like any service error.
+ *
+ * A verification that fails outright (e.g. a ValidationException) is published as a
+ * MANUAL_REVIEW decision, so one bad event does not end the stream. Completion or an error
+ * from upstream is passed on once the verifications in flight have been published.
+ */
+public class VerificationProcessor extends SubmissionPublisher<CustomerDecision>
+        implements Flow.Processor<Customer, CustomerDecision> {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationProcessor.class);
+
+    private final VerificationOrchestrator orchestrator;
+    private final List<VerificationType> verificationTypes;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final long capacityPollMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Flow.Subscription upstream;
+    private int requested;
+    private int inFlight;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    private boolean pollScheduled;
+
+    public VerificationProcessor(VerificationOrchestrator orchestrator, List<VerificationType> verificationTypes,
+                                 Executor executor, ServiceConfig config) {
+        this(orchestrator, verificationTypes, executor, config.getStreamMaxInFlight(),
+                config.getStreamCapacityPollMs());
+    }
+
+    /**
+     * @param orchestrator The orchestrator that verifies each customer
+     * @param verificationTypes The verification types to perform for each customer
+     * @param executor The executor for verifications and for delivery to subscribers
+     * @param maxInFlight Maximum number of customers verified at once
+     * @param capacityPollMillis Interval at which exhausted capacity is re-checked while idle
+     */
+    public VerificationProcessor(VerificationOrchestrator orchestrator, List<VerificationType> verificationTypes,
+                                 Executor executor, int maxInFlight, long capacityPollMillis) {
+        super(executor, Flow.defaultBufferSize());
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, got " + maxInFlight);
+        }
+        this.orchestrator = orchestrator;
+        this.verificationTypes = List.copyOf(verificationTypes);
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.capacityPollMillis = capacityPollMillis;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super CustomerDecision> subscriber) {
+        super.subscribe(subscriber);
+        requestMore();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        lock.lock();
+        try {
+            if (upstream != null) {
+                subscription.cancel(); // Only one upstream publisher is supported
+                return;
+            }
+            upstream = subscription;
+        } finally {
+            lock.unlock();
+        }
+        requestMore();
+    }
+
+    @Override
+    public void onNext(Customer customer) {
+        CompletableFuture<KYCDecision> verification;
+        try {
+            verification = orchestrator.processVerificationAsync(customer, verificationTypes, executor);
+        } catch (RuntimeException e) {
+            verification = CompletableFuture.failedFuture(e);
+        }
+
+        // Counted only once the calls have been dispatched and taken their share of the capacity,
+        // so a concurrent demand check cannot count the same capacity twice
+        lock.lock();
+        try {
+            requested--;
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        verification.whenComplete((decision, error) -> publish(customer, decision, error));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamFinished(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamFinished(null);
+    }
+
+    /**
+     * Closes the processor and cancels the upstream subscription.
+     */
+    @Override
+    public void close() {
+        cancelUpstream();
+        super.close();
+    }
+
+    @Override
+    public void closeExceptionally(Throwable error) {
+        cancelUpstream();
+        super.closeExceptionally(error);
+    }
+
+    /**
+     * @return The number of customers currently being verified
+     */
+    public int getInFlightCount() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publish(Customer customer, KYCDecision decision, Throwable error) {
+        KYCDecision published = error == null ? decision : errorDecision(customer, FutureUtils.unwrap(error));
+        try {
+            submit(new CustomerDecision(customer.getCustomerId(), published));
+        } catch (IllegalStateException e) {
+            logger.debug("Processor closed, dropping decision {}", published.getCorrelationId());
+        }
+
+        boolean finished;
+        lock.lock();
+        try {
+            inFlight--;
+            finished = upstreamDone && inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+        if (finished) {
+            finish();
+        } else {
+            requestMore();
+        }
+    }
+
+    private KYCDecision errorDecision(Customer customer, Throwable error) {
+        String correlationId = CorrelationIdGenerator.generate();
+        logger.error("Streaming verification failed for customer {} (correlation ID {}): {}",
+                customer.getCustomerId(), correlationId, error.getMessage());
+        return KYCDecision.builder()
+                .decision(Decision.MANUAL_REVIEW)
+                .correlationId(correlationId)
+                .build();
+    }
+
+    /**
+     * Requests as many customers as the current capacity allows, or schedules a re-check if
+     * nothing is running that would trigger one.
+     */
+    private void requestMore() {
+        int serviceCapacity = orchestrator.availableCapacity(verificationTypes);
+        int room = subscriberRoom();
+        Flow.Subscription subscription;
+        int demand;
+        boolean poll = false;
+        lock.lock();
+        try {
+            subscription = upstream;
+            if (subscription == null || upstreamDone) {
+                return;
+            }
+            // Decisions still in flight will need buffer room too
+            demand = Math.min(Math.min(maxInFlight, room) - inFlight, serviceCapacity) - requested;
+            if (demand > 0) {
+                requested += demand;
+            } else if (inFlight == 0 && !pollScheduled) {
+                pollScheduled = poll = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (demand > 0) {
+            subscription.request(demand);
+        } else if (poll) {
+            HashedWheelTimer.shared().newTimeout(this::pollCapacity, capacityPollMillis, TimeUnit.MILLISECONDS,
+                    executor);
+        }
+    }
+
+    private void pollCapacity() {
+        lock.lock();
+        try {
+            pollScheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        requestMore();
+    }
+
+    /**
+     * Gets the number of decisions every subscriber can still buffer; none until someone subscribes.
+     */
+    private int subscriberRoom() {
+        if (!hasSubscribers()) {
+            return 0;
+        }
+        return Math.max(0, getMaxBufferCapacity() - estimateMaximumLag());
+    }
+
+    private void upstreamFinished(Throwable error) {
+        boolean finished;
+        lock.lock();
+        try {
+            upstreamDone = true;
+            upstreamError = error;
+            finished = inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+        if (finished) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        if (upstreamError != null) {
+            logger.warn("Customer stream failed: {}", upstreamError.getMessage());
+            super.closeExceptionally(upstreamError);
+        } else {
+            super.close();
+        }
+    }
+
+    private void cancelUpstream() {
+        Flow.Subscription subscription;
+        lock.lock();
+        try {
+            subscription = upstream;
+            upstreamDone = true;
+        } finally {
+            lock.unlock();
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+}
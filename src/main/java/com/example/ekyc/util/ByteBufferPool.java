@@ -0,0 +1,99 @@
+package com.example.ekyc.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of equally sized direct ByteBuffers, so that network I/O does not allocate (and later free)
+ * a native buffer per call.
+ *
+ * Up to {@code maxPooled} released buffers are kept for reuse; beyond that they are left to the garbage
+ * collector. Buffers not taken from this pool, such as a larger heap buffer allocated for an oversized
+ * message, may be released too and are simply dropped.
+ */
+public final class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<ByteBuffer> free = new ArrayDeque<>();
+    private long allocated;
+
+    /**
+     * @param bufferSize Capacity of each buffer in bytes
+     * @param maxPooled Maximum number of released buffers kept for reuse
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < 1 || maxPooled < 0) {
+            throw new IllegalArgumentException("bufferSize must be at least 1 and maxPooled at least 0");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return A cleared buffer of {@link #getBufferSize()} bytes, reused if one is free
+     */
+    public ByteBuffer acquire() {
+        lock.lock();
+        try {
+            ByteBuffer buffer = free.pollFirst();
+            if (buffer != null) {
+                return buffer;
+            }
+            allocated++;
+        } finally {
+            lock.unlock();
+        }
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns a buffer for reuse. The caller must not touch it afterwards.
+     * @param buffer A buffer from {@link #acquire()}; other buffers are ignored
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        buffer.clear();
+        lock.lock();
+        try {
+            if (free.size() < maxPooled) {
+                free.addFirst(buffer); // Most recently used first, while it is still in cache
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return The number of buffers allocated because none was free
+     */
+    public long getAllocatedCount() {
+        lock.lock();
+        try {
+            return allocated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of buffers free for reuse
+     */
+    public int getPooledCount() {
+        lock.lock();
+        try {
+            return free.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.example.ekyc.util;
 
 import org.slf4j.MDC;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 /**
  * Utility class for generating and managing correlation IDs for request tracing.
@@ -45,4 +48,53 @@ public final class CorrelationIdGenerator {
     public static void clear() {
         MDC.remove(CORRELATION_ID_KEY);
     }
+
+    /**
+     * Wraps a task so that it runs with the caller's MDC context (including the correlation ID)
+     * on whichever thread executes it. The executing thread's own context is restored afterwards,
+     * so pooled worker threads never leak correlation IDs between requests.
+     * @param task The task to wrap
+     * @param <T> The task result type
+     * @return A task carrying the current MDC context
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                return task.call();
+            } finally {
+                setContext(previous);
+            }
+        };
+    }
+
+    /**
+     * Binds an executor to the caller's current MDC context.
+     * Every task submitted through the returned executor - including completion stages that are
+     * triggered later from unrelated threads - runs with the context captured here.
+     * @param executor The executor to bind
+     * @return An executor that runs all tasks with the current MDC context
+     */
+    public static Executor withCurrentContext(Executor executor) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return task -> executor.execute(() -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                task.run();
+            } finally {
+                setContext(previous);
+            }
+        });
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.ekyc.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a verification must complete.
+ * Created once per request by the orchestrator and passed down through the service clients
+ * and HTTP clients, so every attempt's timeout is clipped to the budget that is left.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE, true);
+
+    private final long deadlineNanos;
+    private final boolean unbounded;
+
+    private Deadline(long deadlineNanos, boolean unbounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.unbounded = unbounded;
+    }
+
+    /**
+     * Creates a deadline the given number of milliseconds from now.
+     * @param budgetMillis The time budget in milliseconds
+     * @return The deadline
+     */
+    public static Deadline after(long budgetMillis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis), false);
+    }
+
+    /**
+     * @return A deadline that never expires
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isUnbounded() {
+        return unbounded;
+    }
+
+    /**
+     * @return The remaining budget in milliseconds, 0 once expired, Long.MAX_VALUE if unbounded
+     */
+    public long remainingMillis() {
+        if (unbounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return !unbounded && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Clips a per-call timeout to the remaining budget.
+     * HTTP clients take timeouts in whole seconds, so the remaining budget is rounded down: a call never
+     * outlives the deadline. With less than a second left no call fits, and callers treat the 0 returned
+     * as an expired deadline.
+     *
+     * @param timeoutSeconds The configured timeout for the call
+     * @return The smaller of the timeout and the remaining budget, or 0 if less than a second is left
+     */
+    public int clipTimeoutSeconds(int timeoutSeconds) {
+        if (unbounded) {
+            return timeoutSeconds;
+        }
+        long remainingSeconds = TimeUnit.NANOSECONDS.toSeconds(Math.max(0, deadlineNanos - System.nanoTime()));
+        return (int) Math.min(timeoutSeconds, remainingSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return unbounded ? "Deadline{none}" : "Deadline{remainingMillis=" + remainingMillis() + '}';
+    }
+}
@@ -0,0 +1,635 @@
+package com.example.ekyc.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only queue of byte records persisted in a directory of segment files.
+ *
+ * Each record gets the next offset, counting from 0 over the life of the queue, and is stored as its
+ * length, a CRC32 of its payload, and the payload. Appends are buffered and made durable in groups:
+ * a background thread writes and fsyncs them every {@code syncIntervalMillis}, or as soon as
+ * {@code syncBatchSize} records are waiting, so a single fsync covers many records.
+ * {@link #whenDurable(long)} tells a caller when its record has reached the disk.
+ *
+ * Consumers {@link #poll(int)} records in order and {@link #acknowledge(long)} an offset once every
+ * record up to it is done. The acknowledged offset is persisted with the next sync, and segments holding
+ * only acknowledged records are deleted, whether or not they were polled. When the queue is opened again, delivery resumes after the
+ * last persisted acknowledgement, so records are delivered at least once. A record torn by a crash
+ * mid-write fails its length or CRC check and is cut off the end of the last segment.
+ */
+public final class DurableQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurableQueue.class);
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ACK_FILE = "ack.offset";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int syncBatchSize;
+    private final ScheduledExecutorService syncer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+    private final TreeMap<Long, CompletableFuture<Void>> durableWaiters = new TreeMap<>();
+    private long nextOffset;
+    private volatile long syncedOffset;
+    private long ackedOffset;
+    private long persistedAckOffset;
+    private int unsynced;
+    private boolean syncRequested;
+    private boolean closed;
+    private Segment readSegment;
+    private long readPosition;
+    private long readOffset;
+
+    /**
+     * A record read from the queue.
+     */
+    public static final class Record {
+        private final long offset;
+        private final byte[] payload;
+
+        Record(long offset, byte[] payload) {
+            this.offset = offset;
+            this.payload = payload;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+
+    private DurableQueue(Path directory, long segmentBytes, long syncIntervalMillis, int syncBatchSize) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncBatchSize = syncBatchSize;
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "durable-queue-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the queue in a directory, creating it if needed and recovering the records left by a
+     * previous run.
+     *
+     * @param directory The directory holding the segment files
+     * @param segmentBytes Size after which a new segment file is started
+     * @param syncIntervalMillis Longest time an appended record waits to be fsynced
+     * @param syncBatchSize Number of waiting records that triggers an fsync before the interval is up
+     * @return The open queue, positioned after the last acknowledged record
+     * @throws IOException if the directory cannot be read or a segment other than the last is corrupt
+     */
+    public static DurableQueue open(Path directory, long segmentBytes, long syncIntervalMillis,
+                                    int syncBatchSize) throws IOException {
+        if (segmentBytes < 1 || syncIntervalMillis < 1 || syncBatchSize < 1) {
+            throw new IllegalArgumentException("A durable queue needs a segment size, sync interval"
+                    + " and sync batch size of at least 1");
+        }
+        Files.createDirectories(directory);
+        DurableQueue queue = new DurableQueue(directory, segmentBytes, syncIntervalMillis, syncBatchSize);
+        try {
+            queue.recover();
+        } catch (IOException | RuntimeException e) {
+            queue.syncer.shutdownNow();
+            queue.closeSegments();
+            throw e;
+        }
+        return queue;
+    }
+
+    /**
+     * Appends a record. It is readable at once and made durable with the next group sync.
+     *
+     * @param payload The record's content
+     * @return The record's offset
+     * @throws IllegalStateException if the queue is closed
+     * @throws UncheckedIOException if the record cannot be written
+     */
+    public long append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        boolean requestSync;
+        long offset;
+        lock.lock();
+        try {
+            ensureOpen();
+            write(payload, (int) crc.getValue());
+            offset = nextOffset++;
+            requestSync = ++unsynced >= syncBatchSize && !syncRequested;
+            syncRequested |= requestSync;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to durable queue " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+        if (requestSync) {
+            syncer.execute(this::syncQuietly);
+        }
+        return offset;
+    }
+
+    /**
+     * @param offset The offset of an appended record
+     * @return A future completing once the record has been fsynced
+     */
+    public CompletableFuture<Void> whenDurable(long offset) {
+        lock.lock();
+        try {
+            if (offset < syncedOffset) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return durableWaiters.computeIfAbsent(offset, k -> new CompletableFuture<>());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes and fsyncs every appended record, and persists the acknowledged offset, now.
+     * @throws UncheckedIOException if the sync fails
+     */
+    public void sync() {
+        syncLock.lock();
+        try {
+            syncNow();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync durable queue " + directory, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the next records not yet delivered since the queue was opened.
+     *
+     * @param maxRecords Maximum number of records to return
+     * @return The records in offset order; empty if every appended record has been delivered
+     */
+    public List<Record> poll(int maxRecords) {
+        List<Record> records = new ArrayList<>();
+        lock.lock();
+        try {
+            ensureOpen();
+            if (readSegment == current()) {
+                flushBuffer();
+            }
+            while (records.size() < maxRecords && readOffset < nextOffset) {
+                if (readPosition >= readSegment.size) {
+                    readSegment = segments.get(segments.indexOf(readSegment) + 1);
+                    readPosition = 0;
+                    flushBuffer();
+                    continue;
+                }
+                records.add(readRecord());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read durable queue " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+        return records;
+    }
+
+    /**
+     * Marks every record up to and including an offset as done. The acknowledgement is persisted with the
+     * next sync; until then, a restart delivers the records again.
+     *
+     * @param offset The offset of the last record that is done
+     */
+    public void acknowledge(long offset) {
+        lock.lock();
+        try {
+            ackedOffset = Math.max(ackedOffset, Math.min(offset + 1, nextOffset));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The offset the next appended record gets
+     */
+    public long getNextOffset() {
+        lock.lock();
+        try {
+            return nextOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The offset of the first record not yet acknowledged
+     */
+    public long getAckedOffset() {
+        lock.lock();
+        try {
+            return ackedOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Syncs the queue one last time and closes its files.
+     */
+    @Override
+    public void close() {
+        syncer.shutdown();
+        syncLock.lock();
+        try {
+            syncNow();
+            lock.lock();
+            try {
+                closed = true;
+                closeSegments();
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close durable queue " + directory, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (UncheckedIOException e) {
+            logger.error("Durable queue sync failed for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * One group commit: write the buffered records, fsync them, then persist the acknowledgement.
+     * Callers hold the sync lock.
+     */
+    private void syncNow() throws IOException {
+        FileChannel channel;
+        long target;
+        long ackToPersist;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            flushBuffer();
+            channel = current().channel;
+            target = nextOffset;
+            ackToPersist = ackedOffset;
+            unsynced = 0;
+            syncRequested = false;
+        } finally {
+            lock.unlock();
+        }
+        // Earlier segments were fsynced when the queue moved on from them
+        channel.force(false);
+        if (ackToPersist != persistedAckOffset) {
+            writeAckFile(ackToPersist);
+        }
+        completeDurable(target, ackToPersist);
+    }
+
+    private void completeDurable(long target, long persistedAck) throws IOException {
+        List<CompletableFuture<Void>> durable;
+        lock.lock();
+        try {
+            syncedOffset = Math.max(syncedOffset, target);
+            persistedAckOffset = persistedAck;
+            Map<Long, CompletableFuture<Void>> synced = durableWaiters.headMap(target);
+            durable = new ArrayList<>(synced.values());
+            synced.clear();
+            deleteAcknowledgedSegments();
+        } finally {
+            lock.unlock();
+        }
+        durable.forEach(waiter -> waiter.complete(null));
+    }
+
+    private void write(byte[] payload, int crc) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        Segment segment = current();
+        if (segment.size > 0 && segment.size + recordBytes > segmentBytes) {
+            segment = roll();
+        }
+        if (writeBuffer.remaining() < recordBytes) {
+            flushBuffer();
+        }
+        if (recordBytes > writeBuffer.capacity()) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(payload.length).putInt(crc).flip();
+            writeFully(segment.channel, header);
+            writeFully(segment.channel, ByteBuffer.wrap(payload));
+        } else {
+            writeBuffer.putInt(payload.length).putInt(crc).put(payload);
+        }
+        segment.size += recordBytes;
+    }
+
+    /**
+     * Starts a new segment once the current one is full; the full one is fsynced first.
+     */
+    private Segment roll() throws IOException {
+        flushBuffer();
+        current().channel.force(false);
+        Segment segment = Segment.create(directory, nextOffset);
+        segments.add(segment);
+        logger.debug("Durable queue {} started segment at offset {}", directory, nextOffset);
+        return segment;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        writeFully(current().channel, writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private Record readRecord() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(readSegment.channel, header, readPosition);
+        header.flip();
+        int length = header.getInt();
+        header.getInt(); // CRC, verified when the segment was recovered or as it was written
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(readSegment.channel, payload, readPosition + HEADER_BYTES);
+        readPosition += HEADER_BYTES + length;
+        return new Record(readOffset++, payload.array());
+    }
+
+    /**
+     * Deletes the segments whose records are all acknowledged. A reader still in such a segment moves on to
+     * the next one, as acknowledged records need no delivery: a queue that is only appended to and
+     * acknowledged, without polling, shrinks as well.
+     */
+    private void deleteAcknowledgedSegments() throws IOException {
+        while (segments.size() > 1 && segments.get(1).baseOffset <= persistedAckOffset) {
+            if (readSegment == segments.get(0)) {
+                readSegment = segments.get(1);
+                readPosition = 0;
+                readOffset = readSegment.baseOffset;
+            }
+            Segment segment = segments.remove(0);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+            logger.debug("Durable queue {} deleted acknowledged segment at offset {}", directory, segment.baseOffset);
+        }
+    }
+
+    private void writeAckFile(long offset) throws IOException {
+        Path temp = directory.resolve(ACK_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.allocate(Long.BYTES).putLong(offset).flip());
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(ACK_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    /**
+     * Fsyncs a directory, so that a file just created or renamed in it survives a crash. Platforms that
+     * cannot open a directory as a channel (Windows) persist the entry with the file itself.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException | UnsupportedOperationException e) {
+            logger.debug("Directory {} cannot be fsynced on this platform: {}", directory, e.getMessage());
+        }
+    }
+
+    private long readAckFile() throws IOException {
+        Path ackFile = directory.resolve(ACK_FILE);
+        if (!Files.exists(ackFile)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(ackFile))) {
+            return in.readLong();
+        }
+    }
+
+    /**
+     * Loads the segments left by a previous run, cuts off a torn last record, and positions the reader
+     * after the last acknowledged record.
+     */
+    private void recover() throws IOException {
+        List<Path> paths = segmentPaths();
+        for (int i = 0; i < paths.size(); i++) {
+            Segment segment = Segment.open(paths.get(i));
+            segments.add(segment);
+            nextOffset = segment.baseOffset + recoverRecords(segment, i == paths.size() - 1);
+        }
+        long persisted = readAckFile();
+        if (segments.isEmpty()) {
+            nextOffset = persisted;
+            segments.add(Segment.create(directory, nextOffset));
+        }
+        ackedOffset = persistedAckOffset = Math.min(Math.max(persisted, segments.get(0).baseOffset), nextOffset);
+        syncedOffset = nextOffset;
+        positionReader(ackedOffset);
+        logger.info("Opened durable queue {}: {} unacknowledged records in {} segments",
+                directory, nextOffset - ackedOffset, segments.size());
+    }
+
+    private List<Path> segmentPaths() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        // Zero-padded base offsets sort in offset order
+        paths.sort(null);
+        return paths;
+    }
+
+    /**
+     * Checks every record of a segment and returns how many are intact.
+     */
+    private long recoverRecords(Segment segment, boolean last) throws IOException {
+        long records = 0;
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(segment.path), WRITE_BUFFER_BYTES))) {
+            while (position < segment.size) {
+                long recordBytes = intactRecordBytes(in, segment.size - position);
+                if (recordBytes < 0) {
+                    break;
+                }
+                position += recordBytes;
+                records++;
+            }
+        }
+        if (position < segment.size) {
+            if (!last) {
+                throw new IOException("Corrupt record at byte " + position + " of " + segment.path);
+            }
+            logger.warn("Cutting {} bytes of a torn record off the end of {}", segment.size - position, segment.path);
+            segment.channel.truncate(position);
+            segment.size = position;
+        }
+        segment.channel.position(segment.size);
+        return records;
+    }
+
+    /**
+     * @return The size of the next record, or -1 if it is incomplete or fails its CRC check
+     */
+    private static long intactRecordBytes(DataInputStream in, long remaining) throws IOException {
+        if (remaining < HEADER_BYTES) {
+            return -1;
+        }
+        int length = in.readInt();
+        int expectedCrc = in.readInt();
+        if (length < 0 || length > remaining - HEADER_BYTES) {
+            return -1;
+        }
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException e) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == expectedCrc ? HEADER_BYTES + length : -1;
+    }
+
+    private void positionReader(long offset) throws IOException {
+        int index = segments.size() - 1;
+        while (index > 0 && segments.get(index).baseOffset > offset) {
+            index--;
+        }
+        readSegment = segments.get(index);
+        readPosition = 0;
+        readOffset = readSegment.baseOffset;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (readOffset < offset) {
+            header.clear();
+            readFully(readSegment.channel, header, readPosition);
+            readPosition += HEADER_BYTES + header.flip().getInt();
+            readOffset++;
+        }
+    }
+
+    private Segment current() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Durable queue " + directory + " is closed");
+        }
+    }
+
+    private void closeSegments() {
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of durable queue segment");
+            }
+        }
+    }
+
+    /**
+     * One segment file: the records from {@code baseOffset} up to the next segment's base offset.
+     */
+    private static final class Segment {
+        private final long baseOffset;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+
+        private Segment(long baseOffset, Path path, FileChannel channel, long size) {
+            this.baseOffset = baseOffset;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment create(Path directory, long baseOffset) throws IOException {
+            Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseOffset, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                syncDirectory(directory);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return new Segment(baseOffset, path, channel, 0);
+        }
+
+        static Segment open(Path path) throws IOException {
+            String name = path.getFileName().toString();
+            long baseOffset = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(baseOffset, path, channel, channel.size());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.ekyc.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used to run verifications.
+ *
+ * On JDK 21+ a virtual-thread-per-task executor can be requested; it is looked up reflectively
+ * because the project still targets Java 17. Where virtual threads are unavailable the factory
+ * falls back to a bounded platform thread pool.
+ *
+ * Code running on these threads keeps the MDC correlation ID in a plain ThreadLocal (see
+ * {@link CorrelationIdGenerator}), which virtual threads support without pinning their carrier.
+ */
+public final class ExecutorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorFactory.class);
+
+    private static final int QUEUE_CAPACITY_PER_THREAD = 16;
+
+    private ExecutorFactory() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Creates an executor for verification work.
+     *
+     * @param preferVirtualThreads Whether to run each task on its own virtual thread when supported
+     * @param platformThreads Pool size used when virtual threads are not requested or unavailable
+     * @param threadNamePrefix Prefix for the names of the created threads
+     * @return A new executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService newVerificationExecutor(boolean preferVirtualThreads, int platformThreads,
+                                                          String threadNamePrefix) {
+        ExecutorService virtualExecutor = preferredVirtualThreadExecutor(preferVirtualThreads, platformThreads,
+                threadNamePrefix);
+        if (virtualExecutor != null) {
+            return virtualExecutor;
+        }
+        return newBoundedExecutor(platformThreads, threadNamePrefix);
+    }
+
+    /**
+     * Creates an executor for tasks fanned out by a caller that waits for them against a deadline.
+     * Like {@link #newVerificationExecutor}, except that the platform thread pool rejects tasks with a
+     * RejectedExecutionException once its queue is full instead of running them on the submitting
+     * thread, which would then run them one after another and miss its deadline.
+     *
+     * @param preferVirtualThreads Whether to run each task on its own virtual thread when supported
+     * @param platformThreads Pool size used when virtual threads are not requested or unavailable
+     * @param threadNamePrefix Prefix for the names of the created threads
+     * @return A new executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService newFanOutExecutor(boolean preferVirtualThreads, int platformThreads,
+                                                    String threadNamePrefix) {
+        ExecutorService virtualExecutor = preferredVirtualThreadExecutor(preferVirtualThreads, platformThreads,
+                threadNamePrefix);
+        if (virtualExecutor != null) {
+            return virtualExecutor;
+        }
+        return new ThreadPoolExecutor(platformThreads, platformThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(platformThreads * QUEUE_CAPACITY_PER_THREAD),
+                daemonThreadFactory(threadNamePrefix), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Creates a fixed-size platform thread pool with a bounded queue.
+     * When the queue is full the submitting thread runs the task itself,
+     * so a saturated pool slows callers down instead of growing without limit.
+     *
+     * @param threads Number of worker threads
+     * @param threadNamePrefix Prefix for the names of the created threads
+     * @return A new executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService newBoundedExecutor(int threads, String threadNamePrefix) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD),
+                daemonThreadFactory(threadNamePrefix), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Creates an executor for blocking tasks that must never run on the submitting thread, such as
+     * those handed over by the {@link HashedWheelTimer}: a virtual thread per task where supported,
+     * otherwise a pool of daemon threads that grows with demand and shrinks when idle.
+     *
+     * @param threadNamePrefix Prefix for the names of the created threads
+     * @return A new executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService newElasticExecutor(String threadNamePrefix) {
+        ExecutorService virtualExecutor = newVirtualThreadExecutor(threadNamePrefix);
+        if (virtualExecutor != null) {
+            return virtualExecutor;
+        }
+        return Executors.newCachedThreadPool(daemonThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     * @return true on JDK 21 and later
+     */
+    public static boolean isVirtualThreadSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String threadNamePrefix) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ExecutorService preferredVirtualThreadExecutor(boolean preferVirtualThreads, int platformThreads,
+                                                                  String threadNamePrefix) {
+        if (!preferVirtualThreads) {
+            return null;
+        }
+        ExecutorService virtualExecutor = newVirtualThreadExecutor(threadNamePrefix);
+        if (virtualExecutor != null) {
+            logger.info("Using virtual thread per task executor ({})", threadNamePrefix);
+            return virtualExecutor;
+        }
+        logger.warn("Virtual threads require JDK 21+ (running {}). Falling back to {} platform threads",
+                Runtime.version(), platformThreads);
+        return null;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor(String threadNamePrefix) {
+        if (!isVirtualThreadSupported()) {
+            return null;
+        }
+        try {
+            // Equivalent to: Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory())
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Could not create virtual thread executor: {}", e.getMessage());
+            return null;
+        }
+    }
+}
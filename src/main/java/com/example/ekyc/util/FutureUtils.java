@@ -0,0 +1,121 @@
+package com.example.ekyc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for composing CompletableFutures.
+ */
+public final class FutureUtils {
+
+    /**
+     * Executor that runs tasks on the calling thread.
+     * Used by the synchronous wrappers around the asynchronous service client methods.
+     */
+    public static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private FutureUtils() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Strips the CompletionException/ExecutionException wrappers added by future composition.
+     * @param throwable The throwable observed by a completion stage
+     * @return The underlying cause
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Combines futures into one future of their results, preserving the input order.
+     * @param futures The futures to combine
+     * @param <T> The result type
+     * @return A future completing with all results once every input future has completed
+     */
+    public static <T> CompletableFuture<List<T>> allAsList(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<T> results = new ArrayList<>(futures.size());
+                    futures.forEach(future -> results.add(future.join()));
+                    return results;
+                });
+    }
+
+    /**
+     * Cancels {@code upstream} when {@code derived} is cancelled.
+     * CompletableFuture does not propagate cancellation back through dependent stages on its own,
+     * so without this a cancelled check would leave its HTTP call and retries running.
+     *
+     * @param derived The future handed to callers
+     * @param upstream The future it was derived from
+     * @param <T> The result type
+     * @return {@code derived}, for chaining
+     */
+    public static <T> CompletableFuture<T> propagateCancellation(CompletableFuture<T> derived,
+                                                                 CompletableFuture<?> upstream) {
+        derived.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                upstream.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    /**
+     * Completes a future with a value once a timeout passes, like {@link CompletableFuture#completeOnTimeout},
+     * but on the {@link HashedWheelTimer#shared() shared timer wheel}: the timer is cancelled as soon as the
+     * future completes, so a call answered in time leaves nothing scheduled.
+     *
+     * @param future The future to complete
+     * @param value The value to complete it with on timeout
+     * @param timeout The timeout
+     * @param unit Unit of the timeout
+     * @param executor Executor completing the future on timeout, and so running its callbacks
+     * @param <T> The result type
+     * @return {@code future}, for chaining
+     */
+    public static <T> CompletableFuture<T> completeOnTimeout(CompletableFuture<T> future, T value, long timeout,
+                                                             TimeUnit unit, Executor executor) {
+        if (future.isDone()) {
+            return future;
+        }
+        HashedWheelTimer.Timeout timer = HashedWheelTimer.shared()
+                .newTimeout(() -> future.complete(value), timeout, unit, executor);
+        future.whenComplete((result, error) -> timer.cancel());
+        return future;
+    }
+
+    /**
+     * Waits for a future like {@link CompletableFuture#join()}, but responds to interruption:
+     * the future is cancelled, the interrupt flag is restored and the fallback value is returned.
+     *
+     * @param future The future to wait for
+     * @param onInterrupt Supplies the value to return when the waiting thread is interrupted
+     * @param <T> The result type
+     * @return The future's result, or the fallback value if interrupted
+     */
+    public static <T> T joinInterruptibly(CompletableFuture<T> future, Supplier<T> onInterrupt) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return onInterrupt.get();
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+}
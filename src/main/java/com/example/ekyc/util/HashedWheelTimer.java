@@ -0,0 +1,303 @@
+package com.example.ekyc.util;
+
+import com.example.ekyc.config.ServiceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel for the many short timers of service calls: per-request timeouts, retry backoffs,
+ * hedge delays and queue time budgets.
+ *
+ * Time is cut into ticks, and the wheel holds one bucket of timers per tick, wrapping around every
+ * {@code wheelSize} ticks; a timer further out than one turn counts down the turns left. Scheduling a timer
+ * only appends it to a lock-free queue, and cancelling it only marks it and queues it for removal: both are
+ * O(1), whatever the number of pending timers. A single ticker thread moves new timers into their buckets,
+ * unlinks cancelled ones and expires the bucket of the current tick, so no thread waits per timer.
+ *
+ * A timer fires at the end of the tick its delay falls in: never early, and at most one tick late.
+ * Tasks given no executor run on the ticker thread and must be short, such as completing a future whose
+ * callbacks are cheap; anything longer is handed to an executor.
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final String THREAD_NAME = "ekyc-timer";
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final Thread ticker;
+    private volatile boolean stopped;
+
+    /**
+     * @param tickDuration Length of a tick, the precision of the timers
+     * @param unit Unit of the tick duration
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration < 1 || wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Tick duration must be positive and wheel size 1 to 2^30");
+        }
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        this.wheel = new Bucket[Integer.highestOneBit(wheelSize - 1 << 1 | 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::run, THREAD_NAME);
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Gets the timer shared by the HTTP clients and the orchestrator, created on first use with the
+     * tick duration and wheel size of the {@link ServiceConfig}.
+     */
+    public static HashedWheelTimer shared() {
+        return SharedHolder.TIMER;
+    }
+
+    /**
+     * Schedules a task to run on the ticker thread once the delay has passed.
+     * @param task A short task; an exception it throws is logged
+     * @param delay The delay; zero or less fires at the end of the current tick
+     * @param unit Unit of the delay
+     * @return The handle cancelling the task
+     * @throws IllegalStateException if the timer is closed
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("Timer is closed");
+        }
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        long deadline = System.nanoTime() - startNanos + delayNanos;
+        Timeout timeout = new Timeout(this, task, deadline < 0 ? Long.MAX_VALUE : deadline);
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Schedules a task to be handed to an executor once the delay has passed.
+     * @param task The task
+     * @param delay The delay; zero or less fires at the end of the current tick
+     * @param unit Unit of the delay
+     * @param executor Executor running the task
+     * @return The handle cancelling the task
+     * @throws IllegalStateException if the timer is closed
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit, Executor executor) {
+        return newTimeout(() -> executor.execute(task), delay, unit);
+    }
+
+    /**
+     * @return The number of timers whose task has neither run nor been cancelled yet
+     */
+    public long pendingTimeouts() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the ticker thread. Timers still pending never fire.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!stopped) {
+            long now = waitForTickEnd(tick);
+            if (stopped) {
+                break;
+            }
+            removeCancelled();
+            transferAdded(tick);
+            wheel[(int) (tick & mask)].expire(now);
+            tick++;
+        }
+        logger.debug("Timer stopped with {} timers pending", pending.get());
+    }
+
+    /**
+     * Waits until the end of the given tick.
+     * @return The time elapsed since the timer started, in nanoseconds
+     */
+    private long waitForTickEnd(long tick) {
+        long tickEnd = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startNanos;
+            if (now >= tickEnd || stopped) {
+                return now;
+            }
+            LockSupport.parkNanos(this, tickEnd - now);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            // A timeout cancelled before its transfer is skipped there, and counted here
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Moves newly scheduled timers into their buckets. Timers whose tick has already passed go into the
+     * current bucket, to expire right away.
+     */
+    private void transferAdded(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = added.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (expiryTick - tick) / wheel.length);
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expired(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (RejectedExecutionException e) {
+            // The executor was shut down while the timer was pending
+            logger.debug("Executor rejected an expired timer task: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Timer task failed", e);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Touched by the ticker thread only
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task unless it has fired already.
+         * @return true if this call cancelled it
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    /**
+     * Doubly linked list of the timers in one slot of the wheel, so that any of them is unlinked in O(1).
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Fires the timers due by now and counts down a turn for the others.
+         */
+        void expire(long now) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                } else if (timeout.deadline <= now) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                        expired(timeout);
+                    }
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final HashedWheelTimer TIMER = new HashedWheelTimer(
+                ServiceConfig.getInstance().getTimerTickMillis(), TimeUnit.MILLISECONDS,
+                ServiceConfig.getInstance().getTimerWheelSize());
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.ekyc.util;
+
+import com.example.ekyc.model.StageStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One stage of a staged, event-driven pipeline: a bounded queue drained by the stage's own pool
+ * of worker threads.
+ *
+ * When the queue is full, the submitting thread blocks until there is room. A slow stage therefore
+ * pushes back on the stage feeding it instead of buffering without limit. The pool can be resized
+ * while running. The stage tracks its queue depth and the smoothed time tasks wait in its queue and
+ * run in it. Tasks run with the MDC context of the thread that submitted them.
+ */
+public final class StageExecutor implements Executor, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StageExecutor.class);
+
+    /** Weight of the newest task in the smoothed service and queue wait times. */
+    private static final double SMOOTHING = 0.2;
+
+    private static final ThreadLocal<Boolean> STAGE_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor pool;
+    private final LongAdder completed = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private double serviceTimeMillis;
+    private double queueWaitMillis;
+    private boolean observed;
+
+    /**
+     * @param name The stage name, also used, in lower case, as the prefix of its thread names
+     * @param threads Number of worker threads
+     * @param queueCapacity Maximum number of tasks waiting for a worker thread
+     */
+    public StageExecutor(String name, int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Stage " + name
+                    + " needs at least one thread and a queue capacity of at least 1");
+        }
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(() -> {
+                STAGE_THREAD.set(true);
+                runnable.run();
+            }, name.toLowerCase(Locale.ROOT) + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, StageExecutor::awaitRoom);
+    }
+
+    /**
+     * Queues a task, blocking while the stage's queue is full.
+     * @throws RejectedExecutionException if the stage is shut down, or the caller is interrupted while waiting
+     */
+    @Override
+    public void execute(Runnable task) {
+        long enqueuedNanos = System.nanoTime();
+        CorrelationIdGenerator.withCurrentContext(pool).execute(() -> {
+            long startNanos = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                record(startNanos - enqueuedNanos, System.nanoTime() - startNanos);
+            }
+        });
+    }
+
+    /**
+     * Changes the number of worker threads. Surplus threads exit once their current task is done.
+     * @param threads The new number of worker threads
+     */
+    public void resize(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Stage " + name + " needs at least one thread");
+        }
+        lock.lock();
+        try {
+            // The core size may never exceed the maximum, so the order depends on the direction
+            if (threads > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(threads);
+                pool.setCorePoolSize(threads);
+            } else {
+                pool.setCorePoolSize(threads);
+                pool.setMaximumPoolSize(threads);
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Resized stage {} to {} threads", name, threads);
+    }
+
+    /**
+     * @return true if the current thread is a worker of a stage, and so may block handing work to the next
+     */
+    public static boolean isStageThread() {
+        return STAGE_THREAD.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The stage's current pool size, queue depth and smoothed timings
+     */
+    public StageStats stats() {
+        lock.lock();
+        try {
+            return new StageStats(name, pool.getCorePoolSize(), pool.getActiveCount(), pool.getQueue().size(),
+                    queueCapacity, completed.sum(), serviceTimeMillis, queueWaitMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting tasks. Tasks already queued still run.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Waits for the queued and running tasks to finish after {@link #close()}.
+     * @return true if the stage terminated within the timeout
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    private void record(long waitNanos, long serviceNanos) {
+        double waitMillis = waitNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        double runMillis = serviceNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        completed.increment();
+        lock.lock();
+        try {
+            if (!observed) {
+                queueWaitMillis = waitMillis;
+                serviceTimeMillis = runMillis;
+                observed = true;
+            } else {
+                queueWaitMillis += SMOOTHING * (waitMillis - queueWaitMillis);
+                serviceTimeMillis += SMOOTHING * (runMillis - serviceTimeMillis);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejection policy of a stage: wait for room in the queue instead of failing or running the task
+     * on the submitting thread, which belongs to another stage.
+     */
+    private static void awaitRoom(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("Stage is shut down");
+        }
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room in the stage queue", e);
+        }
+    }
+}
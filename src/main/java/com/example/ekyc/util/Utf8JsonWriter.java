@@ -0,0 +1,187 @@
+package com.example.ekyc.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes JSON as UTF-8 straight into a ByteBuffer, so a request body goes out without first being built
+ * as a map and serialized to a String.
+ *
+ * It covers what the service requests carry: flat objects of string fields. As in a map serialized by Gson,
+ * fields whose value is null are left out. When the buffer fills up, the writer carries on in a heap buffer
+ * twice the size; {@link #getBuffer()} returns the buffer holding the output. A writer is reused from one
+ * request to the next through {@link #reset(ByteBuffer)} and must not be shared between threads.
+ */
+public final class Utf8JsonWriter {
+
+    private static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private ByteBuffer buffer;
+    private boolean firstField = true;
+
+    /**
+     * Creates a writer that is given its buffer by {@link #reset(ByteBuffer)}.
+     */
+    public Utf8JsonWriter() {
+        this(ByteBuffer.allocate(0));
+    }
+
+    /**
+     * @param buffer The buffer to write into, from its position on
+     */
+    public Utf8JsonWriter(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Starts writing a new document into the given buffer.
+     * @param buffer The buffer to write into, from its position on
+     * @return This writer
+     */
+    public Utf8JsonWriter reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.firstField = true;
+        return this;
+    }
+
+    /**
+     * @return The buffer holding the output, positioned after it; a larger heap buffer if the given one filled up
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public Utf8JsonWriter beginObject() {
+        put('{');
+        firstField = true;
+        return this;
+    }
+
+    public Utf8JsonWriter endObject() {
+        put('}');
+        firstField = false;
+        return this;
+    }
+
+    /**
+     * Writes a string field, or nothing if the value is null.
+     */
+    public Utf8JsonWriter field(String name, String value) {
+        if (value == null) {
+            return this;
+        }
+        return name(name).beginString().chars(value, 0, value.length()).endString();
+    }
+
+    /**
+     * Writes a field name, to be followed by a value such as a string built with {@link #beginString()},
+     * {@link #chars(CharSequence, int, int)} and {@link #endString()}.
+     */
+    public Utf8JsonWriter name(String name) {
+        if (!firstField) {
+            put(',');
+        }
+        firstField = false;
+        beginString().chars(name, 0, name.length()).endString();
+        put(':');
+        return this;
+    }
+
+    public Utf8JsonWriter beginString() {
+        put('"');
+        return this;
+    }
+
+    public Utf8JsonWriter endString() {
+        put('"');
+        return this;
+    }
+
+    /**
+     * Appends characters to the string being written, escaped as JSON requires.
+     * An unpaired surrogate is written as '?', as {@link String#getBytes} does.
+     */
+    public Utf8JsonWriter chars(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                escape(c);
+            } else {
+                i = putChar(text, i, end);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes JSON serialized elsewhere, such as by {@link JsonUtils#toJson(Object)}, encoded as UTF-8.
+     */
+    public Utf8JsonWriter raw(String json) {
+        for (int i = 0; i < json.length(); i++) {
+            i = putChar(json, i, json.length());
+        }
+        firstField = false;
+        return this;
+    }
+
+    private void escape(char c) {
+        switch (c) {
+            case '"':
+            case '\\':
+                put('\\').put(c);
+                break;
+            case '\n':
+                put('\\').put('n');
+                break;
+            case '\r':
+                put('\\').put('r');
+                break;
+            case '\t':
+                put('\\').put('t');
+                break;
+            default:
+                put('\\').put('u').put('0').put('0').put(HEX_DIGITS[c >> 4]).put(HEX_DIGITS[c & 0xF]);
+                break;
+        }
+    }
+
+    /**
+     * Encodes the character at {@code i}, together with the next one if they form a surrogate pair.
+     * @return The index of the last character consumed
+     */
+    private int putChar(CharSequence text, int i, int end) {
+        char c = text.charAt(i);
+        if (c < 0x80) {
+            put(c);
+        } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+            putCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+        } else {
+            putCodePoint(Character.isSurrogate(c) ? '?' : c);
+        }
+        return i;
+    }
+
+    private void putCodePoint(int codePoint) {
+        if (codePoint < 0x80) {
+            put(codePoint);
+        } else if (codePoint < 0x800) {
+            put(0xC0 | codePoint >> 6).put(0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            put(0xE0 | codePoint >> 12).put(0x80 | codePoint >> 6 & 0x3F).put(0x80 | codePoint & 0x3F);
+        } else {
+            put(0xF0 | codePoint >> 18).put(0x80 | codePoint >> 12 & 0x3F)
+                    .put(0x80 | codePoint >> 6 & 0x3F).put(0x80 | codePoint & 0x3F);
+        }
+    }
+
+    private Utf8JsonWriter put(int b) {
+        if (!buffer.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(64, buffer.capacity() * 2));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        buffer.put((byte) b);
+        return this;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ekyc.util;
+
+import java.io.Reader;
+import java.nio.ByteBuffer;
+
+/**
+ * Reader decoding UTF-8 straight from a ByteBuffer, so that a streaming JSON reader can consume a response
+ * body without it first being turned into a String. Malformed input decodes to U+FFFD.
+ */
+public final class Utf8Reader extends Reader {
+
+    private static final int REPLACEMENT = 0xFFFD;
+
+    private final ByteBuffer in;
+    private char pendingLowSurrogate;
+
+    /**
+     * @param in The bytes to decode, from its position to its limit; the reader advances its position
+     */
+    public Utf8Reader(ByteBuffer in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (pendingLowSurrogate != 0) {
+            chars[offset + count++] = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+        }
+        while (count < length && in.hasRemaining()) {
+            int b = in.get() & 0xFF;
+            int codePoint = b < 0x80 ? b : decode(b);
+            if (codePoint < 0x10000) {
+                chars[offset + count++] = (char) codePoint;
+            } else {
+                chars[offset + count++] = Character.highSurrogate(codePoint);
+                if (count < length) {
+                    chars[offset + count++] = Character.lowSurrogate(codePoint);
+                } else {
+                    pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                }
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    /**
+     * Decodes a multi-byte sequence given its first byte, consuming the continuation bytes that fit it.
+     */
+    private int decode(int first) {
+        int continuations;
+        int codePoint;
+        if (first >= 0xC2 && first < 0xE0) {
+            continuations = 1;
+            codePoint = first & 0x1F;
+        } else if (first >= 0xE0 && first < 0xF0) {
+            continuations = 2;
+            codePoint = first & 0x0F;
+        } else if (first >= 0xF0 && first < 0xF5) {
+            continuations = 3;
+            codePoint = first & 0x07;
+        } else {
+            return REPLACEMENT;
+        }
+        for (int i = 0; i < continuations; i++) {
+            if (!in.hasRemaining() || (in.get(in.position()) & 0xC0) != 0x80) {
+                return REPLACEMENT;
+            }
+            codePoint = codePoint << 6 | in.get() & 0x3F;
+        }
+        boolean overlong = continuations == 2 && codePoint < 0x800 || continuations == 3 && codePoint < 0x10000;
+        boolean invalid = Character.isSurrogate((char) codePoint) && codePoint < 0x10000 || codePoint > 0x10FFFF;
+        return overlong || invalid ? REPLACEMENT : codePoint;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.ConcurrencyLimitException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AdaptiveConcurrencyHttpClient limit growth, backoff and load shedding.
+ */
+class AdaptiveConcurrencyHttpClientTest {
+
+    private static final String SANCTIONS_URL = "http://localhost:8080/api/v1/check-sanctions";
+    private static final String ADDRESS_URL = "http://localhost:8080/api/v1/verify-address";
+    private static final Object TEST_BODY = Map.of("test", "data");
+    private static final int TIMEOUT = 3;
+
+    @Test
+    @DisplayName("Limit grows while the service answers at a stable latency under load")
+    void testStableLatency_LimitGrows() {
+        AdaptiveLimit limit = new AdaptiveLimit("SanctionsScreening", 2, 1, 20);
+
+        for (int round = 0; round < 10; round++) {
+            runRound(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertTrue(limit.getLimit() > 2, "Limit should grow, was " + limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+        AdaptiveConcurrencyHttpClient client = clientWith((url, body, timeoutSeconds) -> null, limit);
+        assertEquals(Map.of("SanctionsScreening", limit.getLimit()), client.getLimits());
+    }
+
+    @Test
+    @DisplayName("Limit shrinks when latency rises well above its average")
+    void testRisingLatency_LimitShrinks() {
+        AdaptiveLimit limit = new AdaptiveLimit("SanctionsScreening", 16, 1, 16);
+        for (int round = 0; round < 3; round++) {
+            runRound(limit, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        int before = limit.getLimit();
+
+        // When: the service gets ten times slower
+        runRound(limit, TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertTrue(limit.getLimit() < before, "Limit should shrink from " + before + ", was " + limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Timeouts and 5xx responses cut the limit; 4xx responses do not")
+    void testOverloadSignals_CutLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit("SanctionsScreening", 10, 1, 20);
+        List<ServiceResponse> responses = new ArrayList<>(List.of(
+                ServiceResponse.error(400, "{}"), ServiceResponse.error(503, "{}"), ServiceResponse.timeout()));
+        AdaptiveConcurrencyHttpClient client = clientWith((url, body, timeoutSeconds) -> responses.remove(0), limit);
+
+        client.post(SANCTIONS_URL, TEST_BODY, TIMEOUT);
+        assertEquals(10, limit.getLimit());
+        client.post(SANCTIONS_URL, TEST_BODY, TIMEOUT);
+        client.post(SANCTIONS_URL, TEST_BODY, TIMEOUT);
+
+        assertEquals(8, limit.getLimit());
+        assertEquals(2, limit.getDroppedCount());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the limit are shed; unlimited URLs pass through")
+    void testAtLimit_CallsShed() throws Exception {
+        CompletableFuture<ServiceResponse> held = new CompletableFuture<>();
+        AdaptiveLimit limit = new AdaptiveLimit("SanctionsScreening", 1, 1, 1);
+        AdaptiveConcurrencyHttpClient client = new AdaptiveConcurrencyHttpClient(new HeldClient(held),
+                Map.of(SANCTIONS_URL, limit));
+
+        CompletableFuture<ServiceResponse> first = client.postAsync(SANCTIONS_URL, TEST_BODY, TIMEOUT);
+        assertEquals(0, client.availableCapacity(SANCTIONS_URL));
+        ExecutionException shed = assertThrows(ExecutionException.class,
+                () -> client.postAsync(SANCTIONS_URL, TEST_BODY, TIMEOUT).get(1, TimeUnit.SECONDS));
+        assertTrue(shed.getCause() instanceof ConcurrencyLimitException);
+        assertThrows(ConcurrencyLimitException.class, () -> client.post(SANCTIONS_URL, TEST_BODY, TIMEOUT));
+        assertFalse(client.postAsync(ADDRESS_URL, TEST_BODY, TIMEOUT).isDone());
+
+        held.complete(ServiceResponse.success(200, "{}"));
+        assertTrue(first.get(1, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, client.availableCapacity(SANCTIONS_URL));
+    }
+
+    // Helper methods
+
+    private AdaptiveConcurrencyHttpClient clientWith(HttpClient backend, AdaptiveLimit limit) {
+        return new AdaptiveConcurrencyHttpClient(backend, Map.of(SANCTIONS_URL, limit));
+    }
+
+    /**
+     * Takes every slot the limit allows, then ends each call as a success with the given latency.
+     */
+    private void runRound(AdaptiveLimit limit, long rttNanos) {
+        int calls = 0;
+        while (limit.tryAcquire()) {
+            calls++;
+        }
+        for (int i = 0; i < calls; i++) {
+            limit.onSuccess(rttNanos);
+        }
+    }
+
+    /**
+     * Asynchronous backend whose calls all wait on one response the test completes.
+     */
+    private static class HeldClient implements HttpClient, AsyncHttpClient {
+        private final CompletableFuture<ServiceResponse> response;
+
+        HeldClient(CompletableFuture<ServiceResponse> response) {
+            this.response = response;
+        }
+
+        @Override
+        public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+            return response.join();
+        }
+
+        @Override
+        public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+            return response.thenApply(r -> r);
+        }
+    }
+}
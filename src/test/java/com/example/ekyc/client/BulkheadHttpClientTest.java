@@ -0,0 +1,157 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.BulkheadFullException;
+import com.example.ekyc.util.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BulkheadHttpClient per-service isolation.
+ */
+class BulkheadHttpClientTest {
+
+    private static final String BIOMETRIC_URL = "http://localhost:8080/api/v1/face-match";
+    private static final String SANCTIONS_URL = "http://localhost:8080/api/v1/check-sanctions";
+    private static final Object TEST_BODY = Map.of("test", "data");
+    private static final int TIMEOUT = 5;
+
+    private final CountDownLatch biometricReleased = new CountDownLatch(1);
+    private final AtomicInteger biometricCalls = new AtomicInteger();
+    private Bulkhead biometricBulkhead;
+    private BulkheadHttpClient bulkheadClient;
+
+    @BeforeEach
+    void setUp() {
+        // Biometric calls hang until released, simulating a degraded face-match service
+        HttpClient delegate = (url, body, timeoutSeconds) -> {
+            if (url.equals(BIOMETRIC_URL)) {
+                biometricCalls.incrementAndGet();
+                awaitQuietly(biometricReleased);
+            }
+            return ServiceResponse.success(200, "{\"status\": \"PASS\"}");
+        };
+        biometricBulkhead = new Bulkhead("BiometricService", 1, 1);
+        bulkheadClient = new BulkheadHttpClient(delegate, Map.of(
+                BIOMETRIC_URL, biometricBulkhead,
+                SANCTIONS_URL, new Bulkhead("SanctionsScreening", 1, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        biometricReleased.countDown();
+    }
+
+    @Test
+    @DisplayName("Saturated service rejects fast while other services keep working")
+    void testSaturatedServiceFailsFast_OtherServicesUnaffected() throws Exception {
+        // Given: one biometric call in flight and one queued
+        CompletableFuture<ServiceResponse> inFlight = CompletableFuture.supplyAsync(
+                () -> bulkheadClient.post(BIOMETRIC_URL, TEST_BODY, TIMEOUT));
+        awaitCondition(() -> biometricBulkhead.getActiveCount() == 1);
+        CompletableFuture<ServiceResponse> queued = bulkheadClient.postAsync(BIOMETRIC_URL, TEST_BODY, TIMEOUT);
+        assertEquals(1, biometricBulkhead.getQueuedCount());
+
+        // When/Then: a further biometric call is rejected without waiting
+        long start = System.nanoTime();
+        BulkheadFullException e = assertThrows(BulkheadFullException.class,
+                () -> bulkheadClient.post(BIOMETRIC_URL, TEST_BODY, TIMEOUT));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertEquals("BiometricService", e.getServiceName());
+        assertFalse(e.isRetryable());
+
+        // Sanctions screening still goes through
+        assertTrue(bulkheadClient.post(SANCTIONS_URL, TEST_BODY, TIMEOUT).isSuccess());
+
+        // Releasing the slow call hands its slot to the queued one
+        biometricReleased.countDown();
+        assertTrue(inFlight.get(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(queued.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(2, biometricCalls.get());
+        assertEquals(0, biometricBulkhead.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Queued call gives up its place once the deadline passes")
+    void testQueuedCall_RejectedAtDeadline() throws Exception {
+        CompletableFuture.runAsync(() -> bulkheadClient.post(BIOMETRIC_URL, TEST_BODY, TIMEOUT));
+        awaitCondition(() -> biometricBulkhead.getActiveCount() == 1);
+
+        CompletableFuture<ServiceResponse> queued = bulkheadClient.postAsync(
+                BIOMETRIC_URL, TEST_BODY, TIMEOUT, Deadline.after(100));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BulkheadFullException);
+        assertEquals(0, biometricBulkhead.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("Cancelling a queued call frees its queue slot without leaking the permit")
+    void testCancelWhileQueued_ReleasesQueueSlot() throws Exception {
+        CompletableFuture<ServiceResponse> inFlight = CompletableFuture.supplyAsync(
+                () -> bulkheadClient.post(BIOMETRIC_URL, TEST_BODY, TIMEOUT));
+        awaitCondition(() -> biometricBulkhead.getActiveCount() == 1);
+        CompletableFuture<ServiceResponse> queued = bulkheadClient.postAsync(BIOMETRIC_URL, TEST_BODY, TIMEOUT);
+
+        queued.cancel(true);
+
+        assertEquals(0, biometricBulkhead.getQueuedCount());
+        biometricReleased.countDown();
+        assertTrue(inFlight.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, biometricCalls.get());
+        assertEquals(0, biometricBulkhead.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Calls to services without a bulkhead pass straight through")
+    void testUnknownUrl_NotLimited() {
+        ServiceResponse response = bulkheadClient.post("http://localhost:8080/api/v1/other", TEST_BODY, TIMEOUT);
+
+        assertTrue(response.isSuccess());
+        assertNull(bulkheadClient.getBulkhead("http://localhost:8080/api/v1/other"));
+    }
+
+    @Test
+    @DisplayName("Available capacity is the smaller of free bulkhead slots and remaining rate limit")
+    void testAvailableCapacity_CombinesBulkheadAndRateLimit() {
+        SimpleHttpClient rateLimited = new SimpleHttpClient(3, 60);
+        BulkheadHttpClient client = new BulkheadHttpClient(new RetryableHttpClient(rateLimited),
+                Map.of(SANCTIONS_URL, new Bulkhead("SanctionsScreening", 2, 0)));
+        assertEquals(2, client.availableCapacity(SANCTIONS_URL));
+        assertEquals(3, client.availableCapacity(BIOMETRIC_URL));
+
+        client.post(SANCTIONS_URL, TEST_BODY, TIMEOUT);
+        client.post(SANCTIONS_URL, TEST_BODY, TIMEOUT);
+
+        assertEquals(1, client.availableCapacity(SANCTIONS_URL));
+        assertEquals(3, client.availableCapacity(BIOMETRIC_URL));
+        assertEquals(Integer.MAX_VALUE, CapacityAware.availableCapacity((url, body, timeout) -> null, SANCTIONS_URL));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HedgingHttpClient hedge timing, budget and capacity limits.
+ */
+class HedgingHttpClientTest {
+
+    private static final String BIOMETRIC_URL = "http://localhost:8080/api/v1/face-match";
+    private static final Object TEST_BODY = Map.of("test", "data");
+    private static final int TIMEOUT = 8;
+    private static final int MIN_SAMPLES = 5;
+
+    private ControlledClient backend;
+
+    @BeforeEach
+    void setUp() {
+        backend = new ControlledClient();
+    }
+
+    @Test
+    @DisplayName("Unanswered call is hedged at the observed percentile; first response wins, other is cancelled")
+    void testSlowCall_HedgeWins() throws Exception {
+        HedgingHttpClient client = new HedgingHttpClient(backend, 95, 100, MIN_SAMPLES);
+        warmUp(client);
+        assertTrue(client.getHedgeDelayMillis(BIOMETRIC_URL) >= 0);
+
+        // When: the original request hangs
+        CompletableFuture<ServiceResponse> call = client.postAsync(BIOMETRIC_URL, TEST_BODY, TIMEOUT);
+        CompletableFuture<ServiceResponse> hedge = backend.awaitRequest(MIN_SAMPLES + 2);
+        hedge.complete(ServiceResponse.success(200, "{\"status\": \"PASS\"}"));
+
+        // Then
+        assertTrue(call.get(1, TimeUnit.SECONDS).isSuccess());
+        assertTrue(backend.requests.get(MIN_SAMPLES).isCancelled());
+        assertEquals(1, client.getHedgeCount());
+        assertEquals(1, client.getHedgeWinCount());
+        assertEquals(MIN_SAMPLES + 1, client.getCallCount());
+    }
+
+    @Test
+    @DisplayName("Failed original request does not fail the call while its hedge is running")
+    void testOriginalFails_HedgeAnswers() throws Exception {
+        HedgingHttpClient client = new HedgingHttpClient(backend, 95, 100, MIN_SAMPLES);
+        warmUp(client);
+
+        CompletableFuture<ServiceResponse> call = client.postAsync(BIOMETRIC_URL, TEST_BODY, TIMEOUT);
+        CompletableFuture<ServiceResponse> hedge = backend.awaitRequest(MIN_SAMPLES + 2);
+        backend.requests.get(MIN_SAMPLES).completeExceptionally(new ServiceException("Boom", "BiometricService", 503));
+        assertFalse(call.isDone());
+        hedge.complete(ServiceResponse.success(200, "{}"));
+
+        assertTrue(call.get(1, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, client.getHedgeWinCount());
+    }
+
+    @Test
+    @DisplayName("No hedge beyond the hedge budget or without spare capacity")
+    void testBudgetAndCapacity_LimitHedging() throws Exception {
+        HedgingHttpClient noBudget = new HedgingHttpClient(backend, 95, 0, MIN_SAMPLES);
+        warmUp(noBudget);
+        assertNoHedge(noBudget);
+
+        backend = new ControlledClient();
+        backend.capacity = 1;
+        HedgingHttpClient noCapacity = new HedgingHttpClient(backend, 95, 100, MIN_SAMPLES);
+        warmUp(noCapacity);
+        assertNoHedge(noCapacity);
+        assertEquals(1, noCapacity.availableCapacity(BIOMETRIC_URL));
+    }
+
+    @Test
+    @DisplayName("Nothing is hedged until enough latencies have been observed")
+    void testTooFewSamples_NoHedge() throws Exception {
+        HedgingHttpClient client = new HedgingHttpClient(backend, 95, 100, MIN_SAMPLES);
+
+        assertEquals(-1, client.getHedgeDelayMillis(BIOMETRIC_URL));
+        assertNoHedge(client);
+    }
+
+    // Helper methods
+
+    private void warmUp(HedgingHttpClient client) throws Exception {
+        backend.autoComplete = true;
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            client.post(BIOMETRIC_URL, TEST_BODY, TIMEOUT);
+        }
+        backend.autoComplete = false;
+    }
+
+    private void assertNoHedge(HedgingHttpClient client) throws Exception {
+        int before = backend.requests.size();
+        CompletableFuture<ServiceResponse> call = client.postAsync(BIOMETRIC_URL, TEST_BODY, TIMEOUT);
+        Thread.sleep(100);
+        assertEquals(before + 1, backend.requests.size());
+        backend.requests.get(before).complete(ServiceResponse.success(200, "{}"));
+        assertTrue(call.get(1, TimeUnit.SECONDS).isSuccess());
+        assertEquals(0, client.getHedgeCount());
+    }
+
+    /**
+     * Asynchronous backend whose responses the test completes by hand.
+     */
+    private static class ControlledClient implements HttpClient, AsyncHttpClient, CapacityAware {
+        final List<CompletableFuture<ServiceResponse>> requests = new CopyOnWriteArrayList<>();
+        volatile boolean autoComplete;
+        volatile int capacity = Integer.MAX_VALUE;
+
+        @Override
+        public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+            return postAsync(url, body, timeoutSeconds).join();
+        }
+
+        @Override
+        public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+            CompletableFuture<ServiceResponse> request = new CompletableFuture<>();
+            requests.add(request);
+            if (autoComplete) {
+                request.complete(ServiceResponse.success(200, "{}"));
+            }
+            return request;
+        }
+
+        @Override
+        public int availableCapacity(String url) {
+            return capacity;
+        }
+
+        CompletableFuture<ServiceResponse> awaitRequest(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(requests.size() >= count, "Expected " + count + " requests");
+            return requests.get(count - 1);
+        }
+    }
+}
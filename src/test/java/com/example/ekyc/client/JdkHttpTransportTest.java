@@ -0,0 +1,173 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.RateLimitException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JdkHttpTransport against a local stand-in server.
+ */
+class JdkHttpTransportTest {
+
+    private static final Object TEST_BODY = Map.of("test", "data");
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private JdkHttpTransport transport;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        transport = new JdkHttpTransport(Executors.newFixedThreadPool(2), 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Posts the body as JSON and reuses one kept-alive connection for successive calls")
+    void testPost_JsonBodyAndConnectionReuse() {
+        handle("/api/v1/check-sanctions", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("application/json", exchange.getRequestHeaders().getFirst("Content-Type"));
+            respond(exchange, 200, "{\"echo\":" + request + "}");
+        });
+
+        for (int i = 0; i < 5; i++) {
+            ServiceResponse response = transport.post(url("/api/v1/check-sanctions"), TEST_BODY, 2);
+            assertTrue(response.isSuccess());
+            assertEquals("{\"echo\":{\"test\":\"data\"}}", response.getBody());
+        }
+        assertEquals(1, clientPorts.size(), "Calls should share one connection, used " + clientPorts);
+    }
+
+    @Test
+    @DisplayName("Error statuses are returned as responses; 429 fails with a RateLimitException")
+    void testErrorStatuses() {
+        handle("/api/v1/verify-document", exchange -> respond(exchange, 503, "{\"error\":\"busy\"}"));
+        handle("/api/v1/verify-address", exchange -> respond(exchange, 429, "{}"));
+
+        ServiceResponse unavailable = transport.post(url("/api/v1/verify-document"), TEST_BODY, 2);
+        assertTrue(unavailable.isServerError());
+        assertTrue(unavailable.isRetryable());
+        assertThrows(RateLimitException.class, () -> transport.post(url("/api/v1/verify-address"), TEST_BODY, 2));
+    }
+
+    @Test
+    @DisplayName("A call slower than its timeoutSeconds returns a timeout response")
+    void testSlowService_TimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        handle("/api/v1/face-match", exchange -> {
+            await(release);
+            respond(exchange, 200, "{}");
+        });
+
+        long start = System.nanoTime();
+        ServiceResponse response = transport.post(url("/api/v1/face-match"), TEST_BODY, 1);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertTrue(response.isTimedOut());
+        assertTrue(elapsedMillis >= 900 && elapsedMillis < 3000, "Timed out after " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Calls beyond the per-host connection limit wait for a free connection")
+    void testConnectionLimitPerHost() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        handle("/api/v1/check-sanctions", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            await(release);
+            concurrent.decrementAndGet();
+            respond(exchange, 200, "{}");
+        });
+
+        List<CompletableFuture<ServiceResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(transport.postAsync(url("/api/v1/check-sanctions"), TEST_BODY, 5));
+        }
+        assertEquals(0, transport.availableCapacity(url("/api/v1/check-sanctions")));
+        Thread.sleep(200);
+        release.countDown();
+
+        for (CompletableFuture<ServiceResponse> call : calls) {
+            assertTrue(call.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        assertEquals(2, maxConcurrent.get());
+        assertEquals(2, transport.availableCapacity(url("/api/v1/check-sanctions")));
+    }
+
+    // Helper methods
+
+    private String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    private void handle(String path, Handler handler) {
+        server.createContext(path, exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stand-in server endpoint.
+     */
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
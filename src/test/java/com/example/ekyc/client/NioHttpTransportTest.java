@@ -0,0 +1,367 @@
+package com.example.ekyc.client;
+
+import com.example.ekyc.exception.RateLimitException;
+import com.example.ekyc.util.ByteBufferPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NioHttpTransport against a local stand-in server that answers pipelined requests in order.
+ */
+class NioHttpTransportTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioHttpTransportTest.class);
+
+    private static final Object TEST_BODY = Map.of("test", "data");
+
+    private StandInServer server;
+    private NioHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StandInServer();
+        transport = newTransport(1, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Posts the body as JSON and reuses one kept-alive connection for successive calls")
+    void testPost_JsonBodyAndConnectionReuse() {
+        server.responder = request -> {
+            assertTrue(request.head.contains("Content-Type: application/json"));
+            return response(200, "{\"echo\":" + request.body + "}");
+        };
+
+        for (int i = 0; i < 5; i++) {
+            ServiceResponse response = transport.post(url("/api/v1/check-sanctions"), TEST_BODY, 2);
+            assertTrue(response.isSuccess());
+            assertEquals("{\"echo\":{\"test\":\"data\"}}", response.getBody());
+        }
+        assertEquals(1, server.connections.get());
+        assertEquals(1, transport.getBufferPool().getAllocatedCount() - transport.getBufferPool().getPooledCount(),
+                "Only the connection's read buffer should be out of the pool");
+    }
+
+    @Test
+    @DisplayName("A JsonPayload is written as is, also when it outgrows the pooled buffers")
+    void testJsonPayload_LargerThanPooledBuffer() {
+        server.responder = request -> response(200, request.body);
+        String address = "Straße ".repeat(1000);
+        JsonPayload payload = out -> out.beginObject().field("address", address).endObject();
+
+        ServiceResponse response = transport.post(url("/api/v1/verify-address"), payload, 2);
+
+        assertEquals("{\"address\":\"" + address + "\"}", response.getBody());
+        assertEquals(transport.getBufferPool().getAllocatedCount() - 1, transport.getBufferPool().getPooledCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent calls are pipelined over the connection limit, waiting once every pipeline is full")
+    void testPipelining_OverConnectionLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.responder = request -> {
+            await(release);
+            return response(200, request.body);
+        };
+
+        List<CompletableFuture<ServiceResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(transport.postAsync(url("/api/v1/check-sanctions"), Map.of("call", i), 5));
+        }
+        assertEquals(0, transport.availableCapacity(url("/api/v1/check-sanctions")));
+        Thread.sleep(200);
+        release.countDown();
+
+        for (int i = 0; i < calls.size(); i++) {
+            assertEquals("{\"call\":" + i + "}", calls.get(i).get(5, TimeUnit.SECONDS).getBody());
+        }
+        assertEquals(1, server.connections.get());
+        assertEquals(4, transport.availableCapacity(url("/api/v1/check-sanctions")));
+    }
+
+    @Test
+    @DisplayName("Chunked bodies are reassembled; error statuses are returned and 429 fails with a RateLimitException")
+    void testChunkedBodyAndErrorStatuses() {
+        server.responder = request -> {
+            if (request.head.startsWith("POST /api/v1/verify-address")) {
+                return response(429, "{}");
+            }
+            if (request.head.startsWith("POST /api/v1/verify-document")) {
+                return response(503, "{\"error\":\"busy\"}");
+            }
+            return "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + "6\r\n{\"ok\":\r\n5;ext=1\r\ntrue}\r\n0\r\n\r\n";
+        };
+
+        assertEquals("{\"ok\":true}", transport.post(url("/api/v1/face-match"), TEST_BODY, 2).getBody());
+        ServiceResponse unavailable = transport.post(url("/api/v1/verify-document"), TEST_BODY, 2);
+        assertTrue(unavailable.isServerError());
+        assertTrue(unavailable.isRetryable());
+        assertThrows(RateLimitException.class, () -> transport.post(url("/api/v1/verify-address"), TEST_BODY, 2));
+        assertEquals(1, server.connections.get());
+    }
+
+    @Test
+    @DisplayName("A call slower than its timeoutSeconds times out and its connection is replaced")
+    void testSlowService_TimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        server.responder = request -> {
+            if (request.body.contains("slow")) {
+                await(release);
+            }
+            return response(200, "{}");
+        };
+
+        long start = System.nanoTime();
+        ServiceResponse response = transport.post(url("/api/v1/face-match"), Map.of("slow", true), 1);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ServiceResponse next = transport.post(url("/api/v1/face-match"), TEST_BODY, 2);
+        release.countDown();
+
+        assertTrue(response.isTimedOut());
+        assertTrue(elapsedMillis >= 900 && elapsedMillis < 3000, "Timed out after " + elapsedMillis + "ms");
+        assertTrue(next.isSuccess(), "The next call should not wait behind the timed out one");
+        assertEquals(2, server.connections.get());
+    }
+
+    @Test
+    @DisplayName("Closing the transport fails the calls in flight instead of leaving them waiting")
+    void testClose_FailsCallsInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.responder = request -> {
+            await(release);
+            return response(200, "{}");
+        };
+        CompletableFuture<ServiceResponse> call = transport.postAsync(url("/api/v1/check-sanctions"), TEST_BODY, 30);
+        Thread.sleep(100);
+
+        transport.close();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(failure.getCause() instanceof UncheckedIOException
+                || failure.getCause() instanceof IllegalStateException, failure.getCause().toString());
+    }
+
+    @Test
+    @DisplayName("A response with Connection: close ends the connection and the next call opens a new one")
+    void testConnectionClose_NextCallReconnects() {
+        server.responder = request -> "HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 2\r\n\r\n{}";
+
+        assertTrue(transport.post(url("/api/v1/check-sanctions"), TEST_BODY, 2).isSuccess());
+        assertTrue(transport.post(url("/api/v1/check-sanctions"), TEST_BODY, 2).isSuccess());
+        assertEquals(2, server.connections.get());
+    }
+
+    @Test
+    @DisplayName("Only plain http URLs are accepted")
+    void testHttpsUrl_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> transport.post("https://localhost/api/v1/check-sanctions", TEST_BODY, 2));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "ekyc.benchmark", matches = "true")
+    @DisplayName("Benchmark: calls per second against JdkHttpTransport with many calls in flight")
+    void benchmarkAgainstJdkTransport() throws Exception {
+        server.responder = request -> response(200, "{\"status\":\"PASS\"}");
+        int calls = 50_000;
+        int inFlight = 2_000;
+        try (NioHttpTransport nio = newTransport(Runtime.getRuntime().availableProcessors(), 16, 16);
+             JdkHttpTransport jdk = new JdkHttpTransport(Executors.newFixedThreadPool(4), 16, 2000)) {
+            run(nio, 5_000, inFlight);
+            run(jdk, 5_000, inFlight);
+            double nioRate = run(nio, calls, inFlight);
+            double jdkRate = run(jdk, calls, inFlight);
+            logger.info("{} calls, {} in flight: NIO {} calls/s, java.net.http {} calls/s; NIO buffers allocated: {}",
+                    calls, inFlight, Math.round(nioRate), Math.round(jdkRate),
+                    nio.getBufferPool().getAllocatedCount());
+        }
+    }
+
+    // Helper methods
+
+    private NioHttpTransport newTransport(int loops, int connections, int pipelineDepth) {
+        return new NioHttpTransport(loops, connections, pipelineDepth, new ByteBufferPool(4096, 64),
+                Executors.newFixedThreadPool(2));
+    }
+
+    private double run(AsyncHttpClient client, int calls, int inFlight) throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            permits.acquire();
+            client.postAsync(url("/api/v1/check-sanctions"), TEST_BODY, 10).whenComplete((response, error) -> {
+                if (error != null || !response.isSuccess()) {
+                    failures.incrementAndGet();
+                }
+                permits.release();
+            });
+        }
+        permits.acquire(inFlight);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(0, failures.get());
+        return calls / seconds;
+    }
+
+    private String url(String path) {
+        return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort() + path;
+    }
+
+    private static String response(int status, String body) {
+        return "HTTP/1.1 " + status + " Status\r\nContent-Type: application/json\r\nContent-Length: "
+                + body.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + body;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A request as the stand-in server read it.
+     */
+    private static final class Request {
+        final String head;
+        final String body;
+
+        Request(String head, String body) {
+            this.head = head;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Stand-in server endpoint, returning the raw response.
+     */
+    private interface Responder {
+        String respond(Request request);
+    }
+
+    /**
+     * Minimal HTTP/1.1 server with a thread per connection, answering the requests on a connection
+     * one after another, as a server receiving pipelined requests does.
+     */
+    private static final class StandInServer {
+        final AtomicInteger connections = new AtomicInteger();
+        volatile Responder responder = request -> response(200, "{}");
+        private final ServerSocket socket;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        StandInServer() throws IOException {
+            socket = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+            executor.execute(this::accept);
+        }
+
+        int getPort() {
+            return socket.getLocalPort();
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+            executor.shutdownNow();
+        }
+
+        private void accept() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket connection = socket.accept();
+                    connections.incrementAndGet();
+                    executor.execute(() -> serve(connection));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket connection) {
+            try (connection) {
+                InputStream in = new BufferedInputStream(connection.getInputStream());
+                OutputStream out = connection.getOutputStream();
+                Request request;
+                while ((request = readRequest(in)) != null) {
+                    String response = responder.respond(request);
+                    out.write(response.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    if (response.contains("Connection: close")) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            }
+        }
+
+        private static Request readRequest(InputStream in) throws IOException {
+            StringBuilder head = new StringBuilder();
+            int contentLength = 0;
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                head.append(line).append("\r\n");
+                if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(line.substring(15).trim());
+                }
+            }
+            if (line == null) {
+                return null;
+            }
+            return new Request(head.toString(), new String(in.readNBytes(contentLength), StandardCharsets.UTF_8));
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return null;
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.ekyc.client;
 
 import com.example.ekyc.exception.ServiceException;
 import com.example.ekyc.exception.TimeoutException;
+import com.example.ekyc.util.Deadline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -167,4 +178,260 @@ class RetryableHttpClientTest {
         assertTrue(response.isSuccess());
         verify(delegateClient, times(3)).post(TEST_URL, TEST_BODY, TIMEOUT);
     }
+
+    @Test
+    @DisplayName("Async retry on timeout does not hold the caller and succeeds on 3rd attempt")
+    void testPostAsync_RetriesWithoutBlockingCaller() throws Exception {
+        // Given: A natively asynchronous delegate that times out twice
+        SimpleHttpClient simpleClient = new SimpleHttpClient(10, 60);
+        simpleClient.simulateTimeouts(2);
+        RetryableHttpClient asyncClient = new RetryableHttpClient(simpleClient, 3, new int[]{200, 200, 200});
+
+        // When
+        CompletableFuture<ServiceResponse> future = asyncClient.postAsync(TEST_URL, TEST_BODY, TIMEOUT);
+
+        // Then: the call returns while the retry is still pending, and eventually succeeds
+        assertFalse(future.isDone());
+        assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Async 4xx fails immediately without retries")
+    void testPostAsync_NoRetryOn4xx() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        SimpleHttpClient simpleClient = new SimpleHttpClient(10, 60);
+        simpleClient.registerHandler(TEST_URL, body -> {
+            calls.incrementAndGet();
+            return ServiceResponse.error(400, "{\"error\": \"Bad Request\"}");
+        });
+        RetryableHttpClient asyncClient = new RetryableHttpClient(simpleClient, 3, new int[]{10, 10, 10});
+
+        // When
+        CompletableFuture<ServiceResponse> future = asyncClient.postAsync(TEST_URL, TEST_BODY, TIMEOUT);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof ServiceException);
+        assertEquals(400, ((ServiceException) exception.getCause()).getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Async timeouts exhaust all retries with TimeoutException")
+    void testPostAsync_AllRetriesExhaustedOnTimeout() {
+        // Given
+        SimpleHttpClient simpleClient = new SimpleHttpClient(10, 60);
+        simpleClient.simulateTimeouts(5);
+        RetryableHttpClient asyncClient = new RetryableHttpClient(simpleClient, 3, new int[]{10, 10, 10});
+
+        // When
+        CompletableFuture<ServiceResponse> future = asyncClient.postAsync(TEST_URL, TEST_BODY, TIMEOUT);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    @DisplayName("Cancelling an async request stops further retries")
+    void testPostAsync_CancelStopsRetries() throws Exception {
+        // Given: A delegate that always times out
+        AtomicInteger calls = new AtomicInteger();
+        SimpleHttpClient simpleClient = new SimpleHttpClient(10, 60);
+        simpleClient.registerHandler(TEST_URL, body -> {
+            calls.incrementAndGet();
+            return ServiceResponse.timeout();
+        });
+        RetryableHttpClient asyncClient = new RetryableHttpClient(simpleClient, 3, new int[]{100, 100, 100});
+
+        // When: The caller gives up while the first retry is pending
+        CompletableFuture<ServiceResponse> future = asyncClient.postAsync(TEST_URL, TEST_BODY, TIMEOUT);
+        future.cancel(true);
+        Thread.sleep(400);
+
+        // Then
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Retries run on the supplied executor, and interrupting the caller interrupts the retry in flight")
+    void testPost_InterruptStopsRetryOnRetryExecutor() throws Exception {
+        // Given: A blocking delegate that fails once, then hangs until interrupted
+        CountDownLatch retryStarted = new CountDownLatch(1);
+        CountDownLatch retryInterrupted = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<String> retryThread = new AtomicReference<>();
+        HttpClient blockingClient = (url, body, timeoutSeconds) -> {
+            if (calls.incrementAndGet() == 1) {
+                return ServiceResponse.timeout();
+            }
+            retryThread.set(Thread.currentThread().getName());
+            retryStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                retryInterrupted.countDown();
+            }
+            return ServiceResponse.timeout();
+        };
+        ExecutorService retryExecutor =
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-retry"));
+        RetryableHttpClient client = new RetryableHttpClient(blockingClient, 3, new int[]{10}, retryExecutor);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                client.post(TEST_URL, TEST_BODY, TIMEOUT);
+            } catch (RuntimeException e) {
+                thrown.set(e);
+            }
+        });
+
+        try {
+            // When: the caller is interrupted while the retry is blocked on the retry executor
+            caller.start();
+            assertTrue(retryStarted.await(5, TimeUnit.SECONDS));
+            caller.interrupt();
+            caller.join(5000);
+
+            // Then: the caller gave up, the retry was interrupted and no further attempt was made
+            assertEquals("test-retry", retryThread.get());
+            assertTrue(thrown.get() instanceof ServiceException);
+            assertTrue(retryInterrupted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertEquals(2, calls.get());
+        } finally {
+            retryExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("postAsync never blocks on a blocking delegate, and leaves the caller's interrupt alone")
+    void testPostAsync_BlockingDelegateRunsOffCaller() throws Exception {
+        // Given: A blocking delegate that answers only once released
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> attemptThread = new AtomicReference<>();
+        HttpClient blockingClient = (url, body, timeoutSeconds) -> {
+            attemptThread.set(Thread.currentThread());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ServiceResponse.success(200, "{}");
+        };
+        RetryableHttpClient client = new RetryableHttpClient(blockingClient, 3, new int[]{10});
+
+        // When: an interrupted caller starts a call, then cancels it
+        Thread.currentThread().interrupt();
+        CompletableFuture<ServiceResponse> call = client.postAsync(TEST_URL, TEST_BODY, TIMEOUT);
+        boolean returnedBeforeAnswer = !call.isDone();
+        call.cancel(true);
+
+        // Then: the call returned at once, and the caller's interrupt is still set
+        assertTrue(Thread.interrupted());
+        release.countDown();
+        assertTrue(returnedBeforeAnswer);
+        assertNotSame(Thread.currentThread(), attemptThread.get());
+    }
+
+    @Test
+    @DisplayName("Cancelling an async request aborts the attempt in flight")
+    void testPostAsync_CancelAbortsAttemptInFlight() {
+        // Given: A delegate whose response never arrives
+        CompletableFuture<ServiceResponse> inFlight = new CompletableFuture<>();
+        RetryableHttpClient asyncClient = new RetryableHttpClient(new HeldClient(inFlight), 3, new int[]{100});
+
+        // When
+        asyncClient.postAsync(TEST_URL, TEST_BODY, TIMEOUT).cancel(true);
+
+        // Then: the exchange was cancelled rather than left running
+        assertTrue(inFlight.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Each attempt's timeout is clipped to the remaining deadline budget")
+    void testPost_ClipsTimeoutToDeadline() {
+        // Given: A delegate that records the timeout of every attempt and always times out
+        List<Integer> timeouts = new CopyOnWriteArrayList<>();
+        HttpClient recordingClient = (url, body, timeoutSeconds) -> {
+            timeouts.add(timeoutSeconds);
+            return ServiceResponse.timeout();
+        };
+        RetryableHttpClient client = new RetryableHttpClient(recordingClient, 3, new int[]{10, 10, 10});
+
+        // When: 1.5s of budget is left for a call configured with a 5s timeout
+        assertThrows(TimeoutException.class,
+                () -> client.post(TEST_URL, TEST_BODY, TIMEOUT, Deadline.after(1500)));
+
+        // Then: no attempt was allowed more than the remaining budget (rounded down to 1s)
+        assertEquals(3, timeouts.size());
+        assertTrue(timeouts.stream().allMatch(timeout -> timeout == 1), "timeouts: " + timeouts);
+    }
+
+    @Test
+    @DisplayName("No retry starts once the backoff would exceed the deadline")
+    void testPost_NoRetryBeyondDeadline() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        SimpleHttpClient simpleClient = new SimpleHttpClient(10, 60);
+        simpleClient.registerHandler(TEST_URL, body -> {
+            calls.incrementAndGet();
+            return ServiceResponse.error(503, "{\"error\": \"Service Unavailable\"}");
+        });
+        RetryableHttpClient client = new RetryableHttpClient(simpleClient, 3, new int[]{2000, 2000, 2000});
+
+        // When: the budget is shorter than the first backoff
+        long start = System.nanoTime();
+        TimeoutException exception = assertThrows(TimeoutException.class,
+                () -> client.post(TEST_URL, TEST_BODY, TIMEOUT, Deadline.after(1500)));
+
+        // Then: gave up after the first attempt without sleeping through the backoff
+        assertEquals(1, calls.get());
+        assertTrue(exception.getMessage().startsWith("Deadline exceeded"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+    }
+
+    @Test
+    @DisplayName("Async retries stop once the deadline budget is spent")
+    void testPostAsync_NoRetryBeyondDeadline() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        SimpleHttpClient simpleClient = new SimpleHttpClient(10, 60);
+        simpleClient.registerHandler(TEST_URL, body -> {
+            calls.incrementAndGet();
+            return ServiceResponse.timeout();
+        });
+        RetryableHttpClient asyncClient = new RetryableHttpClient(simpleClient, 3, new int[]{100, 400, 400});
+
+        // When: budget for one retry but not two, since an attempt needs a whole second left
+        CompletableFuture<ServiceResponse> future =
+                asyncClient.postAsync(TEST_URL, TEST_BODY, TIMEOUT, Deadline.after(1300));
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof TimeoutException);
+        assertEquals(2, calls.get());
+    }
+
+    /**
+     * Asynchronous delegate handing out one response future the test controls.
+     */
+    private static class HeldClient implements HttpClient, AsyncHttpClient {
+        private final CompletableFuture<ServiceResponse> response;
+
+        HeldClient(CompletableFuture<ServiceResponse> response) {
+            this.response = response;
+        }
+
+        @Override
+        public ServiceResponse post(String url, Object body, int timeoutSeconds) {
+            return response.join();
+        }
+
+        @Override
+        public CompletableFuture<ServiceResponse> postAsync(String url, Object body, int timeoutSeconds) {
+            return response;
+        }
+    }
 }
@@ -6,6 +6,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -159,4 +164,80 @@ class SimpleHttpClientTest {
         ServiceResponse response = httpClient.post(DOCUMENT_URL, TEST_BODY, 5);
         assertTrue(response.isSuccess());
     }
+
+    @Test
+    @DisplayName("Async post completes in place and reports rate limiting through the future")
+    void testPostAsync_RateLimitCompletesExceptionally() throws Exception {
+        // Given: The rate limit has been used up
+        for (int i = 0; i < 10; i++) {
+            assertTrue(httpClient.postAsync(DOCUMENT_URL, TEST_BODY, 5).get().isSuccess());
+        }
+
+        // When
+        CompletableFuture<ServiceResponse> future = httpClient.postAsync(DOCUMENT_URL, TEST_BODY, 5);
+
+        // Then: no exception is thrown to the caller; the future carries it
+        assertTrue(future.isCompletedExceptionally());
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof RateLimitException);
+    }
+
+    @Test
+    @DisplayName("A simulated latency delays the answer, and the call's timeout cuts it short")
+    void testSimulatedLatency_TimeoutEnforced() throws Exception {
+        // Given: The service takes 5 seconds to answer
+        httpClient.simulateLatency(5000);
+
+        // When: One call allows 10 seconds, another 1 second
+        CompletableFuture<ServiceResponse> patient = httpClient.postAsync(DOCUMENT_URL, TEST_BODY, 10);
+        long start = System.nanoTime();
+        ServiceResponse impatient = httpClient.post(DOCUMENT_URL, TEST_BODY, 1);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then: the 1 second call timed out after its timeout, while the other is still waiting
+        assertTrue(impatient.isTimedOut());
+        assertTrue(elapsedMillis >= 1000 && elapsedMillis < 4000, "elapsed: " + elapsedMillis + "ms");
+        assertFalse(patient.isDone());
+        assertTrue(patient.get(10, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    @DisplayName("A call's timeout completes it off the timer thread, so callbacks never hold up other timers")
+    void testTimeout_CompletesOffTimerThread() throws Exception {
+        httpClient.simulateLatency(5000);
+
+        String completingThread = httpClient.postAsync(DOCUMENT_URL, TEST_BODY, 1)
+                .thenApply(response -> Thread.currentThread().getName())
+                .get(5, TimeUnit.SECONDS);
+
+        assertNotEquals("ekyc-timer", completingThread);
+    }
+
+    @Test
+    @DisplayName("A handler runs off the caller thread, and a slow one is cut short by the call's timeout")
+    void testSlowHandler_TimeoutEnforced() throws Exception {
+        // Given: A handler that takes 5 seconds to answer
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        httpClient.registerHandler(DOCUMENT_URL, body -> {
+            handlerThread.set(Thread.currentThread());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ServiceResponse.success(200, "{\"status\": \"PASS\"}");
+        });
+
+        // When: The call allows 1 second
+        long start = System.nanoTime();
+        ServiceResponse response = httpClient.post(DOCUMENT_URL, TEST_BODY, 1);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Then: It timed out at its timeout, without waiting for the handler
+        assertTrue(response.isTimedOut());
+        assertTrue(elapsedMillis >= 1000 && elapsedMillis < 4000, "elapsed: " + elapsedMillis + "ms");
+        assertNotSame(Thread.currentThread(), handlerThread.get());
+    }
 }
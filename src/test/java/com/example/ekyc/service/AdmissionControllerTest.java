@@ -0,0 +1,89 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.exception.OverloadException;
+import com.example.ekyc.model.RequestClass;
+import com.example.ekyc.model.VerificationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for admission control and priority-aware load shedding.
+ */
+class AdmissionControllerTest {
+
+    @Test
+    @DisplayName("Full queue rejects at once; a release admits the oldest waiter")
+    void testFullQueue_RejectsFast() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 1, 5000);
+        controller.admit(RequestClass.ONBOARDING);
+        CompletableFuture<Void> queued = controller.admitAsync(RequestClass.ONBOARDING);
+
+        long start = System.nanoTime();
+        OverloadException e = assertThrows(OverloadException.class, () -> controller.admit(RequestClass.ONBOARDING));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertEquals(RequestClass.ONBOARDING, e.getRequestClass());
+        assertFalse(e.isRetryable());
+
+        controller.release();
+        queued.get(1, TimeUnit.SECONDS);
+        assertEquals(1, controller.getActiveCount());
+        assertEquals(0, controller.getQueuedCount());
+        assertEquals(1, controller.getRejectedCount(RequestClass.ONBOARDING));
+    }
+
+    @Test
+    @DisplayName("Onboarding requests displace queued re-screens and are admitted first")
+    void testPriorityShedding_RescreensGoFirst() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 2, 5000);
+        controller.admit(RequestClass.ONBOARDING);
+        CompletableFuture<Void> oldRescreen = controller.admitAsync(RequestClass.RESCREEN);
+        CompletableFuture<Void> newRescreen = controller.admitAsync(RequestClass.RESCREEN);
+
+        // When: an onboarding request arrives at the full queue
+        CompletableFuture<Void> onboarding = controller.admitAsync(RequestClass.ONBOARDING);
+
+        // Then: the oldest re-screen is shed, and a further re-screen is rejected outright
+        ExecutionException shed = assertThrows(ExecutionException.class, () -> oldRescreen.get(1, TimeUnit.SECONDS));
+        assertTrue(shed.getCause() instanceof OverloadException);
+        assertTrue(controller.admitAsync(RequestClass.RESCREEN).isCompletedExceptionally());
+
+        controller.release();
+        onboarding.get(1, TimeUnit.SECONDS);
+        assertFalse(newRescreen.isDone());
+        controller.release();
+        newRescreen.get(1, TimeUnit.SECONDS);
+        assertEquals(2, controller.getRejectedCount(RequestClass.RESCREEN));
+    }
+
+    @Test
+    @DisplayName("A request not admitted within the queue time budget is rejected")
+    void testQueueTimeBudget_Expires() {
+        AdmissionController controller = new AdmissionController(1, 4, 50);
+        controller.admit(RequestClass.ONBOARDING);
+
+        long start = System.nanoTime();
+        assertThrows(OverloadException.class, () -> controller.admit(RequestClass.ONBOARDING));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 40);
+        assertEquals(0, controller.getQueuedCount());
+        controller.release();
+        assertEquals(0, controller.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Sanctions-only requests are re-screens")
+    void testRequestClass_FromTypes() {
+        assertEquals(RequestClass.RESCREEN, RequestClass.of(List.of(VerificationType.SANCTIONS)));
+        assertEquals(RequestClass.ONBOARDING,
+                RequestClass.of(List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS)));
+        assertEquals(RequestClass.ONBOARDING, RequestClass.of(List.of()));
+        assertTrue(RequestClass.ONBOARDING.outranks(RequestClass.RESCREEN));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.CheckOrdering;
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationStatus;
+import com.example.ekyc.model.VerificationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sequential check ordering strategies.
+ */
+class CheckOrderingStrategyTest {
+
+    private static final List<VerificationType> ALL_CHECKS = List.of(
+            VerificationType.ID_DOCUMENT,
+            VerificationType.FACE_MATCH,
+            VerificationType.ADDRESS,
+            VerificationType.SANCTIONS
+    );
+
+    @Test
+    @DisplayName("Fixed ordering keeps the requested order")
+    void testFixed_KeepsRequestedOrder() {
+        assertEquals(ALL_CHECKS, CheckOrderingStrategy.of(CheckOrdering.FIXED).order(ALL_CHECKS));
+    }
+
+    @Test
+    @DisplayName("Sanctions-first ordering moves sanctions to the front only")
+    void testSanctionsFirst_GatesOnSanctions() {
+        List<VerificationType> ordered = CheckOrderingStrategy.of(CheckOrdering.SANCTIONS_FIRST).order(ALL_CHECKS);
+
+        assertEquals(List.of(VerificationType.SANCTIONS, VerificationType.ID_DOCUMENT,
+                VerificationType.FACE_MATCH, VerificationType.ADDRESS), ordered);
+    }
+
+    @Test
+    @DisplayName("Adaptive ordering runs the fastest frequent rejection first")
+    void testAdaptive_RanksByFailRatePerLatency() {
+        AdaptiveCheckOrdering ordering = new AdaptiveCheckOrdering();
+        for (int i = 0; i < 10; i++) {
+            // Biometric fails often but is slow; sanctions fails less often but answers quickly
+            ordering.record(VerificationType.FACE_MATCH, result(i % 2 == 0), millis(4000));
+            ordering.record(VerificationType.SANCTIONS, result(i % 5 == 0), millis(200));
+            ordering.record(VerificationType.ID_DOCUMENT, result(false), millis(500));
+            ordering.record(VerificationType.ADDRESS, result(false), millis(300));
+        }
+
+        List<VerificationType> ordered = ordering.order(ALL_CHECKS);
+
+        assertEquals(VerificationType.SANCTIONS, ordered.get(0));
+        assertEquals(VerificationType.FACE_MATCH, ordered.get(1));
+        // Checks that never fail tie and keep their requested order
+        assertEquals(List.of(VerificationType.ID_DOCUMENT, VerificationType.ADDRESS), ordered.subList(2, 4));
+    }
+
+    @Test
+    @DisplayName("Adaptive ordering runs unmeasured checks first and adapts as failures fade")
+    void testAdaptive_ExploresThenAdapts() {
+        AdaptiveCheckOrdering ordering = new AdaptiveCheckOrdering(0.5);
+        ordering.record(VerificationType.ID_DOCUMENT, result(true), millis(1));
+
+        // Unmeasured checks are ranked ahead of measured ones
+        assertEquals(VerificationType.ID_DOCUMENT, ordering.order(ALL_CHECKS).get(3));
+
+        List<VerificationType> measured = new ArrayList<>(ALL_CHECKS);
+        measured.remove(VerificationType.ID_DOCUMENT);
+        measured.forEach(type -> ordering.record(type, result(false), millis(100)));
+        ordering.record(VerificationType.SANCTIONS, result(true), millis(100));
+        assertEquals(VerificationType.ID_DOCUMENT, ordering.order(ALL_CHECKS).get(0));
+
+        // Once the document check stops failing, the recently failing sanctions check overtakes it
+        for (int i = 0; i < 10; i++) {
+            ordering.record(VerificationType.ID_DOCUMENT, result(false), millis(1));
+        }
+        assertEquals(VerificationType.SANCTIONS, ordering.order(ALL_CHECKS).get(0));
+        assertTrue(ordering.getFailRate(VerificationType.ID_DOCUMENT) < 0.01);
+    }
+
+    private static VerificationResult result(boolean failed) {
+        return VerificationResult.builder()
+                .verificationType(VerificationType.SANCTIONS)
+                .status(failed ? VerificationStatus.FAIL : VerificationStatus.PASS)
+                .confidence(failed ? 0 : 95)
+                .reasons(new ArrayList<>())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
@@ -198,6 +198,19 @@ class KYCDecisionEngineTest {
         assertEquals(Decision.APPROVED, decision.getDecision());
     }
 
+    @Test
+    @DisplayName("Any FAIL is decisive; PASS and MANUAL_REVIEW are not")
+    void testIsDecisive_OnlyFail() {
+        assertTrue(decisionEngine.isDecisive(
+                createResult(VerificationType.SANCTIONS, VerificationStatus.FAIL, 0)));
+        assertTrue(decisionEngine.isDecisive(
+                createResult(VerificationType.ID_DOCUMENT, VerificationStatus.FAIL, 0)));
+        assertFalse(decisionEngine.isDecisive(
+                createResult(VerificationType.FACE_MATCH, VerificationStatus.MANUAL_REVIEW, 70)));
+        assertFalse(decisionEngine.isDecisive(
+                createResult(VerificationType.ADDRESS, VerificationStatus.PASS, 90)));
+    }
+
     // Helper methods
 
     private VerificationResult createResult(VerificationType type, VerificationStatus status, int confidence) {
@@ -0,0 +1,144 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.ValidationException;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.VerificationResult;
+import com.example.ekyc.model.VerificationStatus;
+import com.example.ekyc.model.VerificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the local pre-validation rules.
+ */
+class PreValidatorTest {
+
+    private PreValidator preValidator;
+
+    @BeforeEach
+    void setUp() {
+        ServiceConfig.reset();
+        preValidator = new PreValidator(ServiceConfig.getInstance());
+    }
+
+    @Test
+    @DisplayName("Valid customer needs every service")
+    void testValidCustomer_NoLocalResults() {
+        Customer customer = validCustomer().build();
+
+        preValidator.validateRequest(customer);
+        for (VerificationType type : VerificationType.values()) {
+            assertTrue(preValidator.precheck(customer, type).isEmpty(), type + " was decided locally");
+        }
+    }
+
+    @Test
+    @DisplayName("Expired document and wrong passport check digit fail locally")
+    void testDocumentRules_FailLocally() {
+        Customer expired = validCustomer()
+                .documentExpiryDate(LocalDate.now().minusDays(1).toString())
+                .documentNumber("L898902C35")
+                .build();
+
+        Optional<VerificationResult> result = preValidator.precheck(expired, VerificationType.ID_DOCUMENT);
+
+        assertTrue(result.isPresent());
+        assertEquals(VerificationStatus.FAIL, result.get().getStatus());
+        assertEquals(2, result.get().getReasons().size());
+        assertTrue(result.get().getReasons().contains("Document has expired"));
+    }
+
+    @Test
+    @DisplayName("Blank or unrecognised document number goes to manual review, not FAIL")
+    void testDocumentNumberFormat_ManualReview() {
+        for (String documentNumber : new String[] {"", "AB!23", null}) {
+            Customer customer = validCustomer().documentNumber(documentNumber).build();
+
+            VerificationResult result = preValidator.precheck(customer, VerificationType.ID_DOCUMENT).orElseThrow();
+
+            assertEquals(VerificationStatus.MANUAL_REVIEW, result.getStatus(), "document number " + documentNumber);
+        }
+    }
+
+    @Test
+    @DisplayName("Passport numbers follow ICAO 9303, including the optional check digit")
+    void testPassportNumber_IcaoCheckDigit() {
+        // ICAO 9303 specimen passport number L898902C3 has check digit 6
+        assertEquals(6, PreValidator.icaoCheckDigit("L898902C3"));
+        assertFalse(PreValidator.hasCheckDigitMismatch("PASSPORT", "L898902C3"));
+        assertFalse(PreValidator.hasCheckDigitMismatch("PASSPORT", "L898902C36"));
+        assertTrue(PreValidator.hasCheckDigitMismatch("PASSPORT", "L898902C35"));
+        assertFalse(PreValidator.hasCheckDigitMismatch("PASSPORT", "AB12"));
+        assertTrue(PreValidator.isWellFormedDocumentNumber("DRIVERS_LICENSE", "D123-4567-890"));
+        assertFalse(PreValidator.isWellFormedDocumentNumber("NATIONAL_ID", "1234-5678"));
+        assertFalse(PreValidator.isWellFormedDocumentNumber("PASSPORT", "AB12"));
+        assertFalse(PreValidator.isWellFormedDocumentNumber("PASSPORT", null));
+    }
+
+    @Test
+    @DisplayName("Malformed service input is routed to manual review without a service call")
+    void testInvalidInput_ManualReview() {
+        Customer customer = validCustomer()
+                .selfieUrl("")
+                .idPhotoUrl("not a url")
+                .dateOfBirth(LocalDate.now().plusDays(1).toString())
+                .build();
+
+        VerificationResult biometric = preValidator.precheck(customer, VerificationType.FACE_MATCH).orElseThrow();
+        VerificationResult sanctions = preValidator.precheck(customer, VerificationType.SANCTIONS).orElseThrow();
+
+        assertEquals(VerificationStatus.MANUAL_REVIEW, biometric.getStatus());
+        assertEquals(2, biometric.getReasons().size());
+        assertEquals(VerificationStatus.MANUAL_REVIEW, sanctions.getStatus());
+        assertEquals("Invalid input: Date of birth is not a valid past date", sanctions.getReasons().get(0));
+    }
+
+    @Test
+    @DisplayName("Stale proof of address fails locally")
+    void testStaleProof_FailsLocally() {
+        Customer customer = validCustomer().proofDate(LocalDate.now().minusDays(120).toString()).build();
+
+        VerificationResult result = preValidator.precheck(customer, VerificationType.ADDRESS).orElseThrow();
+
+        assertEquals(VerificationStatus.FAIL, result.getStatus());
+    }
+
+    @Test
+    @DisplayName("Malformed request raises ValidationException listing every error without PII")
+    void testMalformedRequest_ThrowsValidationException() {
+        Customer customer = validCustomer().email("john.doe@").phone("12").build();
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> preValidator.validateRequest(customer));
+
+        assertEquals(2, e.getValidationErrors().size());
+        assertFalse(e.getValidationErrors().toString().contains("john.doe"));
+    }
+
+    private Customer.Builder validCustomer() {
+        return Customer.builder()
+                .customerId("CUST-001")
+                .fullName("John Doe")
+                .dateOfBirth("1990-05-15")
+                .email("john.doe@example.com")
+                .phone("+1-555-123-4567")
+                .address("123 Main Street, New York, NY 10001")
+                .nationality("US")
+                .documentType("PASSPORT")
+                .documentNumber("AB1234567")
+                .documentExpiryDate(LocalDate.now().plusYears(2).toString())
+                .documentImageUrl("https://example.com/docs/passport.jpg")
+                .selfieUrl("https://example.com/selfie.jpg")
+                .idPhotoUrl("https://example.com/id_photo.jpg")
+                .proofType("UTILITY_BILL")
+                .proofDate(LocalDate.now().minusDays(30).toString())
+                .proofUrl("https://example.com/proof.pdf");
+    }
+}
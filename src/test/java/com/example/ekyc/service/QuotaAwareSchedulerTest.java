@@ -0,0 +1,282 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.client.SimpleHttpClient;
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.OverloadException;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.Decision;
+import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.RequestClass;
+import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.DurableQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for QuotaAwareScheduler, using the mock HTTP client's rate limiter as the downstream quota.
+ */
+class QuotaAwareSchedulerTest {
+
+    private static final List<VerificationType> DOCUMENT_ONLY = List.of(VerificationType.ID_DOCUMENT);
+    private static final List<VerificationType> SANCTIONS_ONLY = List.of(VerificationType.SANCTIONS);
+
+    @TempDir
+    Path journalDirectory;
+
+    private ServiceConfig config;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ServiceConfig.reset();
+        config = ServiceConfig.getInstance();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Verifications beyond the quota are delayed to later windows instead of failing")
+    void testQuotaExhausted_VerificationsDelayed() throws Exception {
+        // Given: 2 document requests per second, 5 customers
+        try (QuotaAwareScheduler scheduler = schedulerFor(new SimpleHttpClient(2, 1), 2, 10)) {
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            List<ScheduledVerification> scheduled = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                scheduled.add(scheduler.schedule(customer("CUST-" + i), DOCUMENT_ONLY));
+            }
+
+            // Then: all approved, which needed three rate limit windows
+            for (ScheduledVerification verification : scheduled) {
+                assertEquals(Decision.APPROVED, verification.getDecision().get(10, TimeUnit.SECONDS).getDecision());
+            }
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(1900));
+            assertEquals(0, scheduler.getHeldCount());
+            Duration estimate = Duration.between(startedAt, scheduled.get(4).getEstimatedCompletion());
+            assertTrue(estimate.toMillis() >= 1500, "Last estimate should be about two windows out, was " + estimate);
+        }
+    }
+
+    @Test
+    @DisplayName("Onboarding is released before re-screens; a request needing other services is not held back")
+    void testPriorityOrder_AndIndependentServicesOvertake() throws Exception {
+        try (QuotaAwareScheduler scheduler = schedulerFor(new SimpleHttpClient(1, 1), 1, 10)) {
+            List<String> completionOrder = new CopyOnWriteArrayList<>();
+            scheduler.schedule(customer("CUST-A"), DOCUMENT_ONLY).getDecision().join();
+
+            // When: the document window is used up and a re-screen arrives before an onboarding session
+            ScheduledVerification rescreen = track(scheduler.schedule(customer("CUST-B"), DOCUMENT_ONLY,
+                    RequestClass.RESCREEN), completionOrder, "RESCREEN");
+            ScheduledVerification onboarding = track(scheduler.schedule(customer("CUST-C"), DOCUMENT_ONLY),
+                    completionOrder, "ONBOARDING");
+            ScheduledVerification sanctions = scheduler.schedule(customer("CUST-D"), SANCTIONS_ONLY);
+
+            // Then: sanctions has its own quota; onboarding goes first once the document window moves on
+            assertNotNull(sanctions.getDecision().get(500, TimeUnit.MILLISECONDS));
+            rescreen.getDecision().get(10, TimeUnit.SECONDS);
+            onboarding.getDecision().get(10, TimeUnit.SECONDS);
+            assertEquals(List.of("ONBOARDING", "RESCREEN"), completionOrder);
+        }
+    }
+
+    @Test
+    @DisplayName("Scheduling beyond the held limit is shed; closing fails held verifications")
+    void testHeldLimitAndClose() throws Exception {
+        QuotaAwareScheduler scheduler = schedulerFor(new SimpleHttpClient(1, 60), 1, 1);
+        scheduler.schedule(customer("CUST-A"), DOCUMENT_ONLY).getDecision().get(5, TimeUnit.SECONDS);
+        ScheduledVerification held = scheduler.schedule(customer("CUST-B"), DOCUMENT_ONLY);
+
+        assertThrows(OverloadException.class, () -> scheduler.schedule(customer("CUST-C"), DOCUMENT_ONLY));
+        assertEquals(1, scheduler.getHeldCount());
+
+        scheduler.close();
+        ExecutionException closed = assertThrows(ExecutionException.class,
+                () -> held.getDecision().get(1, TimeUnit.SECONDS));
+        assertTrue(closed.getCause() instanceof OverloadException);
+        assertThrows(IllegalStateException.class, () -> scheduler.schedule(customer("CUST-D"), DOCUMENT_ONLY));
+    }
+
+    @Test
+    @DisplayName("Verifications held when the scheduler stops are recovered from the journal on restart")
+    void testHeldVerificationsRecoveredAfterRestart() throws Exception {
+        // Given: one document request per minute, so the second customer is held
+        try (PendingVerificationQueue journal = openJournal()) {
+            QuotaAwareScheduler scheduler = schedulerFor(new SimpleHttpClient(1, 60), 1, 10, journal);
+            scheduler.schedule(customer("CUST-A"), DOCUMENT_ONLY).getDecision().get(5, TimeUnit.SECONDS);
+            scheduler.schedule(customer("CUST-B"), DOCUMENT_ONLY, RequestClass.RESCREEN);
+            scheduler.close();
+            assertEquals(1, journal.getPendingCount());
+        }
+
+        // When: the service restarts with fresh quota
+        try (PendingVerificationQueue journal = openJournal();
+             QuotaAwareScheduler scheduler = schedulerFor(new SimpleHttpClient(1, 60), 1, 10, journal)) {
+            List<String> delivered = new CopyOnWriteArrayList<>();
+            List<ScheduledVerification> recovered = scheduler.recover((customer, decision) ->
+                    delivered.add(customer.getCustomerId() + ":" + decision.getDecision()
+                            + ":" + journal.getPendingCount()));
+
+            assertEquals(1, recovered.size());
+            assertEquals(RequestClass.RESCREEN, recovered.get(0).getRequestClass());
+            assertEquals(Decision.APPROVED,
+                    recovered.get(0).getDecision().get(5, TimeUnit.SECONDS).getDecision());
+            // The decision reached the callback, with its customer, while still in the journal
+            assertEquals(List.of("CUST-B:APPROVED:1"), delivered);
+            assertEquals(0, journal.getPendingCount());
+        }
+        try (PendingVerificationQueue journal = openJournal()) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Completed verifications free their journal segments without the journal being read")
+    void testJournalSegmentsDeletedAsVerificationsComplete() throws Exception {
+        // Given: segments of 1 KB, a few verifications each
+        try (PendingVerificationQueue journal = new PendingVerificationQueue(
+                DurableQueue.open(journalDirectory, 1024, 10_000, 1000))) {
+            journal.recover();
+
+            // When: verifications are enqueued and completed well past the first segment
+            for (int i = 0; i < 50; i++) {
+                journal.complete(journal.enqueue(customer("CUST-" + i), DOCUMENT_ONLY, RequestClass.ONBOARDING));
+            }
+            journal.sync();
+
+            // Then: only the segment being written to is left
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(1, segmentFiles().size());
+        }
+    }
+
+    @Test
+    @DisplayName("With quota scheduling, the orchestrator entry points hold quota-limited verifications")
+    void testOrchestratorEntryPoints_HoldInsteadOfManualReview() throws Exception {
+        // Given: 2 document requests per second
+        SimpleHttpClient httpClient = new SimpleHttpClient(2, 1);
+        try (VerificationOrchestrator orchestrator = VerificationOrchestrator.builder()
+                .documentClient(new DocumentVerificationClient(httpClient, config))
+                .quotaScheduling(2, 1000, 20, 10)
+                .build()) {
+            List<Decision> decisions = new CopyOnWriteArrayList<>();
+
+            // When: a batch of 3, a blocking and an asynchronous verification need 5 calls in all
+            orchestrator.processBatch(List.of(customer("CUST-A"), customer("CUST-B"), customer("CUST-C")),
+                    DOCUMENT_ONLY, (customer, decision) -> decisions.add(decision.getDecision()));
+            decisions.add(orchestrator.processVerification(customer("CUST-D"), DOCUMENT_ONLY).getDecision());
+            decisions.add(orchestrator.processVerificationAsync(customer("CUST-E"), DOCUMENT_ONLY, executor)
+                    .get(10, TimeUnit.SECONDS).getDecision());
+
+            // Then: every verification waited for quota instead of ending up in manual review
+            assertEquals(List.of(Decision.APPROVED, Decision.APPROVED, Decision.APPROVED,
+                    Decision.APPROVED, Decision.APPROVED), decisions);
+            assertThrows(IllegalStateException.class, () -> VerificationOrchestrator.builder().build()
+                    .scheduleVerification(customer("CUST-F"), DOCUMENT_ONLY, RequestClass.ONBOARDING));
+        }
+    }
+
+    @Test
+    @DisplayName("An orchestrator restarted over the same pending queue replays the verifications it held")
+    void testOrchestratorRestart_ReplaysHeldVerifications() throws Exception {
+        // Given: one document request per minute, so the second customer is held when the orchestrator stops
+        try (VerificationOrchestrator orchestrator = quotaScheduledOrchestrator(openJournal())) {
+            orchestrator.processVerification(customer("CUST-A"), DOCUMENT_ONLY);
+            CompletableFuture<KYCDecision> held =
+                    orchestrator.processVerificationAsync(customer("CUST-B"), DOCUMENT_ONLY, executor);
+            assertFalse(held.isDone());
+        }
+
+        // When: the orchestrator restarts over the same directory, with fresh quota
+        try (VerificationOrchestrator orchestrator = quotaScheduledOrchestrator(openJournal())) {
+            List<Customer> replayed = new CopyOnWriteArrayList<>();
+            List<ScheduledVerification> recovered =
+                    orchestrator.recoverPendingVerifications((customer, decision) -> replayed.add(customer));
+
+            // Then: the held verification is replayed, and nothing is left to replay after that
+            assertEquals(1, recovered.size());
+            KYCDecision decision = recovered.get(0).getDecision().get(5, TimeUnit.SECONDS);
+            assertEquals(Decision.APPROVED, decision.getDecision());
+            assertEquals("CUST-B", replayed.get(0).getCustomerId());
+        }
+        try (VerificationOrchestrator orchestrator = quotaScheduledOrchestrator(openJournal())) {
+            assertTrue(orchestrator.recoverPendingVerifications((customer, decision) -> { }).isEmpty());
+        }
+    }
+
+    // Helper methods
+
+    private VerificationOrchestrator quotaScheduledOrchestrator(PendingVerificationQueue journal) {
+        return VerificationOrchestrator.builder()
+                .documentClient(new DocumentVerificationClient(new SimpleHttpClient(1, 60), config))
+                .quotaScheduling(1, 60_000, 20, 10)
+                .pendingQueue(journal)
+                .build();
+    }
+
+    private QuotaAwareScheduler schedulerFor(SimpleHttpClient httpClient, int quota, int maxHeld) {
+        return schedulerFor(httpClient, quota, maxHeld, null);
+    }
+
+    private QuotaAwareScheduler schedulerFor(SimpleHttpClient httpClient, int quota, int maxHeld,
+                                             PendingVerificationQueue journal) {
+        VerificationOrchestrator orchestrator = VerificationOrchestrator.builder()
+                .documentClient(new DocumentVerificationClient(httpClient, config))
+                .sanctionsClient(new SanctionsScreeningClient(httpClient, config))
+                .build();
+        return new QuotaAwareScheduler(orchestrator, executor, quota, 1000, 20, maxHeld, journal);
+    }
+
+    private PendingVerificationQueue openJournal() throws Exception {
+        return new PendingVerificationQueue(DurableQueue.open(journalDirectory, 1024 * 1024, 10, 100));
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).collect(Collectors.toList());
+        }
+    }
+
+    private ScheduledVerification track(ScheduledVerification verification, List<String> order, String label) {
+        verification.getDecision().thenRun(() -> order.add(label));
+        return verification;
+    }
+
+    private Customer customer(String customerId) {
+        return Customer.builder()
+                .customerId(customerId)
+                .fullName("John Doe")
+                .dateOfBirth("1990-01-15")
+                .nationality("US")
+                .documentType("PASSPORT")
+                .documentNumber("AB1234567")
+                .documentExpiryDate(LocalDate.now().plusYears(2).toString())
+                .documentImageUrl("https://example.com/docs/passport.jpg")
+                .build();
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.ekyc.service;
 
 import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.JsonPayload;
+import com.example.ekyc.client.RetryableHttpClient;
 import com.example.ekyc.client.ServiceResponse;
+import com.example.ekyc.client.SimpleHttpClient;
 import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.exception.TimeoutException;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.VerificationResult;
 import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.JsonUtils;
+import com.example.ekyc.util.Utf8JsonWriter;
+import com.google.gson.JsonObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,7 +22,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -123,6 +139,30 @@ class ServiceClientTest {
             assertEquals(VerificationStatus.MANUAL_REVIEW, result.getStatus());
             assertEquals(70, result.getConfidence());
         }
+        @Test
+        @DisplayName("Request payload carries the masked document number only")
+        void testRequestPayload_MasksDocumentNumber() {
+            // Given: a backend that captures the request body as it would go on the wire
+            AtomicReference<String> sent = new AtomicReference<>();
+            SimpleHttpClient backend = new SimpleHttpClient();
+            backend.registerHandler(config.getDocumentUrl(), body -> {
+                Utf8JsonWriter writer = new Utf8JsonWriter(ByteBuffer.allocate(256));
+                JsonPayload.write(body, writer);
+                ByteBuffer buffer = writer.getBuffer().flip();
+                sent.set(StandardCharsets.UTF_8.decode(buffer).toString());
+                return ServiceResponse.success(200, "{\"status\": \"PASS\", \"confidence\": 95, \"reasons\": []}");
+            });
+            
+            // When
+            new DocumentVerificationClient(backend, config).verifyDocument(createValidCustomer());
+            
+            // Then
+            JsonObject request = JsonUtils.fromJson(sent.get(), JsonObject.class);
+            assertEquals("CUST-001", request.get("customer_id").getAsString());
+            assertEquals("PASSPORT", request.get("document_type").getAsString());
+            assertEquals("****4567", request.get("document_number").getAsString());
+            assertFalse(sent.get().contains("AB1234567"));
+        }
     }
 
     @Nested
@@ -248,6 +288,31 @@ class ServiceClientTest {
             assertEquals(100, result.getConfidence());
         }
 
+        @Test
+        @DisplayName("Long match lists received as bytes are listed up to the cap and the rest counted")
+        void testManyMatches_ListedUpToCap() {
+            // Given: 25 matches, with fields the client does not read before and after them
+            StringBuilder body = new StringBuilder("{\"request_id\": \"r-1\", \"matches\": [");
+            for (int i = 0; i < 25; i++) {
+                body.append(i == 0 ? "" : ",")
+                        .append("{\"name\": \"Name ").append(i).append("\", \"list\": \"OFAC\", \"score\": 0.9}");
+            }
+            body.append("], \"status\": \"HIT\", \"match_count\": 25, \"audit\": {\"nested\": [1, 2]}}");
+            SimpleHttpClient backend = new SimpleHttpClient();
+            backend.registerHandler(config.getSanctionsUrl(), request ->
+                    ServiceResponse.success(200, body.toString().getBytes(StandardCharsets.UTF_8)));
+            
+            // When
+            VerificationResult result = new SanctionsScreeningClient(backend, config)
+                    .checkSanctions(createValidCustomer());
+            
+            // Then
+            assertEquals(VerificationStatus.FAIL, result.getStatus());
+            assertEquals(ServiceResponseFields.MAX_LISTED_MATCHES + 1, result.getReasons().size());
+            assertEquals("Match found: Name 0 on OFAC", result.getReasons().get(0));
+            assertEquals("And 5 more match(es)", result.getReasons().get(ServiceResponseFields.MAX_LISTED_MATCHES));
+        }
+
         @Test
         @DisplayName("HIT status → FAIL (critical)")
         void testHitStatus_ShouldFail() {
@@ -278,5 +343,67 @@ class ServiceClientTest {
             assertEquals(VerificationStatus.MANUAL_REVIEW, result.getStatus());
             assertTrue(result.getReasons().stream().anyMatch(r -> r.contains("CRITICAL")));
         }
+
+        @Test
+        @DisplayName("Async screening runs the service call on the supplied executor")
+        void testCheckSanctionsAsync_UsesSuppliedExecutor() throws Exception {
+            // Given
+            Set<String> callingThreads = ConcurrentHashMap.newKeySet();
+            when(httpClient.post(anyString(), any(), anyInt())).thenAnswer(inv -> {
+                callingThreads.add(Thread.currentThread().getName());
+                return ServiceResponse.success(200, "{\"status\": \"CLEAR\", \"match_count\": 0}");
+            });
+            ExecutorService executor = Executors.newSingleThreadExecutor(
+                    runnable -> new Thread(runnable, "sanctions-async-test"));
+            
+            try {
+                // When
+                VerificationResult result = client.checkSanctionsAsync(createValidCustomer(), executor).get();
+                
+                // Then
+                assertEquals(VerificationStatus.PASS, result.getStatus());
+                assertEquals(Set.of("sanctions-async-test"), callingThreads);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Async screening maps service exceptions to MANUAL_REVIEW")
+        void testCheckSanctionsAsync_ServiceException_ShouldManualReview() {
+            // Given
+            when(httpClient.post(anyString(), any(), anyInt()))
+                    .thenThrow(new TimeoutException("Request timed out", "SanctionsScreening", 3));
+            
+            // When
+            VerificationResult result = client.checkSanctionsAsync(createValidCustomer(), Runnable::run).join();
+            
+            // Then: the original exception message is reported, not the future wrapper
+            assertEquals(VerificationStatus.MANUAL_REVIEW, result.getStatus());
+            assertEquals("CRITICAL: Sanctions service unavailable - Request timed out", result.getReasons().get(0));
+        }
+
+        @Test
+        @DisplayName("Cancelling async screening stops pending retries")
+        void testCheckSanctionsAsync_CancelStopsRetries() throws Exception {
+            // Given: the service keeps failing with a retryable error and a long backoff
+            AtomicInteger calls = new AtomicInteger();
+            SimpleHttpClient backend = new SimpleHttpClient();
+            backend.registerHandler(config.getSanctionsUrl(), body -> {
+                calls.incrementAndGet();
+                return ServiceResponse.error(503, "{\"error\": \"Service Unavailable\"}");
+            });
+            SanctionsScreeningClient retrying = new SanctionsScreeningClient(
+                    new RetryableHttpClient(backend, 3, new int[]{300, 300}), config);
+            
+            // When
+            CompletableFuture<VerificationResult> result = retrying.checkSanctionsAsync(
+                    createValidCustomer(), Runnable::run);
+            assertTrue(result.cancel(true));
+            Thread.sleep(700);
+            
+            // Then: only the first attempt reached the service
+            assertEquals(1, calls.get());
+        }
     }
 }
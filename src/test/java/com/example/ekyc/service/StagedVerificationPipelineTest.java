@@ -0,0 +1,150 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.client.HttpClient;
+import com.example.ekyc.client.ServiceResponse;
+import com.example.ekyc.client.SimpleHttpClient;
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.model.BatchStats;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.Decision;
+import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.StageStats;
+import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.service.StagedVerificationPipeline.Stage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the staged verification pipeline: flow through the stages, per-stage statistics
+ * and resizing a stage at runtime.
+ */
+class StagedVerificationPipelineTest {
+
+    private static final List<VerificationType> DOCUMENT_AND_SANCTIONS =
+            List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS);
+
+    private ServiceConfig config;
+
+    @BeforeEach
+    void setUp() {
+        ServiceConfig.reset();
+        config = ServiceConfig.getInstance();
+    }
+
+    @Test
+    @DisplayName("Batch flows through every stage and each stage reports its completed tasks")
+    void testBatch_FlowsThroughAllStages() {
+        SimpleHttpClient httpClient = new SimpleHttpClient(1000, 60);
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            customers.add(customer("CUST-" + i));
+        }
+
+        try (StagedVerificationPipeline pipeline = StagedVerificationPipeline.builder()
+                .documentClient(new DocumentVerificationClient(httpClient, config))
+                .sanctionsClient(new SanctionsScreeningClient(httpClient, config))
+                .queueCapacity(4)
+                .build()) {
+            List<KYCDecision> decisions = new ArrayList<>();
+            BatchStats stats = pipeline.processBatch(customers, DOCUMENT_AND_SANCTIONS,
+                    (customer, decision) -> decisions.add(decision));
+
+            assertEquals(20, stats.getTotal());
+            assertEquals(20, stats.getApproved());
+            assertEquals(20, decisions.size());
+            Map<Stage, StageStats> stages = pipeline.getStageStats();
+            assertEquals(20, stages.get(Stage.PRECHECK).getCompletedTasks());
+            assertEquals(20, stages.get(Stage.DOCUMENT_DISPATCH).getCompletedTasks());
+            assertEquals(20, stages.get(Stage.SANCTIONS_DISPATCH).getCompletedTasks());
+            assertEquals(40, stages.get(Stage.PARSE).getCompletedTasks());
+            assertEquals(0, stages.get(Stage.BIOMETRIC_DISPATCH).getCompletedTasks());
+        }
+    }
+
+    @Test
+    @DisplayName("A slow service backs up only its own dispatch stage, which drains faster once resized")
+    void testSlowService_QueuesInItsStage_ResizeDrainsIt() throws Exception {
+        // Given: a sanctions service that answers only once released, one sanctions dispatch thread
+        CountDownLatch release = new CountDownLatch(1);
+        HttpClient slowSanctions = (url, body, timeoutSeconds) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ServiceResponse.success(200, "{\"status\": \"CLEAR\", \"match_count\": 0}");
+        };
+
+        try (StagedVerificationPipeline pipeline = StagedVerificationPipeline.builder()
+                .documentClient(new DocumentVerificationClient(new SimpleHttpClient(1000, 60), config))
+                .sanctionsClient(new SanctionsScreeningClient(slowSanctions, config))
+                .stageThreads(Stage.SANCTIONS_DISPATCH, 1)
+                .build()) {
+            // When
+            List<CompletableFuture<KYCDecision>> decisions = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                decisions.add(pipeline.submit(customer("CUST-" + i), DOCUMENT_AND_SANCTIONS));
+            }
+
+            // Then: the document checks complete while sanctions calls queue behind the blocked one
+            awaitCondition(() -> pipeline.getStageStats().get(Stage.SANCTIONS_DISPATCH).getQueueDepth() == 2
+                    && pipeline.getStageStats().get(Stage.PARSE).getCompletedTasks() == 3);
+            assertEquals(1, pipeline.getStageStats().get(Stage.SANCTIONS_DISPATCH).getActiveThreads());
+
+            // And: growing the stage takes up the queued calls
+            pipeline.resizeStage(Stage.SANCTIONS_DISPATCH, 3);
+            awaitCondition(() -> pipeline.getStageStats().get(Stage.SANCTIONS_DISPATCH).getActiveThreads() == 3);
+            assertEquals(3, pipeline.getStageStats().get(Stage.SANCTIONS_DISPATCH).getThreads());
+
+            release.countDown();
+            for (CompletableFuture<KYCDecision> decision : decisions) {
+                assertEquals(Decision.APPROVED, decision.get(5, TimeUnit.SECONDS).getDecision());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Stages need at least one thread")
+    void testResize_RejectsEmptyStage() {
+        try (StagedVerificationPipeline pipeline = StagedVerificationPipeline.builder().build()) {
+            assertThrows(IllegalArgumentException.class, () -> pipeline.resizeStage(Stage.PARSE, 0));
+            assertEquals(StagedVerificationPipeline.Builder.DEFAULT_STAGE_THREADS,
+                    pipeline.getStageStats().get(Stage.PARSE).getThreads());
+        }
+    }
+
+    // Helper methods
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "Condition not reached within 5 seconds");
+    }
+
+    private Customer customer(String customerId) {
+        return Customer.builder()
+                .customerId(customerId)
+                .fullName("John Doe")
+                .dateOfBirth("1990-01-15")
+                .nationality("US")
+                .documentType("PASSPORT")
+                .documentNumber("AB1234567")
+                .documentExpiryDate(LocalDate.now().plusYears(2).toString())
+                .documentImageUrl("https://example.com/docs/passport.jpg")
+                .build();
+    }
+}
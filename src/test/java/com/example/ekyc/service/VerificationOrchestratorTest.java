@@ -1,11 +1,17 @@
 package com.example.ekyc.service;
 
+import com.example.ekyc.config.ExecutionMode;
+import com.example.ekyc.exception.OverloadException;
+import com.example.ekyc.model.BatchStats;
 import com.example.ekyc.model.Customer;
 import com.example.ekyc.model.Decision;
 import com.example.ekyc.model.KYCDecision;
+import com.example.ekyc.model.RequestClass;
 import com.example.ekyc.model.VerificationResult;
 import com.example.ekyc.model.VerificationStatus;
 import com.example.ekyc.model.VerificationType;
+import com.example.ekyc.util.CorrelationIdGenerator;
+import com.example.ekyc.util.FutureUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,9 +19,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -56,13 +71,13 @@ class VerificationOrchestratorTest {
     @DisplayName("Full verification with all PASS → APPROVED")
     void testFullVerification_AllPass_ShouldApprove() {
         // Given: All service clients return PASS
-        when(documentClient.verifyDocument(any())).thenReturn(
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
                 createPassResult(VerificationType.ID_DOCUMENT, 95));
-        when(biometricClient.verifyFaceMatch(any())).thenReturn(
+        when(biometricClient.verifyFaceMatch(any(), any())).thenReturn(
                 createPassResult(VerificationType.FACE_MATCH, 92));
-        when(addressClient.verifyAddress(any())).thenReturn(
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
                 createPassResult(VerificationType.ADDRESS, 88));
-        when(sanctionsClient.checkSanctions(any())).thenReturn(
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
                 createPassResult(VerificationType.SANCTIONS, 100));
 
         // When
@@ -74,23 +89,23 @@ class VerificationOrchestratorTest {
         assertNotNull(decision.getCorrelationId());
         
         // Verify all clients were called
-        verify(documentClient).verifyDocument(testCustomer);
-        verify(biometricClient).verifyFaceMatch(testCustomer);
-        verify(addressClient).verifyAddress(testCustomer);
-        verify(sanctionsClient).checkSanctions(testCustomer);
+        verify(documentClient).verifyDocument(eq(testCustomer), any());
+        verify(biometricClient).verifyFaceMatch(eq(testCustomer), any());
+        verify(addressClient).verifyAddress(eq(testCustomer), any());
+        verify(sanctionsClient).checkSanctions(eq(testCustomer), any());
     }
 
     @Test
     @DisplayName("Sanctions HIT → REJECTED")
     void testSanctionsHit_ShouldReject() {
         // Given: Sanctions check fails
-        when(documentClient.verifyDocument(any())).thenReturn(
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
                 createPassResult(VerificationType.ID_DOCUMENT, 95));
-        when(biometricClient.verifyFaceMatch(any())).thenReturn(
+        when(biometricClient.verifyFaceMatch(any(), any())).thenReturn(
                 createPassResult(VerificationType.FACE_MATCH, 92));
-        when(addressClient.verifyAddress(any())).thenReturn(
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
                 createPassResult(VerificationType.ADDRESS, 88));
-        when(sanctionsClient.checkSanctions(any())).thenReturn(
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
                 createFailResult(VerificationType.SANCTIONS, "Match found on sanctions list"));
 
         // When
@@ -104,13 +119,13 @@ class VerificationOrchestratorTest {
     @DisplayName("Expired document → REJECTED")
     void testExpiredDocument_ShouldReject() {
         // Given: Document is expired
-        when(documentClient.verifyDocument(any())).thenReturn(
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
                 createFailResult(VerificationType.ID_DOCUMENT, "Document has expired"));
-        when(biometricClient.verifyFaceMatch(any())).thenReturn(
+        when(biometricClient.verifyFaceMatch(any(), any())).thenReturn(
                 createPassResult(VerificationType.FACE_MATCH, 92));
-        when(addressClient.verifyAddress(any())).thenReturn(
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
                 createPassResult(VerificationType.ADDRESS, 88));
-        when(sanctionsClient.checkSanctions(any())).thenReturn(
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
                 createPassResult(VerificationType.SANCTIONS, 100));
 
         // When
@@ -124,13 +139,13 @@ class VerificationOrchestratorTest {
     @DisplayName("Low face match confidence → MANUAL_REVIEW")
     void testLowFaceMatchConfidence_ShouldManualReview() {
         // Given: Face match has low confidence
-        when(documentClient.verifyDocument(any())).thenReturn(
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
                 createPassResult(VerificationType.ID_DOCUMENT, 95));
-        when(biometricClient.verifyFaceMatch(any())).thenReturn(
+        when(biometricClient.verifyFaceMatch(any(), any())).thenReturn(
                 createManualReviewResult(VerificationType.FACE_MATCH, 70, "Low confidence score"));
-        when(addressClient.verifyAddress(any())).thenReturn(
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
                 createPassResult(VerificationType.ADDRESS, 88));
-        when(sanctionsClient.checkSanctions(any())).thenReturn(
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
                 createPassResult(VerificationType.SANCTIONS, 100));
 
         // When
@@ -144,9 +159,9 @@ class VerificationOrchestratorTest {
     @DisplayName("Partial verification - only ID and Sanctions → APPROVED")
     void testPartialVerification_ShouldApprove() {
         // Given: Only ID_DOCUMENT and SANCTIONS are requested
-        when(documentClient.verifyDocument(any())).thenReturn(
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
                 createPassResult(VerificationType.ID_DOCUMENT, 95));
-        when(sanctionsClient.checkSanctions(any())).thenReturn(
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
                 createPassResult(VerificationType.SANCTIONS, 100));
 
         // When
@@ -158,23 +173,23 @@ class VerificationOrchestratorTest {
         assertEquals(2, decision.getVerificationResults().size());
         
         // Verify only requested clients were called
-        verify(documentClient).verifyDocument(testCustomer);
-        verify(sanctionsClient).checkSanctions(testCustomer);
-        verify(biometricClient, never()).verifyFaceMatch(any());
-        verify(addressClient, never()).verifyAddress(any());
+        verify(documentClient).verifyDocument(eq(testCustomer), any());
+        verify(sanctionsClient).checkSanctions(eq(testCustomer), any());
+        verify(biometricClient, never()).verifyFaceMatch(any(), any());
+        verify(addressClient, never()).verifyAddress(any(), any());
     }
 
     @Test
     @DisplayName("Address proof too old → REJECTED")
     void testAddressProofTooOld_ShouldReject() {
         // Given: Address proof is older than 90 days
-        when(documentClient.verifyDocument(any())).thenReturn(
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
                 createPassResult(VerificationType.ID_DOCUMENT, 95));
-        when(biometricClient.verifyFaceMatch(any())).thenReturn(
+        when(biometricClient.verifyFaceMatch(any(), any())).thenReturn(
                 createPassResult(VerificationType.FACE_MATCH, 92));
-        when(addressClient.verifyAddress(any())).thenReturn(
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
                 createFailResult(VerificationType.ADDRESS, "Proof of address is older than 90 days"));
-        when(sanctionsClient.checkSanctions(any())).thenReturn(
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
                 createPassResult(VerificationType.SANCTIONS, 100));
 
         // When
@@ -184,9 +199,507 @@ class VerificationOrchestratorTest {
         assertEquals(Decision.REJECTED, decision.getDecision());
     }
 
+    @Test
+    @DisplayName("Concurrent mode dispatches all checks at once and keeps request order")
+    void testConcurrentMode_DispatchesAllChecksAtOnce() {
+        // Given: every check blocks until all four have started (only possible when run in parallel)
+        CountDownLatch allStarted = new CountDownLatch(4);
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv ->
+                awaitAllStarted(allStarted, createPassResult(VerificationType.ID_DOCUMENT, 95)));
+        when(biometricClient.verifyFaceMatch(any(), any())).thenAnswer(inv ->
+                awaitAllStarted(allStarted, createPassResult(VerificationType.FACE_MATCH, 92)));
+        when(addressClient.verifyAddress(any(), any())).thenAnswer(inv ->
+                awaitAllStarted(allStarted, createPassResult(VerificationType.ADDRESS, 88)));
+        when(sanctionsClient.checkSanctions(any(), any())).thenAnswer(inv ->
+                awaitAllStarted(allStarted, createPassResult(VerificationType.SANCTIONS, 100)));
+
+        try (VerificationOrchestrator concurrent = concurrentOrchestrator()) {
+            // When
+            KYCDecision decision = concurrent.processFullVerification(testCustomer);
+
+            // Then: all checks overlapped and results follow the requested order
+            assertEquals(Decision.APPROVED, decision.getDecision());
+            assertEquals(List.of(VerificationType.ID_DOCUMENT, VerificationType.FACE_MATCH,
+                            VerificationType.ADDRESS, VerificationType.SANCTIONS),
+                    decision.getVerificationResults().stream()
+                            .map(VerificationResult::getVerificationType)
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent mode propagates the correlation ID to every worker")
+    void testConcurrentMode_PropagatesCorrelationId() {
+        // Given: each check records the correlation ID visible on its worker thread
+        Set<String> seenIds = ConcurrentHashMap.newKeySet();
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv ->
+                recordCorrelationId(seenIds, createPassResult(VerificationType.ID_DOCUMENT, 95)));
+        when(sanctionsClient.checkSanctions(any(), any())).thenAnswer(inv ->
+                recordCorrelationId(seenIds, createPassResult(VerificationType.SANCTIONS, 100)));
+
+        try (VerificationOrchestrator concurrent = concurrentOrchestrator()) {
+            // When
+            KYCDecision decision = concurrent.processVerification(testCustomer,
+                    List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS));
+
+            // Then
+            assertEquals(Set.of(decision.getCorrelationId()), seenIds);
+        }
+    }
+
+    @Test
+    @DisplayName("Virtual thread option runs checks on named workers, falling back to the pool before JDK 21")
+    void testConcurrentMode_VirtualThreads() {
+        // Given
+        Set<String> workerNames = ConcurrentHashMap.newKeySet();
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv -> {
+            workerNames.add(Thread.currentThread().getName());
+            return createPassResult(VerificationType.ID_DOCUMENT, 95);
+        });
+
+        try (VerificationOrchestrator virtual = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .executionMode(ExecutionMode.CONCURRENT)
+                .virtualThreads(true)
+                .build()) {
+            // When
+            KYCDecision decision = virtual.processVerification(testCustomer, List.of(VerificationType.ID_DOCUMENT));
+
+            // Then: the check ran off the caller thread on a verification worker
+            assertEquals(Decision.APPROVED, decision.getDecision());
+            assertEquals(1, workerNames.size());
+            assertTrue(workerNames.iterator().next().startsWith("ekyc-verification-"));
+        }
+    }
+
+    @Test
+    @DisplayName("Early termination skips remaining sequential checks after a FAIL")
+    void testEarlyTermination_SequentialSkipsRemainingChecks() {
+        // Given: the document check fails before sanctions screening runs
+        when(documentClient.verifyDocument(any(), any()))
+                .thenReturn(createFailResult(VerificationType.ID_DOCUMENT, "Document has expired"));
+
+        try (VerificationOrchestrator earlyTerminating = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .sanctionsClient(sanctionsClient)
+                .earlyTermination(true)
+                .build()) {
+            // When
+            KYCDecision decision = earlyTerminating.processVerification(testCustomer,
+                    List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS));
+
+            // Then: sanctions was never called and is reported as skipped
+            assertEquals(Decision.REJECTED, decision.getDecision());
+            VerificationResult skipped = decision.getVerificationResults().get(1);
+            assertEquals(VerificationType.SANCTIONS, skipped.getVerificationType());
+            assertEquals(VerificationStatus.MANUAL_REVIEW, skipped.getStatus());
+            assertEquals("Skipped: outcome already decided by ID_DOCUMENT FAIL", skipped.getReasons().get(0));
+            verify(sanctionsClient, never()).checkSanctions(any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Early termination cancels in-flight concurrent checks after a sanctions HIT")
+    void testEarlyTermination_ConcurrentCancelsInFlightChecks() throws Exception {
+        // Given: the document check hangs until interrupted, sanctions returns a HIT once it has started
+        CountDownLatch documentStarted = new CountDownLatch(1);
+        CountDownLatch documentInterrupted = new CountDownLatch(1);
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv -> {
+            documentStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                documentInterrupted.countDown();
+            }
+            return createPassResult(VerificationType.ID_DOCUMENT, 95);
+        });
+        when(sanctionsClient.checkSanctions(any(), any())).thenAnswer(inv -> {
+            documentStarted.await(5, TimeUnit.SECONDS);
+            return createFailResult(VerificationType.SANCTIONS, "Match found on sanctions list");
+        });
+
+        try (VerificationOrchestrator earlyTerminating = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .sanctionsClient(sanctionsClient)
+                .executionMode(ExecutionMode.CONCURRENT)
+                .earlyTermination(true)
+                .build()) {
+            // When
+            KYCDecision decision = earlyTerminating.processVerification(testCustomer,
+                    List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS));
+
+            // Then: decided without waiting for the document check, which was interrupted
+            assertEquals(Decision.REJECTED, decision.getDecision());
+            assertEquals("Skipped: outcome already decided by SANCTIONS FAIL",
+                    decision.getVerificationResults().get(0).getReasons().get(0));
+            assertTrue(documentInterrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Batch verification streams every decision and caps calls per service")
+    void testProcessBatch_StreamsDecisionsWithPerServiceLimit() {
+        // Given: the document check tracks how many calls overlap
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return createPassResult(VerificationType.ID_DOCUMENT, 95);
+        });
+        List<Customer> customers = Collections.nCopies(20, testCustomer);
+        List<Decision> decisions = new ArrayList<>();
+
+        try (VerificationOrchestrator batchOrchestrator = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .batchParallelism(8)
+                .batchServiceParallelism(VerificationType.ID_DOCUMENT, 2)
+                .build()) {
+            // When
+            BatchStats stats = batchOrchestrator.processBatch(customers,
+                    List.of(VerificationType.ID_DOCUMENT), (customer, decision) -> decisions.add(decision.getDecision()));
+
+            // Then
+            assertEquals(20, decisions.size());
+            assertEquals(20, stats.getTotal());
+            assertEquals(20, stats.getApproved());
+            assertEquals(0, stats.getErrors());
+            assertTrue(stats.getMinLatencyMillis() <= stats.getMaxLatencyMillis());
+            assertTrue(maxInFlight.get() <= 2, "document calls exceeded the per-service limit");
+        }
+    }
+
+    @Test
+    @DisplayName("Async verification composes client futures and decides once all complete")
+    void testProcessVerificationAsync_ComposesClientFutures() throws Exception {
+        // Given: sanctions completes later than the document check
+        CompletableFuture<VerificationResult> sanctionsFuture = new CompletableFuture<>();
+        when(documentClient.verifyDocumentAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(createPassResult(VerificationType.ID_DOCUMENT, 95)));
+        when(sanctionsClient.checkSanctionsAsync(any(), any(), any())).thenReturn(sanctionsFuture);
+
+        // When
+        CompletableFuture<KYCDecision> decision = orchestrator.processVerificationAsync(testCustomer,
+                List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS), FutureUtils.DIRECT_EXECUTOR);
+
+        // Then: no decision until every check has completed
+        assertFalse(decision.isDone());
+        sanctionsFuture.complete(createFailResult(VerificationType.SANCTIONS, "Match found on sanctions list"));
+        assertEquals(Decision.REJECTED, decision.get().getDecision());
+        assertEquals(2, decision.get().getVerificationResults().size());
+        verify(documentClient, never()).verifyDocument(any(), any());
+    }
+
+    @Test
+    @DisplayName("Sanctions-first ordering with early termination skips the other checks on a HIT")
+    void testCheckOrdering_SanctionsFirstSkipsRemainingChecks() {
+        // Given: sanctions screening finds a match
+        when(sanctionsClient.checkSanctions(any(), any()))
+                .thenReturn(createFailResult(VerificationType.SANCTIONS, "Match found on sanctions list"));
+        VerificationOrchestrator gated = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .biometricClient(biometricClient)
+                .addressClient(addressClient)
+                .sanctionsClient(sanctionsClient)
+                .checkOrdering(new SanctionsFirstCheckOrdering())
+                .earlyTermination(true)
+                .build();
+
+        // When
+        KYCDecision decision = gated.processFullVerification(testCustomer);
+
+        // Then: only sanctions was called, and results stay in request order
+        assertEquals(Decision.REJECTED, decision.getDecision());
+        List<VerificationType> resultTypes = decision.getVerificationResults().stream()
+                .map(VerificationResult::getVerificationType)
+                .collect(Collectors.toList());
+        assertEquals(List.of(VerificationType.ID_DOCUMENT, VerificationType.FACE_MATCH,
+                VerificationType.ADDRESS, VerificationType.SANCTIONS), resultTypes);
+        assertEquals(VerificationStatus.MANUAL_REVIEW, decision.getVerificationResults().get(0).getStatus());
+        verify(documentClient, never()).verifyDocument(any(), any());
+        verify(biometricClient, never()).verifyFaceMatch(any(), any());
+        verify(addressClient, never()).verifyAddress(any(), any());
+    }
+
+    @Test
+    @DisplayName("Pre-validation rejects an expired document without calling any service")
+    void testPreValidation_LocalFailUsesNoRemoteQuota() {
+        // Given: an expired document, which pre-validation fails locally
+        Customer expired = Customer.builder()
+                .customerId("CUST-002")
+                .fullName("Jane Doe")
+                .documentType("PASSPORT")
+                .documentNumber("AB1234567")
+                .documentExpiryDate(LocalDate.now().minusDays(1).toString())
+                .build();
+        VerificationOrchestrator validating = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .biometricClient(biometricClient)
+                .addressClient(addressClient)
+                .sanctionsClient(sanctionsClient)
+                .preValidator(new PreValidator())
+                .build();
+
+        // When
+        KYCDecision decision = validating.processFullVerification(expired);
+
+        // Then
+        assertEquals(Decision.REJECTED, decision.getDecision());
+        assertEquals(4, decision.getVerificationResults().size());
+        assertEquals(VerificationStatus.FAIL, decision.getVerificationResults().get(0).getStatus());
+        assertEquals("Skipped: outcome already decided by ID_DOCUMENT FAIL",
+                decision.getVerificationResults().get(3).getReasons().get(0));
+        verifyNoInteractions(documentClient, biometricClient, addressClient, sanctionsClient);
+    }
+
+    @Test
+    @DisplayName("Duplicate request attaches to the in-flight verification instead of calling services again")
+    void testCoalescing_DuplicateAttachesToInFlightVerification() throws Exception {
+        // Given: the document check blocks until released
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return createPassResult(VerificationType.ID_DOCUMENT, 95);
+        });
+        List<VerificationType> types = List.of(VerificationType.ID_DOCUMENT);
+
+        VerificationOrchestrator coalescing = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .coalesceInFlight(true)
+                .build();
+        CompletableFuture<KYCDecision> first = CompletableFuture.supplyAsync(
+                () -> coalescing.processVerification(testCustomer, types));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When: the same customer arrives again while the first verification runs
+        CompletableFuture<KYCDecision> duplicate = coalescing.processVerificationAsync(
+                testCustomer, types, FutureUtils.DIRECT_EXECUTOR);
+
+        // Then: it shares the first verification's decision
+        assertFalse(duplicate.isDone());
+        assertEquals(1, coalescing.getInFlightVerificationCount());
+        release.countDown();
+        KYCDecision firstDecision = first.get(5, TimeUnit.SECONDS);
+        assertEquals(Decision.APPROVED, duplicate.get(5, TimeUnit.SECONDS).getDecision());
+        assertEquals(firstDecision.getCorrelationId(), duplicate.get().getCorrelationId());
+        verify(documentClient, times(1)).verifyDocument(any(), any());
+        assertEquals(0, coalescing.getInFlightVerificationCount());
+    }
+
+    @Test
+    @DisplayName("Completed verifications are not coalesced with later requests")
+    void testCoalescing_CompletedVerificationRunsAgain() {
+        when(documentClient.verifyDocument(any(), any()))
+                .thenReturn(createPassResult(VerificationType.ID_DOCUMENT, 95));
+        VerificationOrchestrator coalescing = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .coalesceInFlight(true)
+                .build();
+
+        coalescing.processVerification(testCustomer, List.of(VerificationType.ID_DOCUMENT));
+        coalescing.processVerification(testCustomer, List.of(VerificationType.ID_DOCUMENT));
+
+        verify(documentClient, times(2)).verifyDocument(any(), any());
+        assertEquals(0, coalescing.getInFlightVerificationCount());
+    }
+
+    @Test
+    @DisplayName("Request beyond admission capacity is shed with OverloadException without calling services")
+    void testAdmissionControl_ShedsExcessRequest() throws Exception {
+        // Given: one admission slot, no queue, and a verification holding it
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentClient.verifyDocument(any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return createPassResult(VerificationType.ID_DOCUMENT, 95);
+        });
+        AdmissionController admission = new AdmissionController(1, 0, 1000);
+        VerificationOrchestrator admitting = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .sanctionsClient(sanctionsClient)
+                .admissionController(admission)
+                .build();
+        CompletableFuture<KYCDecision> running = CompletableFuture.supplyAsync(
+                () -> admitting.processVerification(testCustomer, List.of(VerificationType.ID_DOCUMENT)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When/Then: a re-screen is rejected at once
+        OverloadException e = assertThrows(OverloadException.class,
+                () -> admitting.processVerification(testCustomer, List.of(VerificationType.SANCTIONS)));
+        assertEquals(RequestClass.RESCREEN, e.getRequestClass());
+        verifyNoInteractions(sanctionsClient);
+
+        release.countDown();
+        assertEquals(Decision.APPROVED, running.get(5, TimeUnit.SECONDS).getDecision());
+        assertEquals(0, admission.getActiveCount());
+    }
+
+    @Test
+    @DisplayName("Decision deadline decides without a slow check and records its result when it arrives")
+    void testDecisionDeadline_SlowCheckRecordedLate() throws Exception {
+        // Given: sanctions screening answers only once released, well after the 100ms decision deadline
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
+                createPassResult(VerificationType.ID_DOCUMENT, 95));
+        when(sanctionsClient.checkSanctions(any(), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return createPassResult(VerificationType.SANCTIONS, 100);
+        });
+        CompletableFuture<VerificationResult> late = new CompletableFuture<>();
+        List<String> lateCorrelationIds = Collections.synchronizedList(new ArrayList<>());
+
+        try (VerificationOrchestrator deadlined = VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .sanctionsClient(sanctionsClient)
+                .executionMode(ExecutionMode.CONCURRENT)
+                .decisionDeadlineMillis(100)
+                .lateResultListener((correlationId, result) -> {
+                    lateCorrelationIds.add(correlationId);
+                    late.complete(result);
+                })
+                .build()) {
+            // When
+            KYCDecision decision = deadlined.processVerification(testCustomer,
+                    List.of(VerificationType.ID_DOCUMENT, VerificationType.SANCTIONS));
+
+            // Then: decided on the document result alone
+            assertEquals(Decision.MANUAL_REVIEW, decision.getDecision());
+            VerificationResult timedOut = decision.getVerificationResults().get(1);
+            assertEquals(VerificationStatus.MANUAL_REVIEW, timedOut.getStatus());
+            assertEquals("Timed out at orchestrator deadline", timedOut.getReasons().get(0));
+            assertFalse(late.isDone());
+
+            // And: the real result is recorded once it arrives
+            release.countDown();
+            VerificationResult recorded = late.get(5, TimeUnit.SECONDS);
+            assertEquals(VerificationStatus.PASS, recorded.getStatus());
+            assertNotNull(recorded.getInputFingerprint());
+            assertEquals(List.of(decision.getCorrelationId()), lateCorrelationIds);
+        }
+    }
+
+    @Test
+    @DisplayName("Re-verification after a new proof of address calls only the address service")
+    void testReverify_ReusesResultsWhoseInputsAreUnchanged() {
+        // Given: a previous decision with all PASS
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
+                createPassResult(VerificationType.ID_DOCUMENT, 95));
+        when(biometricClient.verifyFaceMatch(any(), any())).thenReturn(
+                createPassResult(VerificationType.FACE_MATCH, 92));
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
+                createPassResult(VerificationType.ADDRESS, 88));
+        when(sanctionsClient.checkSanctions(any(), any())).thenReturn(
+                createPassResult(VerificationType.SANCTIONS, 100));
+        VerificationOrchestrator reusing = reusingOrchestrator(TimeUnit.HOURS.toMillis(1));
+        KYCDecision previous = reusing.processFullVerification(testCustomer);
+        Customer updated = createTestCustomer("https://example.com/proof-2.pdf");
+
+        // When
+        KYCDecision decision = reusing.reverify(previous, updated);
+
+        // Then
+        assertEquals(Decision.APPROVED, decision.getDecision());
+        assertNotEquals(previous.getCorrelationId(), decision.getCorrelationId());
+        assertEquals(previous.getVerificationResults().get(0), decision.getVerificationResults().get(0));
+        verify(documentClient).verifyDocument(any(), any());
+        verify(biometricClient).verifyFaceMatch(any(), any());
+        verify(sanctionsClient).checkSanctions(any(), any());
+        verify(addressClient).verifyAddress(eq(updated), any());
+    }
+
+    @Test
+    @DisplayName("Re-verification re-runs checks whose previous result is too old")
+    void testReverify_StaleResultsRunAgain() {
+        // Given: a previous result older than the reuse age
+        VerificationResult old = VerificationResult.builder()
+                .verificationType(VerificationType.ID_DOCUMENT)
+                .status(VerificationStatus.PASS)
+                .confidence(95)
+                .timestamp(LocalDateTime.now().minusHours(2))
+                .build();
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
+                old, createPassResult(VerificationType.ID_DOCUMENT, 97));
+        VerificationOrchestrator reusing = reusingOrchestrator(TimeUnit.HOURS.toMillis(1));
+        KYCDecision previous = reusing.processVerification(testCustomer, List.of(VerificationType.ID_DOCUMENT));
+
+        // When
+        KYCDecision decision = reusing.reverify(previous, testCustomer);
+
+        // Then
+        assertEquals(97, decision.getVerificationResults().get(0).getConfidence());
+        verify(documentClient, times(2)).verifyDocument(eq(testCustomer), any());
+    }
+
+    @Test
+    @DisplayName("Re-verification skips the remaining checks when a reused result is a FAIL")
+    void testReverify_ReusedFailSkipsOtherChecks() {
+        // Given: a previous decision rejected on the document
+        when(documentClient.verifyDocument(any(), any())).thenReturn(
+                createFailResult(VerificationType.ID_DOCUMENT, "Document is forged"));
+        when(addressClient.verifyAddress(any(), any())).thenReturn(
+                createPassResult(VerificationType.ADDRESS, 88));
+        VerificationOrchestrator reusing = reusingOrchestrator(TimeUnit.HOURS.toMillis(1));
+        KYCDecision previous = reusing.processVerification(testCustomer,
+                List.of(VerificationType.ID_DOCUMENT, VerificationType.ADDRESS));
+        Customer updated = createTestCustomer("https://example.com/proof-2.pdf");
+
+        // When
+        KYCDecision decision = reusing.reverify(previous, updated);
+
+        // Then: rejected on the reused result, without calling the address service again
+        assertEquals(Decision.REJECTED, decision.getDecision());
+        assertEquals(previous.getVerificationResults().get(0), decision.getVerificationResults().get(0));
+        assertEquals(VerificationStatus.MANUAL_REVIEW, decision.getVerificationResults().get(1).getStatus());
+        verify(documentClient).verifyDocument(any(), any());
+        verify(addressClient).verifyAddress(any(), any());
+    }
+
     // Helper methods
 
+    private VerificationOrchestrator reusingOrchestrator(long resultReuseMaxAgeMillis) {
+        return VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .biometricClient(biometricClient)
+                .addressClient(addressClient)
+                .sanctionsClient(sanctionsClient)
+                .resultReuseMaxAgeMillis(resultReuseMaxAgeMillis)
+                .build();
+    }
+
+    private VerificationOrchestrator concurrentOrchestrator() {
+        return VerificationOrchestrator.builder()
+                .documentClient(documentClient)
+                .biometricClient(biometricClient)
+                .addressClient(addressClient)
+                .sanctionsClient(sanctionsClient)
+                .executionMode(ExecutionMode.CONCURRENT)
+                .threadPoolSize(4)
+                .build();
+    }
+
+    private VerificationResult awaitAllStarted(CountDownLatch allStarted, VerificationResult result)
+            throws InterruptedException {
+        allStarted.countDown();
+        if (!allStarted.await(5, TimeUnit.SECONDS)) {
+            return createManualReviewResult(result.getVerificationType(), 0, "Checks did not overlap");
+        }
+        return result;
+    }
+
+    private VerificationResult recordCorrelationId(Set<String> seenIds, VerificationResult result) {
+        seenIds.add(String.valueOf(CorrelationIdGenerator.getCorrelationId()));
+        return result;
+    }
+
     private Customer createTestCustomer() {
+        return createTestCustomer("https://example.com/proof.pdf");
+    }
+
+    private Customer createTestCustomer(String proofUrl) {
         return Customer.builder()
                 .customerId("CUST-001")
                 .fullName("John Doe")
@@ -203,7 +716,7 @@ class VerificationOrchestratorTest {
                 .idPhotoUrl("https://example.com/id_photo.jpg")
                 .proofType("UTILITY_BILL")
                 .proofDate("2026-01-15")
-                .proofUrl("https://example.com/proof.pdf")
+                .proofUrl(proofUrl)
                 .build();
     }
 
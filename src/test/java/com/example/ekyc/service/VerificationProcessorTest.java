@@ -0,0 +1,176 @@
+package com.example.ekyc.service;
+
+import com.example.ekyc.client.SimpleHttpClient;
+import com.example.ekyc.config.ServiceConfig;
+import com.example.ekyc.model.Customer;
+import com.example.ekyc.model.Decision;
+import com.example.ekyc.model.CustomerDecision;
+import com.example.ekyc.model.VerificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reactive verification pipeline, using the mock HTTP client's rate limiter
+ * as the downstream capacity.
+ */
+class VerificationProcessorTest {
+
+    private static final List<VerificationType> DOCUMENT_ONLY = List.of(VerificationType.ID_DOCUMENT);
+
+    private ServiceConfig config;
+
+    @BeforeEach
+    void setUp() {
+        ServiceConfig.reset();
+        config = ServiceConfig.getInstance();
+    }
+
+    @Test
+    @DisplayName("Demand follows the rate limit, so no request is rejected")
+    void testDemandFollowsRateLimit() throws Exception {
+        // Given: 3 document requests per second, 7 customers
+        SimpleHttpClient httpClient = new SimpleHttpClient(3, 1);
+        VerificationOrchestrator orchestrator = VerificationOrchestrator.builder()
+                .documentClient(new DocumentVerificationClient(httpClient, config))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (SubmissionPublisher<Customer> source = new SubmissionPublisher<>(executor, 16);
+             VerificationProcessor processor = new VerificationProcessor(orchestrator, DOCUMENT_ONLY, executor, 8, 20)) {
+            Collector collector = new Collector();
+            source.subscribe(processor);
+            processor.subscribe(collector);
+
+            // When
+            long start = System.nanoTime();
+            for (int i = 0; i < 7; i++) {
+                source.submit(customer("CUST-" + i));
+            }
+            source.close();
+            collector.done.get(10, TimeUnit.SECONDS);
+
+            // Then: all approved, which needed three rate limit windows
+            assertEquals(7, collector.decisions.size());
+            collector.decisions.forEach(d -> assertEquals(Decision.APPROVED, d.getDecision().getDecision()));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(1900));
+            assertEquals(0, processor.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A failed verification is published as MANUAL_REVIEW and the stream continues")
+    void testFailedVerification_PublishedAsManualReview() throws Exception {
+        // Given: pre-validation rejects a request without a customer ID
+        VerificationOrchestrator orchestrator = VerificationOrchestrator.builder()
+                .documentClient(new DocumentVerificationClient(new SimpleHttpClient(10, 60), config))
+                .preValidator(new PreValidator(config))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (SubmissionPublisher<Customer> source = new SubmissionPublisher<>(executor, 16);
+             VerificationProcessor processor = new VerificationProcessor(orchestrator, DOCUMENT_ONLY, executor, 2, 20)) {
+            Collector collector = new Collector();
+            source.subscribe(processor);
+            processor.subscribe(collector);
+
+            // When
+            source.submit(customer(" "));
+            source.submit(customer("CUST-1"));
+            source.close();
+            collector.done.get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(2, collector.decisions.size());
+            // Each decision, the failed one included, names the customer it belongs to
+            assertEquals(1, collector.decisions.stream()
+                    .filter(d -> d.getCustomerId().equals(" ")
+                            && d.getDecision().getDecision() == Decision.MANUAL_REVIEW
+                            && d.getDecision().getVerificationResults().isEmpty())
+                    .count());
+            assertEquals(1, collector.decisions.stream()
+                    .filter(d -> d.getCustomerId().equals("CUST-1")
+                            && d.getDecision().getDecision() == Decision.APPROVED)
+                    .count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Nothing is requested from upstream until a subscriber arrives")
+    void testNoDemandWithoutSubscriber() throws Exception {
+        VerificationOrchestrator orchestrator = VerificationOrchestrator.builder()
+                .documentClient(new DocumentVerificationClient(new SimpleHttpClient(10, 60), config))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (SubmissionPublisher<Customer> source = new SubmissionPublisher<>(executor, 16);
+             VerificationProcessor processor = new VerificationProcessor(orchestrator, DOCUMENT_ONLY, executor, 2, 20)) {
+            source.subscribe(processor);
+            source.submit(customer("CUST-1"));
+            Thread.sleep(100);
+            assertEquals(1, source.estimateMaximumLag());
+
+            Collector collector = new Collector();
+            processor.subscribe(collector);
+            source.close();
+            collector.done.get(5, TimeUnit.SECONDS);
+            assertEquals(1, collector.decisions.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Helper methods
+
+    private Customer customer(String customerId) {
+        return Customer.builder()
+                .customerId(customerId)
+                .fullName("John Doe")
+                .documentType("PASSPORT")
+                .documentNumber("AB1234567")
+                .documentExpiryDate(LocalDate.now().plusYears(2).toString())
+                .documentImageUrl("https://example.com/docs/passport.jpg")
+                .build();
+    }
+
+    private static class Collector implements Flow.Subscriber<CustomerDecision> {
+        final List<CustomerDecision> decisions = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(CustomerDecision decision) {
+            decisions.add(decision);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+}
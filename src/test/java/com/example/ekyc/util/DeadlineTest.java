@@ -0,0 +1,30 @@
+package com.example.ekyc.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Deadline budget clipping.
+ */
+class DeadlineTest {
+
+    @Test
+    @DisplayName("A call timeout is clipped down to the whole seconds left, so no call outlives the deadline")
+    void testClipTimeoutSeconds_RoundsDown() {
+        assertEquals(1, Deadline.after(1900).clipTimeoutSeconds(5));
+        assertEquals(3, Deadline.after(10_000).clipTimeoutSeconds(3));
+        assertEquals(5, Deadline.none().clipTimeoutSeconds(5));
+    }
+
+    @Test
+    @DisplayName("With less than a second left, no call fits the budget")
+    void testClipTimeoutSeconds_ZeroUnderASecond() {
+        Deadline deadline = Deadline.after(800);
+
+        assertFalse(deadline.isExpired());
+        assertEquals(0, deadline.clipTimeoutSeconds(5));
+        assertEquals(0, Deadline.after(0).clipTimeoutSeconds(5));
+    }
+}
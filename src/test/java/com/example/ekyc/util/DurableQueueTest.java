@@ -0,0 +1,113 @@
+package com.example.ekyc.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DurableQueue delivery, acknowledgement, recovery and segment cleanup.
+ */
+class DurableQueueTest {
+
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Records are delivered in order and become durable with a group sync")
+    void testAppendAndPoll() throws Exception {
+        try (DurableQueue queue = DurableQueue.open(directory, SEGMENT_BYTES, 10_000, 3)) {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(i, queue.append(bytes("record-" + i)));
+            }
+
+            // Then: the third append reached the batch size and triggered a sync
+            queue.whenDurable(2).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("record-0", "record-1"), texts(queue.poll(2)));
+            assertEquals(List.of("record-2", "record-3", "record-4"), texts(queue.poll(10)));
+            assertTrue(queue.poll(10).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Reopening resumes after the acknowledged records and cuts off a torn tail")
+    void testReopen_ResumesAfterAckAndDropsTornRecord() throws Exception {
+        try (DurableQueue queue = DurableQueue.open(directory, SEGMENT_BYTES, 10, 1000)) {
+            for (int i = 0; i < 4; i++) {
+                queue.append(bytes("record-" + i));
+            }
+            queue.acknowledge(1);
+        }
+        // When: a crash left half a record at the end of the segment
+        try (FileChannel segment = FileChannel.open(onlySegment(), StandardOpenOption.APPEND)) {
+            segment.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 42, 1, 2}));
+        }
+
+        try (DurableQueue queue = DurableQueue.open(directory, SEGMENT_BYTES, 10, 1000)) {
+            assertEquals(2, queue.getAckedOffset());
+            assertEquals(List.of("record-2", "record-3"), texts(queue.poll(10)));
+            assertEquals(4, queue.append(bytes("record-4")));
+            assertEquals(List.of("record-4"), texts(queue.poll(10)));
+        }
+    }
+
+    @Test
+    @DisplayName("Segments holding only acknowledged records are deleted")
+    void testAcknowledgedSegmentsDeleted() throws Exception {
+        try (DurableQueue queue = DurableQueue.open(directory, 100, 10_000, 1000)) {
+            for (int i = 0; i < 10; i++) {
+                queue.append(bytes("record-" + i)); // 16 bytes each, six per segment
+            }
+            assertEquals(2, queue.getSegmentCount());
+            assertEquals(10, queue.poll(10).size());
+
+            queue.acknowledge(6);
+            queue.sync();
+
+            assertEquals(1, queue.getSegmentCount());
+            assertEquals(1, segmentFiles().size());
+        }
+        try (DurableQueue queue = DurableQueue.open(directory, 100, 10_000, 1000)) {
+            assertEquals(List.of("record-7", "record-8", "record-9"), texts(queue.poll(10)));
+        }
+    }
+
+    // Helper methods
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> texts(List<DurableQueue.Record> records) {
+        return records.stream()
+                .map(record -> new String(record.getPayload(), StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segmentFiles();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ekyc.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HashedWheelTimer scheduling and cancellation.
+ */
+class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        // A small wheel, so that the longer delays take more than one turn
+        timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    @DisplayName("Timers fire in deadline order, never early, including those more than one turn out")
+    void testFiresInOrderAfterDelay() throws Exception {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        long[] firedAfterMillis = new long[3];
+        int[] delays = {120, 10, 60};
+        for (int i = 0; i < delays.length; i++) {
+            int index = i;
+            timer.newTimeout(() -> {
+                firedAfterMillis[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                fired.add(delays[index]);
+                done.countDown();
+            }, delays[i], TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(10, 60, 120), fired);
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue(firedAfterMillis[i] >= delays[i], delays[i] + "ms timer fired after " + firedAfterMillis[i]);
+        }
+        awaitNoPendingTimeouts();
+    }
+
+    @Test
+    @DisplayName("A cancelled timer never fires and is no longer pending")
+    void testCancel() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        HashedWheelTimer.Timeout cancelled = timer.newTimeout(fired::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        CompletableFuture<Void> later = new CompletableFuture<>();
+        timer.newTimeout(() -> later.complete(null), 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        later.get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, fired.get());
+        assertTrue(cancelled.isCancelled());
+        awaitNoPendingTimeouts();
+    }
+
+    @Test
+    @DisplayName("Many pending timers are scheduled and cancelled cheaply, and the rest all fire")
+    void testManyTimers() throws Exception {
+        int count = 200_000;
+        AtomicInteger fired = new AtomicInteger();
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timeouts.add(timer.newTimeout(fired::incrementAndGet, 500 + i % 200, TimeUnit.MILLISECONDS));
+        }
+        int cancelled = 0;
+        for (int i = 0; i < count; i += 2) {
+            cancelled += timeouts.get(i).cancel() ? 1 : 0;
+        }
+
+        awaitNoPendingTimeouts();
+        assertEquals(count - cancelled, fired.get());
+        assertTrue(timeouts.get(1).isExpired());
+    }
+
+    @Test
+    @DisplayName("completeOnTimeout completes a future left unanswered, and leaves an answered one alone")
+    void testCompleteOnTimeout() throws Exception {
+        CompletableFuture<String> unanswered = FutureUtils.completeOnTimeout(
+                new CompletableFuture<>(), "timed out", 20, TimeUnit.MILLISECONDS, FutureUtils.DIRECT_EXECUTOR);
+        CompletableFuture<String> answered = FutureUtils.completeOnTimeout(
+                new CompletableFuture<>(), "timed out", 20, TimeUnit.MILLISECONDS, FutureUtils.DIRECT_EXECUTOR);
+        answered.complete("answer");
+
+        assertEquals("timed out", unanswered.get(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals("answer", answered.join());
+    }
+
+    private void awaitNoPendingTimeouts() throws InterruptedException {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (timer.pendingTimeouts() > 0 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, timer.pendingTimeouts());
+    }
+}
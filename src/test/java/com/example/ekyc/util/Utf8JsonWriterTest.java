@@ -0,0 +1,97 @@
+package com.example.ekyc.util;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Utf8JsonWriter output, escaping and buffer growth.
+ */
+class Utf8JsonWriterTest {
+
+    @Test
+    @DisplayName("Writes a flat object of string fields and leaves out null values")
+    void testFlatObject() {
+        Utf8JsonWriter writer = new Utf8JsonWriter(ByteBuffer.allocateDirect(256));
+
+        writer.beginObject()
+                .field("customer_id", "CUST-001")
+                .field("nationality", null)
+                .field("full_name", "John Doe")
+                .endObject();
+
+        assertEquals("{\"customer_id\":\"CUST-001\",\"full_name\":\"John Doe\"}", written(writer));
+    }
+
+    @Test
+    @DisplayName("Escapes and encodes strings so they read back as written")
+    void testEscapingAndUtf8() {
+        String value = "Quote \" backslash \\ newline \n tab \t control \u0001 é € 😀";
+        Utf8JsonWriter writer = new Utf8JsonWriter(ByteBuffer.allocate(256));
+
+        writer.beginObject().field("value", value).endObject();
+
+        String json = written(writer);
+        assertEquals(value, JsonUtils.fromJson(json, JsonObject.class).get("value").getAsString());
+        assertArrayEquals(JsonUtils.toJson(Map.of("value", "é€😀")).getBytes(StandardCharsets.UTF_8),
+                bytes(new Utf8JsonWriter(ByteBuffer.allocate(64))
+                        .beginObject().field("value", "é€😀").endObject()));
+    }
+
+    @Test
+    @DisplayName("An unpaired surrogate is written as '?'")
+    void testUnpairedSurrogate() {
+        Utf8JsonWriter writer = new Utf8JsonWriter(ByteBuffer.allocate(64));
+
+        writer.beginObject().field("value", "a\uD83Db").endObject();
+
+        assertEquals("{\"value\":\"a?b\"}", written(writer));
+    }
+
+    @Test
+    @DisplayName("Carries on in a larger heap buffer once the given buffer is full, keeping what came before it")
+    void testGrowsPastBuffer() {
+        ByteBuffer small = ByteBuffer.allocateDirect(16);
+        small.position(4);
+        String address = "123 Main Street, New York, NY 10001";
+        Utf8JsonWriter writer = new Utf8JsonWriter(small);
+
+        writer.beginObject().field("address", address).endObject();
+
+        ByteBuffer buffer = writer.getBuffer();
+        assertNotSame(small, buffer);
+        assertEquals(4 + ("{\"address\":\"" + address + "\"}").length(), buffer.position());
+        buffer.flip().position(4);
+        assertEquals("{\"address\":\"" + address + "\"}", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    @DisplayName("Raw JSON is copied as UTF-8 and a reset starts a new document")
+    void testRawAndReset() {
+        Utf8JsonWriter writer = new Utf8JsonWriter(ByteBuffer.allocate(64));
+        writer.beginObject().field("first", "1").endObject();
+
+        writer.reset(ByteBuffer.allocate(64)).raw("{\"name\":\"José\"}");
+
+        assertEquals("{\"name\":\"José\"}", written(writer));
+    }
+
+    // Helper methods
+
+    private static String written(Utf8JsonWriter writer) {
+        return new String(bytes(writer), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(Utf8JsonWriter writer) {
+        ByteBuffer buffer = writer.getBuffer().flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
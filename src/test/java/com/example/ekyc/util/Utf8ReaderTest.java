@@ -0,0 +1,43 @@
+package com.example.ekyc.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Utf8Reader decoding.
+ */
+class Utf8ReaderTest {
+
+    @Test
+    @DisplayName("Decodes multi-byte characters, including a surrogate pair split across reads")
+    void testDecodesUtf8() {
+        String text = "Zoë, €5, 😀 and ASCII";
+        Utf8Reader reader = new Utf8Reader(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+
+        StringBuilder decoded = new StringBuilder();
+        char[] chars = new char[1];
+        while (reader.read(chars, 0, 1) > 0) {
+            decoded.append(chars[0]);
+        }
+
+        assertEquals(text, decoded.toString());
+        assertEquals(-1, reader.read(chars, 0, 1));
+    }
+
+    @Test
+    @DisplayName("Malformed and truncated sequences decode to U+FFFD")
+    void testMalformedInput() {
+        byte[] bytes = {'a', (byte) 0xC0, 'b', (byte) 0xE2, (byte) 0x82, 'c', (byte) 0xED, (byte) 0xA0, (byte) 0x80};
+        Utf8Reader reader = new Utf8Reader(ByteBuffer.wrap(bytes));
+
+        char[] chars = new char[16];
+        int count = reader.read(chars, 0, chars.length);
+
+        assertEquals("a\uFFFDb\uFFFDc\uFFFD", new String(chars, 0, count));
+    }
+}